@@ -0,0 +1,12 @@
+CREATE TABLE IF NOT EXISTS tickets (
+    id BIGSERIAL PRIMARY KEY,
+    parking_id VARCHAR(32) NOT NULL,
+    from_time TIMESTAMP WITH TIME ZONE NOT NULL,
+    to_time TIMESTAMP WITH TIME ZONE NOT NULL,
+    duration_minutes BIGINT NOT NULL,
+    price_cents INTEGER NOT NULL,
+    currency CHAR(3) NOT NULL,
+    calculated_at TIMESTAMP WITH TIME ZONE NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS tickets_parking_id_calculated_at_idx ON tickets (parking_id, calculated_at);
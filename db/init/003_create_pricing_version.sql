@@ -0,0 +1,29 @@
+CREATE TABLE IF NOT EXISTS pricing_version (
+    id BOOLEAN PRIMARY KEY DEFAULT TRUE CHECK (id),
+    version BIGINT NOT NULL
+);
+
+INSERT INTO pricing_version (id, version) VALUES (TRUE, 0) ON CONFLICT DO NOTHING;
+
+-- Every row written to pricing bumps the version and tells the listening instances which parking changed.
+-- The version row stays locked until commit, so notifications are delivered in version order.
+CREATE OR REPLACE FUNCTION notify_pricing_changed() RETURNS TRIGGER AS $$
+DECLARE
+    changed_parking_id VARCHAR(32);
+    next_version BIGINT;
+BEGIN
+    IF TG_OP = 'DELETE' THEN
+        changed_parking_id := OLD.parking_id;
+    ELSE
+        changed_parking_id := NEW.parking_id;
+    END IF;
+    UPDATE pricing_version SET version = version + 1 RETURNING version INTO next_version;
+    PERFORM pg_notify('pricing_changed', next_version || ':' || changed_parking_id);
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+DROP TRIGGER IF EXISTS pricing_changed ON pricing;
+CREATE TRIGGER pricing_changed
+    AFTER INSERT OR UPDATE OR DELETE ON pricing
+    FOR EACH ROW EXECUTE FUNCTION notify_pricing_changed();
@@ -0,0 +1,5 @@
+-- Time-of-day and weekday rates, as ';'-separated '<days> <from>-<to> <hourly rate>' rules read in time_zone,
+-- e.g. 'MON-FRI 08:00-20:00 350;MON-FRI 20:00-08:00 100;SAT,SUN 00:00-00:00 150'. Later rules win where
+-- rules overlap; hourly_rate_in_cents applies where none does.
+ALTER TABLE pricing ADD COLUMN IF NOT EXISTS tariff_rules VARCHAR(1024) NOT NULL DEFAULT '';
+ALTER TABLE pricing ADD COLUMN IF NOT EXISTS time_zone VARCHAR(64) NOT NULL DEFAULT 'UTC';
@@ -0,0 +1,52 @@
+#!/bin/sh
+# Builds the Docker variants of the application and reports, for each, the time until /actuator/health
+# answers, the startup time Spring logs and the resident set size once started.
+#
+# Usage: scripts/startup-report.sh [jar] [aot] [native]   (default: all three)
+# Needs Docker with Compose; the Postgres service from docker-compose.yml is started for the runs.
+set -eu
+
+cd "$(dirname "$0")/.."
+variants=${*:-jar aot native}
+port=18080
+report_dir=build/reports/startup
+report=$report_dir/startup-report.md
+mkdir -p "$report_dir"
+
+now_ms() {
+    date +%s%3N
+}
+
+docker compose up -d --wait db
+network=$(docker inspect -f '{{range $name, $_ := .NetworkSettings.Networks}}{{$name}}{{end}}' "$(docker compose ps -q db)")
+
+{
+    echo "| Variant | Image size | Ready (health UP) | Started (Spring) | RSS |"
+    echo "|---------|------------|-------------------|------------------|-----|"
+} > "$report"
+
+for variant in $variants; do
+    image=assessment:$variant
+    docker build --target "$variant" -t "$image" . >&2
+    size=$(docker image inspect -f '{{.Size}}' "$image" | awk '{printf "%d MB", $1 / 1000000}')
+
+    start=$(now_ms)
+    container=$(docker run -d --network "$network" -p "$port:8080" \
+        -e SPRING_DATASOURCE_URL=jdbc:postgresql://db:5432/parking "$image")
+    until curl -fs "http://localhost:$port/actuator/health" > /dev/null 2>&1; do
+        if [ "$(docker inspect -f '{{.State.Running}}' "$container")" != true ]; then
+            docker logs "$container" >&2
+            echo "$variant exited before becoming ready" >&2
+            exit 1
+        fi
+        sleep 0.05
+    done
+    ready=$(( $(now_ms) - start ))
+    started=$(docker logs "$container" 2>&1 | sed -n 's/.*Started Application in \([0-9.]*\) seconds.*/\1 s/p')
+    rss=$(docker top "$container" -o rss | tail -n +2 | awk '{kb += $1} END {printf "%d MB", kb / 1024}')
+    docker rm -f "$container" > /dev/null
+
+    echo "| $variant | $size | $ready ms | $started | $rss |" >> "$report"
+done
+
+cat "$report"
@@ -0,0 +1,72 @@
+package io.paymeter.assessment.application.stats;
+
+import io.paymeter.assessment.application.pricing.dto.CalculationResult;
+import io.paymeter.assessment.domain.pricing.Money;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * Cost {@link ParkingStats} adds to every calculation: recording alone, for one hot parking or spread
+ * over many, and recording while another thread keeps ranking the top parkings.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ParkingStatsBenchmark {
+
+    @Param({"1", "1000"})
+    private int parkings;
+
+    private ParkingStats stats;
+    private List<CalculationResult> results;
+
+    @Setup
+    public void setUp() {
+        stats = new ParkingStats(Clock.systemUTC(), Duration.ofMinutes(60));
+        ZonedDateTime from = ZonedDateTime.of(2024, 2, 27, 9, 0, 0, 0, ZoneOffset.UTC);
+        results = IntStream.range(0, parkings)
+                .mapToObj(i -> new CalculationResult("P%06d".formatted(i), from, from.plusHours(3), 180, new Money(600)))
+                .toList();
+        results.forEach(stats::record);
+    }
+
+    @Benchmark
+    public Object record() {
+        return stats.record(next());
+    }
+
+    @Benchmark
+    @Group("recordWhileRanking")
+    @GroupThreads(3)
+    public Object recordUnderRead() {
+        return stats.record(next());
+    }
+
+    @Benchmark
+    @Group("recordWhileRanking")
+    @GroupThreads(1)
+    public Object rankTop10() {
+        return stats.top(10, ParkingStats.Ranking.BILLED_CENTS, true);
+    }
+
+    private CalculationResult next() {
+        return parkings == 1 ? results.get(0) : results.get(ThreadLocalRandom.current().nextInt(parkings));
+    }
+}
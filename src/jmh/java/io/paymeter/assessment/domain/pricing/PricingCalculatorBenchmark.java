@@ -0,0 +1,66 @@
+package io.paymeter.assessment.domain.pricing;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class PricingCalculatorBenchmark {
+
+    @Param({"30", "90", "1440", "10080", "131040"})
+    private long stayMinutes;
+
+    @Param({"12", "24"})
+    private int capWindowHours;
+
+    @Param({"false", "true"})
+    private boolean firstHourFree;
+
+    @Param({"loop", "closed-form"})
+    private String engine;
+
+    @Param({"flat", "scheduled"})
+    private String tariff;
+
+    private PricingCalculator calculator;
+    private Pricing pricing;
+    private ZonedDateTime from;
+    private ZonedDateTime to;
+    private long fromEpochSecond;
+    private long toEpochSecond;
+
+    @Setup
+    public void setUp() {
+        calculator = "loop".equals(engine) ? new PricingCalculator() : new ClosedFormPricingCalculator();
+        pricing = "flat".equals(tariff)
+                ? new Pricing(200, 1500, capWindowHours, firstHourFree)
+                : new Pricing(200, 1500, capWindowHours, firstHourFree,
+                TariffRule.parseAll("MON-FRI 08:00-20:00 350;SAT-SUN 00:00-00:00 100;MON-SUN 22:00-06:00 50"),
+                ZoneId.of("Europe/Madrid"));
+        from = ZonedDateTime.of(2024, 3, 30, 9, 0, 0, 0, ZoneId.of("Europe/Madrid"));
+        to = from.plusMinutes(stayMinutes);
+        fromEpochSecond = from.toEpochSecond();
+        toEpochSecond = to.toEpochSecond();
+    }
+
+    @Benchmark
+    public Money calculate() {
+        return calculator.calculate(pricing, from, to);
+    }
+
+    @Benchmark
+    public long calculateCents() {
+        return calculator.calculateCents(pricing, fromEpochSecond, toEpochSecond);
+    }
+}
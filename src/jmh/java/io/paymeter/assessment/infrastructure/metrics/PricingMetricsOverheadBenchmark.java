@@ -0,0 +1,72 @@
+package io.paymeter.assessment.infrastructure.metrics;
+
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.config.MeterFilter;
+import io.micrometer.core.instrument.distribution.DistributionStatisticConfig;
+import io.micrometer.prometheus.PrometheusConfig;
+import io.micrometer.prometheus.PrometheusMeterRegistry;
+import io.paymeter.assessment.domain.pricing.ClosedFormPricingCalculator;
+import io.paymeter.assessment.domain.pricing.Money;
+import io.paymeter.assessment.domain.pricing.Pricing;
+import io.paymeter.assessment.domain.pricing.PricingCalculator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of the stage timer around the calculator: bare, with the histogram buckets published by
+ * application.yml, and with client-side percentiles added on top.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class PricingMetricsOverheadBenchmark {
+
+    @Param({"none", "histogram", "histogram+percentiles"})
+    private String timer;
+
+    private PricingCalculator calculator;
+    private Pricing pricing;
+    private ZonedDateTime from;
+    private ZonedDateTime to;
+
+    @Setup
+    public void setUp() {
+        calculator = new ClosedFormPricingCalculator();
+        if (!"none".equals(timer)) {
+            boolean clientPercentiles = timer.endsWith("percentiles");
+            PrometheusMeterRegistry registry = new PrometheusMeterRegistry(PrometheusConfig.DEFAULT);
+            registry.config().meterFilter(new MeterFilter() {
+                @Override
+                public DistributionStatisticConfig configure(Meter.Id id, DistributionStatisticConfig config) {
+                    if (!id.getName().equals(PricingMetrics.STAGE_TIMER)) {
+                        return config;
+                    }
+                    return DistributionStatisticConfig.builder()
+                            .percentiles(clientPercentiles ? new double[]{0.5, 0.99, 0.999} : null)
+                            .percentilesHistogram(true)
+                            .build()
+                            .merge(config);
+                }
+            });
+            calculator = new TimedPricingCalculator(calculator, new PricingMetrics(registry, "bench").calculate());
+        }
+        pricing = new Pricing(200, 1500, 24, false);
+        from = ZonedDateTime.of(2024, 2, 27, 9, 0, 0, 0, ZoneOffset.UTC);
+        to = from.plusHours(3);
+    }
+
+    @Benchmark
+    public Money calculate() {
+        return calculator.calculate(pricing, from, to);
+    }
+}
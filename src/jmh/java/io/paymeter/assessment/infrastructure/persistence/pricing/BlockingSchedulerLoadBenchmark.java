@@ -0,0 +1,127 @@
+package io.paymeter.assessment.infrastructure.persistence.pricing;
+
+import io.paymeter.assessment.Application;
+import io.paymeter.assessment.domain.pricing.PricingRepository;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.beans.factory.annotation.BeanFactoryAnnotationUtils;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import reactor.core.publisher.Flux;
+
+import javax.sql.DataSource;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Load on the JPA store with {@code concurrency} lookups in flight, comparing the bounded-elastic and
+ * virtual-thread schedulers for blocking calls. Reports {@code lookups} per second plus {@code peakThreads},
+ * the peak platform thread count in each iteration. Runs against in-memory H2 by default; point it at Postgres
+ * with {@code -Dbench.jdbc.url=jdbc:postgresql://...} (plus {@code bench.db.username} / {@code bench.db.password}
+ * and {@code bench.db.pool-size}, default 50).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class BlockingSchedulerLoadBenchmark {
+
+    private static final ThreadMXBean THREADS = ManagementFactory.getThreadMXBean();
+
+    private static final String[] SEED = {
+            "CREATE TABLE IF NOT EXISTS pricing (parking_id VARCHAR(32) PRIMARY KEY, hourly_rate_in_cents INTEGER NOT NULL, cap_in_cents INTEGER NOT NULL, first_hour_free BOOLEAN NOT NULL DEFAULT FALSE, cap_window_hours INTEGER NOT NULL, tariff_rules VARCHAR(1024) NOT NULL DEFAULT '', time_zone VARCHAR(64) NOT NULL DEFAULT 'UTC')",
+            "DELETE FROM pricing WHERE parking_id IN ('P000123', 'P000456')",
+            "INSERT INTO pricing (parking_id, hourly_rate_in_cents, cap_in_cents, first_hour_free, cap_window_hours) VALUES ('P000123', 2, 15, FALSE, 24)",
+            "INSERT INTO pricing (parking_id, hourly_rate_in_cents, cap_in_cents, first_hour_free, cap_window_hours) VALUES ('P000456', 3, 20, TRUE, 12)"
+    };
+
+    @Param({"bounded-elastic", "virtual-threads"})
+    private String scheduler;
+
+    @Param({"256", "4096"})
+    private int concurrency;
+
+    private ConfigurableApplicationContext context;
+    private PricingRepository repository;
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    public static class Lookups {
+
+        public long lookups;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            lookups = 0;
+        }
+    }
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Threads {
+
+        public int peakThreads;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            THREADS.resetPeakThreadCount();
+            peakThreads = 0;
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        String jdbcUrl = System.getProperty("bench.jdbc.url", "jdbc:h2:mem:pricing;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1");
+        String username = System.getProperty("bench.db.username", jdbcUrl.startsWith("jdbc:h2") ? "sa" : "postgres");
+        String password = System.getProperty("bench.db.password", jdbcUrl.startsWith("jdbc:h2") ? "" : "postgres");
+
+        List<String> args = new ArrayList<>(List.of(
+                "--server.port=0",
+                "--pricing.cache.enabled=false",
+                "--pricing.invalidation.bus=none",
+                "--pricing.coalescing.enabled=false",
+                "--pricing.persistence.scheduler=" + scheduler,
+                "--spring.datasource.url=" + jdbcUrl,
+                "--spring.datasource.username=" + username,
+                "--spring.datasource.password=" + password,
+                "--spring.datasource.hikari.maximum-pool-size=" + System.getProperty("bench.db.pool-size", "50")));
+        if (jdbcUrl.startsWith("jdbc:h2")) {
+            args.add("--spring.datasource.driver-class-name=org.h2.Driver");
+            args.add("--spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect");
+        }
+
+        context = new SpringApplicationBuilder(Application.class).run(args.toArray(String[]::new));
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(context.getBean(DataSource.class));
+        for (String statement : SEED) {
+            jdbcTemplate.execute(statement);
+        }
+        repository = BeanFactoryAnnotationUtils.qualifiedBeanOfType(context.getBeanFactory(), PricingRepository.class, "pricingStore");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Object concurrentLookups(Lookups lookups, Threads threads) {
+        Object last = Flux.range(0, concurrency)
+                .flatMap(i -> repository.findById((i & 1) == 0 ? "P000123" : "P000456"), concurrency)
+                .blockLast();
+        lookups.lookups += concurrency;
+        threads.peakThreads = THREADS.getPeakThreadCount();
+        return last;
+    }
+}
@@ -0,0 +1,107 @@
+package io.paymeter.assessment.infrastructure.persistence.pricing;
+
+import io.paymeter.assessment.Application;
+import io.paymeter.assessment.domain.pricing.PricingRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.beans.factory.annotation.BeanFactoryAnnotationUtils;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.r2dbc.core.DatabaseClient;
+import reactor.core.publisher.Flux;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares how many lookups per second the JPA and R2DBC stores sustain with {@value #CONCURRENCY}
+ * lookups in flight. Runs against in-memory H2 by default; point it at Postgres with
+ * {@code -Dbench.jdbc.url=jdbc:postgresql://...} and {@code -Dbench.r2dbc.url=r2dbc:postgresql://...}
+ * (plus {@code bench.db.username} / {@code bench.db.password}).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class PricingRepositoryThroughputBenchmark {
+
+    private static final int CONCURRENCY = 256;
+
+    private static final String[] SEED = {
+            "CREATE TABLE IF NOT EXISTS pricing (parking_id VARCHAR(32) PRIMARY KEY, hourly_rate_in_cents INTEGER NOT NULL, cap_in_cents INTEGER NOT NULL, first_hour_free BOOLEAN NOT NULL DEFAULT FALSE, cap_window_hours INTEGER NOT NULL, tariff_rules VARCHAR(1024) NOT NULL DEFAULT '', time_zone VARCHAR(64) NOT NULL DEFAULT 'UTC')",
+            "DELETE FROM pricing WHERE parking_id IN ('P000123', 'P000456')",
+            "INSERT INTO pricing (parking_id, hourly_rate_in_cents, cap_in_cents, first_hour_free, cap_window_hours) VALUES ('P000123', 2, 15, FALSE, 24)",
+            "INSERT INTO pricing (parking_id, hourly_rate_in_cents, cap_in_cents, first_hour_free, cap_window_hours) VALUES ('P000456', 3, 20, TRUE, 12)"
+    };
+
+    @Param({"jpa", "r2dbc"})
+    private String store;
+
+    private ConfigurableApplicationContext context;
+    private PricingRepository repository;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        String jdbcUrl = System.getProperty("bench.jdbc.url", "jdbc:h2:mem:pricing;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1");
+        String r2dbcUrl = System.getProperty("bench.r2dbc.url", "r2dbc:h2:mem:///pricing;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1");
+        String username = System.getProperty("bench.db.username", jdbcUrl.startsWith("jdbc:h2") ? "sa" : "postgres");
+        String password = System.getProperty("bench.db.password", jdbcUrl.startsWith("jdbc:h2") ? "" : "postgres");
+
+        List<String> args = new ArrayList<>(List.of(
+                "--server.port=0",
+                "--pricing.cache.enabled=false",
+                "--pricing.invalidation.bus=none",
+                "--spring.datasource.url=" + jdbcUrl,
+                "--spring.datasource.username=" + username,
+                "--spring.datasource.password=" + password,
+                "--spring.r2dbc.url=" + r2dbcUrl,
+                "--spring.r2dbc.username=" + username,
+                "--spring.r2dbc.password=" + password));
+        if (jdbcUrl.startsWith("jdbc:h2")) {
+            args.add("--spring.datasource.driver-class-name=org.h2.Driver");
+            args.add("--spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect");
+        }
+
+        context = new SpringApplicationBuilder(Application.class)
+                .profiles("r2dbc".equals(store) ? new String[]{"r2dbc"} : new String[0])
+                .run(args.toArray(String[]::new));
+        seed();
+        repository = BeanFactoryAnnotationUtils.qualifiedBeanOfType(context.getBeanFactory(), PricingRepository.class, "pricingStore");
+    }
+
+    private void seed() {
+        if ("r2dbc".equals(store)) {
+            DatabaseClient databaseClient = context.getBean(DatabaseClient.class);
+            Flux.just(SEED).concatMap(statement -> databaseClient.sql(statement).then()).blockLast();
+        } else {
+            JdbcTemplate jdbcTemplate = new JdbcTemplate(context.getBean(DataSource.class));
+            for (String statement : SEED) {
+                jdbcTemplate.execute(statement);
+            }
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(CONCURRENCY)
+    public Object concurrentLookups() {
+        return Flux.range(0, CONCURRENCY)
+                .flatMap(i -> repository.findById((i & 1) == 0 ? "P000123" : "P000456"), CONCURRENCY)
+                .blockLast();
+    }
+}
@@ -0,0 +1,115 @@
+package io.paymeter.assessment.infrastructure.web.parking;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.paymeter.assessment.application.pricing.PricingService;
+import io.paymeter.assessment.application.pricing.dto.CalculationResult;
+import io.paymeter.assessment.application.shared.BadRequestException;
+import io.paymeter.assessment.application.shared.NotFoundException;
+import io.paymeter.assessment.domain.pricing.ClosedFormPricingCalculator;
+import io.paymeter.assessment.domain.pricing.Pricing;
+import io.paymeter.assessment.domain.pricing.PricingCalculator;
+import io.paymeter.assessment.domain.pricing.PricingRepository;
+import io.paymeter.assessment.infrastructure.metrics.PricingMetrics;
+import io.paymeter.assessment.infrastructure.web.parking.dto.ErrorResponse;
+import io.paymeter.assessment.infrastructure.web.parking.dto.TicketRequest;
+import io.paymeter.assessment.infrastructure.web.parking.exception.TicketBadRequestException;
+import jakarta.validation.Validation;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.http.HttpStatus;
+import reactor.core.publisher.Mono;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of answering a rejected ticket request. {@code exceptions} replays how rejections used to travel:
+ * a new exception with a filled stack trace per request, java.time's exceptions for unparseable dates and
+ * a freshly formatted timestamp per error body. {@code outcome} is the current controller path, which also
+ * builds the response entity and records the parse timer; {@code priced} shows what that adds on success.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ErrorPathBenchmark {
+
+    @Param({"priced", "to-before-from", "not-found", "garbage-date"})
+    private String request;
+
+    private Pricing pricing;
+    private PricingCalculator calculator;
+    private TicketController controller;
+    private TicketRequest ticket;
+
+    @Setup
+    public void setUp() {
+        pricing = new Pricing(200, 1500, 24, false);
+        calculator = new ClosedFormPricingCalculator();
+        PricingRepository repository = parkingId -> Mono.justOrEmpty("P000123".equals(parkingId) ? pricing : null);
+        PricingService service = new PricingService(repository, calculator, Clock.systemUTC());
+        controller = new TicketController(service, null, new PricingMetrics(new SimpleMeterRegistry(), "bench"),
+                new ObjectMapper(), Validation.buildDefaultValidatorFactory().getValidator());
+
+        ticket = new TicketRequest();
+        ticket.setParkingId("not-found".equals(request) ? "P999999" : "P000123");
+        ticket.setFrom("garbage-date".equals(request) ? "/wp-login.php" : "2024-02-27T09:00:00Z");
+        ticket.setTo("to-before-from".equals(request) ? "2024-02-27T08:00:00Z" : "2024-02-27T12:00:00Z");
+    }
+
+    @Benchmark
+    public Object outcome() {
+        return controller.calculate(ticket).block();
+    }
+
+    @Benchmark
+    public Object exceptions() {
+        return Mono.defer(() -> {
+                    ZonedDateTime from;
+                    ZonedDateTime to;
+                    try {
+                        from = parseWithJavaTimeFallback(ticket.getFrom());
+                        to = parseWithJavaTimeFallback(ticket.getTo());
+                    } catch (DateTimeParseException e) {
+                        return Mono.error(new TicketBadRequestException("Invalid date format"));
+                    }
+                    if (to.isBefore(from)) {
+                        return Mono.error(new BadRequestException("The to date must be after the from date"));
+                    }
+                    return Mono.justOrEmpty("P000123".equals(ticket.getParkingId()) ? pricing : null)
+                            .switchIfEmpty(Mono.error(() -> new NotFoundException("Parking not found")))
+                            .map(found -> new CalculationResult(ticket.getParkingId(), from, to,
+                                    Duration.between(from, to).toMinutes(), calculator.calculate(found, from, to)));
+                })
+                .<Object>map(controller::toResponse)
+                .onErrorResume(ex -> Mono.just(new ErrorResponse(ex.getMessage(),
+                        ex instanceof NotFoundException ? "NOT_FOUND" : "BAD_REQUEST",
+                        (ex instanceof NotFoundException ? HttpStatus.NOT_FOUND : HttpStatus.BAD_REQUEST).value(),
+                        Instant.now().toString())))
+                .block();
+    }
+
+    private static ZonedDateTime parseWithJavaTimeFallback(String value) {
+        ZonedDateTime parsed = IsoDateTimeParser.parse(value);
+        if (parsed != null) {
+            return parsed;
+        }
+        try {
+            return ZonedDateTime.parse(value);
+        } catch (DateTimeParseException ex) {
+            return ZonedDateTime.of(LocalDateTime.parse(value), ZoneOffset.UTC);
+        }
+    }
+}
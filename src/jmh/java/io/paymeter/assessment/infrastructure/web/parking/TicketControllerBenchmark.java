@@ -0,0 +1,49 @@
+package io.paymeter.assessment.infrastructure.web.parking;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.Validation;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class TicketControllerBenchmark {
+
+    @Param({"2024-02-27T09:00:00", "2024-02-27T09:00:00Z", "2024-02-27T09:00:00.123+01:00", "2024-02-27T09:00:00+01:00[Europe/Madrid]"})
+    private String timestamp;
+
+    private TicketController controller;
+
+    @Setup
+    public void setUp() {
+        controller = new TicketController(null, null, null, new ObjectMapper(),
+                Validation.buildDefaultValidatorFactory().getValidator());
+    }
+
+    @Benchmark
+    public ZonedDateTime parseDate() {
+        return controller.parseDate(timestamp);
+    }
+
+    @Benchmark
+    public ZonedDateTime javaTimeParseDate() {
+        try {
+            return ZonedDateTime.parse(timestamp);
+        } catch (DateTimeParseException ex) {
+            return ZonedDateTime.of(LocalDateTime.parse(timestamp), ZoneOffset.UTC);
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package io.paymeter.assessment.infrastructure.web.parking;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.paymeter.assessment.infrastructure.web.parking.dto.TicketResponse;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class TicketResponseSerializationBenchmark {
+
+    private ObjectMapper objectMapper;
+    private TicketResponse response;
+
+    @Setup
+    public void setUp() {
+        objectMapper = new ObjectMapper();
+        response = new TicketResponse("P000123", "2024-02-27T09:00Z", "2024-02-27T10:00Z", 60, "200EUR");
+    }
+
+    @Benchmark
+    public byte[] serialize() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(response);
+    }
+}
@@ -0,0 +1,113 @@
+package io.paymeter.assessment.infrastructure.web.parking;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.paymeter.assessment.domain.pricing.Money;
+import io.paymeter.assessment.infrastructure.web.parking.dto.CompactTicketRequest;
+import io.paymeter.assessment.infrastructure.web.parking.dto.CompactTicketResponse;
+import io.paymeter.assessment.infrastructure.web.parking.dto.TicketRequest;
+import io.paymeter.assessment.infrastructure.web.parking.dto.TicketResponse;
+import io.paymeter.assessment.infrastructure.web.parking.proto.CalculateRequest;
+import io.paymeter.assessment.infrastructure.web.parking.proto.CalculateResponse;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Encodes a priced ticket and decodes a ticket request in each wire format, including the mapping between
+ * the domain values and the payload (ISO strings and {@link Money#format()} for JSON, epoch seconds and
+ * cents for CBOR and Protobuf).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class TicketWireFormatBenchmark {
+
+    private ObjectMapper json;
+    private ObjectMapper cbor;
+    private ZonedDateTime from;
+    private ZonedDateTime to;
+    private Money price;
+    private byte[] jsonRequest;
+    private byte[] cborRequest;
+    private byte[] protobufRequest;
+
+    @Setup
+    public void setUp() throws IOException {
+        json = new ObjectMapper();
+        cbor = Jackson2ObjectMapperBuilder.cbor().build();
+        from = ZonedDateTime.of(2024, 2, 27, 9, 0, 0, 0, ZoneOffset.UTC);
+        to = from.plusMinutes(150);
+        price = new Money(600);
+
+        TicketRequest request = new TicketRequest();
+        request.setParkingId("P000123");
+        request.setFrom(from.toString());
+        request.setTo(to.toString());
+        jsonRequest = json.writeValueAsBytes(request);
+        CompactTicketRequest compact = new CompactTicketRequest();
+        compact.setParkingId("P000123");
+        compact.setFromEpochSecond(from.toEpochSecond());
+        compact.setToEpochSecond(to.toEpochSecond());
+        cborRequest = cbor.writeValueAsBytes(compact);
+        protobufRequest = CalculateRequest.newBuilder()
+                .setParkingId("P000123")
+                .setFromEpochSecond(from.toEpochSecond())
+                .setToEpochSecond(to.toEpochSecond())
+                .build().toByteArray();
+    }
+
+    @Benchmark
+    public byte[] encodeJson() throws IOException {
+        return json.writeValueAsBytes(new TicketResponse("P000123", from.toString(), to.toString(), 150, price.format()));
+    }
+
+    @Benchmark
+    public byte[] encodeCbor() throws IOException {
+        return cbor.writeValueAsBytes(new CompactTicketResponse("P000123", from.toEpochSecond(), to.toEpochSecond(),
+                150, price.getAmount(), price.getCurrencyCode()));
+    }
+
+    @Benchmark
+    public byte[] encodeProtobuf() {
+        return CalculateResponse.newBuilder()
+                .setParkingId("P000123")
+                .setFromEpochSecond(from.toEpochSecond())
+                .setToEpochSecond(to.toEpochSecond())
+                .setDurationMinutes(150)
+                .setPriceCents(price.getAmount())
+                .setCurrency(price.getCurrencyCode())
+                .build().toByteArray();
+    }
+
+    @Benchmark
+    public Duration decodeJson() throws IOException {
+        TicketRequest request = json.readValue(jsonRequest, TicketRequest.class);
+        return Duration.between(IsoDateTimeParser.parse(request.getFrom()), IsoDateTimeParser.parse(request.getTo()));
+    }
+
+    @Benchmark
+    public Duration decodeCbor() throws IOException {
+        CompactTicketRequest request = cbor.readValue(cborRequest, CompactTicketRequest.class);
+        return Duration.between(Instant.ofEpochSecond(request.getFromEpochSecond()).atZone(ZoneOffset.UTC),
+                Instant.ofEpochSecond(request.getToEpochSecond()).atZone(ZoneOffset.UTC));
+    }
+
+    @Benchmark
+    public Duration decodeProtobuf() throws IOException {
+        CalculateRequest request = CalculateRequest.parseFrom(protobufRequest);
+        return Duration.between(Instant.ofEpochSecond(request.getFromEpochSecond()).atZone(ZoneOffset.UTC),
+                Instant.ofEpochSecond(request.getToEpochSecond()).atZone(ZoneOffset.UTC));
+    }
+}
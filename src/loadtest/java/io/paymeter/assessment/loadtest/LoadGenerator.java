@@ -0,0 +1,121 @@
+package io.paymeter.assessment.loadtest;
+
+import io.netty.handler.codec.http.HttpHeaderNames;
+import io.netty.handler.codec.http.HttpHeaderValues;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+import reactor.core.publisher.Mono;
+import reactor.netty.ByteBufFlux;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Open-loop load: request {@code i} is due at {@code start + i / rate} whether or not earlier ones have
+ * completed, and its latency is measured from that due time. A stall in the server (or in the
+ * generator) therefore shows up in every request that should have been sent during it, instead of being
+ * hidden by requests that were simply not sent; this is the coordinated-omission correction. The
+ * uncorrected latency, measured from the moment each request was actually written, is kept alongside.
+ */
+final class LoadGenerator implements AutoCloseable {
+
+    private static final long HIGHEST_MICROS = TimeUnit.MINUTES.toMicros(10);
+    private static final Duration RESPONSE_TIMEOUT = Duration.ofSeconds(30);
+
+    private final ConnectionProvider connections;
+    private final HttpClient client;
+
+    LoadGenerator(String baseUrl, int maxConnections) {
+        this.connections = ConnectionProvider.builder("loadtest")
+                .maxConnections(maxConnections)
+                .pendingAcquireMaxCount(-1)
+                .pendingAcquireTimeout(RESPONSE_TIMEOUT)
+                .build();
+        this.client = HttpClient.create(connections)
+                .baseUrl(baseUrl)
+                .responseTimeout(RESPONSE_TIMEOUT)
+                .headers(headers -> headers.set(HttpHeaderNames.CONTENT_TYPE, HttpHeaderValues.APPLICATION_JSON));
+    }
+
+    HttpClient client() {
+        return client;
+    }
+
+    Result run(RequestMix mix, int rate, Duration duration) throws InterruptedException {
+        long requests = Math.max(1, duration.toNanos() * rate / 1_000_000_000L);
+        Histogram corrected = new ConcurrentHistogram(HIGHEST_MICROS, 3);
+        Histogram uncorrected = new ConcurrentHistogram(HIGHEST_MICROS, 3);
+        Map<String, LongAdder> outcomes = new ConcurrentHashMap<>();
+        AtomicLong outstanding = new AtomicLong(requests);
+        Object done = new Object();
+
+        long start = System.nanoTime();
+        for (long i = 0; i < requests; i++) {
+            long due = start + (long) (i * 1e9 / rate);
+            long now;
+            while ((now = System.nanoTime()) < due) {
+                LockSupport.parkNanos(due - now);
+            }
+            long sent = now;
+            client.post()
+                    .uri("/tickets/calculate")
+                    .send(ByteBufFlux.fromString(Mono.just(mix.nextBody())))
+                    .responseSingle((response, body) -> body.then(Mono.just(String.valueOf(response.status().code()))))
+                    .onErrorResume(error -> Mono.just(error.getClass().getSimpleName()))
+                    .subscribe(outcome -> {
+                        long completed = System.nanoTime();
+                        corrected.recordValue(Math.min(HIGHEST_MICROS, (completed - due) / 1000));
+                        uncorrected.recordValue(Math.min(HIGHEST_MICROS, (completed - sent) / 1000));
+                        outcomes.computeIfAbsent(outcome, key -> new LongAdder()).increment();
+                        if (outstanding.decrementAndGet() == 0) {
+                            synchronized (done) {
+                                done.notifyAll();
+                            }
+                        }
+                    });
+        }
+        long sendingNanos = System.nanoTime() - start;
+        long deadline = System.nanoTime() + RESPONSE_TIMEOUT.toNanos() * 2;
+        synchronized (done) {
+            while (outstanding.get() > 0 && System.nanoTime() < deadline) {
+                done.wait(100);
+            }
+        }
+        long elapsedNanos = System.nanoTime() - start;
+        Map<String, Long> counts = new TreeMap<>();
+        outcomes.forEach((outcome, count) -> counts.put(outcome, count.sum()));
+        if (outstanding.get() > 0) {
+            counts.put("unanswered", outstanding.get());
+        }
+        return new Result(requests, sendingNanos, elapsedNanos, counts, corrected, uncorrected);
+    }
+
+    @Override
+    public void close() {
+        connections.dispose();
+    }
+
+    record Result(long requests,
+                  long sendingNanos,
+                  long elapsedNanos,
+                  Map<String, Long> outcomes,
+                  Histogram corrected,
+                  Histogram uncorrected) {
+
+        double sentPerSecond() {
+            return requests * 1e9 / sendingNanos;
+        }
+
+        double completedPerSecond() {
+            return (requests - outcomes.getOrDefault("unanswered", 0L)) * 1e9 / elapsedNanos;
+        }
+    }
+}
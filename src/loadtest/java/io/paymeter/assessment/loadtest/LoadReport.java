@@ -0,0 +1,77 @@
+package io.paymeter.assessment.loadtest;
+
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Locale;
+import java.util.stream.Collectors;
+
+/**
+ * Writes a run as a fixed-layout text summary, meant to be diffed between commits, plus one HdrHistogram
+ * percentile distribution per latency ({@code .hgrm}, in milliseconds) next to it for plotting.
+ */
+final class LoadReport {
+
+    private static final String[] LABELS = {"p50", "p90", "p99", "p99.9", "p99.99", "max"};
+    private static final double[] PERCENTILES = {50, 90, 99, 99.9, 99.99, 100};
+
+    private LoadReport() {
+    }
+
+    static String summary(LoadTestOptions options, RequestMix mix, LoadGenerator.Result result) {
+        StringBuilder report = new StringBuilder("# Load test: POST /tickets/calculate\n\n");
+        line(report, "target", options.target());
+        line(report, "rate", options.rate() + " req/s");
+        line(report, "duration", options.duration().toSeconds() + "s (warm-up " + options.warmup().toSeconds() + "s)");
+        line(report, "connections", String.valueOf(options.connections()));
+        line(report, "parkings", format("%d (zipf s=%.2f, hottest %.1f%%)", options.parkings(), options.skew(), mix.hottestShare() * 100));
+        line(report, "stays", options.stays());
+        line(report, "seed", String.valueOf(options.seed()));
+        line(report, "app args", String.join(" ", options.applicationArgs()));
+        report.append('\n');
+        line(report, "requests", String.valueOf(result.requests()));
+        line(report, "sent", format("%.1f req/s", result.sentPerSecond()));
+        line(report, "completed", format("%.1f req/s", result.completedPerSecond()));
+        line(report, "outcomes", result.outcomes().entrySet().stream()
+                .map(entry -> entry.getKey() + "=" + entry.getValue())
+                .collect(Collectors.joining(" ")));
+        report.append('\n').append(format("%-12s %12s %12s%n", "latency ms", "corrected", "uncorrected"));
+        for (int i = 0; i < PERCENTILES.length; i++) {
+            report.append(format("%-12s %12.3f %12.3f%n", LABELS[i],
+                    millis(result.corrected(), PERCENTILES[i]), millis(result.uncorrected(), PERCENTILES[i])));
+        }
+        return report.toString();
+    }
+
+    static void write(Path report, String summary, LoadGenerator.Result result) throws IOException {
+        Path directory = report.toAbsolutePath().getParent();
+        Files.createDirectories(directory);
+        Files.writeString(report, summary);
+        String name = report.getFileName().toString().replaceFirst("\\.[^.]*$", "");
+        histogram(directory.resolve(name + "-corrected.hgrm"), result.corrected());
+        histogram(directory.resolve(name + "-uncorrected.hgrm"), result.uncorrected());
+    }
+
+    private static void line(StringBuilder report, String name, String value) {
+        report.append(format("%-12s %s%n", name, value));
+    }
+
+    private static String format(String format, Object... args) {
+        return String.format(Locale.ROOT, format, args);
+    }
+
+    private static double millis(Histogram histogram, double percentile) {
+        long micros = percentile == 100 ? histogram.getMaxValue() : histogram.getValueAtPercentile(percentile);
+        return micros / 1000.0;
+    }
+
+    private static void histogram(Path file, Histogram histogram) throws IOException {
+        try (PrintStream out = new PrintStream(Files.newOutputStream(file), false, StandardCharsets.UTF_8)) {
+            histogram.outputPercentileDistribution(out, 1000.0);
+        }
+    }
+}
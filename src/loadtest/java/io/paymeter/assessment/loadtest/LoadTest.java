@@ -0,0 +1,65 @@
+package io.paymeter.assessment.loadtest;
+
+import io.netty.handler.codec.http.HttpResponseStatus;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.netty.ByteBufFlux;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.SplittableRandom;
+
+/**
+ * Entry point of {@code ./gradlew loadTest}: starts (or connects to) the application, seeds
+ * {@code --parkings} tariffs through the admin API, drives {@code /tickets/calculate} open-loop for
+ * {@code --warmup}, discards those results, runs again for {@code --duration} and writes the report.
+ */
+public final class LoadTest {
+
+    private LoadTest() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadTestOptions options = LoadTestOptions.parse(args);
+        try (TargetApplication application = TargetApplication.start(options);
+             LoadGenerator generator = new LoadGenerator(application.baseUrl(), options.connections())) {
+            seed(generator, options);
+            RequestMix mix = new RequestMix(options.parkings(), options.skew(), options.stays(), options.seed());
+            if (!options.warmup().isZero()) {
+                System.out.println("Warming up for " + options.warmup().toSeconds() + "s at " + options.rate() + " req/s");
+                generator.run(mix, options.rate(), options.warmup());
+            }
+            System.out.println("Measuring for " + options.duration().toSeconds() + "s at " + options.rate() + " req/s");
+            LoadGenerator.Result result = generator.run(mix, options.rate(), options.duration());
+            String summary = LoadReport.summary(options, mix, result);
+            LoadReport.write(options.report(), summary, result);
+            System.out.println();
+            System.out.print(summary);
+            System.out.println("\nReport written to " + options.report().toAbsolutePath());
+        }
+        System.exit(0);
+    }
+
+    /** Same tariffs for the same seed, whatever the target. */
+    private static void seed(LoadGenerator generator, LoadTestOptions options) {
+        SplittableRandom random = new SplittableRandom(options.seed());
+        String authorization = "Basic " + Base64.getEncoder().encodeToString(
+                (options.adminUser() + ":" + options.adminPassword()).getBytes(StandardCharsets.UTF_8));
+        Flux.range(0, options.parkings())
+                .map(index -> {
+                    int hourlyRate = 100 + random.nextInt(300);
+                    return new String[]{RequestMix.parkingId(index), """
+                            {"hourlyRateInCents":%d,"capInCents":%d,"capWindowHours":%d,"firstHourFree":%b}"""
+                            .formatted(hourlyRate, hourlyRate * (6 + random.nextInt(6)), random.nextBoolean() ? 24 : 12, random.nextBoolean())};
+                })
+                .flatMap(parking -> generator.client()
+                        .headers(headers -> headers.set("Authorization", authorization))
+                        .put()
+                        .uri("/admin/pricings/" + parking[0])
+                        .send(ByteBufFlux.fromString(Mono.just(parking[1])))
+                        .responseSingle((response, body) -> body.then(response.status().equals(HttpResponseStatus.OK)
+                                ? Mono.empty()
+                                : Mono.error(new IllegalStateException("Seeding " + parking[0] + " failed with " + response.status())))), 16)
+                .blockLast();
+    }
+}
@@ -0,0 +1,75 @@
+package io.paymeter.assessment.loadtest;
+
+import org.springframework.boot.convert.DurationStyle;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * {@code --name=value} options of the load test. {@code --app.<property>=<value>} options are handed to the
+ * application as {@code --<property>=<value>} when the harness starts it.
+ */
+record LoadTestOptions(String target,
+                       String url,
+                       int rate,
+                       Duration duration,
+                       Duration warmup,
+                       int connections,
+                       int parkings,
+                       double skew,
+                       String stays,
+                       long seed,
+                       Path report,
+                       String adminUser,
+                       String adminPassword,
+                       List<String> applicationArgs) {
+
+    private static final Set<String> TARGETS = Set.of("memory", "h2", "url");
+
+    static LoadTestOptions parse(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        List<String> applicationArgs = new ArrayList<>();
+        for (String arg : args) {
+            int equals = arg.indexOf('=');
+            if (!arg.startsWith("--") || equals < 0) {
+                throw new IllegalArgumentException("Expected --name=value but got " + arg);
+            }
+            String name = arg.substring(2, equals);
+            if (name.startsWith("app.")) {
+                applicationArgs.add("--" + arg.substring(6));
+            } else {
+                options.put(name, arg.substring(equals + 1));
+            }
+        }
+        LoadTestOptions parsed = new LoadTestOptions(
+                options.getOrDefault("target", "memory"),
+                options.get("url"),
+                Integer.parseInt(options.getOrDefault("rate", "1000")),
+                DurationStyle.detectAndParse(options.getOrDefault("duration", "30s")),
+                DurationStyle.detectAndParse(options.getOrDefault("warmup", "30s")),
+                Integer.parseInt(options.getOrDefault("connections", "256")),
+                Integer.parseInt(options.getOrDefault("parkings", "1000")),
+                Double.parseDouble(options.getOrDefault("skew", "1.0")),
+                options.getOrDefault("stays", "20m:30,2h:40,9h:20,30h:10"),
+                Long.parseLong(options.getOrDefault("seed", "42")),
+                Path.of(options.getOrDefault("report", "build/reports/loadtest/report.txt")),
+                options.getOrDefault("admin-user", "user"),
+                options.getOrDefault("admin-password", "password"),
+                List.copyOf(applicationArgs));
+        if (!TARGETS.contains(parsed.target())) {
+            throw new IllegalArgumentException("--target must be one of " + TARGETS);
+        }
+        if ("url".equals(parsed.target()) && parsed.url() == null) {
+            throw new IllegalArgumentException("--target=url needs --url=http://host:port");
+        }
+        if (parsed.rate() < 1 || parsed.connections() < 1 || parsed.parkings() < 1 || parsed.skew() < 0) {
+            throw new IllegalArgumentException("--rate, --connections and --parkings must be positive and --skew not negative");
+        }
+        return parsed;
+    }
+}
@@ -0,0 +1,76 @@
+package io.paymeter.assessment.loadtest;
+
+import org.springframework.boot.convert.DurationStyle;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * Reproducible stream of {@code /tickets/calculate} bodies. Parkings are drawn from a Zipf distribution
+ * with exponent {@code skew} over {@code parkings} ids (0 is uniform, 1 makes the first parking roughly
+ * {@code ln(parkings)} times likelier than an even share), stay lengths from weighted
+ * {@code duration:weight} entries such as {@code 20m:30,2h:70}; entry times spread over one week.
+ */
+final class RequestMix {
+
+    private static final Instant WEEK_START = Instant.parse("2024-02-26T00:00:00Z");
+    private static final int MINUTES_PER_WEEK = 7 * 24 * 60;
+
+    private final double[] parkingCdf;
+    private final Duration[] stays;
+    private final double[] stayCdf;
+    private final SplittableRandom random;
+
+    RequestMix(int parkings, double skew, String stays, long seed) {
+        this.parkingCdf = new double[parkings];
+        double sum = 0;
+        for (int rank = 0; rank < parkings; rank++) {
+            sum += 1 / Math.pow(rank + 1, skew);
+            parkingCdf[rank] = sum;
+        }
+        for (int rank = 0; rank < parkings; rank++) {
+            parkingCdf[rank] /= sum;
+        }
+        String[] entries = stays.split(",");
+        this.stays = new Duration[entries.length];
+        this.stayCdf = new double[entries.length];
+        double weights = 0;
+        for (int i = 0; i < entries.length; i++) {
+            String[] parts = entries[i].trim().split(":");
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("--stays entries must look like 2h:40 but got " + entries[i]);
+            }
+            this.stays[i] = DurationStyle.detectAndParse(parts[0]);
+            weights += Double.parseDouble(parts[1]);
+            stayCdf[i] = weights;
+        }
+        for (int i = 0; i < entries.length; i++) {
+            stayCdf[i] /= weights;
+        }
+        this.random = new SplittableRandom(seed);
+    }
+
+    static String parkingId(int index) {
+        return "L%06d".formatted(index);
+    }
+
+    /** Share of requests that go to the most requested parking. */
+    double hottestShare() {
+        return parkingCdf[0];
+    }
+
+    String nextBody() {
+        String parkingId = parkingId(pick(parkingCdf));
+        Instant from = WEEK_START.plus(random.nextInt(MINUTES_PER_WEEK), ChronoUnit.MINUTES);
+        Instant to = from.plus(stays[pick(stayCdf)]);
+        return "{\"parkingId\":\"" + parkingId + "\",\"from\":\"" + from + "\",\"to\":\"" + to + "\"}";
+    }
+
+    private int pick(double[] cdf) {
+        int index = Arrays.binarySearch(cdf, random.nextDouble());
+        return Math.min(index < 0 ? -index - 1 : index, cdf.length - 1);
+    }
+}
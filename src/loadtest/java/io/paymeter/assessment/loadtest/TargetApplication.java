@@ -0,0 +1,64 @@
+package io.paymeter.assessment.loadtest;
+
+import io.paymeter.assessment.Application;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The application under test: started in this JVM on a random port with the in-memory store
+ * ({@code memory}) or an embedded H2 database initialised from {@code db/init} ({@code h2}), or an
+ * instance already running elsewhere ({@code url}). An in-process application shares CPU with the load
+ * generator, so its results are only comparable with other in-process runs.
+ */
+final class TargetApplication implements AutoCloseable {
+
+    private static final String H2_URL = "jdbc:h2:mem:loadtest;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1";
+
+    private final ConfigurableApplicationContext context;
+    private final String baseUrl;
+
+    private TargetApplication(ConfigurableApplicationContext context, String baseUrl) {
+        this.context = context;
+        this.baseUrl = baseUrl;
+    }
+
+    static TargetApplication start(LoadTestOptions options) {
+        if ("url".equals(options.target())) {
+            return new TargetApplication(null, options.url());
+        }
+        List<String> args = new ArrayList<>(List.of("--server.port=0"));
+        SpringApplicationBuilder builder = new SpringApplicationBuilder(Application.class);
+        if ("memory".equals(options.target())) {
+            builder.profiles("in-memory");
+        } else {
+            args.addAll(List.of(
+                    "--spring.datasource.url=" + H2_URL,
+                    "--spring.datasource.driver-class-name=org.h2.Driver",
+                    "--spring.datasource.username=sa",
+                    "--spring.datasource.password=",
+                    "--spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+                    "--spring.sql.init.mode=always",
+                    "--pricing.invalidation.bus=in-process",
+                    "--spring.sql.init.schema-locations=file:db/init/001_create_pricing.sql,file:db/init/002_create_tickets.sql,file:db/init/004_add_tariff_rules.sql"));
+        }
+        args.add("--spring.security.user.name=" + options.adminUser());
+        args.add("--spring.security.user.password=" + options.adminPassword());
+        args.addAll(options.applicationArgs());
+        ConfigurableApplicationContext context = builder.run(args.toArray(String[]::new));
+        return new TargetApplication(context, "http://localhost:" + context.getEnvironment().getProperty("local.server.port"));
+    }
+
+    String baseUrl() {
+        return baseUrl;
+    }
+
+    @Override
+    public void close() {
+        if (context != null) {
+            context.close();
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package io.paymeter.assessment.application.pricing;
+
+import io.paymeter.assessment.application.pricing.dto.CalculationResult;
+import reactor.core.publisher.Mono;
+
+/**
+ * Keeps a record of every price handed out: closed tickets through {@link #record}, quotes for open
+ * tickets (priced up to now) through {@link #recordQuote}. Implementations must not block the caller; the
+ * returned {@code Mono} completes once the result has been accepted, and may be delayed to push back on
+ * callers when the recorder falls behind.
+ */
+public interface CalculationRecorder {
+
+    CalculationRecorder NONE = result -> Mono.empty();
+
+    Mono<Void> record(CalculationResult result);
+
+    /** A price for an open ticket, which may be asked for again and again while the car is parked. */
+    default Mono<Void> recordQuote(CalculationResult result) {
+        return Mono.empty();
+    }
+
+    /**
+     * Returns a recorder that hands each result and quote to this recorder, then to {@code next}.
+     */
+    default CalculationRecorder andThen(CalculationRecorder next) {
+        if (next == NONE) {
+            return this;
+        }
+        if (this == NONE) {
+            return next;
+        }
+        CalculationRecorder first = this;
+        return new CalculationRecorder() {
+            @Override
+            public Mono<Void> record(CalculationResult result) {
+                return first.record(result).then(Mono.defer(() -> next.record(result)));
+            }
+
+            @Override
+            public Mono<Void> recordQuote(CalculationResult result) {
+                return first.recordQuote(result).then(Mono.defer(() -> next.recordQuote(result)));
+            }
+        };
+    }
+}
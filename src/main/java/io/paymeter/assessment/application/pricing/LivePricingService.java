@@ -0,0 +1,260 @@
+package io.paymeter.assessment.application.pricing;
+
+import io.paymeter.assessment.application.pricing.dto.CalculationResult;
+import io.paymeter.assessment.application.shared.BadRequestException;
+import io.paymeter.assessment.application.shared.NotFoundException;
+import io.paymeter.assessment.domain.pricing.Money;
+import io.paymeter.assessment.domain.pricing.Pricing;
+import io.paymeter.assessment.domain.pricing.PricingCalculator;
+import io.paymeter.assessment.domain.pricing.PricingRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.FluxSink;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZonedDateTime;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Streams the running price of open tickets, emitting only when the price changes. Subscribers wait in a
+ * single index ordered by their next price change and one periodic tick re-prices those that are due, so an
+ * idle subscriber costs an index entry rather than a timer. Index entries are immutable: a ticket is
+ * rescheduled by replacing its entry, always while holding the ticket's monitor.
+ */
+public class LivePricingService implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(LivePricingService.class);
+    private static final Comparator<Due> BY_DEADLINE = Comparator
+            .comparingLong(Due::at)
+            .thenComparingLong(Due::id);
+
+    private final PricingRepository pricingRepository;
+    private final PricingCalculator pricingCalculator;
+    private final Clock clock;
+    private final ConcurrentSkipListSet<Due> pending = new ConcurrentSkipListSet<>(BY_DEADLINE);
+    private final Map<String, Set<LiveTicket>> byParking = new ConcurrentHashMap<>();
+    private final Queue<Map.Entry<String, Optional<Pricing>>> changes = new ConcurrentLinkedQueue<>();
+    private final AtomicLong sequence = new AtomicLong();
+    private final LongAdder reloadFailures = new LongAdder();
+    private final Disposable ticker;
+
+    public LivePricingService(PricingRepository pricingRepository,
+                              PricingCalculator pricingCalculator,
+                              Clock clock,
+                              Scheduler scheduler,
+                              Duration tick) {
+        this.pricingRepository = pricingRepository;
+        this.pricingCalculator = pricingCalculator;
+        this.clock = clock;
+        this.ticker = scheduler.schedulePeriodically(this::tick, tick.toMillis(), tick.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    public Flux<CalculationResult> live(String parkingId, ZonedDateTime from) {
+        if (parkingId == null || parkingId.isBlank()) {
+            return Flux.error(new BadRequestException("parkingId is required"));
+        }
+        if (from == null) {
+            return Flux.error(new BadRequestException("from is required"));
+        }
+        if (from.isAfter(ZonedDateTime.now(clock))) {
+            return Flux.error(new BadRequestException("`from` must not be in the future"));
+        }
+
+        return pricingRepository.findById(parkingId)
+                .switchIfEmpty(Mono.error(new NotFoundException("Parking not found")))
+                .flatMapMany(pricing -> Flux.create(sink -> {
+                    LiveTicket ticket = new LiveTicket(sequence.incrementAndGet(), parkingId, from, pricing, sink);
+                    sink.onDispose(() -> {
+                        ticket.cancelled = true;
+                        synchronized (ticket) {
+                            unschedule(ticket);
+                        }
+                        forget(ticket);
+                    });
+                    // Registered before the first price, so a pricing change applied meanwhile reaches it.
+                    byParking.computeIfAbsent(parkingId, id -> ConcurrentHashMap.newKeySet()).add(ticket);
+                    if (ticket.cancelled) {
+                        forget(ticket);
+                        return;
+                    }
+                    synchronized (ticket) {
+                        publish(ticket, clock.instant().getEpochSecond());
+                    }
+                }));
+    }
+
+    /**
+     * Re-prices open streams of a parking with its new pricing on the next tick, or completes them when
+     * the parking was removed ({@code pricing == null}).
+     */
+    public void pricingChanged(String parkingId, Pricing pricing) {
+        changes.add(Map.entry(parkingId, Optional.ofNullable(pricing)));
+    }
+
+    /**
+     * Looks the pricing of a parking up again and re-prices its open streams with it, for changes written
+     * through another instance. Parkings without open streams are skipped; if the lookup fails, the streams
+     * keep their current pricing and the failure is logged and counted.
+     */
+    public void reload(String parkingId) {
+        if (!byParking.containsKey(parkingId)) {
+            return;
+        }
+        pricingRepository.findById(parkingId)
+                .map(Optional::of)
+                .defaultIfEmpty(Optional.empty())
+                .subscribe(pricing -> pricingChanged(parkingId, pricing.orElse(null)), error -> {
+                    reloadFailures.increment();
+                    log.warn("Could not reload the pricing of parking {} for its live streams", parkingId, error);
+                });
+    }
+
+    /** Reloads whose lookup failed, leaving open streams on the pricing they had. */
+    public long getReloadFailureCount() {
+        return reloadFailures.sum();
+    }
+
+    /** {@link #reload Reloads} every parking with open streams. */
+    public void reloadAll() {
+        byParking.keySet().forEach(this::reload);
+    }
+
+    int subscribers() {
+        return pending.size();
+    }
+
+    void tick() {
+        long now = clock.instant().getEpochSecond();
+        Map.Entry<String, Optional<Pricing>> change;
+        while ((change = changes.poll()) != null) {
+            apply(change.getKey(), change.getValue().orElse(null), now);
+        }
+        for (Due due : pending.headSet(new Due(now, Long.MAX_VALUE, null), true)) {
+            if (!pending.remove(due)) {
+                continue;
+            }
+            LiveTicket ticket = due.ticket();
+            synchronized (ticket) {
+                // Re-priced and rescheduled by a pricing change since this entry was taken.
+                if (ticket.due != due || ticket.cancelled) {
+                    continue;
+                }
+                ticket.due = null;
+                try {
+                    publish(ticket, now);
+                } catch (RuntimeException ex) {
+                    ticket.sink.error(ex);
+                }
+            }
+        }
+    }
+
+    @Override
+    public void close() {
+        ticker.dispose();
+        pending.clear();
+        byParking.values().forEach(tickets -> tickets.forEach(ticket -> ticket.sink.complete()));
+    }
+
+    private void apply(String parkingId, Pricing pricing, long now) {
+        for (LiveTicket ticket : byParking.getOrDefault(parkingId, Set.of())) {
+            synchronized (ticket) {
+                unschedule(ticket);
+                if (ticket.cancelled) {
+                    continue;
+                }
+                if (pricing == null) {
+                    ticket.sink.complete();
+                    continue;
+                }
+                ticket.pricing = pricing;
+                try {
+                    publish(ticket, now);
+                } catch (RuntimeException ex) {
+                    ticket.sink.error(ex);
+                }
+            }
+        }
+    }
+
+    private void forget(LiveTicket ticket) {
+        byParking.computeIfPresent(ticket.parkingId, (id, tickets) -> {
+            tickets.remove(ticket);
+            return tickets.isEmpty() ? null : tickets;
+        });
+    }
+
+    /** Takes the ticket out of the index; callers hold its monitor. */
+    private void unschedule(LiveTicket ticket) {
+        if (ticket.due != null) {
+            pending.remove(ticket.due);
+            ticket.due = null;
+        }
+    }
+
+    /** Emits the price if it changed and schedules the next change; callers hold the ticket's monitor. */
+    private void publish(LiveTicket ticket, long now) {
+        unschedule(ticket);
+        long cents = pricingCalculator.calculateCents(ticket.pricing, ticket.fromEpochSecond, now);
+        if (cents != ticket.cents) {
+            ticket.cents = cents;
+            ticket.sink.next(toResult(ticket, now, cents));
+        }
+
+        long next = pricingCalculator.nextPriceChange(ticket.pricing, ticket.fromEpochSecond, now);
+        if (next == PricingCalculator.NEVER) {
+            return;
+        }
+        if (!ticket.cancelled) {
+            ticket.due = new Due(next, ticket.id, ticket);
+            pending.add(ticket.due);
+        }
+    }
+
+    private CalculationResult toResult(LiveTicket ticket, long now, long cents) {
+        ZonedDateTime to = Instant.ofEpochSecond(now).atZone(clock.getZone());
+        long durationMinutes = Duration.between(ticket.from, to).toMinutes();
+        return new CalculationResult(ticket.parkingId, ticket.from, to, durationMinutes, new Money((int) cents));
+    }
+
+    private record Due(long at, long id, LiveTicket ticket) {
+    }
+
+    private static final class LiveTicket {
+
+        private final long id;
+        private final String parkingId;
+        private final ZonedDateTime from;
+        private final long fromEpochSecond;
+        private final FluxSink<CalculationResult> sink;
+        private Pricing pricing;
+        private long cents = Long.MIN_VALUE;
+        private Due due;
+        private volatile boolean cancelled;
+
+        private LiveTicket(long id, String parkingId, ZonedDateTime from, Pricing pricing, FluxSink<CalculationResult> sink) {
+            this.id = id;
+            this.parkingId = parkingId;
+            this.from = from;
+            this.fromEpochSecond = from.toEpochSecond();
+            this.pricing = pricing;
+            this.sink = sink;
+        }
+    }
+}
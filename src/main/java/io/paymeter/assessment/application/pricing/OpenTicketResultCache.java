@@ -0,0 +1,111 @@
+package io.paymeter.assessment.application.pricing;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+
+import java.time.Clock;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Remembers the price of open tickets (no {@code to}) per parking and start second until the next instant
+ * at which that price can change, so polling the same ticket neither hits the repository nor recomputes.
+ */
+public class OpenTicketResultCache {
+
+    private final Cache<Key, Quote> cache;
+    private final Clock clock;
+
+    public OpenTicketResultCache(long maximumSize, Clock clock) {
+        this.clock = clock;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfter(new UntilNextPriceChange(clock))
+                .build();
+    }
+
+    Quote get(String parkingId, long fromEpochSecond, long nowEpochSecond) {
+        Quote quote = cache.getIfPresent(new Key(parkingId, fromEpochSecond));
+        return quote != null && nowEpochSecond < quote.validUntil ? quote : null;
+    }
+
+    void put(String parkingId, long fromEpochSecond, long cents, long validUntil) {
+        if (validUntil > clock.instant().getEpochSecond()) {
+            cache.put(new Key(parkingId, fromEpochSecond), new Quote(cents, validUntil));
+        }
+    }
+
+    void invalidate(String parkingId) {
+        cache.asMap().keySet().removeIf(key -> key.parkingId.equals(parkingId));
+    }
+
+    void invalidateAll() {
+        cache.invalidateAll();
+    }
+
+    long size() {
+        cache.cleanUp();
+        return cache.estimatedSize();
+    }
+
+    static final class Quote {
+
+        final long cents;
+        final long validUntil;
+
+        private Quote(long cents, long validUntil) {
+            this.cents = cents;
+            this.validUntil = validUntil;
+        }
+    }
+
+    private static final class Key {
+
+        private final String parkingId;
+        private final long fromEpochSecond;
+
+        private Key(String parkingId, long fromEpochSecond) {
+            this.parkingId = parkingId;
+            this.fromEpochSecond = fromEpochSecond;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            Key key = (Key) o;
+            return fromEpochSecond == key.fromEpochSecond && parkingId.equals(key.parkingId);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(parkingId, fromEpochSecond);
+        }
+    }
+
+    private static final class UntilNextPriceChange implements Expiry<Key, Quote> {
+
+        private final Clock clock;
+
+        private UntilNextPriceChange(Clock clock) {
+            this.clock = clock;
+        }
+
+        @Override
+        public long expireAfterCreate(Key key, Quote quote, long currentTime) {
+            long seconds = Math.max(quote.validUntil - clock.instant().getEpochSecond(), 0);
+            return TimeUnit.SECONDS.toNanos(seconds);
+        }
+
+        @Override
+        public long expireAfterUpdate(Key key, Quote quote, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, quote, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(Key key, Quote quote, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
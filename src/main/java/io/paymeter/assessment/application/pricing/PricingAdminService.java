@@ -0,0 +1,74 @@
+package io.paymeter.assessment.application.pricing;
+
+import io.paymeter.assessment.application.shared.BadRequestException;
+import io.paymeter.assessment.application.shared.NotFoundException;
+import io.paymeter.assessment.domain.pricing.Pricing;
+import io.paymeter.assessment.domain.pricing.TariffRule;
+import io.paymeter.assessment.domain.pricing.WritablePricingRepository;
+import reactor.core.publisher.Mono;
+
+/**
+ * Tariff maintenance. Writes go through the repository chain, so its caches are updated in place, and
+ * results or live streams derived from the old tariff are refreshed before the write completes. The change
+ * is then published on the {@link PricingInvalidationBus} for the other instances.
+ */
+public class PricingAdminService {
+
+    static final int MAX_TARIFF_RULES_LENGTH = 1024;
+
+    private final WritablePricingRepository pricingRepository;
+    private final PricingService pricingService;
+    private final LivePricingService livePricingService;
+    private final PricingInvalidationBus invalidationBus;
+
+    public PricingAdminService(WritablePricingRepository pricingRepository,
+                               PricingService pricingService,
+                               LivePricingService livePricingService) {
+        this(pricingRepository, pricingService, livePricingService, PricingInvalidationBus.NONE);
+    }
+
+    public PricingAdminService(WritablePricingRepository pricingRepository,
+                               PricingService pricingService,
+                               LivePricingService livePricingService,
+                               PricingInvalidationBus invalidationBus) {
+        this.pricingRepository = pricingRepository;
+        this.pricingService = pricingService;
+        this.livePricingService = livePricingService;
+        this.invalidationBus = invalidationBus;
+    }
+
+    public Mono<Pricing> get(String parkingId) {
+        return pricingRepository.findById(parkingId)
+                .switchIfEmpty(Mono.error(new NotFoundException("Parking not found")));
+    }
+
+    public Mono<Pricing> save(String parkingId, Pricing pricing) {
+        if (parkingId == null || parkingId.isBlank() || parkingId.length() > 32) {
+            return Mono.error(new BadRequestException("parkingId must have between 1 and 32 characters"));
+        }
+        if (pricing.getHourlyRateInCents() < 0 || pricing.getCapInCents() < 0) {
+            return Mono.error(new BadRequestException("Rates and caps must not be negative"));
+        }
+        if (pricing.getCapWindowHours() <= 0) {
+            return Mono.error(new BadRequestException("capWindowHours must be positive"));
+        }
+        if (TariffRule.formatAll(pricing.getTariffRules()).length() > MAX_TARIFF_RULES_LENGTH) {
+            return Mono.error(new BadRequestException("Tariff rules take more than " + MAX_TARIFF_RULES_LENGTH + " characters to store"));
+        }
+        return pricingRepository.save(parkingId, pricing)
+                .doOnNext(saved -> changed(parkingId, saved))
+                .flatMap(saved -> invalidationBus.publish(parkingId).thenReturn(saved));
+    }
+
+    public Mono<Void> delete(String parkingId) {
+        return pricingRepository.deleteById(parkingId)
+                .flatMap(deleted -> deleted
+                        ? Mono.<Void>fromRunnable(() -> changed(parkingId, null)).then(invalidationBus.publish(parkingId))
+                        : Mono.error(new NotFoundException("Parking not found")));
+    }
+
+    private void changed(String parkingId, Pricing pricing) {
+        pricingService.evict(parkingId);
+        livePricingService.pricingChanged(parkingId, pricing);
+    }
+}
@@ -0,0 +1,17 @@
+package io.paymeter.assessment.application.pricing;
+
+/**
+ * A pricing change numbered by the {@link PricingInvalidationBus}; versions grow by one per change, whichever
+ * instance made it. Announcements carry no parking and only state the latest version, so listeners can tell
+ * whether they missed any change.
+ */
+public record PricingInvalidation(long version, String parkingId) {
+
+    public static PricingInvalidation announcement(long version) {
+        return new PricingInvalidation(version, null);
+    }
+
+    public boolean isAnnouncement() {
+        return parkingId == null;
+    }
+}
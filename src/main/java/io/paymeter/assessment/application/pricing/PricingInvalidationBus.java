@@ -0,0 +1,29 @@
+package io.paymeter.assessment.application.pricing;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Carries pricing changes between the instances sharing a pricing store, so each one can drop what it holds
+ * in memory for the parkings that changed.
+ */
+public interface PricingInvalidationBus {
+
+    PricingInvalidationBus NONE = new PricingInvalidationBus() {
+        @Override
+        public Mono<Void> publish(String parkingId) {
+            return Mono.empty();
+        }
+
+        @Override
+        public Flux<PricingInvalidation> invalidations() {
+            return Flux.never();
+        }
+    };
+
+    /** Announces a change written through this instance. Buses fed by the store itself ignore it. */
+    Mono<Void> publish(String parkingId);
+
+    /** Changes made through any instance, this one included, in version order. */
+    Flux<PricingInvalidation> invalidations();
+}
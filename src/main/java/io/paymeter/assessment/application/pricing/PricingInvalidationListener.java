@@ -0,0 +1,83 @@
+package io.paymeter.assessment.application.pricing;
+
+import io.paymeter.assessment.domain.pricing.PricingRepository;
+import reactor.core.Disposable;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Applies the changes announced on a {@link PricingInvalidationBus} to this instance: the parking is evicted
+ * from the repository caches and the result cache, and its open live streams are re-priced. Each change must
+ * follow the previous one; a version gap, or an announcement ahead of the last change seen, means changes
+ * were missed, so everything held in memory is dropped instead, as it is on the first message received.
+ * Changes at or below the last version seen are already covered and skipped.
+ */
+public class PricingInvalidationListener implements AutoCloseable {
+
+    static final long UNKNOWN = -1;
+
+    private final PricingRepository pricingRepository;
+    private final PricingService pricingService;
+    private final LivePricingService livePricingService;
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder resyncs = new LongAdder();
+    private final Disposable subscription;
+
+    private volatile long version = UNKNOWN;
+
+    public PricingInvalidationListener(PricingInvalidationBus bus,
+                                       PricingRepository pricingRepository,
+                                       PricingService pricingService,
+                                       LivePricingService livePricingService) {
+        this.pricingRepository = pricingRepository;
+        this.pricingService = pricingService;
+        this.livePricingService = livePricingService;
+        this.subscription = bus.invalidations().subscribe(this::apply);
+    }
+
+    /** The last version applied, or {@code -1} before the bus reported any. */
+    public long getVersion() {
+        return version;
+    }
+
+    public long getEvictionCount() {
+        return evictions.sum();
+    }
+
+    public long getResyncCount() {
+        return resyncs.sum();
+    }
+
+    @Override
+    public void close() {
+        subscription.dispose();
+    }
+
+    void apply(PricingInvalidation change) {
+        long last = version;
+        if (last != UNKNOWN && change.version() <= last) {
+            return;
+        }
+        if (!change.isAnnouncement() && last != UNKNOWN && change.version() == last + 1) {
+            evict(change.parkingId());
+        } else {
+            // Whatever came before the first message, or between it and this one, is unknown.
+            resync();
+        }
+        version = change.version();
+    }
+
+    private void evict(String parkingId) {
+        evictions.increment();
+        pricingRepository.evict(parkingId);
+        pricingService.evict(parkingId);
+        livePricingService.reload(parkingId);
+    }
+
+    private void resync() {
+        resyncs.increment();
+        pricingRepository.evictAll();
+        pricingService.evictAll();
+        livePricingService.reloadAll();
+    }
+}
@@ -1,49 +1,176 @@
 package io.paymeter.assessment.application.pricing;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.paymeter.assessment.application.pricing.dto.CalculationOutcome;
+import io.paymeter.assessment.application.pricing.dto.CalculationOutcome.Priced;
+import io.paymeter.assessment.application.pricing.dto.CalculationOutcome.Rejected;
 import io.paymeter.assessment.application.pricing.dto.CalculationResult;
-import io.paymeter.assessment.application.shared.BadRequestException;
-import io.paymeter.assessment.application.shared.NotFoundException;
 import io.paymeter.assessment.domain.pricing.Money;
+import io.paymeter.assessment.domain.pricing.Pricing;
 import io.paymeter.assessment.domain.pricing.PricingCalculator;
 import io.paymeter.assessment.domain.pricing.PricingRepository;
 import reactor.core.publisher.Mono;
 
 import java.time.Clock;
 import java.time.Duration;
+import java.time.Instant;
 import java.time.ZonedDateTime;
 
 public class PricingService {
 
+    private static final Mono<CalculationOutcome> PARKING_ID_REQUIRED = Mono.just(CalculationOutcome.PARKING_ID_REQUIRED);
+    private static final Mono<CalculationOutcome> FROM_REQUIRED = Mono.just(CalculationOutcome.FROM_REQUIRED);
+    private static final Mono<CalculationOutcome> TO_BEFORE_FROM = Mono.just(CalculationOutcome.TO_BEFORE_FROM);
+    private static final int BATCH_LOOKUPS = 1_024;
+    private static final Duration BATCH_LOOKUP_TTL = Duration.ofSeconds(30);
+
     private final PricingRepository pricingRepository;
     private final PricingCalculator pricingCalculator;
     private final Clock clock;
+    private final OpenTicketResultCache resultCache;
+    private final CalculationRecorder recorder;
 
     public PricingService(PricingRepository pricingRepository,
                           PricingCalculator pricingCalculator,
                           Clock clock) {
+        this(pricingRepository, pricingCalculator, clock, null);
+    }
+
+    public PricingService(PricingRepository pricingRepository,
+                          PricingCalculator pricingCalculator,
+                          Clock clock,
+                          OpenTicketResultCache resultCache) {
+        this(pricingRepository, pricingCalculator, clock, resultCache, CalculationRecorder.NONE);
+    }
+
+    public PricingService(PricingRepository pricingRepository,
+                          PricingCalculator pricingCalculator,
+                          Clock clock,
+                          OpenTicketResultCache resultCache,
+                          CalculationRecorder recorder) {
         this.pricingRepository = pricingRepository;
         this.pricingCalculator = pricingCalculator;
         this.clock = clock;
+        this.resultCache = resultCache;
+        this.recorder = recorder;
+    }
+
+    /**
+     * Prices a stay and hands the result to the {@link CalculationRecorder} before emitting it, as a
+     * {@link CalculationRecorder#recordQuote quote} when the ticket is still open ({@code to} is null). Invalid
+     * requests and unknown parkings are emitted as {@link Rejected} outcomes rather than errors, so they
+     * cost no exception; only failures such as an unreachable store are signalled as errors.
+     */
+    public Mono<CalculationOutcome> evaluate(String parkingId, ZonedDateTime from, ZonedDateTime to) {
+        Mono<CalculationOutcome> outcome = price(parkingId, from, to);
+        return recorder == CalculationRecorder.NONE
+                ? outcome
+                : outcome.flatMap(calculated -> calculated instanceof Priced priced
+                        ? (to != null ? recorder.record(priced.result()) : recorder.recordQuote(priced.result()))
+                                .thenReturn(calculated)
+                        : Mono.just(calculated));
     }
 
+    /**
+     * Like {@link #evaluate}, with rejections signalled as their shared stackless
+     * {@link io.paymeter.assessment.application.shared.BadRequestException} or
+     * {@link io.paymeter.assessment.application.shared.NotFoundException}.
+     */
     public Mono<CalculationResult> calculate(String parkingId, ZonedDateTime from, ZonedDateTime to) {
+        return evaluate(parkingId, from, to)
+                .flatMap(outcome -> switch (outcome) {
+                    case Priced priced -> Mono.just(priced.result());
+                    case Rejected rejected -> Mono.error(rejected.toException());
+                });
+    }
+
+    private Mono<CalculationOutcome> price(String parkingId, ZonedDateTime from, ZonedDateTime to) {
         if (parkingId == null || parkingId.isBlank()) {
-            return Mono.error(new BadRequestException("parkingId is required"));
+            return PARKING_ID_REQUIRED;
         }
         if (from == null) {
-            return Mono.error(new BadRequestException("from is required"));
+            return FROM_REQUIRED;
         }
         ZonedDateTime toOrNow = to != null ? to : ZonedDateTime.now(clock);
         if (toOrNow.isBefore(from)) {
-            return Mono.error(new BadRequestException("`to` must be after `from`"));
+            return TO_BEFORE_FROM;
+        }
+
+        // Boundaries are whole seconds after `from`, so validity is only tracked for whole-second starts.
+        if (to != null || from.getNano() != 0) {
+            return pricingRepository.findById(parkingId)
+                    .<CalculationOutcome>map(pricing -> {
+                        long durationMinutes = Duration.between(from, toOrNow).toMinutes();
+                        Money price = pricingCalculator.calculate(pricing, from, toOrNow);
+                        return CalculationOutcome.priced(new CalculationResult(parkingId, from, toOrNow, durationMinutes, price));
+                    })
+                    .defaultIfEmpty(CalculationOutcome.PARKING_NOT_FOUND);
         }
 
+        long fromSecond = from.toEpochSecond();
+        long nowSecond = toOrNow.toEpochSecond();
+        if (resultCache != null) {
+            OpenTicketResultCache.Quote quote = resultCache.get(parkingId, fromSecond, nowSecond);
+            if (quote != null) {
+                return Mono.just(CalculationOutcome.priced(
+                        openResult(parkingId, from, toOrNow, new Money((int) quote.cents), quote.validUntil)));
+            }
+        }
         return pricingRepository.findById(parkingId)
-                .switchIfEmpty(Mono.error(new NotFoundException("Parking not found")))
-                .map(pricing -> {
-                    long durationMinutes = Duration.between(from, toOrNow).toMinutes();
+                .<CalculationOutcome>map(pricing -> {
                     Money price = pricingCalculator.calculate(pricing, from, toOrNow);
-                    return new CalculationResult(parkingId, from, toOrNow, durationMinutes, price);
-                });
+                    long validUntil = pricingCalculator.nextPriceChange(pricing, fromSecond, nowSecond);
+                    if (resultCache != null && validUntil != PricingCalculator.NEVER) {
+                        resultCache.put(parkingId, fromSecond, price.getAmount(), validUntil);
+                    }
+                    return CalculationOutcome.priced(openResult(parkingId, from, toOrNow, price, validUntil));
+                })
+                .defaultIfEmpty(CalculationOutcome.PARKING_NOT_FOUND);
+    }
+
+    /** Drops results derived from the previous pricing of a parking after it changed. */
+    public void evict(String parkingId) {
+        if (resultCache != null) {
+            resultCache.invalidate(parkingId);
+        }
+    }
+
+    /** Drops every cached result, when it is not known which parkings changed. */
+    public void evictAll() {
+        if (resultCache != null) {
+            resultCache.invalidateAll();
+        }
+    }
+
+    private static CalculationResult openResult(String parkingId, ZonedDateTime from, ZonedDateTime to,
+                                                Money price, long validUntil) {
+        long durationMinutes = Duration.between(from, to).toMinutes();
+        ZonedDateTime priceValidUntil = validUntil == PricingCalculator.NEVER
+                ? null
+                : Instant.ofEpochSecond(validUntil).atZone(to.getZone());
+        return new CalculationResult(parkingId, from, to, durationMinutes, price, priceValidUntil);
+    }
+
+    /**
+     * The same pricing without the recorder and the result cache, for synthetic calculations that must
+     * not show up in stats or the audit trail.
+     */
+    public PricingService unrecorded() {
+        return new PricingService(pricingRepository, pricingCalculator, clock, null, CalculationRecorder.NONE);
+    }
+
+    /**
+     * The same pricing looking each parking up once per batch. The lookups are bounded in number and age,
+     * so a long-lived stream neither grows without limit nor keeps pricing a parking at a stale tariff.
+     */
+    public PricingService batchScoped() {
+        Cache<String, Mono<Pricing>> lookups = Caffeine.newBuilder()
+                .maximumSize(BATCH_LOOKUPS)
+                .expireAfterWrite(BATCH_LOOKUP_TTL)
+                .build();
+        PricingRepository memoized = parkingId -> lookups.get(parkingId,
+                id -> pricingRepository.findById(id).cache());
+        return new PricingService(memoized, pricingCalculator, clock, resultCache, recorder);
     }
 }
@@ -0,0 +1,67 @@
+package io.paymeter.assessment.application.pricing.dto;
+
+import io.paymeter.assessment.application.shared.BadRequestException;
+import io.paymeter.assessment.application.shared.NotFoundException;
+
+/**
+ * What a calculation came to: a price, or the reason there is none. Rejections are plain values, so
+ * invalid requests and unknown parkings travel down the reactive chain without an exception being
+ * created; the ones with a fixed message are shared constants.
+ */
+public sealed interface CalculationOutcome {
+
+    Rejected PARKING_ID_REQUIRED = invalid("parkingId is required");
+    Rejected FROM_REQUIRED = invalid("from is required");
+    Rejected TO_BEFORE_FROM = invalid("`to` must be after `from`");
+    Rejected PARKING_NOT_FOUND = notFound("Parking not found");
+
+    static Priced priced(CalculationResult result) {
+        return new Priced(result);
+    }
+
+    static Rejected invalid(String message) {
+        return new Rejected(Rejected.Reason.INVALID, message);
+    }
+
+    static Rejected notFound(String message) {
+        return new Rejected(Rejected.Reason.NOT_FOUND, message);
+    }
+
+    record Priced(CalculationResult result) implements CalculationOutcome {
+    }
+
+    final class Rejected implements CalculationOutcome {
+
+        public enum Reason {
+            INVALID, NOT_FOUND
+        }
+
+        private final Reason reason;
+        private final String message;
+        private final RuntimeException exception;
+
+        private Rejected(Reason reason, String message) {
+            this.reason = reason;
+            this.message = message;
+            this.exception = reason == Reason.INVALID
+                    ? BadRequestException.stackless(message)
+                    : NotFoundException.stackless(message);
+        }
+
+        public Reason getReason() {
+            return reason;
+        }
+
+        public String getMessage() {
+            return message;
+        }
+
+        /**
+         * The same rejection as a {@link BadRequestException} or {@link NotFoundException} without stack
+         * trace, created along with the rejection, for callers that still signal errors.
+         */
+        public RuntimeException toException() {
+            return exception;
+        }
+    }
+}
@@ -15,4 +15,10 @@ public class CalculationResult {
     private final ZonedDateTime to;
     private final long durationMinutes;
     private final Money price;
+    /** For open tickets, the instant until which {@link #price} stays the same; {@code null} otherwise. */
+    private final ZonedDateTime validUntil;
+
+    public CalculationResult(String parkingId, ZonedDateTime from, ZonedDateTime to, long durationMinutes, Money price) {
+        this(parkingId, from, to, durationMinutes, price, null);
+    }
 }
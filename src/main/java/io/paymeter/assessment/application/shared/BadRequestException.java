@@ -4,4 +4,16 @@ public class BadRequestException extends RuntimeException {
     public BadRequestException(String message) {
         super(message);
     }
+
+    private BadRequestException(String message, boolean writableStackTrace) {
+        super(message, null, false, writableStackTrace);
+    }
+
+    /**
+     * An instance without stack trace or suppressed exceptions, cheap to create once and safe to signal
+     * from any number of requests.
+     */
+    public static BadRequestException stackless(String message) {
+        return new BadRequestException(message, false);
+    }
 }
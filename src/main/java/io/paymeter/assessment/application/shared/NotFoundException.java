@@ -4,4 +4,16 @@ public class NotFoundException extends RuntimeException {
     public NotFoundException(String message) {
         super(message);
     }
+
+    private NotFoundException(String message, boolean writableStackTrace) {
+        super(message, null, false, writableStackTrace);
+    }
+
+    /**
+     * An instance without stack trace or suppressed exceptions, cheap to create once and safe to signal
+     * from any number of requests.
+     */
+    public static NotFoundException stackless(String message) {
+        return new NotFoundException(message, false);
+    }
 }
@@ -0,0 +1,214 @@
+package io.paymeter.assessment.application.stats;
+
+import io.paymeter.assessment.application.pricing.CalculationRecorder;
+import io.paymeter.assessment.application.pricing.dto.CalculationResult;
+import io.paymeter.assessment.application.stats.dto.ParkingStatsSnapshot;
+import io.paymeter.assessment.application.stats.dto.ParkingStatsSnapshot.Counts;
+import io.paymeter.assessment.application.stats.dto.ParkingStatsSnapshot.MinuteCounts;
+import reactor.core.publisher.Mono;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.PriorityQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * In-memory calculation, billing and stay counters per parking. Only closed tickets are billed and count
+ * towards calculations and stays; quotes for open tickets, which clients may poll any number of times, are
+ * counted on their own. Each
+ * parking has {@link LongAdder}s for its totals plus a ring of per-minute buckets covering the last
+ * {@code window}, so concurrent calculations for the same parking update separate cells instead of
+ * contending on one. A bucket is replaced when its slot comes round again; the few updates racing with
+ * the replacement may land in the old bucket and be lost from the per-minute view, never from the totals.
+ */
+public class ParkingStats implements CalculationRecorder {
+
+    public enum Ranking {
+        CALCULATIONS, BILLED_CENTS
+    }
+
+    private static final long MILLIS_PER_MINUTE = 60_000;
+
+    private final ConcurrentMap<String, Counters> counters = new ConcurrentHashMap<>();
+    private final Clock clock;
+    private final int windowMinutes;
+
+    public ParkingStats(Clock clock, Duration window) {
+        if (window.toMinutes() < 1) {
+            throw new IllegalArgumentException("The stats window must be at least one minute");
+        }
+        this.clock = clock;
+        this.windowMinutes = Math.toIntExact(window.toMinutes());
+    }
+
+    @Override
+    public Mono<Void> record(CalculationResult result) {
+        Counters parking = counters.get(result.getParkingId());
+        if (parking == null) {
+            parking = counters.computeIfAbsent(result.getParkingId(), id -> new Counters(windowMinutes));
+        }
+        parking.add(clock.millis() / MILLIS_PER_MINUTE, result.getPrice().getAmount(), result.getDurationMinutes());
+        return Mono.empty();
+    }
+
+    @Override
+    public Mono<Void> recordQuote(CalculationResult result) {
+        Counters parking = counters.get(result.getParkingId());
+        if (parking == null) {
+            parking = counters.computeIfAbsent(result.getParkingId(), id -> new Counters(windowMinutes));
+        }
+        parking.addQuote(clock.millis() / MILLIS_PER_MINUTE);
+        return Mono.empty();
+    }
+
+    public Optional<ParkingStatsSnapshot> get(String parkingId) {
+        Counters parking = counters.get(parkingId);
+        return parking == null ? Optional.empty() : Optional.of(snapshot(parkingId, parking, currentMinute()));
+    }
+
+    /**
+     * The {@code limit} parkings with the highest {@code ranking}, over the recent window or since start-up.
+     */
+    public List<ParkingStatsSnapshot> top(int limit, Ranking ranking, boolean recent) {
+        long now = currentMinute();
+        // Scores are summed straight from the counters; only the winners get a full snapshot.
+        PriorityQueue<Ranked> best = new PriorityQueue<>(limit + 1, Comparator.comparingLong(Ranked::score));
+        counters.forEach((parkingId, parking) -> {
+            best.add(new Ranked(parkingId, parking, parking.score(ranking, recent, now, windowMinutes)));
+            if (best.size() > limit) {
+                best.poll();
+            }
+        });
+        return best.stream()
+                .sorted(Comparator.comparingLong(Ranked::score).reversed().thenComparing(Ranked::parkingId))
+                .map(ranked -> snapshot(ranked.parkingId(), ranked.parking(), now))
+                .toList();
+    }
+
+    private long currentMinute() {
+        return clock.millis() / MILLIS_PER_MINUTE;
+    }
+
+    private ParkingStatsSnapshot snapshot(String parkingId, Counters parking, long now) {
+        List<MinuteCounts> perMinute = new ArrayList<>();
+        long calculations = 0, billedCents = 0, stayMinutes = 0, quotes = 0;
+        for (int i = 0; i < windowMinutes; i++) {
+            Bucket bucket = parking.minutes.get(i);
+            if (bucket != null && bucket.epochMinute > now - windowMinutes && bucket.epochMinute <= now) {
+                Counts counts = bucket.counts();
+                perMinute.add(new MinuteCounts(Instant.ofEpochMilli(bucket.epochMinute * MILLIS_PER_MINUTE), counts));
+                calculations += counts.getCalculations();
+                billedCents += counts.getBilledCents();
+                stayMinutes += counts.getStayMinutes();
+                quotes += counts.getQuotes();
+            }
+        }
+        perMinute.sort(Comparator.comparing(MinuteCounts::getMinute));
+        return new ParkingStatsSnapshot(parkingId, parking.total.counts(), windowMinutes,
+                new Counts(calculations, billedCents, stayMinutes, quotes), perMinute);
+    }
+
+    private record Ranked(String parkingId, Counters parking, long score) {
+    }
+
+    private static final class Counters {
+
+        private final Cells total = new Cells();
+        private final AtomicReferenceArray<Bucket> minutes;
+
+        private Counters(int windowMinutes) {
+            this.minutes = new AtomicReferenceArray<>(windowMinutes);
+        }
+
+        private void add(long epochMinute, long billedCents, long stayMinutes) {
+            total.add(billedCents, stayMinutes);
+            Bucket bucket = bucket(epochMinute);
+            if (bucket != null) {
+                bucket.add(billedCents, stayMinutes);
+            }
+        }
+
+        private void addQuote(long epochMinute) {
+            total.addQuote();
+            Bucket bucket = bucket(epochMinute);
+            if (bucket != null) {
+                bucket.addQuote();
+            }
+        }
+
+        private long score(Ranking ranking, boolean recent, long now, int windowMinutes) {
+            if (!recent) {
+                return total.score(ranking);
+            }
+            long score = 0;
+            for (int i = 0; i < minutes.length(); i++) {
+                Bucket bucket = minutes.get(i);
+                if (bucket != null && bucket.epochMinute > now - windowMinutes && bucket.epochMinute <= now) {
+                    score += bucket.score(ranking);
+                }
+            }
+            return score;
+        }
+
+        private Bucket bucket(long epochMinute) {
+            int slot = (int) Math.floorMod(epochMinute, (long) minutes.length());
+            Bucket bucket = minutes.get(slot);
+            if (bucket != null && bucket.epochMinute == epochMinute) {
+                return bucket;
+            }
+            if (bucket != null && bucket.epochMinute > epochMinute) {
+                // A calculation that started in a minute whose slot has already been reused.
+                return null;
+            }
+            Bucket fresh = new Bucket(epochMinute);
+            if (minutes.compareAndSet(slot, bucket, fresh)) {
+                return fresh;
+            }
+            bucket = minutes.get(slot);
+            return bucket.epochMinute == epochMinute ? bucket : null;
+        }
+    }
+
+    private static class Cells {
+
+        private final LongAdder calculations = new LongAdder();
+        private final LongAdder billedCents = new LongAdder();
+        private final LongAdder stayMinutes = new LongAdder();
+        private final LongAdder quotes = new LongAdder();
+
+        void add(long billed, long stay) {
+            calculations.increment();
+            billedCents.add(billed);
+            stayMinutes.add(stay);
+        }
+
+        void addQuote() {
+            quotes.increment();
+        }
+
+        long score(Ranking ranking) {
+            return ranking == Ranking.CALCULATIONS ? calculations.sum() : billedCents.sum();
+        }
+
+        Counts counts() {
+            return new Counts(calculations.sum(), billedCents.sum(), stayMinutes.sum(), quotes.sum());
+        }
+    }
+
+    private static final class Bucket extends Cells {
+
+        private final long epochMinute;
+
+        private Bucket(long epochMinute) {
+            this.epochMinute = epochMinute;
+        }
+    }
+}
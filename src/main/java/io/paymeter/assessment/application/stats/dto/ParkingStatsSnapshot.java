@@ -0,0 +1,46 @@
+package io.paymeter.assessment.application.stats.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Counters of one parking since start-up ({@code total}) and over the last {@code windowMinutes}
+ * ({@code recent}, also broken down per minute, oldest first; minutes without calculations are left out).
+ */
+@Getter
+@AllArgsConstructor
+public class ParkingStatsSnapshot {
+
+    private final String parkingId;
+    private final Counts total;
+    private final long windowMinutes;
+    private final Counts recent;
+    private final List<MinuteCounts> perMinute;
+
+    @Getter
+    @AllArgsConstructor
+    public static class Counts {
+
+        /** Closed tickets priced; only these are billed and have a stay. */
+        private final long calculations;
+        private final long billedCents;
+        private final long stayMinutes;
+        /** Prices quoted for open tickets. */
+        private final long quotes;
+
+        public double getAverageStayMinutes() {
+            return calculations == 0 ? 0 : (double) stayMinutes / calculations;
+        }
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class MinuteCounts {
+
+        private final Instant minute;
+        private final Counts counts;
+    }
+}
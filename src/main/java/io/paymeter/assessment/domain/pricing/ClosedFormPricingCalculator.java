@@ -0,0 +1,96 @@
+package io.paymeter.assessment.domain.pricing;
+
+import java.time.ZonedDateTime;
+
+/**
+ * Prices a stay in constant time from the number of full cap windows plus the leftover segment,
+ * producing the same result as the window-by-window walk in {@link PricingCalculator}.
+ * Windows are measured on the instant time-line (as {@code plusHours} does), so DST shifts do not
+ * change their length.
+ * <p>
+ * Parkings with tariff rules are priced window by window against their {@link WeeklyRateTimeline}.
+ * <p>
+ * The epoch-second overload of {@link #calculateCents(Pricing, long, long)} works on primitives only
+ * and does not allocate; the {@link Money} path is a thin adapter over the same core.
+ */
+public class ClosedFormPricingCalculator extends PricingCalculator {
+
+    private static final long SECONDS_PER_MINUTE = 60;
+    private static final long SECONDS_PER_HOUR = 3600;
+    private static final int NANOS_PER_SECOND = 1_000_000_000;
+
+    @Override
+    public long calculateCents(Pricing pricing, long fromEpochSecond, long toEpochSecond) {
+        if (toEpochSecond < fromEpochSecond) {
+            throw new IllegalArgumentException("End time must be after start time");
+        }
+        long staySeconds = toEpochSecond - fromEpochSecond;
+        if (staySeconds < SECONDS_PER_MINUTE) {
+            return 0;
+        }
+        if (pricing.getCapWindowHours() <= 0) {
+            throw new IllegalArgumentException("Cap window hours must be positive");
+        }
+        return priceForStay(pricing, fromEpochSecond, staySeconds, 0);
+    }
+
+    @Override
+    protected int priceInCents(Pricing pricing, ZonedDateTime from, ZonedDateTime to) {
+        long staySeconds = to.toEpochSecond() - from.toEpochSecond();
+        int stayNanos = to.getNano() - from.getNano();
+        if (stayNanos < 0) {
+            staySeconds--;
+            stayNanos += NANOS_PER_SECOND;
+        }
+        // Narrowing keeps the int wrap-around of the per-window accumulation in the loop engine.
+        return (int) priceForStay(pricing, from.toEpochSecond(), staySeconds, stayNanos);
+    }
+
+    private static long priceForStay(Pricing pricing, long fromEpochSecond, long staySeconds, int stayNanos) {
+        if (pricing.getTimeline() != null) {
+            return scheduledPriceForStay(pricing, fromEpochSecond, staySeconds);
+        }
+        long windowSeconds = pricing.getCapWindowHours() * SECONDS_PER_HOUR;
+
+        long fullWindows = staySeconds / windowSeconds;
+        long leftoverSeconds = staySeconds % windowSeconds;
+        boolean hasLeftover = leftoverSeconds != 0 || stayNanos != 0;
+        int leftoverHours = (int) ((leftoverSeconds / SECONDS_PER_MINUTE + 59) / 60);
+
+        if (fullWindows == 0) {
+            return segmentCost(pricing, withFreeHour(pricing, leftoverHours));
+        }
+        long totalCents = segmentCost(pricing, withFreeHour(pricing, pricing.getCapWindowHours()))
+                + (fullWindows - 1) * segmentCost(pricing, pricing.getCapWindowHours());
+        if (hasLeftover) {
+            totalCents += segmentCost(pricing, leftoverHours);
+        }
+        return totalCents;
+    }
+
+    /**
+     * With tariff rules every window can cost something different, so windows are priced one by one, each
+     * from two lookups in the timeline rather than hour by hour. A trailing window shorter than a minute
+     * bills no hour, so sub-second remainders do not matter here.
+     */
+    private static long scheduledPriceForStay(Pricing pricing, long fromEpochSecond, long staySeconds) {
+        long windowSeconds = pricing.getCapWindowHours() * SECONDS_PER_HOUR;
+        long totalCents = 0;
+        for (long windowStart = 0; windowStart < staySeconds; windowStart += windowSeconds) {
+            long segmentSeconds = Math.min(windowSeconds, staySeconds - windowStart);
+            int startedHours = (int) ((segmentSeconds / SECONDS_PER_MINUTE + 59) / 60);
+            int freeHours = windowStart == 0 && pricing.isFirstHourFree() && startedHours > 0 ? 1 : 0;
+            int cost = scheduledCost(pricing.getTimeline(), fromEpochSecond + windowStart, freeHours, startedHours - freeHours);
+            totalCents += Math.min(cost, pricing.getCapInCents());
+        }
+        return totalCents;
+    }
+
+    private static int withFreeHour(Pricing pricing, int billableHours) {
+        return pricing.isFirstHourFree() ? Math.max(billableHours - 1, 0) : billableHours;
+    }
+
+    private static int segmentCost(Pricing pricing, int billableHours) {
+        return Math.min(billableHours * pricing.getHourlyRateInCents(), pricing.getCapInCents());
+    }
+}
@@ -1,16 +1,38 @@
 package io.paymeter.assessment.domain.pricing;
 
+import java.time.ZoneId;
+import java.util.List;
+
+/**
+ * Tariff of a parking. {@code hourlyRateInCents} applies whenever no {@link TariffRule} does; rules are read
+ * in {@code timeZone} local time and compiled once, here, into a {@link WeeklyRateTimeline}.
+ */
 public class Pricing {
+    public static final ZoneId DEFAULT_TIME_ZONE = ZoneId.of("UTC");
+
     private final int hourlyRateInCents;
     private final int capInCents;
     private final int capWindowHours;
     private final boolean firstHourFree;
+    private final List<TariffRule> tariffRules;
+    private final ZoneId timeZone;
+    private final WeeklyRateTimeline timeline;
 
     public Pricing(int hourlyRateInCents, int capInCents, int capWindowHours, boolean firstHourFree) {
+        this(hourlyRateInCents, capInCents, capWindowHours, firstHourFree, List.of(), DEFAULT_TIME_ZONE);
+    }
+
+    public Pricing(int hourlyRateInCents, int capInCents, int capWindowHours, boolean firstHourFree,
+                   List<TariffRule> tariffRules, ZoneId timeZone) {
         this.hourlyRateInCents = hourlyRateInCents;
         this.capInCents = capInCents;
         this.capWindowHours = capWindowHours;
         this.firstHourFree = firstHourFree;
+        this.tariffRules = List.copyOf(tariffRules);
+        this.timeZone = timeZone;
+        this.timeline = this.tariffRules.isEmpty()
+                ? null
+                : WeeklyRateTimeline.compile(hourlyRateInCents, this.tariffRules, timeZone);
     }
 
     public int getHourlyRateInCents() {
@@ -28,4 +50,17 @@ public class Pricing {
     public boolean isFirstHourFree() {
         return firstHourFree;
     }
+
+    public List<TariffRule> getTariffRules() {
+        return tariffRules;
+    }
+
+    public ZoneId getTimeZone() {
+        return timeZone;
+    }
+
+    /** The compiled rules, or {@code null} when the parking charges {@code hourlyRateInCents} around the clock. */
+    public WeeklyRateTimeline getTimeline() {
+        return timeline;
+    }
 }
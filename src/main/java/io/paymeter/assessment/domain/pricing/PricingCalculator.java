@@ -1,10 +1,18 @@
 package io.paymeter.assessment.domain.pricing;
 
 import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
 import java.time.ZonedDateTime;
 
 public class PricingCalculator {
 
+    public static final long NEVER = Long.MAX_VALUE;
+
+    private static final long SECONDS_PER_MINUTE = 60;
+    private static final long SECONDS_PER_HOUR = 3600;
+    private static final int HOURS_PER_WEEK = 7 * 24;
+
     public Money calculate(Pricing pricing, ZonedDateTime from, ZonedDateTime to) {
         if (to.isBefore(from)) {
             throw new IllegalArgumentException("End time must be after start time");
@@ -16,7 +24,68 @@ public class PricingCalculator {
         if (pricing.getCapWindowHours() <= 0) {
             throw new IllegalArgumentException("Cap window hours must be positive");
         }
+        return new Money(priceInCents(pricing, from, to));
+    }
+
+    public long calculateCents(Pricing pricing, long fromEpochSecond, long toEpochSecond) {
+        ZonedDateTime from = Instant.ofEpochSecond(fromEpochSecond).atZone(ZoneOffset.UTC);
+        ZonedDateTime to = Instant.ofEpochSecond(toEpochSecond).atZone(ZoneOffset.UTC);
+        return calculate(pricing, from, to).getAmount();
+    }
+
+    /**
+     * Returns the first epoch second after {@code nowEpochSecond} at which the price of a stay started at
+     * {@code fromEpochSecond} differs from its price at {@code nowEpochSecond}, or {@link #NEVER}.
+     * Billing is per started hour of a window and windows are whole hours long, so the price can only
+     * move one minute past each hour of the stay; at most one window of those candidates is checked, plus
+     * a week when tariff rules may leave whole windows free. Closed windows never change, so each candidate
+     * only re-prices the window it falls in and adds the windows passed since {@code nowEpochSecond}.
+     */
+    public long nextPriceChange(Pricing pricing, long fromEpochSecond, long nowEpochSecond) {
+        if (nowEpochSecond < fromEpochSecond) {
+            throw new IllegalArgumentException("End time must be after start time");
+        }
+        if (pricing.getCapWindowHours() <= 0) {
+            throw new IllegalArgumentException("Cap window hours must be positive");
+        }
+        long windowSeconds = pricing.getCapWindowHours() * SECONDS_PER_HOUR;
+        long elapsed = nowEpochSecond - fromEpochSecond;
+        long window = elapsed / windowSeconds;
+        long current = windowCost(pricing, fromEpochSecond, window, startedHours(elapsed - window * windowSeconds));
 
+        long hoursStarted = elapsed < SECONDS_PER_MINUTE ? 0 : (elapsed - SECONDS_PER_MINUTE) / SECONDS_PER_HOUR + 1;
+        long candidate = hoursStarted * SECONDS_PER_HOUR + SECONDS_PER_MINUTE;
+        long passed = 0;
+        int candidates = pricing.getCapWindowHours() + (pricing.getTimeline() == null ? 0 : HOURS_PER_WEEK);
+        for (int i = 0; i <= candidates; i++, candidate += SECONDS_PER_HOUR) {
+            long candidateWindow = candidate / windowSeconds;
+            for (; window < candidateWindow; window++) {
+                passed += windowCost(pricing, fromEpochSecond, window, pricing.getCapWindowHours());
+            }
+            long cost = windowCost(pricing, fromEpochSecond, window, startedHours(candidate - window * windowSeconds));
+            if (passed + cost != current) {
+                return fromEpochSecond + candidate;
+            }
+        }
+        return NEVER;
+    }
+
+    private static int startedHours(long segmentSeconds) {
+        return (int) ((segmentSeconds / SECONDS_PER_MINUTE + 59) / 60);
+    }
+
+    /** Cost of the {@code window}-th cap window of a stay once {@code startedHours} of it have started. */
+    private static long windowCost(Pricing pricing, long fromEpochSecond, long window, int startedHours) {
+        int freeHours = window == 0 && pricing.isFirstHourFree() && startedHours > 0 ? 1 : 0;
+        long cost = pricing.getTimeline() == null
+                ? (long) (startedHours - freeHours) * pricing.getHourlyRateInCents()
+                : scheduledCost(pricing.getTimeline(),
+                        fromEpochSecond + window * pricing.getCapWindowHours() * SECONDS_PER_HOUR,
+                        freeHours, startedHours - freeHours);
+        return Math.min(cost, pricing.getCapInCents());
+    }
+
+    protected int priceInCents(Pricing pricing, ZonedDateTime from, ZonedDateTime to) {
         boolean freeHourAvailable = pricing.isFirstHourFree();
         ZonedDateTime windowStart = from;
         int totalCents = 0;
@@ -27,19 +96,32 @@ public class PricingCalculator {
             long segmentMinutes = Duration.between(windowStart, segmentEnd).toMinutes();
 
             int billableHours = (int) Math.ceil(segmentMinutes / 60.0);
+            int freeHours = 0;
             if (freeHourAvailable && billableHours > 0) {
                 billableHours -= 1;
+                freeHours = 1;
                 freeHourAvailable = false;
             }
             billableHours = Math.max(billableHours, 0);
 
-            int segmentCost = billableHours * pricing.getHourlyRateInCents();
+            int segmentCost = pricing.getTimeline() == null
+                    ? billableHours * pricing.getHourlyRateInCents()
+                    : scheduledCost(pricing.getTimeline(), windowStart.toEpochSecond(), freeHours, billableHours);
             segmentCost = Math.min(segmentCost, pricing.getCapInCents());
             totalCents += segmentCost;
 
             windowStart = segmentEnd;
         }
 
-        return new Money(totalCents);
+        return totalCents;
+    }
+
+    /**
+     * Cost of {@code billableHours} started hours charged at the tariff rules, after {@code freeHours} free
+     * ones at the start of a window.
+     */
+    static int scheduledCost(WeeklyRateTimeline timeline, long windowStartEpochSecond, int freeHours, int billableHours) {
+        long chargedFrom = windowStartEpochSecond + freeHours * SECONDS_PER_HOUR;
+        return (int) timeline.cents(chargedFrom, chargedFrom + billableHours * SECONDS_PER_HOUR);
     }
 }
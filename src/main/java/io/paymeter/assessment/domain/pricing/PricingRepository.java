@@ -1,5 +1,35 @@
 package io.paymeter.assessment.domain.pricing;
 
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Collection;
+import java.util.Map;
+
 public interface PricingRepository {
-    reactor.core.publisher.Mono<Pricing> findById(String parkingId);
+    Mono<Pricing> findById(String parkingId);
+
+    /**
+     * Looks up several parkings at once; unknown ids are absent from the result. Stores that can answer
+     * with a single query override this, the default issues one {@link #findById} per distinct id.
+     */
+    default Mono<Map<String, Pricing>> findAllByIds(Collection<String> parkingIds) {
+        return Flux.fromIterable(parkingIds)
+                .distinct()
+                .flatMap(parkingId -> findById(parkingId).map(pricing -> Map.entry(parkingId, pricing)))
+                .collectMap(Map.Entry::getKey, Map.Entry::getValue);
+    }
+
+    /** Drops any copy of the parking's pricing held in memory, so the next lookup reaches the store. */
+    default void evict(String parkingId) {
+    }
+
+    /** Drops every pricing held in memory. */
+    default void evictAll() {
+    }
+
+    /** Completes once the store answered a trivial query; stores kept in memory are always reachable. */
+    default Mono<Void> checkConnection() {
+        return Mono.empty();
+    }
 }
@@ -0,0 +1,102 @@
+package io.paymeter.assessment.domain.pricing;
+
+import java.time.DayOfWeek;
+import java.time.LocalTime;
+import java.time.format.TextStyle;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * An hourly rate applied on some weekdays between two local times. {@code to} is exclusive; when it is not
+ * after {@code from} the period runs into the next day, so {@code 22:00-06:00} is a night rate and
+ * {@code 00:00-00:00} a whole day. A day listed is the day the period starts.
+ */
+public record TariffRule(Set<DayOfWeek> days, LocalTime from, LocalTime to, int hourlyRateInCents) {
+
+    public TariffRule {
+        if (days == null || days.isEmpty() || from == null || to == null) {
+            throw new IllegalArgumentException("A tariff rule needs days, a start and an end");
+        }
+        if (hourlyRateInCents < 0) {
+            throw new IllegalArgumentException("Tariff rule rates must not be negative");
+        }
+        days = Set.copyOf(EnumSet.copyOf(days));
+    }
+
+    /** Parses {@code <days> <from>-<to> <rate>}, e.g. {@code MON-FRI 08:00-18:00 350} or {@code SAT,SUN 00:00-00:00 100}. */
+    public static TariffRule parse(String rule) {
+        String[] parts = rule.trim().split("\\s+");
+        String[] times = parts.length == 3 ? parts[1].split("-") : new String[0];
+        if (times.length != 2) {
+            throw new IllegalArgumentException("Invalid tariff rule: " + rule);
+        }
+        try {
+            return new TariffRule(parseDays(parts[0]), LocalTime.parse(times[0]), LocalTime.parse(times[1]),
+                    Integer.parseInt(parts[2]));
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid tariff rule: " + rule, e);
+        }
+    }
+
+    /** Parses rules separated by {@code ;}, as stored next to the pricing. Blank input means no rules. */
+    public static List<TariffRule> parseAll(String rules) {
+        if (rules == null || rules.isBlank()) {
+            return List.of();
+        }
+        return Arrays.stream(rules.split(";")).filter(rule -> !rule.isBlank()).map(TariffRule::parse).toList();
+    }
+
+    public static String formatAll(List<TariffRule> rules) {
+        return rules.stream().map(TariffRule::format).collect(Collectors.joining(";"));
+    }
+
+    public String format() {
+        String dayList = EnumSet.copyOf(days).stream().map(TariffRule::abbreviation).collect(Collectors.joining(","));
+        return dayList + " " + from + "-" + to + " " + hourlyRateInCents;
+    }
+
+    int startSecondOfDay() {
+        return from.toSecondOfDay();
+    }
+
+    int lengthSeconds() {
+        int length = to.toSecondOfDay() - from.toSecondOfDay();
+        return length > 0 ? length : length + 24 * 3600;
+    }
+
+    private static Set<DayOfWeek> parseDays(String days) {
+        EnumSet<DayOfWeek> parsed = EnumSet.noneOf(DayOfWeek.class);
+        for (String range : days.split(",")) {
+            String[] bounds = range.split("-");
+            DayOfWeek first = day(bounds[0]);
+            DayOfWeek last = bounds.length == 2 ? day(bounds[1]) : first;
+            if (bounds.length > 2) {
+                throw new IllegalArgumentException("Invalid day range: " + range);
+            }
+            for (DayOfWeek day = first; ; day = day.plus(1)) {
+                parsed.add(day);
+                if (day == last) {
+                    break;
+                }
+            }
+        }
+        return parsed;
+    }
+
+    private static DayOfWeek day(String abbreviation) {
+        for (DayOfWeek day : DayOfWeek.values()) {
+            if (abbreviation(day).equalsIgnoreCase(abbreviation)) {
+                return day;
+            }
+        }
+        throw new IllegalArgumentException("Unknown day: " + abbreviation);
+    }
+
+    private static String abbreviation(DayOfWeek day) {
+        return day.getDisplayName(TextStyle.SHORT, Locale.ROOT).toUpperCase(Locale.ROOT);
+    }
+}
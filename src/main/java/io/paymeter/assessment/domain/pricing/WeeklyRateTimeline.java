@@ -0,0 +1,143 @@
+package io.paymeter.assessment.domain.pricing;
+
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.zone.ZoneOffsetTransition;
+import java.time.zone.ZoneRules;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * The hourly rate of a parking over one local week, compiled from its {@link TariffRule}s: sorted segments
+ * starting Monday 00:00, each with the rate-seconds accumulated before it. The cost of any interval is the
+ * difference of two running totals, each found with a binary search over the segments, however long the
+ * interval. Each local week repeats the same timeline; intervals crossing a daylight saving transition are
+ * split at it so each part uses its own offset.
+ */
+public final class WeeklyRateTimeline {
+
+    static final int SECONDS_PER_DAY = 24 * 3600;
+    static final int SECONDS_PER_WEEK = 7 * SECONDS_PER_DAY;
+
+    private static final long SECONDS_PER_HOUR = 3600;
+    // 1970-01-01 was a Thursday; shifting by three days puts week boundaries on Mondays.
+    private static final long MONDAY_SHIFT = 3L * SECONDS_PER_DAY;
+
+    private final int[] starts;
+    private final int[] rates;
+    private final long[] accumulated;
+    private final long weekTotal;
+    private final ZoneRules zoneRules;
+    private final int fixedOffset;
+
+    private WeeklyRateTimeline(int[] starts, int[] rates, ZoneId zone) {
+        this.starts = starts;
+        this.rates = rates;
+        this.accumulated = new long[starts.length];
+        long total = 0;
+        for (int i = 0; i < starts.length; i++) {
+            accumulated[i] = total;
+            int end = i + 1 < starts.length ? starts[i + 1] : SECONDS_PER_WEEK;
+            total += (long) rates[i] * (end - starts[i]);
+        }
+        this.weekTotal = total;
+        this.zoneRules = zone.getRules();
+        this.fixedOffset = zoneRules.isFixedOffset() ? zoneRules.getOffset(Instant.EPOCH).getTotalSeconds() : Integer.MIN_VALUE;
+    }
+
+    /**
+     * Paints the rules over a week at {@code defaultRate}, in order, so a later rule wins where rules overlap.
+     */
+    static WeeklyRateTimeline compile(int defaultRate, List<TariffRule> rules, ZoneId zone) {
+        TreeMap<Integer, Integer> rateFrom = new TreeMap<>(Map.of(0, defaultRate));
+        for (TariffRule rule : rules) {
+            for (var day : rule.days()) {
+                int start = (day.getValue() - 1) * SECONDS_PER_DAY + rule.startSecondOfDay();
+                int end = start + rule.lengthSeconds();
+                if (end > SECONDS_PER_WEEK) {
+                    paint(rateFrom, start, SECONDS_PER_WEEK, rule.hourlyRateInCents());
+                    paint(rateFrom, 0, end - SECONDS_PER_WEEK, rule.hourlyRateInCents());
+                } else {
+                    paint(rateFrom, start, end, rule.hourlyRateInCents());
+                }
+            }
+        }
+        int[] starts = new int[rateFrom.size()];
+        int[] rates = new int[rateFrom.size()];
+        int segments = 0;
+        for (Map.Entry<Integer, Integer> segment : rateFrom.entrySet()) {
+            if (segments == 0 || rates[segments - 1] != segment.getValue()) {
+                starts[segments] = segment.getKey();
+                rates[segments] = segment.getValue();
+                segments++;
+            }
+        }
+        return new WeeklyRateTimeline(Arrays.copyOf(starts, segments), Arrays.copyOf(rates, segments), zone);
+    }
+
+    private static void paint(TreeMap<Integer, Integer> rateFrom, int start, int end, int rate) {
+        if (end < SECONDS_PER_WEEK) {
+            rateFrom.put(end, rateFrom.floorEntry(end).getValue());
+        }
+        rateFrom.subMap(start, true, end, false).clear();
+        rateFrom.put(start, rate);
+    }
+
+    /** Number of segments the week was compiled into. */
+    public int segments() {
+        return starts.length;
+    }
+
+    /** The hourly rate in effect at an instant. */
+    public int rateAt(long epochSecond) {
+        long local = epochSecond + offsetAt(epochSecond);
+        return rates[segment((int) Math.floorMod(local + MONDAY_SHIFT, (long) SECONDS_PER_WEEK))];
+    }
+
+    /**
+     * Cost of parking from {@code fromEpochSecond} to {@code toEpochSecond}, each second charged at the
+     * hourly rate then in effect, rounded half up to cents. A flat rate {@code r} over {@code h} whole
+     * hours costs exactly {@code h * r}.
+     */
+    public long cents(long fromEpochSecond, long toEpochSecond) {
+        return (rateSeconds(fromEpochSecond, toEpochSecond) + SECONDS_PER_HOUR / 2) / SECONDS_PER_HOUR;
+    }
+
+    long rateSeconds(long fromEpochSecond, long toEpochSecond) {
+        if (fixedOffset != Integer.MIN_VALUE) {
+            return runningTotal(toEpochSecond + fixedOffset) - runningTotal(fromEpochSecond + fixedOffset);
+        }
+        long total = 0;
+        long start = fromEpochSecond;
+        while (start < toEpochSecond) {
+            Instant instant = Instant.ofEpochSecond(start);
+            int offset = zoneRules.getOffset(instant).getTotalSeconds();
+            ZoneOffsetTransition next = zoneRules.nextTransition(instant);
+            long end = next == null ? toEpochSecond : Math.min(toEpochSecond, next.toEpochSecond());
+            total += runningTotal(end + offset) - runningTotal(start + offset);
+            start = end;
+        }
+        return total;
+    }
+
+    private int offsetAt(long epochSecond) {
+        return fixedOffset != Integer.MIN_VALUE
+                ? fixedOffset
+                : zoneRules.getOffset(Instant.ofEpochSecond(epochSecond)).getTotalSeconds();
+    }
+
+    private long runningTotal(long localEpochSecond) {
+        long shifted = localEpochSecond + MONDAY_SHIFT;
+        long weeks = Math.floorDiv(shifted, (long) SECONDS_PER_WEEK);
+        int second = (int) Math.floorMod(shifted, (long) SECONDS_PER_WEEK);
+        int segment = segment(second);
+        return weeks * weekTotal + accumulated[segment] + (long) rates[segment] * (second - starts[segment]);
+    }
+
+    private int segment(int secondOfWeek) {
+        int found = Arrays.binarySearch(starts, secondOfWeek);
+        return found >= 0 ? found : -found - 2;
+    }
+}
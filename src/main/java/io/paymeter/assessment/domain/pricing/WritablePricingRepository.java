@@ -0,0 +1,16 @@
+package io.paymeter.assessment.domain.pricing;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * The write side of a {@link PricingRepository}, implemented by the stores and by the decorators that write
+ * through them. Read-only views, such as per-request lookups, implement {@link PricingRepository} alone.
+ */
+public interface WritablePricingRepository extends PricingRepository {
+
+    /** Creates or replaces the pricing of a parking. */
+    Mono<Pricing> save(String parkingId, Pricing pricing);
+
+    /** Emits {@code true} if the parking existed and was removed. */
+    Mono<Boolean> deleteById(String parkingId);
+}
@@ -0,0 +1,36 @@
+package io.paymeter.assessment.infrastructure.config;
+
+import io.paymeter.assessment.infrastructure.web.admission.AdaptiveConcurrencyLimiter;
+import io.paymeter.assessment.infrastructure.web.admission.AdmissionControlWebFilter;
+import io.paymeter.assessment.infrastructure.web.admission.AdmissionRoute;
+import io.paymeter.assessment.infrastructure.web.admission.ClientQuotas;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.List;
+
+@Configuration
+@EnableConfigurationProperties(AdmissionControlProperties.class)
+@ConditionalOnProperty(name = "admission-control.enabled", matchIfMissing = true)
+public class AdmissionControlConfig {
+
+    @Bean
+    public AdmissionControlWebFilter admissionControlWebFilter(AdmissionControlProperties properties) {
+        List<AdmissionRoute> routes = properties.getRoutes().entrySet().stream()
+                .map(entry -> route(entry.getKey(), entry.getValue()))
+                .toList();
+        return new AdmissionControlWebFilter(routes, properties.getClientIdHeader(), properties.getTrustedProxies());
+    }
+
+    private static AdmissionRoute route(String name, AdmissionControlProperties.Route route) {
+        AdmissionControlProperties.ClientQuota quota = route.getClientQuota();
+        ClientQuotas quotas = quota.isEnabled()
+                ? new ClientQuotas(quota.getCapacity(), quota.getRefillPerSecond(), quota.getMaximumClients())
+                : null;
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(
+                route.getInitialLimit(), route.getMinLimit(), route.getMaxLimit(), route.getTolerance());
+        return new AdmissionRoute(name, route.getPaths(), limiter, quotas, route.getRetryAfter());
+    }
+}
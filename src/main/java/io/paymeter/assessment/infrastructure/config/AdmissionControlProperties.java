@@ -0,0 +1,45 @@
+package io.paymeter.assessment.infrastructure.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "admission-control")
+public class AdmissionControlProperties {
+
+    private boolean enabled = true;
+    private String clientIdHeader = "X-Client-Id";
+    private List<String> trustedProxies = new ArrayList<>();
+    private Map<String, Route> routes = new LinkedHashMap<>();
+
+    @Getter
+    @Setter
+    public static class Route {
+
+        private List<String> paths = new ArrayList<>();
+        private int initialLimit = 64;
+        private int minLimit = 8;
+        private int maxLimit = 1000;
+        private double tolerance = 1.5;
+        private Duration retryAfter = Duration.ofSeconds(1);
+        private ClientQuota clientQuota = new ClientQuota();
+    }
+
+    @Getter
+    @Setter
+    public static class ClientQuota {
+
+        private boolean enabled = false;
+        private long capacity = 100;
+        private double refillPerSecond = 50;
+        private long maximumClients = 10_000;
+    }
+}
@@ -0,0 +1,25 @@
+package io.paymeter.assessment.infrastructure.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.paymeter.assessment.infrastructure.web.codec.CborEncoder;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.ServerCodecConfigurer;
+import org.springframework.http.codec.cbor.Jackson2CborDecoder;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.web.reactive.config.WebFluxConfigurer;
+
+/**
+ * Adds {@code application/cbor} to the server codecs. Protobuf needs no registration: its codecs are
+ * picked up as soon as {@code protobuf-java} is on the classpath.
+ */
+@Configuration
+public class CodecConfig implements WebFluxConfigurer {
+
+    @Override
+    public void configureHttpMessageCodecs(ServerCodecConfigurer configurer) {
+        ObjectMapper cborMapper = Jackson2ObjectMapperBuilder.cbor().build();
+        configurer.customCodecs().register(new Jackson2CborDecoder(cborMapper, MediaType.APPLICATION_CBOR));
+        configurer.customCodecs().register(new CborEncoder(cborMapper));
+    }
+}
@@ -1,14 +1,27 @@
 package io.paymeter.assessment.infrastructure.config;
 
+import io.paymeter.assessment.application.pricing.CalculationRecorder;
+import io.paymeter.assessment.application.pricing.LivePricingService;
+import io.paymeter.assessment.application.pricing.OpenTicketResultCache;
+import io.paymeter.assessment.application.pricing.PricingAdminService;
+import io.paymeter.assessment.application.pricing.PricingInvalidationBus;
 import io.paymeter.assessment.application.pricing.PricingService;
+import io.paymeter.assessment.application.stats.ParkingStats;
+import io.paymeter.assessment.domain.pricing.ClosedFormPricingCalculator;
 import io.paymeter.assessment.domain.pricing.PricingCalculator;
 import io.paymeter.assessment.domain.pricing.PricingRepository;
+import io.paymeter.assessment.domain.pricing.WritablePricingRepository;
+import io.paymeter.assessment.infrastructure.metrics.PricingMetrics;
+import io.paymeter.assessment.infrastructure.metrics.TimedPricingCalculator;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
 import reactor.core.scheduler.Scheduler;
-import reactor.core.scheduler.Schedulers;
 
 import java.time.Clock;
+import java.time.Duration;
 
 @Configuration
 public class Config {
@@ -19,19 +32,58 @@ public class Config {
     }
 
     @Bean
-    public PricingCalculator pricingCalculator() {
-        return new PricingCalculator();
+    @Primary
+    public PricingCalculator pricingCalculator(@Qualifier("untimedPricingCalculator") PricingCalculator untimedPricingCalculator,
+                                               PricingMetrics pricingMetrics) {
+        return new TimedPricingCalculator(untimedPricingCalculator, pricingMetrics.calculate());
+    }
+
+    /** The engine without the calculate timer, for synthetic calculations such as the startup warm-up. */
+    @Bean
+    public PricingCalculator untimedPricingCalculator(@Value("${pricing.calculator.engine:closed-form}") String engine) {
+        return pricingEngine(engine);
+    }
+
+    static PricingCalculator pricingEngine(String engine) {
+        return switch (engine) {
+            case "loop" -> new PricingCalculator();
+            case "closed-form" -> new ClosedFormPricingCalculator();
+            default -> throw new IllegalStateException("Unknown pricing.calculator.engine: " + engine);
+        };
     }
 
     @Bean
     public PricingService pricingService(PricingRepository pricingRepository,
                                          PricingCalculator pricingCalculator,
-                                         Clock clock) {
-        return new PricingService(pricingRepository, pricingCalculator, clock);
+                                         Clock clock,
+                                         ParkingStats parkingStats,
+                                         CalculationRecorder calculationRecorder,
+                                         @Value("${pricing.result-cache.enabled:true}") boolean resultCacheEnabled,
+                                         @Value("${pricing.result-cache.maximum-size:100000}") long resultCacheSize) {
+        OpenTicketResultCache resultCache = resultCacheEnabled ? new OpenTicketResultCache(resultCacheSize, clock) : null;
+        return new PricingService(pricingRepository, pricingCalculator, clock, resultCache,
+                parkingStats.andThen(calculationRecorder));
+    }
+
+    @Bean
+    public ParkingStats parkingStats(Clock clock, @Value("${stats.parkings.window:60m}") Duration window) {
+        return new ParkingStats(clock, window);
+    }
+
+    @Bean
+    public PricingAdminService pricingAdminService(WritablePricingRepository pricingRepository,
+                                                   PricingService pricingService,
+                                                   LivePricingService livePricingService,
+                                                   PricingInvalidationBus pricingInvalidationBus) {
+        return new PricingAdminService(pricingRepository, pricingService, livePricingService, pricingInvalidationBus);
     }
 
     @Bean
-    public Scheduler elasticScheduler() {
-        return Schedulers.boundedElastic();
+    public LivePricingService livePricingService(PricingRepository pricingRepository,
+                                                 PricingCalculator pricingCalculator,
+                                                 Clock clock,
+                                                 @Value("${pricing.live.tick:1s}") Duration tick,
+                                                 @Qualifier("parallelScheduler") Scheduler parallelScheduler) {
+        return new LivePricingService(pricingRepository, pricingCalculator, clock, parallelScheduler, tick);
     }
 }
@@ -0,0 +1,25 @@
+package io.paymeter.assessment.infrastructure.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.paymeter.assessment.domain.pricing.PricingRepository;
+import io.paymeter.assessment.infrastructure.metrics.CalculateOutcomeWebFilter;
+import io.paymeter.assessment.infrastructure.metrics.PricingMetrics;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.ClassUtils;
+
+@Configuration
+public class MetricsConfig {
+
+    @Bean
+    public PricingMetrics pricingMetrics(MeterRegistry meterRegistry,
+                                         @Qualifier("pricingStore") PricingRepository pricingStore) {
+        return new PricingMetrics(meterRegistry, ClassUtils.getUserClass(pricingStore).getSimpleName());
+    }
+
+    @Bean
+    public CalculateOutcomeWebFilter calculateOutcomeWebFilter(PricingMetrics pricingMetrics) {
+        return new CalculateOutcomeWebFilter(pricingMetrics);
+    }
+}
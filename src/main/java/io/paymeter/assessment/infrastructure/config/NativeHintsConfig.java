@@ -0,0 +1,71 @@
+package io.paymeter.assessment.infrastructure.config;
+
+import io.paymeter.assessment.application.stats.dto.ParkingStatsSnapshot;
+import io.paymeter.assessment.infrastructure.persistence.pricing.PricingEntity;
+import io.paymeter.assessment.infrastructure.web.ReadinessResponse;
+import io.paymeter.assessment.infrastructure.web.admin.dto.PricingRequest;
+import io.paymeter.assessment.infrastructure.web.admin.dto.PricingResponse;
+import io.paymeter.assessment.infrastructure.web.admin.dto.TariffRuleItem;
+import io.paymeter.assessment.infrastructure.web.parking.dto.CompactTicketBatchItem;
+import io.paymeter.assessment.infrastructure.web.parking.dto.CompactTicketRequest;
+import io.paymeter.assessment.infrastructure.web.parking.dto.CompactTicketResponse;
+import io.paymeter.assessment.infrastructure.web.parking.dto.ErrorResponse;
+import io.paymeter.assessment.infrastructure.web.parking.dto.TicketBatchItem;
+import io.paymeter.assessment.infrastructure.web.parking.dto.TicketRequest;
+import io.paymeter.assessment.infrastructure.web.parking.dto.TicketResponse;
+import io.paymeter.assessment.infrastructure.web.parking.proto.CalculateBatchItem;
+import io.paymeter.assessment.infrastructure.web.parking.proto.CalculateRequest;
+import io.paymeter.assessment.infrastructure.web.parking.proto.CalculateResponse;
+import io.paymeter.assessment.infrastructure.web.parking.proto.CalculationError;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+import org.springframework.aot.hint.TypeReference;
+import org.springframework.aot.hint.annotation.RegisterReflectionForBinding;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.ImportRuntimeHints;
+
+/**
+ * Reflection and resource hints for the native image. Spring AOT infers most of them from the bean
+ * definitions; these cover what it cannot see: the Lombok DTOs Jackson binds (some only appear behind
+ * generics or in the exception handler), the protobuf messages the codecs instantiate through
+ * {@code newBuilder()}, the JPA entity Hibernate populates through its fields and the Swagger UI assets.
+ */
+@Configuration
+@ImportRuntimeHints(NativeHintsConfig.ApplicationRuntimeHints.class)
+@RegisterReflectionForBinding({
+        TicketRequest.class,
+        TicketResponse.class,
+        TicketBatchItem.class,
+        CompactTicketRequest.class,
+        CompactTicketResponse.class,
+        CompactTicketBatchItem.class,
+        ErrorResponse.class,
+        PricingRequest.class,
+        PricingResponse.class,
+        TariffRuleItem.class,
+        ParkingStatsSnapshot.class,
+        ReadinessResponse.class
+})
+public class NativeHintsConfig {
+
+    static class ApplicationRuntimeHints implements RuntimeHintsRegistrar {
+
+        @Override
+        public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+            hints.reflection().registerType(PricingEntity.class,
+                    MemberCategory.DECLARED_FIELDS,
+                    MemberCategory.INVOKE_DECLARED_CONSTRUCTORS,
+                    MemberCategory.INVOKE_DECLARED_METHODS);
+            for (Class<?> message : new Class<?>[]{CalculateRequest.class, CalculateResponse.class,
+                    CalculationError.class, CalculateBatchItem.class}) {
+                hints.reflection().registerType(message, MemberCategory.INVOKE_PUBLIC_METHODS);
+                hints.reflection().registerType(TypeReference.of(message.getName() + "$Builder"),
+                        MemberCategory.INVOKE_PUBLIC_METHODS);
+            }
+            hints.resources()
+                    .registerPattern("META-INF/resources/webjars/swagger-ui/*/*")
+                    .registerPattern("META-INF/maven/org.webjars/swagger-ui/pom.properties");
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package io.paymeter.assessment.infrastructure.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "pricing.cache")
+public class PricingCacheProperties {
+
+    private boolean enabled = true;
+    private long maximumSize = 10_000;
+    private Duration ttl = Duration.ofMinutes(10);
+    private Duration refreshAfter = Duration.ofMinutes(8);
+    private Duration negativeTtl = Duration.ofSeconds(30);
+}
@@ -0,0 +1,96 @@
+package io.paymeter.assessment.infrastructure.config;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.paymeter.assessment.application.pricing.LivePricingService;
+import io.paymeter.assessment.application.pricing.PricingInvalidationBus;
+import io.paymeter.assessment.application.pricing.PricingInvalidationListener;
+import io.paymeter.assessment.application.pricing.PricingService;
+import io.paymeter.assessment.domain.pricing.PricingRepository;
+import io.paymeter.assessment.infrastructure.invalidation.InProcessPricingInvalidationBus;
+import io.paymeter.assessment.infrastructure.invalidation.PostgresPricingInvalidationBus;
+import io.paymeter.assessment.infrastructure.metrics.PricingMetrics;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableConfigurationProperties(PricingInvalidationProperties.class)
+public class PricingInvalidationConfig {
+
+    @Bean
+    public PricingInvalidationBus pricingInvalidationBus(PricingInvalidationProperties properties,
+                                                         PricingMetrics pricingMetrics) {
+        PricingInvalidationProperties.Postgres postgres = properties.getPostgres();
+        return switch (properties.getBus()) {
+            case NONE -> PricingInvalidationBus.NONE;
+            case IN_PROCESS -> new InProcessPricingInvalidationBus();
+            case POSTGRES -> {
+                PostgresPricingInvalidationBus bus = new PostgresPricingInvalidationBus(
+                        postgres.getUrl(),
+                        postgres.getUsername(),
+                        postgres.getPassword(),
+                        postgres.getVersionCheckInterval(),
+                        postgres.getReconnectDelay());
+                MeterRegistry registry = pricingMetrics.registry();
+                Gauge.builder("pricing.invalidation.connected", bus, connected -> connected.isConnected() ? 1 : 0)
+                        .description("Whether the Postgres invalidation listener is subscribed to its channel")
+                        .register(registry);
+                FunctionCounter.builder("pricing.invalidation.connect.failures", bus,
+                                PostgresPricingInvalidationBus::getConnectFailureCount)
+                        .description("Times the Postgres invalidation listener failed to connect or lost its connection")
+                        .register(registry);
+                yield bus;
+            }
+        };
+    }
+
+    /**
+     * Shows whether the Postgres listener is connected as a detail only: while it reconnects, pricing is
+     * served from memory and corrected by the version check once it is back, so the service stays in its
+     * probes.
+     */
+    @Bean
+    public HealthIndicator pricingInvalidationHealthIndicator(PricingInvalidationBus pricingInvalidationBus) {
+        return () -> {
+            if (!(pricingInvalidationBus instanceof PostgresPricingInvalidationBus bus)) {
+                return Health.unknown().build();
+            }
+            Health.Builder health = Health.up()
+                    .withDetail("connected", bus.isConnected())
+                    .withDetail("connectFailures", bus.getConnectFailureCount());
+            if (bus.getLastFailure() != null) {
+                health.withDetail("lastFailure", String.valueOf(bus.getLastFailure()));
+            }
+            return health.build();
+        };
+    }
+
+    @Bean
+    public PricingInvalidationListener pricingInvalidationListener(PricingInvalidationBus pricingInvalidationBus,
+                                                                   PricingRepository pricingRepository,
+                                                                   PricingService pricingService,
+                                                                   LivePricingService livePricingService,
+                                                                   PricingMetrics pricingMetrics) {
+        PricingInvalidationListener listener = new PricingInvalidationListener(
+                pricingInvalidationBus, pricingRepository, pricingService, livePricingService);
+        MeterRegistry registry = pricingMetrics.registry();
+        Gauge.builder("pricing.invalidation.version", listener, PricingInvalidationListener::getVersion)
+                .description("Last pricing change version applied by this instance")
+                .register(registry);
+        FunctionCounter.builder("pricing.invalidation.evictions", listener, PricingInvalidationListener::getEvictionCount)
+                .description("Parkings evicted after a change announced on the invalidation bus")
+                .register(registry);
+        FunctionCounter.builder("pricing.invalidation.resyncs", listener, PricingInvalidationListener::getResyncCount)
+                .description("Full cache drops after missed or unknown pricing changes")
+                .register(registry);
+        FunctionCounter.builder("pricing.invalidation.reload.failures", livePricingService,
+                        LivePricingService::getReloadFailureCount)
+                .description("Live stream pricing reloads whose lookup failed")
+                .register(registry);
+        return listener;
+    }
+}
@@ -0,0 +1,31 @@
+package io.paymeter.assessment.infrastructure.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "pricing.invalidation")
+public class PricingInvalidationProperties {
+
+    public enum Bus {
+        NONE, IN_PROCESS, POSTGRES
+    }
+
+    private Bus bus = Bus.POSTGRES;
+    private Postgres postgres = new Postgres();
+
+    @Getter
+    @Setter
+    public static class Postgres {
+
+        private String url;
+        private String username;
+        private String password;
+        private Duration versionCheckInterval = Duration.ofSeconds(30);
+        private Duration reconnectDelay = Duration.ofSeconds(5);
+    }
+}
@@ -0,0 +1,68 @@
+package io.paymeter.assessment.infrastructure.config;
+
+import io.paymeter.assessment.domain.pricing.WritablePricingRepository;
+import io.paymeter.assessment.infrastructure.metrics.PricingMetrics;
+import io.paymeter.assessment.infrastructure.metrics.TimedPricingRepository;
+import io.paymeter.assessment.infrastructure.persistence.pricing.BatchingPricingRepository;
+import io.paymeter.assessment.infrastructure.persistence.pricing.CachingPricingRepository;
+import io.paymeter.assessment.infrastructure.persistence.pricing.CoalescingPricingRepository;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import reactor.core.scheduler.Scheduler;
+
+import java.time.Duration;
+
+@Configuration
+@EnableConfigurationProperties(PricingCacheProperties.class)
+public class PricingRepositoryConfig {
+
+    @Bean
+    @Primary
+    public WritablePricingRepository pricingRepository(@Qualifier("untimedPricingRepository") WritablePricingRepository untimedPricingRepository,
+                                                       PricingMetrics pricingMetrics) {
+        return new TimedPricingRepository(untimedPricingRepository, pricingMetrics.lookup());
+    }
+
+    /**
+     * The batching, coalescing and caching chain over the store without the lookup timer, for synthetic
+     * lookups such as the startup warm-up that must not show up in {@code pricing.stage}.
+     */
+    @Bean
+    public WritablePricingRepository untimedPricingRepository(@Qualifier("pricingStore") WritablePricingRepository pricingStore,
+                                                              @Value("${pricing.batching.enabled:true}") boolean batchingEnabled,
+                                                              @Value("${pricing.batching.window:1ms}") Duration batchingWindow,
+                                                              @Value("${pricing.batching.max-size:100}") int batchingMaxSize,
+                                                              @Value("${pricing.coalescing.enabled:true}") boolean coalescingEnabled,
+                                                              PricingCacheProperties cacheProperties,
+                                                              PricingMetrics pricingMetrics,
+                                                              @Qualifier("parallelScheduler") Scheduler parallelScheduler) {
+        WritablePricingRepository repository = pricingStore;
+        if (batchingEnabled) {
+            BatchingPricingRepository batching = new BatchingPricingRepository(
+                    repository, batchingWindow, batchingMaxSize, parallelScheduler);
+            batching.bindTo(pricingMetrics.registry());
+            repository = batching;
+        }
+        if (coalescingEnabled) {
+            CoalescingPricingRepository coalescing = new CoalescingPricingRepository(repository);
+            coalescing.bindTo(pricingMetrics.registry());
+            repository = coalescing;
+        }
+        if (cacheProperties.isEnabled()) {
+            CachingPricingRepository caching = new CachingPricingRepository(
+                    repository,
+                    cacheProperties.getMaximumSize(),
+                    cacheProperties.getTtl(),
+                    cacheProperties.getRefreshAfter(),
+                    cacheProperties.getNegativeTtl(),
+                    parallelScheduler);
+            caching.bindTo(pricingMetrics.registry());
+            repository = caching;
+        }
+        return repository;
+    }
+}
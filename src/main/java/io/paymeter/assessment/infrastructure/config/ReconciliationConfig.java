@@ -0,0 +1,34 @@
+package io.paymeter.assessment.infrastructure.config;
+
+import io.paymeter.assessment.domain.pricing.PricingRepository;
+import io.paymeter.assessment.infrastructure.reconciliation.ReconciliationCommand;
+import io.paymeter.assessment.infrastructure.reconciliation.Reconciler;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Only active when a ticket file is given, i.e. when started through
+ * {@link io.paymeter.assessment.infrastructure.reconciliation.ReconciliationApplication}.
+ */
+@Configuration
+@EnableConfigurationProperties(ReconciliationProperties.class)
+@ConditionalOnProperty(prefix = "reconciliation", name = "input")
+public class ReconciliationConfig {
+
+    @Bean
+    public ReconciliationCommand reconciliationCommand(PricingRepository pricingRepository,
+                                                       @Value("${pricing.calculator.engine:closed-form}") String engine,
+                                                       ReconciliationProperties properties) {
+        if (properties.getOutput() == null) {
+            throw new IllegalStateException("reconciliation.output is required");
+        }
+        // The untimed engine: a timer sample per ticket would cost more than pricing it.
+        Reconciler reconciler = new Reconciler(pricingRepository, Config.pricingEngine(engine),
+                properties.getParallelism(), properties.getChunkSize().toBytes(), properties.getLookupTimeout());
+        return new ReconciliationCommand(reconciler, properties.getInput(), properties.getFormat(),
+                properties.getOutput(), properties.isMismatchesOnly(), properties.getProgressInterval(), System.out);
+    }
+}
@@ -0,0 +1,25 @@
+package io.paymeter.assessment.infrastructure.config;
+
+import io.paymeter.assessment.infrastructure.reconciliation.TicketFileFormat;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "reconciliation")
+public class ReconciliationProperties {
+
+    private Path input;
+    private Path output;
+    private TicketFileFormat format = TicketFileFormat.CSV;
+    private boolean mismatchesOnly = false;
+    private int parallelism = Runtime.getRuntime().availableProcessors();
+    private DataSize chunkSize = DataSize.ofMegabytes(16);
+    private Duration lookupTimeout = Duration.ofSeconds(10);
+    private Duration progressInterval = Duration.ofSeconds(5);
+}
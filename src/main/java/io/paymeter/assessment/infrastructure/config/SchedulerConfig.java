@@ -0,0 +1,28 @@
+package io.paymeter.assessment.infrastructure.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.concurrent.Executors;
+
+@Configuration
+public class SchedulerConfig {
+
+    @Bean(destroyMethod = "dispose")
+    public Scheduler blockingScheduler(@Value("${pricing.persistence.scheduler:bounded-elastic}") String mode) {
+        return switch (mode) {
+            case "bounded-elastic" -> Schedulers.boundedElastic();
+            case "virtual-threads" -> Schedulers.fromExecutorService(Executors.newVirtualThreadPerTaskExecutor(), "pricing-virtual");
+            default -> throw new IllegalStateException("Unknown pricing.persistence.scheduler: " + mode);
+        };
+    }
+
+    /** Non-blocking work: batching windows, live price ticks and background cache refreshes. */
+    @Bean(destroyMethod = "dispose")
+    public Scheduler parallelScheduler() {
+        return Schedulers.newParallel("pricing-parallel", Schedulers.DEFAULT_POOL_SIZE, true);
+    }
+}
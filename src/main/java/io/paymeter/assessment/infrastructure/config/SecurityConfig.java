@@ -1,35 +1,54 @@
 package io.paymeter.assessment.infrastructure.config;
 
+import io.paymeter.assessment.infrastructure.security.CachingReactiveAuthenticationManager;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.security.config.Customizer;
+import org.springframework.security.authentication.ReactiveAuthenticationManager;
+import org.springframework.security.authentication.UserDetailsRepositoryReactiveAuthenticationManager;
 import org.springframework.security.config.annotation.web.reactive.EnableWebFluxSecurity;
 import org.springframework.security.config.web.server.ServerHttpSecurity;
+import org.springframework.security.core.userdetails.ReactiveUserDetailsService;
 import org.springframework.security.web.server.SecurityWebFilterChain;
 
+import java.time.Duration;
+
 @Configuration
 @EnableWebFluxSecurity
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
 public class SecurityConfig {
 
     private static final String[] PUBLIC_ENDPOINTS = {
             "/",
+            "/health/**",
             "/swagger-ui.html",
             "/swagger-ui/**",
             "/api-docs/**",
             "/api-docs.yaml",
             "/webjars/**",
-            "/tickets/**"
+            "/tickets/**",
+            "/actuator/health/**",
+            "/actuator/prometheus"
     };
 
     @Bean
-    public SecurityWebFilterChain securityWebFilterChain(ServerHttpSecurity http) {
+    public SecurityWebFilterChain securityWebFilterChain(ServerHttpSecurity http,
+                                                         ReactiveUserDetailsService userDetailsService,
+                                                         @Value("${security.credentials-cache.ttl:1m}") Duration credentialsTtl,
+                                                         @Value("${security.credentials-cache.maximum-size:1000}") long credentialsCacheSize) {
+        ReactiveAuthenticationManager authenticationManager = new CachingReactiveAuthenticationManager(
+                userDetailsService,
+                new UserDetailsRepositoryReactiveAuthenticationManager(userDetailsService),
+                credentialsCacheSize,
+                credentialsTtl);
         return http
                 .csrf(ServerHttpSecurity.CsrfSpec::disable)
                 .authorizeExchange(exchanges -> exchanges
                         .pathMatchers(PUBLIC_ENDPOINTS).permitAll()
                         .anyExchange().authenticated()
                 )
-                .httpBasic(Customizer.withDefaults())
+                .httpBasic(basic -> basic.authenticationManager(authenticationManager))
                 .build();
     }
 }
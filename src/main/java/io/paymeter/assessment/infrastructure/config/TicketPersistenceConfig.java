@@ -0,0 +1,71 @@
+package io.paymeter.assessment.infrastructure.config;
+
+import io.paymeter.assessment.application.pricing.CalculationRecorder;
+import io.paymeter.assessment.infrastructure.metrics.PricingMetrics;
+import io.paymeter.assessment.infrastructure.persistence.ticket.TicketStore;
+import io.paymeter.assessment.infrastructure.persistence.ticket.WriteBehindCalculationRecorder;
+import io.paymeter.assessment.infrastructure.persistence.ticket.WriteBehindCalculationRecorder.WriteFailure;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import reactor.core.scheduler.Scheduler;
+
+import java.time.Clock;
+
+@Configuration
+@EnableConfigurationProperties(TicketWriteBehindProperties.class)
+public class TicketPersistenceConfig {
+
+    @Bean
+    public CalculationRecorder calculationRecorder(TicketWriteBehindProperties properties,
+                                                   ObjectProvider<TicketStore> ticketStore,
+                                                   @Qualifier("blockingScheduler") Scheduler blockingScheduler,
+                                                   Clock clock,
+                                                   PricingMetrics pricingMetrics) {
+        if (!properties.isEnabled()) {
+            return CalculationRecorder.NONE;
+        }
+        WriteBehindCalculationRecorder recorder = new WriteBehindCalculationRecorder(
+                ticketStore.getObject(),
+                properties.getCapacity(),
+                properties.getBatchSize(),
+                properties.getFlushInterval(),
+                properties.getOverflowPolicy(),
+                properties.getBlockTimeout(),
+                properties.getShutdownTimeout(),
+                properties.getMaxAttempts(),
+                properties.getRetryBackoff(),
+                blockingScheduler,
+                clock);
+        recorder.bindTo(pricingMetrics.registry());
+        return recorder;
+    }
+
+    /**
+     * Stays {@code UP} while tickets are being lost, so a failing audit trail never takes the service out of
+     * its probes; the last failure is shown as a detail until a later batch is written, and alerting goes
+     * through the {@code tickets.write-behind.failed} counter.
+     */
+    @Bean
+    public HealthIndicator ticketWriteBehindHealthIndicator(CalculationRecorder calculationRecorder) {
+        return () -> {
+            if (!(calculationRecorder instanceof WriteBehindCalculationRecorder recorder)) {
+                return Health.unknown().build();
+            }
+            Health.Builder health = Health.up()
+                    .withDetail("inserted", recorder.getInsertedCount())
+                    .withDetail("failed", recorder.getFailedCount())
+                    .withDetail("dropped", recorder.getDroppedCount());
+            WriteFailure failure = recorder.getLastFailure();
+            if (failure != null) {
+                health.withDetail("lastFailureAt", failure.at().toString())
+                        .withDetail("lastFailure", String.valueOf(failure.cause()));
+            }
+            return health.build();
+        };
+    }
+}
@@ -0,0 +1,24 @@
+package io.paymeter.assessment.infrastructure.config;
+
+import io.paymeter.assessment.infrastructure.persistence.ticket.WriteBehindCalculationRecorder.OverflowPolicy;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "tickets.write-behind")
+public class TicketWriteBehindProperties {
+
+    private boolean enabled = true;
+    private int capacity = 10_000;
+    private int batchSize = 500;
+    private Duration flushInterval = Duration.ofMillis(200);
+    private OverflowPolicy overflowPolicy = OverflowPolicy.BLOCK;
+    private Duration blockTimeout = Duration.ofSeconds(1);
+    private Duration shutdownTimeout = Duration.ofSeconds(10);
+    private int maxAttempts = 3;
+    private Duration retryBackoff = Duration.ofMillis(100);
+}
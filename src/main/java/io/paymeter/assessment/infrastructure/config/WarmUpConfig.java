@@ -0,0 +1,62 @@
+package io.paymeter.assessment.infrastructure.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.paymeter.assessment.application.pricing.LivePricingService;
+import io.paymeter.assessment.application.pricing.PricingService;
+import io.paymeter.assessment.domain.pricing.PricingCalculator;
+import io.paymeter.assessment.domain.pricing.PricingRepository;
+import io.paymeter.assessment.infrastructure.metrics.PricingMetrics;
+import io.paymeter.assessment.infrastructure.web.parking.StartupWarmUp;
+import io.paymeter.assessment.infrastructure.web.parking.TicketController;
+import jakarta.validation.Validator;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import reactor.core.scheduler.Scheduler;
+
+import java.time.Clock;
+import java.util.List;
+
+@Configuration
+public class WarmUpConfig {
+
+    /**
+     * Warms up on the repository and calculator underneath their timing decorators, so the synthetic
+     * calculations stay out of the lookup and calculate {@code pricing.stage} timers while still filling the
+     * pricing cache; the controller's parse and mapping timers are tagged {@code phase=warmup}.
+     */
+    @Bean
+    public StartupWarmUp startupWarmUp(@Qualifier("untimedPricingRepository") PricingRepository pricingRepository,
+                                       @Qualifier("untimedPricingCalculator") PricingCalculator pricingCalculator,
+                                       LivePricingService livePricingService,
+                                       PricingMetrics pricingMetrics,
+                                       ObjectMapper objectMapper,
+                                       Validator validator,
+                                       Clock clock,
+                                       @Value("${warm-up.parking-ids:P000123,P000456}") List<String> parkingIds,
+                                       @Value("${warm-up.calculations:10000}") int calculations) {
+        PricingService pricingService = new PricingService(pricingRepository, pricingCalculator, clock);
+        PricingMetrics warmUpMetrics = new PricingMetrics(pricingMetrics.registry(), pricingMetrics.repository(),
+                PricingMetrics.WARM_UP_PHASE);
+        TicketController ticketController = new TicketController(pricingService, livePricingService, warmUpMetrics,
+                objectMapper, validator);
+        return new StartupWarmUp(ticketController, pricingService, pricingRepository, objectMapper, parkingIds,
+                calculations, clock);
+    }
+
+    /**
+     * Starts the warm-up once the server is listening, so liveness answers while it runs.
+     */
+    @Bean
+    @ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+    public ApplicationListener<ApplicationReadyEvent> startupWarmUpTrigger(StartupWarmUp startupWarmUp,
+                                                                           @Qualifier("blockingScheduler") Scheduler blockingScheduler) {
+        return event -> startupWarmUp.run()
+                .subscribeOn(blockingScheduler)
+                .subscribe();
+    }
+}
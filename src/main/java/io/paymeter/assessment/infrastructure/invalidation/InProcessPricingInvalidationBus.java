@@ -0,0 +1,37 @@
+package io.paymeter.assessment.infrastructure.invalidation;
+
+import io.paymeter.assessment.application.pricing.PricingInvalidation;
+import io.paymeter.assessment.application.pricing.PricingInvalidationBus;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+/**
+ * Bus for instances sharing one JVM, such as a single node or several application contexts in a test.
+ * Published changes are numbered and delivered synchronously to every subscriber; a new subscriber is first
+ * told the current version.
+ */
+public class InProcessPricingInvalidationBus implements PricingInvalidationBus {
+
+    private final Sinks.Many<PricingInvalidation> sink = Sinks.many().multicast().directBestEffort();
+    private long version;
+
+    @Override
+    public Mono<Void> publish(String parkingId) {
+        return Mono.fromRunnable(() -> {
+            // Numbering and emitting under one lock keeps versions in order and the sink serialized.
+            synchronized (this) {
+                sink.tryEmitNext(new PricingInvalidation(++version, parkingId));
+            }
+        });
+    }
+
+    @Override
+    public Flux<PricingInvalidation> invalidations() {
+        return Flux.defer(() -> {
+            synchronized (this) {
+                return Flux.just(PricingInvalidation.announcement(version)).concatWith(sink.asFlux());
+            }
+        });
+    }
+}
@@ -0,0 +1,172 @@
+package io.paymeter.assessment.infrastructure.invalidation;
+
+import io.paymeter.assessment.application.pricing.PricingInvalidation;
+import io.paymeter.assessment.application.pricing.PricingInvalidationBus;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bus fed by Postgres itself: a trigger on the {@code pricing} table bumps {@code pricing_version} and sends
+ * {@code <version>:<parkingId>} on the {@code pricing_changed} channel for every row written, by this service
+ * or anyone else, so {@link #publish} has nothing to do. One dedicated connection, outside the pool, listens
+ * from a daemon thread. After connecting, and every {@code versionCheckInterval}, it also reads the current
+ * version and announces it, so changes missed while disconnected, or dropped on the way, are noticed.
+ */
+public class PostgresPricingInvalidationBus implements PricingInvalidationBus, AutoCloseable {
+
+    static final String CHANNEL = "pricing_changed";
+
+    private static final Logger log = LoggerFactory.getLogger(PostgresPricingInvalidationBus.class);
+    private static final int MAX_WAIT_MILLIS = 500;
+
+    private final String url;
+    private final String username;
+    private final String password;
+    private final Duration versionCheckInterval;
+    private final Duration reconnectDelay;
+    private final Sinks.Many<PricingInvalidation> sink = Sinks.many().multicast().directBestEffort();
+    private final LongAdder connectFailures = new LongAdder();
+    private final Thread listener;
+
+    private volatile boolean running = true;
+    private volatile boolean connected;
+    private volatile SQLException lastFailure;
+
+    public PostgresPricingInvalidationBus(String url,
+                                          String username,
+                                          String password,
+                                          Duration versionCheckInterval,
+                                          Duration reconnectDelay) {
+        this.url = url;
+        this.username = username;
+        this.password = password;
+        this.versionCheckInterval = versionCheckInterval;
+        this.reconnectDelay = reconnectDelay;
+        this.listener = Thread.ofPlatform().name("pricing-invalidation").daemon().start(this::listenLoop);
+    }
+
+    @Override
+    public Mono<Void> publish(String parkingId) {
+        return Mono.empty();
+    }
+
+    @Override
+    public Flux<PricingInvalidation> invalidations() {
+        return sink.asFlux();
+    }
+
+    /** Whether the listener is currently subscribed to the channel. */
+    public boolean isConnected() {
+        return connected;
+    }
+
+    /** Times the listener failed to connect or lost its connection. */
+    public long getConnectFailureCount() {
+        return connectFailures.sum();
+    }
+
+    /** Why the listener last failed to connect or lost its connection; {@code null} if it never did. */
+    public SQLException getLastFailure() {
+        return lastFailure;
+    }
+
+    @Override
+    public void close() throws InterruptedException {
+        running = false;
+        listener.interrupt();
+        listener.join(Duration.ofMillis(2L * MAX_WAIT_MILLIS));
+        sink.tryEmitComplete();
+    }
+
+    static PricingInvalidation parse(String payload) {
+        int separator = payload.indexOf(':');
+        if (separator <= 0 || separator == payload.length() - 1) {
+            return null;
+        }
+        try {
+            return new PricingInvalidation(Long.parseLong(payload, 0, separator, 10), payload.substring(separator + 1));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private void listenLoop() {
+        while (running) {
+            try (Connection connection = DriverManager.getConnection(url, username, password)) {
+                listen(connection);
+            } catch (SQLException e) {
+                // Reconnect below; the announcement made after reconnecting covers what was missed meanwhile.
+                if (running) {
+                    connectFailures.increment();
+                    lastFailure = e;
+                    log.warn("Pricing invalidation listener disconnected, reconnecting in {}", reconnectDelay, e);
+                }
+            } finally {
+                connected = false;
+            }
+            try {
+                Thread.sleep(reconnectDelay);
+            } catch (InterruptedException e) {
+                return;
+            }
+        }
+    }
+
+    private void listen(Connection connection) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("LISTEN " + CHANNEL);
+        }
+        connected = true;
+        PGConnection notifications = connection.unwrap(PGConnection.class);
+        long nextCheck = System.nanoTime();
+        while (running) {
+            long untilCheck = nextCheck - System.nanoTime();
+            if (untilCheck <= 0) {
+                long version = currentVersion(connection);
+                // Notifications delivered along with the query are already counted in the version read; they go
+                // first so the announcement is not mistaken for a gap.
+                emit(notifications.getNotifications());
+                sink.tryEmitNext(PricingInvalidation.announcement(version));
+                nextCheck = System.nanoTime() + versionCheckInterval.toNanos();
+                continue;
+            }
+            int waitMillis = (int) Math.max(1, Math.min(MAX_WAIT_MILLIS, Duration.ofNanos(untilCheck).toMillis()));
+            emit(notifications.getNotifications(waitMillis));
+        }
+    }
+
+    private static long currentVersion(Connection connection) throws SQLException {
+        try (Statement statement = connection.createStatement();
+             ResultSet version = statement.executeQuery("SELECT version FROM pricing_version")) {
+            if (!version.next()) {
+                throw new SQLException("pricing_version has no row");
+            }
+            return version.getLong(1);
+        }
+    }
+
+    private void emit(PGNotification[] received) {
+        if (received == null) {
+            return;
+        }
+        for (PGNotification notification : received) {
+            PricingInvalidation change = parse(notification.getParameter());
+            if (change != null) {
+                sink.tryEmitNext(change);
+            }
+        }
+    }
+}
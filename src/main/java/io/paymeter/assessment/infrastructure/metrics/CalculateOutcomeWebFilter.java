@@ -0,0 +1,37 @@
+package io.paymeter.assessment.infrastructure.metrics;
+
+import org.springframework.http.HttpStatusCode;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+
+public class CalculateOutcomeWebFilter implements WebFilter {
+
+    private static final String CALCULATE_PATH = "/tickets/calculate";
+
+    private final PricingMetrics pricingMetrics;
+
+    public CalculateOutcomeWebFilter(PricingMetrics pricingMetrics) {
+        this.pricingMetrics = pricingMetrics;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        if (!CALCULATE_PATH.equals(exchange.getRequest().getPath().pathWithinApplication().value())) {
+            return chain.filter(exchange);
+        }
+        return chain.filter(exchange)
+                .doFinally(signal -> {
+                    HttpStatusCode status = exchange.getResponse().getStatusCode();
+                    if (signal == SignalType.ON_ERROR) {
+                        pricingMetrics.recordOutcome(500);
+                    } else if (signal == SignalType.CANCEL && !exchange.getResponse().isCommitted()) {
+                        pricingMetrics.recordCancelled();
+                    } else {
+                        pricingMetrics.recordOutcome(status != null ? status.value() : 200);
+                    }
+                });
+    }
+}
@@ -0,0 +1,113 @@
+package io.paymeter.assessment.infrastructure.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Pre-registered meters for the calculate pipeline, so the hot path only records and never looks
+ * meters up by name. Every meter carries a {@code phase} tag telling real traffic apart from the
+ * synthetic calculations of the startup warm-up.
+ */
+public class PricingMetrics {
+
+    public static final String STAGE_TIMER = "pricing.stage";
+    public static final String REQUESTS_COUNTER = "pricing.calculate.requests";
+    public static final String TRAFFIC_PHASE = "traffic";
+    public static final String WARM_UP_PHASE = "warmup";
+
+    private final MeterRegistry registry;
+    private final String repository;
+    private final String phase;
+    private final Timer parse;
+    private final Timer lookup;
+    private final Timer calculate;
+    private final Timer mapping;
+    private final Counter ok;
+    private final Counter badRequest;
+    private final Counter notFound;
+    private final Counter clientError;
+    private final Counter serverError;
+    private final Counter cancelled;
+
+    public PricingMetrics(MeterRegistry registry, String repository) {
+        this(registry, repository, TRAFFIC_PHASE);
+    }
+
+    public PricingMetrics(MeterRegistry registry, String repository, String phase) {
+        this.registry = registry;
+        this.repository = repository;
+        this.phase = phase;
+        this.parse = stageTimer("parse");
+        this.lookup = stageTimer("lookup");
+        this.calculate = stageTimer("calculate");
+        this.mapping = stageTimer("mapping");
+        this.ok = outcomeCounter("ok");
+        this.badRequest = outcomeCounter("bad_request");
+        this.notFound = outcomeCounter("not_found");
+        this.clientError = outcomeCounter("client_error");
+        this.serverError = outcomeCounter("server_error");
+        this.cancelled = outcomeCounter("cancelled");
+    }
+
+    public Timer parse() {
+        return parse;
+    }
+
+    public Timer lookup() {
+        return lookup;
+    }
+
+    public Timer calculate() {
+        return calculate;
+    }
+
+    public Timer mapping() {
+        return mapping;
+    }
+
+    public MeterRegistry registry() {
+        return registry;
+    }
+
+    public String repository() {
+        return repository;
+    }
+
+    public void recordOutcome(int status) {
+        if (status == 400) {
+            badRequest.increment();
+        } else if (status == 404) {
+            notFound.increment();
+        } else if (status >= 500) {
+            serverError.increment();
+        } else if (status >= 400) {
+            clientError.increment();
+        } else {
+            ok.increment();
+        }
+    }
+
+    /** A request the client went away from before a response was written. */
+    public void recordCancelled() {
+        cancelled.increment();
+    }
+
+    private Timer stageTimer(String stage) {
+        return Timer.builder(STAGE_TIMER)
+                .description("Time spent in each stage of a ticket price calculation")
+                .tag("stage", stage)
+                .tag("repository", repository)
+                .tag("phase", phase)
+                .register(registry);
+    }
+
+    private Counter outcomeCounter(String outcome) {
+        return Counter.builder(REQUESTS_COUNTER)
+                .description("Ticket price calculations by outcome")
+                .tag("outcome", outcome)
+                .tag("repository", repository)
+                .tag("phase", phase)
+                .register(registry);
+    }
+}
@@ -0,0 +1,45 @@
+package io.paymeter.assessment.infrastructure.metrics;
+
+import io.micrometer.core.instrument.Timer;
+import io.paymeter.assessment.domain.pricing.Money;
+import io.paymeter.assessment.domain.pricing.Pricing;
+import io.paymeter.assessment.domain.pricing.PricingCalculator;
+
+import java.time.ZonedDateTime;
+import java.util.concurrent.TimeUnit;
+
+public class TimedPricingCalculator extends PricingCalculator {
+
+    private final PricingCalculator delegate;
+    private final Timer timer;
+
+    public TimedPricingCalculator(PricingCalculator delegate, Timer timer) {
+        this.delegate = delegate;
+        this.timer = timer;
+    }
+
+    @Override
+    public Money calculate(Pricing pricing, ZonedDateTime from, ZonedDateTime to) {
+        long start = System.nanoTime();
+        try {
+            return delegate.calculate(pricing, from, to);
+        } finally {
+            timer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    @Override
+    public long calculateCents(Pricing pricing, long fromEpochSecond, long toEpochSecond) {
+        long start = System.nanoTime();
+        try {
+            return delegate.calculateCents(pricing, fromEpochSecond, toEpochSecond);
+        } finally {
+            timer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    @Override
+    public long nextPriceChange(Pricing pricing, long fromEpochSecond, long nowEpochSecond) {
+        return delegate.nextPriceChange(pricing, fromEpochSecond, nowEpochSecond);
+    }
+}
@@ -0,0 +1,60 @@
+package io.paymeter.assessment.infrastructure.metrics;
+
+import io.micrometer.core.instrument.Timer;
+import io.paymeter.assessment.domain.pricing.Pricing;
+import io.paymeter.assessment.domain.pricing.WritablePricingRepository;
+import reactor.core.publisher.Mono;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+public class TimedPricingRepository implements WritablePricingRepository {
+
+    private final WritablePricingRepository delegate;
+    private final Timer timer;
+
+    public TimedPricingRepository(WritablePricingRepository delegate, Timer timer) {
+        this.delegate = delegate;
+        this.timer = timer;
+    }
+
+    @Override
+    public Mono<Pricing> findById(String parkingId) {
+        return Mono.defer(() -> {
+            long start = System.nanoTime();
+            return delegate.findById(parkingId)
+                    .doFinally(signal -> timer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS));
+        });
+    }
+
+    @Override
+    public Mono<Map<String, Pricing>> findAllByIds(Collection<String> parkingIds) {
+        return delegate.findAllByIds(parkingIds);
+    }
+
+    @Override
+    public Mono<Pricing> save(String parkingId, Pricing pricing) {
+        return delegate.save(parkingId, pricing);
+    }
+
+    @Override
+    public Mono<Boolean> deleteById(String parkingId) {
+        return delegate.deleteById(parkingId);
+    }
+
+    @Override
+    public void evict(String parkingId) {
+        delegate.evict(parkingId);
+    }
+
+    @Override
+    public void evictAll() {
+        delegate.evictAll();
+    }
+
+    @Override
+    public Mono<Void> checkConnection() {
+        return delegate.checkConnection();
+    }
+}
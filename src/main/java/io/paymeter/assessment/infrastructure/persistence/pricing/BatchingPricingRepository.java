@@ -0,0 +1,152 @@
+package io.paymeter.assessment.infrastructure.persistence.pricing;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.paymeter.assessment.domain.pricing.Pricing;
+import io.paymeter.assessment.domain.pricing.PricingRepository;
+import io.paymeter.assessment.domain.pricing.WritablePricingRepository;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.core.scheduler.Scheduler;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Collects single-parking lookups arriving within {@code window} (or until {@code maxBatchSize} distinct
+ * ids are waiting) and resolves them with one {@link PricingRepository#findAllByIds} call, fanning the
+ * results back out to each caller. Callers for the same id in one batch share the result.
+ */
+public class BatchingPricingRepository implements WritablePricingRepository, MeterBinder {
+
+    private final WritablePricingRepository delegate;
+    private final Duration window;
+    private final int maxBatchSize;
+    private final Scheduler timer;
+    private final Object lock = new Object();
+    private final LongAdder batches = new LongAdder();
+    private final LongAdder keys = new LongAdder();
+
+    private Map<String, Sinks.One<Pricing>> pending = new HashMap<>();
+    private Disposable scheduledFlush;
+
+    public BatchingPricingRepository(WritablePricingRepository delegate, Duration window, int maxBatchSize, Scheduler timer) {
+        this.delegate = delegate;
+        this.window = window;
+        this.maxBatchSize = maxBatchSize;
+        this.timer = timer;
+    }
+
+    @Override
+    public Mono<Pricing> findById(String parkingId) {
+        return Mono.defer(() -> {
+            Sinks.One<Pricing> sink;
+            Map<String, Sinks.One<Pricing>> full = null;
+            synchronized (lock) {
+                sink = pending.computeIfAbsent(parkingId, id -> Sinks.one());
+                if (pending.size() >= maxBatchSize) {
+                    full = takePending();
+                } else if (scheduledFlush == null) {
+                    scheduledFlush = timer.schedule(this::flush, window.toNanos(), TimeUnit.NANOSECONDS);
+                }
+            }
+            if (full != null) {
+                dispatch(full);
+            }
+            return sink.asMono();
+        });
+    }
+
+    @Override
+    public Mono<Map<String, Pricing>> findAllByIds(Collection<String> parkingIds) {
+        return delegate.findAllByIds(parkingIds);
+    }
+
+    @Override
+    public Mono<Pricing> save(String parkingId, Pricing pricing) {
+        return delegate.save(parkingId, pricing);
+    }
+
+    @Override
+    public Mono<Boolean> deleteById(String parkingId) {
+        return delegate.deleteById(parkingId);
+    }
+
+    @Override
+    public void evict(String parkingId) {
+        delegate.evict(parkingId);
+    }
+
+    @Override
+    public void evictAll() {
+        delegate.evictAll();
+    }
+
+    @Override
+    public Mono<Void> checkConnection() {
+        return delegate.checkConnection();
+    }
+
+    public long getBatchCount() {
+        return batches.sum();
+    }
+
+    public long getKeyCount() {
+        return keys.sum();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("pricing.batching.batches", batches, LongAdder::sum)
+                .description("Multi-key pricing queries sent to the underlying repository")
+                .register(registry);
+        FunctionCounter.builder("pricing.batching.keys", keys, LongAdder::sum)
+                .description("Distinct parking ids resolved through batched queries")
+                .register(registry);
+    }
+
+    private void flush() {
+        Map<String, Sinks.One<Pricing>> batch;
+        synchronized (lock) {
+            scheduledFlush = null;
+            if (pending.isEmpty()) {
+                return;
+            }
+            batch = takePending();
+        }
+        dispatch(batch);
+    }
+
+    private Map<String, Sinks.One<Pricing>> takePending() {
+        Map<String, Sinks.One<Pricing>> batch = pending;
+        pending = new HashMap<>();
+        if (scheduledFlush != null) {
+            scheduledFlush.dispose();
+            scheduledFlush = null;
+        }
+        return batch;
+    }
+
+    private void dispatch(Map<String, Sinks.One<Pricing>> batch) {
+        batches.increment();
+        keys.add(batch.size());
+        delegate.findAllByIds(batch.keySet())
+                .defaultIfEmpty(Map.of())
+                .subscribe(
+                        found -> batch.forEach((parkingId, sink) -> {
+                            Pricing pricing = found.get(parkingId);
+                            if (pricing != null) {
+                                sink.tryEmitValue(pricing);
+                            } else {
+                                sink.tryEmitEmpty();
+                            }
+                        }),
+                        error -> batch.values().forEach(sink -> sink.tryEmitError(error)));
+    }
+}
@@ -0,0 +1,131 @@
+package io.paymeter.assessment.infrastructure.persistence.pricing;
+
+import com.github.benmanes.caffeine.cache.AsyncLoadingCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.Ticker;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import io.paymeter.assessment.domain.pricing.Pricing;
+import io.paymeter.assessment.domain.pricing.PricingRepository;
+import io.paymeter.assessment.domain.pricing.WritablePricingRepository;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+/**
+ * Bounded in-process cache in front of any {@link PricingRepository}. Entries are reloaded in the
+ * background once {@code refreshAfter} has elapsed, so hot parkings never block on the delegate,
+ * and unknown parking ids are remembered for {@code negativeTtl} so they stop reaching the store.
+ */
+public class CachingPricingRepository implements WritablePricingRepository, MeterBinder {
+
+    private final WritablePricingRepository delegate;
+    private final AsyncLoadingCache<String, Optional<Pricing>> cache;
+
+    public CachingPricingRepository(WritablePricingRepository delegate,
+                                    long maximumSize,
+                                    Duration ttl,
+                                    Duration refreshAfter,
+                                    Duration negativeTtl,
+                                    Scheduler refreshScheduler) {
+        this(delegate, maximumSize, ttl, refreshAfter, negativeTtl, Ticker.systemTicker(), refreshScheduler::schedule);
+    }
+
+    CachingPricingRepository(WritablePricingRepository delegate,
+                             long maximumSize,
+                             Duration ttl,
+                             Duration refreshAfter,
+                             Duration negativeTtl,
+                             Ticker ticker,
+                             Executor executor) {
+        this.delegate = delegate;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfter(new PricingExpiry(ttl, negativeTtl))
+                .refreshAfterWrite(refreshAfter)
+                .ticker(ticker)
+                .executor(executor)
+                .recordStats()
+                .buildAsync((parkingId, ignored) -> delegate.findById(parkingId)
+                        .map(Optional::of)
+                        .defaultIfEmpty(Optional.empty())
+                        .toFuture());
+    }
+
+    @Override
+    public Mono<Pricing> findById(String parkingId) {
+        return Mono.fromFuture(cache.get(parkingId), true)
+                .flatMap(Mono::justOrEmpty);
+    }
+
+    @Override
+    public Mono<Pricing> save(String parkingId, Pricing pricing) {
+        return delegate.save(parkingId, pricing)
+                .doOnNext(saved -> cache.put(parkingId, CompletableFuture.completedFuture(Optional.of(saved))));
+    }
+
+    @Override
+    public Mono<Boolean> deleteById(String parkingId) {
+        return delegate.deleteById(parkingId)
+                .doOnNext(deleted -> cache.synchronous().invalidate(parkingId));
+    }
+
+    @Override
+    public void evict(String parkingId) {
+        cache.synchronous().invalidate(parkingId);
+        delegate.evict(parkingId);
+    }
+
+    @Override
+    public void evictAll() {
+        cache.synchronous().invalidateAll();
+        delegate.evictAll();
+    }
+
+    @Override
+    public Mono<Void> checkConnection() {
+        return delegate.checkConnection();
+    }
+
+    public CacheStats stats() {
+        return cache.synchronous().stats();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, cache, "pricing");
+    }
+
+    private static final class PricingExpiry implements Expiry<String, Optional<Pricing>> {
+
+        private final long ttlNanos;
+        private final long negativeTtlNanos;
+
+        private PricingExpiry(Duration ttl, Duration negativeTtl) {
+            this.ttlNanos = ttl.toNanos();
+            this.negativeTtlNanos = negativeTtl.toNanos();
+        }
+
+        @Override
+        public long expireAfterCreate(String parkingId, Optional<Pricing> pricing, long currentTime) {
+            return pricing.isPresent() ? ttlNanos : negativeTtlNanos;
+        }
+
+        @Override
+        public long expireAfterUpdate(String parkingId, Optional<Pricing> pricing, long currentTime, long currentDuration) {
+            return expireAfterCreate(parkingId, pricing, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String parkingId, Optional<Pricing> pricing, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
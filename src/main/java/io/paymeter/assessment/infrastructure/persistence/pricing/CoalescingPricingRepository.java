@@ -0,0 +1,95 @@
+package io.paymeter.assessment.infrastructure.persistence.pricing;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.paymeter.assessment.domain.pricing.Pricing;
+import io.paymeter.assessment.domain.pricing.WritablePricingRepository;
+import reactor.core.publisher.Mono;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Shares one in-flight lookup among all concurrent callers for the same parking id. The shared
+ * lookup is cancelled only when every caller has cancelled, and errors reach every caller; either
+ * way the entry is dropped so the next caller starts a fresh lookup.
+ */
+public class CoalescingPricingRepository implements WritablePricingRepository, MeterBinder {
+
+    private final WritablePricingRepository delegate;
+    private final Map<String, Mono<Pricing>> inFlight = new ConcurrentHashMap<>();
+    private final LongAdder lookups = new LongAdder();
+    private final LongAdder collapsed = new LongAdder();
+
+    public CoalescingPricingRepository(WritablePricingRepository delegate) {
+        this.delegate = delegate;
+    }
+
+    @Override
+    public Mono<Pricing> findById(String parkingId) {
+        return Mono.defer(() -> {
+            boolean[] leader = {false};
+            Mono<Pricing> shared = inFlight.computeIfAbsent(parkingId, id -> {
+                leader[0] = true;
+                return share(id);
+            });
+            (leader[0] ? lookups : collapsed).increment();
+            return shared;
+        });
+    }
+
+    @Override
+    public Mono<Pricing> save(String parkingId, Pricing pricing) {
+        return delegate.save(parkingId, pricing);
+    }
+
+    @Override
+    public Mono<Boolean> deleteById(String parkingId) {
+        return delegate.deleteById(parkingId);
+    }
+
+    @Override
+    public void evict(String parkingId) {
+        delegate.evict(parkingId);
+    }
+
+    @Override
+    public void evictAll() {
+        delegate.evictAll();
+    }
+
+    @Override
+    public Mono<Void> checkConnection() {
+        return delegate.checkConnection();
+    }
+
+    public long getLookupCount() {
+        return lookups.sum();
+    }
+
+    public long getCollapsedCount() {
+        return collapsed.sum();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("pricing.coalescing.lookups", lookups, LongAdder::sum)
+                .description("Pricing lookups that reached the underlying repository")
+                .register(registry);
+        FunctionCounter.builder("pricing.coalescing.collapsed", collapsed, LongAdder::sum)
+                .description("Pricing lookups that joined an in-flight lookup for the same parking")
+                .register(registry);
+    }
+
+    private Mono<Pricing> share(String parkingId) {
+        AtomicReference<Mono<Pricing>> self = new AtomicReference<>();
+        Mono<Pricing> shared = delegate.findById(parkingId)
+                .doFinally(signal -> inFlight.remove(parkingId, self.get()))
+                .share();
+        self.set(shared);
+        return shared;
+    }
+}
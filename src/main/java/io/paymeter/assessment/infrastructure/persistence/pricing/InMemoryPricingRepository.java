@@ -1,22 +1,46 @@
 package io.paymeter.assessment.infrastructure.persistence.pricing;
 
 import io.paymeter.assessment.domain.pricing.Pricing;
-import io.paymeter.assessment.domain.pricing.PricingRepository;
+import io.paymeter.assessment.domain.pricing.WritablePricingRepository;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Repository;
 import reactor.core.publisher.Mono;
 
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
-public class InMemoryPricingRepository implements PricingRepository {
+/**
+ * Store used by the {@code in-memory} profile, which runs without a database: starts with the two seed
+ * parkings of {@code db/init/001_create_pricing.sql} and keeps admin API writes until shutdown.
+ */
+@Repository
+@Profile("in-memory")
+@Qualifier("pricingStore")
+public class InMemoryPricingRepository implements WritablePricingRepository {
     private static final String PARKING_DAILY_CAP = "P000123";
     private static final String PARKING_FREE_HOUR = "P000456";
 
-    private final Map<String, Pricing> pricingByParking = Map.of(
+    private final Map<String, Pricing> pricingByParking = new ConcurrentHashMap<>(Map.of(
             PARKING_DAILY_CAP, new Pricing(2, 15, 24, false),
             PARKING_FREE_HOUR, new Pricing(3, 20, 12, true)
-    );
+    ));
 
     @Override
     public Mono<Pricing> findById(String parkingId) {
-        return Mono.justOrEmpty(pricingByParking.get(parkingId));
+        return Mono.fromSupplier(() -> pricingByParking.get(parkingId));
+    }
+
+    @Override
+    public Mono<Pricing> save(String parkingId, Pricing pricing) {
+        return Mono.fromSupplier(() -> {
+            pricingByParking.put(parkingId, pricing);
+            return pricing;
+        });
+    }
+
+    @Override
+    public Mono<Boolean> deleteById(String parkingId) {
+        return Mono.fromSupplier(() -> pricingByParking.remove(parkingId) != null);
     }
 }
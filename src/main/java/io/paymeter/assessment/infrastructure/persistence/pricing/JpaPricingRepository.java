@@ -1,24 +1,61 @@
 package io.paymeter.assessment.infrastructure.persistence.pricing;
 
 import io.paymeter.assessment.domain.pricing.Pricing;
-import io.paymeter.assessment.domain.pricing.PricingRepository;
+import io.paymeter.assessment.domain.pricing.WritablePricingRepository;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.annotation.Profile;
 import org.springframework.stereotype.Repository;
 import reactor.core.publisher.Mono;
-import reactor.core.scheduler.Schedulers;
+import reactor.core.scheduler.Scheduler;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.stream.Collectors;
 
 @Repository
-public class JpaPricingRepository implements PricingRepository {
+@Profile("!r2dbc & !in-memory")
+@Qualifier("pricingStore")
+public class JpaPricingRepository implements WritablePricingRepository {
 
     private final PricingJpaRepository pricingJpaRepository;
+    private final Scheduler blockingScheduler;
 
-    public JpaPricingRepository(PricingJpaRepository pricingJpaRepository) {
+    public JpaPricingRepository(PricingJpaRepository pricingJpaRepository,
+                                @Qualifier("blockingScheduler") Scheduler blockingScheduler) {
         this.pricingJpaRepository = pricingJpaRepository;
+        this.blockingScheduler = blockingScheduler;
     }
 
     @Override
     public Mono<Pricing> findById(String parkingId) {
         return Mono.fromCallable(() -> pricingJpaRepository.findById(parkingId).map(PricingEntity::toDomain))
-                .subscribeOn(Schedulers.boundedElastic())
+                .subscribeOn(blockingScheduler)
                 .flatMap(optional -> optional.map(Mono::just).orElseGet(Mono::empty));
     }
+
+    @Override
+    public Mono<Map<String, Pricing>> findAllByIds(Collection<String> parkingIds) {
+        return Mono.fromCallable(() -> pricingJpaRepository.findAllById(parkingIds).stream()
+                        .collect(Collectors.toMap(PricingEntity::getParkingId, PricingEntity::toDomain)))
+                .subscribeOn(blockingScheduler);
+    }
+
+    @Override
+    public Mono<Pricing> save(String parkingId, Pricing pricing) {
+        return Mono.fromCallable(() -> pricingJpaRepository.save(PricingEntity.of(parkingId, pricing)).toDomain())
+                .subscribeOn(blockingScheduler);
+    }
+
+    @Override
+    public Mono<Boolean> deleteById(String parkingId) {
+        return Mono.fromCallable(() -> pricingJpaRepository.deleteByParkingId(parkingId) > 0)
+                .subscribeOn(blockingScheduler);
+    }
+
+    @Override
+    public Mono<Void> checkConnection() {
+        return Mono.fromCallable(pricingJpaRepository::selectOne)
+                .subscribeOn(blockingScheduler)
+                .then();
+    }
 }
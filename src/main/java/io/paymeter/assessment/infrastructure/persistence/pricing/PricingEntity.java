@@ -1,10 +1,14 @@
 package io.paymeter.assessment.infrastructure.persistence.pricing;
 
 import io.paymeter.assessment.domain.pricing.Pricing;
+import io.paymeter.assessment.domain.pricing.TariffRule;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.Id;
 import jakarta.persistence.Table;
+import org.hibernate.annotations.ColumnDefault;
+
+import java.time.ZoneId;
 
 @Entity
 @Table(name = "pricing")
@@ -26,20 +30,38 @@ public class PricingEntity {
     @Column(name = "cap_window_hours", nullable = false)
     private int capWindowHours;
 
+    @ColumnDefault("''")
+    @Column(name = "tariff_rules", nullable = false, length = 1024)
+    private String tariffRules = "";
+
+    @ColumnDefault("'UTC'")
+    @Column(name = "time_zone", nullable = false, length = 64)
+    private String timeZone = "UTC";
+
     protected PricingEntity() {
         // For JPA
     }
 
-    PricingEntity(String parkingId, int hourlyRateInCents, int capInCents, boolean firstHourFree, int capWindowHours) {
+    PricingEntity(String parkingId, int hourlyRateInCents, int capInCents, boolean firstHourFree, int capWindowHours,
+                  String tariffRules, String timeZone) {
         this.parkingId = parkingId;
         this.hourlyRateInCents = hourlyRateInCents;
         this.capInCents = capInCents;
         this.firstHourFree = firstHourFree;
         this.capWindowHours = capWindowHours;
+        this.tariffRules = tariffRules;
+        this.timeZone = timeZone;
+    }
+
+    static PricingEntity of(String parkingId, Pricing pricing) {
+        return new PricingEntity(parkingId, pricing.getHourlyRateInCents(), pricing.getCapInCents(),
+                pricing.isFirstHourFree(), pricing.getCapWindowHours(),
+                TariffRule.formatAll(pricing.getTariffRules()), pricing.getTimeZone().getId());
     }
 
     Pricing toDomain() {
-        return new Pricing(hourlyRateInCents, capInCents, capWindowHours, firstHourFree);
+        return new Pricing(hourlyRateInCents, capInCents, capWindowHours, firstHourFree,
+                TariffRule.parseAll(tariffRules), ZoneId.of(timeZone));
     }
 
     String getParkingId() {
@@ -61,4 +83,12 @@ public class PricingEntity {
     int getCapWindowHours() {
         return capWindowHours;
     }
+
+    String getTariffRules() {
+        return tariffRules;
+    }
+
+    String getTimeZone() {
+        return timeZone;
+    }
 }
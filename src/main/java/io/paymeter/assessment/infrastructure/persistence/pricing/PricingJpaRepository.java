@@ -1,6 +1,17 @@
 package io.paymeter.assessment.infrastructure.persistence.pricing;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.transaction.annotation.Transactional;
 
 interface PricingJpaRepository extends JpaRepository<PricingEntity, String> {
+
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM PricingEntity p WHERE p.parkingId = :parkingId")
+    int deleteByParkingId(String parkingId);
+
+    @Query(value = "SELECT 1", nativeQuery = true)
+    int selectOne();
 }
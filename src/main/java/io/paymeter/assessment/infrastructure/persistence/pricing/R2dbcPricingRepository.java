@@ -0,0 +1,127 @@
+package io.paymeter.assessment.infrastructure.persistence.pricing;
+
+import io.paymeter.assessment.domain.pricing.Pricing;
+import io.paymeter.assessment.domain.pricing.TariffRule;
+import io.paymeter.assessment.domain.pricing.WritablePricingRepository;
+import io.r2dbc.spi.Readable;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.annotation.Profile;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Mono;
+
+import java.time.ZoneId;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+@Repository
+@Profile("r2dbc")
+@Qualifier("pricingStore")
+public class R2dbcPricingRepository implements WritablePricingRepository {
+
+    private static final String FIND_BY_ID = """
+            SELECT hourly_rate_in_cents, cap_in_cents, first_hour_free, cap_window_hours, tariff_rules, time_zone
+            FROM pricing
+            WHERE parking_id = :parkingId
+            """;
+
+    private static final String FIND_ALL_BY_IDS = """
+            SELECT parking_id, hourly_rate_in_cents, cap_in_cents, first_hour_free, cap_window_hours, tariff_rules, time_zone
+            FROM pricing
+            WHERE parking_id IN (:parkingIds)
+            """;
+
+    private static final String UPSERT = """
+            INSERT INTO pricing (parking_id, hourly_rate_in_cents, cap_in_cents, first_hour_free, cap_window_hours,
+                                 tariff_rules, time_zone)
+            VALUES (:parkingId, :hourlyRateInCents, :capInCents, :firstHourFree, :capWindowHours, :tariffRules, :timeZone)
+            ON CONFLICT (parking_id) DO UPDATE
+            SET hourly_rate_in_cents = EXCLUDED.hourly_rate_in_cents, cap_in_cents = EXCLUDED.cap_in_cents,
+                first_hour_free = EXCLUDED.first_hour_free, cap_window_hours = EXCLUDED.cap_window_hours,
+                tariff_rules = EXCLUDED.tariff_rules, time_zone = EXCLUDED.time_zone
+            """;
+
+    private static final String DELETE = """
+            DELETE FROM pricing
+            WHERE parking_id = :parkingId
+            """;
+
+    private static final String SELECT_ONE = "SELECT 1";
+
+    private final DatabaseClient databaseClient;
+
+    public R2dbcPricingRepository(DatabaseClient databaseClient) {
+        this.databaseClient = databaseClient;
+    }
+
+    @Override
+    public Mono<Pricing> findById(String parkingId) {
+        return databaseClient.sql(FIND_BY_ID)
+                .bind("parkingId", parkingId)
+                .map(R2dbcPricingRepository::toDomain)
+                .one();
+    }
+
+    @Override
+    public Mono<Map<String, Pricing>> findAllByIds(Collection<String> parkingIds) {
+        if (parkingIds.isEmpty()) {
+            return Mono.just(Map.of());
+        }
+        return databaseClient.sql(FIND_ALL_BY_IDS)
+                .bind("parkingIds", List.copyOf(parkingIds))
+                .map(row -> Map.entry(row.get("parking_id", String.class), toDomain(row)))
+                .all()
+                .collectMap(Map.Entry::getKey, Map.Entry::getValue);
+    }
+
+    @Override
+    public Mono<Pricing> save(String parkingId, Pricing pricing) {
+        // One statement, so concurrent saves of a new parking cannot both try to insert it.
+        return bind(databaseClient.sql(upsertStatement()), parkingId, pricing)
+                .fetch()
+                .rowsUpdated()
+                .thenReturn(pricing);
+    }
+
+    String upsertStatement() {
+        return UPSERT;
+    }
+
+    @Override
+    public Mono<Boolean> deleteById(String parkingId) {
+        return databaseClient.sql(DELETE)
+                .bind("parkingId", parkingId)
+                .fetch()
+                .rowsUpdated()
+                .map(deleted -> deleted > 0);
+    }
+
+    @Override
+    public Mono<Void> checkConnection() {
+        return databaseClient.sql(SELECT_ONE)
+                .map(row -> 1)
+                .first()
+                .then();
+    }
+
+    private static DatabaseClient.GenericExecuteSpec bind(DatabaseClient.GenericExecuteSpec spec, String parkingId, Pricing pricing) {
+        return spec.bind("parkingId", parkingId)
+                .bind("hourlyRateInCents", pricing.getHourlyRateInCents())
+                .bind("capInCents", pricing.getCapInCents())
+                .bind("firstHourFree", pricing.isFirstHourFree())
+                .bind("capWindowHours", pricing.getCapWindowHours())
+                .bind("tariffRules", TariffRule.formatAll(pricing.getTariffRules()))
+                .bind("timeZone", pricing.getTimeZone().getId());
+    }
+
+    private static Pricing toDomain(Readable row) {
+        return new Pricing(
+                row.get("hourly_rate_in_cents", Integer.class),
+                row.get("cap_in_cents", Integer.class),
+                row.get("cap_window_hours", Integer.class),
+                row.get("first_hour_free", Boolean.class),
+                TariffRule.parseAll(row.get("tariff_rules", String.class)),
+                ZoneId.of(row.get("time_zone", String.class)));
+    }
+}
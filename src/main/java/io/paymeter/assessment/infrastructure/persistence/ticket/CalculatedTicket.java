@@ -0,0 +1,30 @@
+package io.paymeter.assessment.infrastructure.persistence.ticket;
+
+import io.paymeter.assessment.application.pricing.dto.CalculationResult;
+
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+
+/**
+ * One row of the {@code tickets} table: a price handed out and when it was calculated.
+ */
+public record CalculatedTicket(String parkingId,
+                               OffsetDateTime from,
+                               OffsetDateTime to,
+                               long durationMinutes,
+                               int priceCents,
+                               String currency,
+                               OffsetDateTime calculatedAt) {
+
+    public static CalculatedTicket of(CalculationResult result, Instant calculatedAt) {
+        return new CalculatedTicket(
+                result.getParkingId(),
+                result.getFrom().toOffsetDateTime(),
+                result.getTo().toOffsetDateTime(),
+                result.getDurationMinutes(),
+                result.getPrice().getAmount(),
+                result.getPrice().getCurrencyCode(),
+                calculatedAt.atOffset(ZoneOffset.UTC));
+    }
+}
@@ -0,0 +1,58 @@
+package io.paymeter.assessment.infrastructure.persistence.ticket;
+
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Mono;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Writes tickets with multi-row {@code INSERT ... VALUES (...), (...)} statements of up to
+ * {@value #ROWS_PER_STATEMENT} rows. The insert runs on the subscribing thread, which is meant to be a
+ * dedicated writer rather than an event loop.
+ */
+@Repository
+@Profile("!r2dbc & !in-memory")
+public class JdbcTicketStore implements TicketStore {
+
+    static final int ROWS_PER_STATEMENT = 1000;
+
+    private static final String INSERT = """
+            INSERT INTO tickets (parking_id, from_time, to_time, duration_minutes, price_cents, currency, calculated_at)
+            VALUES\s""";
+
+    private static final String ROW = "(?, ?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public JdbcTicketStore(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public Mono<Void> insertAll(List<CalculatedTicket> tickets) {
+        return Mono.fromRunnable(() -> {
+            for (int start = 0; start < tickets.size(); start += ROWS_PER_STATEMENT) {
+                insert(tickets.subList(start, Math.min(start + ROWS_PER_STATEMENT, tickets.size())));
+            }
+        });
+    }
+
+    private void insert(List<CalculatedTicket> rows) {
+        String sql = INSERT + String.join(", ", Collections.nCopies(rows.size(), ROW));
+        jdbcTemplate.update(sql, statement -> {
+            int index = 1;
+            for (CalculatedTicket ticket : rows) {
+                statement.setString(index++, ticket.parkingId());
+                statement.setObject(index++, ticket.from());
+                statement.setObject(index++, ticket.to());
+                statement.setLong(index++, ticket.durationMinutes());
+                statement.setInt(index++, ticket.priceCents());
+                statement.setString(index++, ticket.currency());
+                statement.setObject(index++, ticket.calculatedAt());
+            }
+        });
+    }
+}
@@ -0,0 +1,58 @@
+package io.paymeter.assessment.infrastructure.persistence.ticket;
+
+import org.springframework.context.annotation.Profile;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Writes tickets with multi-row {@code INSERT ... VALUES (...), (...)} statements of up to
+ * {@value #ROWS_PER_STATEMENT} rows.
+ */
+@Repository
+@Profile("r2dbc")
+public class R2dbcTicketStore implements TicketStore {
+
+    static final int ROWS_PER_STATEMENT = 1000;
+
+    private static final String INSERT = """
+            INSERT INTO tickets (parking_id, from_time, to_time, duration_minutes, price_cents, currency, calculated_at)
+            VALUES\s""";
+
+    private final DatabaseClient databaseClient;
+
+    public R2dbcTicketStore(DatabaseClient databaseClient) {
+        this.databaseClient = databaseClient;
+    }
+
+    @Override
+    public Mono<Void> insertAll(List<CalculatedTicket> tickets) {
+        return Flux.fromStream(IntStream.iterate(0, start -> start < tickets.size(), start -> start + ROWS_PER_STATEMENT)
+                        .mapToObj(start -> tickets.subList(start, Math.min(start + ROWS_PER_STATEMENT, tickets.size()))))
+                .concatMap(this::insert)
+                .then();
+    }
+
+    private Mono<Long> insert(List<CalculatedTicket> rows) {
+        String values = IntStream.range(0, rows.size())
+                .mapToObj(i -> "(:parkingId%1$d, :from%1$d, :to%1$d, :durationMinutes%1$d, :priceCents%1$d, :currency%1$d, :calculatedAt%1$d)".formatted(i))
+                .collect(Collectors.joining(", "));
+        DatabaseClient.GenericExecuteSpec spec = databaseClient.sql(INSERT + values);
+        for (int i = 0; i < rows.size(); i++) {
+            CalculatedTicket ticket = rows.get(i);
+            spec = spec.bind("parkingId" + i, ticket.parkingId())
+                    .bind("from" + i, ticket.from())
+                    .bind("to" + i, ticket.to())
+                    .bind("durationMinutes" + i, ticket.durationMinutes())
+                    .bind("priceCents" + i, ticket.priceCents())
+                    .bind("currency" + i, ticket.currency())
+                    .bind("calculatedAt" + i, ticket.calculatedAt());
+        }
+        return spec.fetch().rowsUpdated();
+    }
+}
@@ -0,0 +1,13 @@
+package io.paymeter.assessment.infrastructure.persistence.ticket;
+
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+public interface TicketStore {
+
+    /**
+     * Inserts all {@code tickets} in as few statements as the driver allows.
+     */
+    Mono<Void> insertAll(List<CalculatedTicket> tickets);
+}
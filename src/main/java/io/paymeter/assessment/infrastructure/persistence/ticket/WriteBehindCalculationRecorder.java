@@ -0,0 +1,275 @@
+package io.paymeter.assessment.infrastructure.persistence.ticket;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.paymeter.assessment.application.pricing.CalculationRecorder;
+import io.paymeter.assessment.application.pricing.dto.CalculationResult;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Buffers calculated tickets in a bounded queue and writes them to a {@link TicketStore} from a single
+ * writer thread, one batch at a time. A batch is written once it holds {@code batchSize} tickets or
+ * {@code flushInterval} after its first ticket was taken, whichever comes first.
+ *
+ * <p>When the queue is full, {@link OverflowPolicy#DROP} discards the ticket right away, while
+ * {@link OverflowPolicy#BLOCK} waits up to {@code blockTimeout} for room on the {@code blockingScheduler},
+ * delaying the caller's response instead of an event-loop thread; tickets still not accepted then are
+ * dropped. Both outcomes are counted. {@link #close()} stops accepting tickets and waits up to
+ * {@code shutdownTimeout} for everything queued to be written.
+ *
+ * <p>A failed insert is retried up to {@code maxAttempts} times, waiting {@code retryBackoff} and then twice
+ * as long before each further attempt. A batch that still fails goes back to the end of the queue once, as
+ * far as there is room, so an outage longer than the backoff does not lose it; tickets that fail again, or do
+ * not fit, are counted as failed and the error is kept as {@link #getLastFailure()} until a batch succeeds.
+ */
+public class WriteBehindCalculationRecorder implements CalculationRecorder, MeterBinder, AutoCloseable {
+
+    public enum OverflowPolicy {
+        BLOCK, DROP
+    }
+
+    /**
+     * Longest the writer waits on the queue before checking whether it has been closed.
+     */
+    private static final long WAKE_UP_NANOS = TimeUnit.MILLISECONDS.toNanos(50);
+
+    private final TicketStore store;
+    private final BlockingQueue<Queued> queue;
+    private final int batchSize;
+    private final Duration flushInterval;
+    private final OverflowPolicy overflowPolicy;
+    private final Duration blockTimeout;
+    private final Duration shutdownTimeout;
+    private final int maxAttempts;
+    private final Duration retryBackoff;
+    private final Scheduler blockingScheduler;
+    private final Clock clock;
+    private final Thread writer;
+    private final LongAdder inserted = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final LongAdder retried = new LongAdder();
+    private final LongAdder requeued = new LongAdder();
+    private final LongAdder batches = new LongAdder();
+
+    private volatile boolean running = true;
+    private volatile WriteFailure lastFailure;
+
+    public WriteBehindCalculationRecorder(TicketStore store,
+                                          int capacity,
+                                          int batchSize,
+                                          Duration flushInterval,
+                                          OverflowPolicy overflowPolicy,
+                                          Duration blockTimeout,
+                                          Duration shutdownTimeout,
+                                          int maxAttempts,
+                                          Duration retryBackoff,
+                                          Scheduler blockingScheduler,
+                                          Clock clock) {
+        if (capacity < 1 || batchSize < 1 || maxAttempts < 1) {
+            throw new IllegalArgumentException("Capacity, batch size and attempts must be positive");
+        }
+        this.store = store;
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        this.batchSize = batchSize;
+        this.flushInterval = flushInterval;
+        this.overflowPolicy = overflowPolicy;
+        this.blockTimeout = blockTimeout;
+        this.shutdownTimeout = shutdownTimeout;
+        this.maxAttempts = maxAttempts;
+        this.retryBackoff = retryBackoff;
+        this.blockingScheduler = blockingScheduler;
+        this.clock = clock;
+        this.writer = Thread.ofPlatform().name("ticket-writer").daemon().start(this::writeLoop);
+    }
+
+    @Override
+    public Mono<Void> record(CalculationResult result) {
+        if (!running) {
+            dropped.increment();
+            return Mono.empty();
+        }
+        Queued ticket = new Queued(CalculatedTicket.of(result, clock.instant()), false);
+        if (queue.offer(ticket)) {
+            return Mono.empty();
+        }
+        if (overflowPolicy == OverflowPolicy.DROP) {
+            dropped.increment();
+            return Mono.empty();
+        }
+        return Mono.fromCallable(() -> queue.offer(ticket, blockTimeout.toNanos(), TimeUnit.NANOSECONDS))
+                .subscribeOn(blockingScheduler)
+                .doOnNext(accepted -> {
+                    if (!accepted) {
+                        dropped.increment();
+                    }
+                })
+                .then();
+    }
+
+    public long getInsertedCount() {
+        return inserted.sum();
+    }
+
+    public long getDroppedCount() {
+        return dropped.sum();
+    }
+
+    public long getFailedCount() {
+        return failed.sum();
+    }
+
+    public long getRetriedCount() {
+        return retried.sum();
+    }
+
+    public long getRequeuedCount() {
+        return requeued.sum();
+    }
+
+    public long getBatchCount() {
+        return batches.sum();
+    }
+
+    /**
+     * The error of the last batch that failed for good, or {@code null} once a later batch was written.
+     */
+    public WriteFailure getLastFailure() {
+        return lastFailure;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("tickets.write-behind.queued", queue, BlockingQueue::size)
+                .description("Calculated tickets waiting to be written")
+                .register(registry);
+        FunctionCounter.builder("tickets.write-behind.inserted", inserted, LongAdder::sum)
+                .description("Calculated tickets written to the tickets table")
+                .register(registry);
+        FunctionCounter.builder("tickets.write-behind.dropped", dropped, LongAdder::sum)
+                .description("Calculated tickets discarded because the queue was full or closed")
+                .register(registry);
+        FunctionCounter.builder("tickets.write-behind.failed", failed, LongAdder::sum)
+                .description("Calculated tickets lost because their batch insert kept failing")
+                .register(registry);
+        FunctionCounter.builder("tickets.write-behind.retried", retried, LongAdder::sum)
+                .description("Batch inserts attempted again after a failure")
+                .register(registry);
+        FunctionCounter.builder("tickets.write-behind.requeued", requeued, LongAdder::sum)
+                .description("Calculated tickets put back in the queue after their batch insert kept failing")
+                .register(registry);
+        FunctionCounter.builder("tickets.write-behind.batches", batches, LongAdder::sum)
+                .description("Batch inserts sent to the tickets table")
+                .register(registry);
+    }
+
+    @Override
+    public void close() throws InterruptedException {
+        running = false;
+        writer.join(shutdownTimeout);
+    }
+
+    private void writeLoop() {
+        List<Queued> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                fill(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                running = false;
+            }
+            if (!batch.isEmpty()) {
+                write(batch);
+                batch.clear();
+            }
+            if (Thread.currentThread().isInterrupted()) {
+                return;
+            }
+        }
+    }
+
+    private void fill(List<Queued> batch) throws InterruptedException {
+        Queued first = queue.poll(Math.min(flushInterval.toNanos(), WAKE_UP_NANOS), TimeUnit.NANOSECONDS);
+        if (first == null) {
+            return;
+        }
+        batch.add(first);
+        long deadline = System.nanoTime() + flushInterval.toNanos();
+        while (batch.size() < batchSize) {
+            queue.drainTo(batch, batchSize - batch.size());
+            long remaining = deadline - System.nanoTime();
+            if (batch.size() >= batchSize || remaining <= 0 || !running) {
+                return;
+            }
+            Queued next = queue.poll(Math.min(remaining, WAKE_UP_NANOS), TimeUnit.NANOSECONDS);
+            if (next != null) {
+                batch.add(next);
+            }
+        }
+    }
+
+    private void write(List<Queued> batch) {
+        List<CalculatedTicket> tickets = batch.stream().map(Queued::ticket).toList();
+        RuntimeException error = null;
+        for (int attempt = 1; attempt <= maxAttempts; attempt++) {
+            if (attempt > 1) {
+                retried.increment();
+                if (!sleep(retryBackoff.multipliedBy(1L << Math.min(attempt - 2, 16)))) {
+                    break;
+                }
+            }
+            batches.increment();
+            try {
+                store.insertAll(tickets).block();
+                inserted.add(tickets.size());
+                lastFailure = null;
+                return;
+            } catch (RuntimeException e) {
+                error = e;
+            }
+        }
+        int lost = 0;
+        for (Queued queued : batch) {
+            if (running && !queued.requeued() && queue.offer(new Queued(queued.ticket(), true))) {
+                requeued.increment();
+            } else {
+                lost++;
+            }
+        }
+        failed.add(lost);
+        lastFailure = new WriteFailure(clock.instant(), batch.size(), error);
+    }
+
+    private boolean sleep(Duration delay) {
+        try {
+            Thread.sleep(delay);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            running = false;
+            return false;
+        }
+    }
+
+    /**
+     * A batch insert that failed every attempt, with the error of the last one.
+     */
+    public record WriteFailure(Instant at, int tickets, Throwable cause) {
+    }
+
+    private record Queued(CalculatedTicket ticket, boolean requeued) {
+    }
+}
@@ -0,0 +1,95 @@
+package io.paymeter.assessment.infrastructure.reconciliation;
+
+import java.util.Arrays;
+
+/**
+ * Growable byte buffer for output lines; numbers are written as ASCII digits without going through
+ * {@code String}.
+ */
+final class AsciiBuffer {
+
+    private byte[] bytes;
+    private int length;
+
+    AsciiBuffer(int capacity) {
+        bytes = new byte[capacity];
+    }
+
+    AsciiBuffer append(byte[] source, int sourceLength) {
+        ensureCapacity(sourceLength);
+        System.arraycopy(source, 0, bytes, length, sourceLength);
+        length += sourceLength;
+        return this;
+    }
+
+    AsciiBuffer append(char c) {
+        ensureCapacity(1);
+        bytes[length++] = (byte) c;
+        return this;
+    }
+
+    AsciiBuffer append(String ascii) {
+        ensureCapacity(ascii.length());
+        for (int i = 0; i < ascii.length(); i++) {
+            bytes[length++] = (byte) ascii.charAt(i);
+        }
+        return this;
+    }
+
+    AsciiBuffer append(long value) {
+        ensureCapacity(20);
+        length = writeLong(bytes, length, value);
+        return this;
+    }
+
+    byte[] bytes() {
+        return bytes;
+    }
+
+    int length() {
+        return length;
+    }
+
+    void reset() {
+        length = 0;
+    }
+
+    /**
+     * Writes {@code value} in decimal at {@code offset}, which must leave room for 20 bytes.
+     *
+     * @return the offset just past the last digit
+     */
+    static int writeLong(byte[] target, int offset, long value) {
+        if (value == Long.MIN_VALUE) {
+            byte[] min = Long.toString(value).getBytes();
+            System.arraycopy(min, 0, target, offset, min.length);
+            return offset + min.length;
+        }
+        if (value < 0) {
+            target[offset++] = '-';
+            value = -value;
+        }
+        int end = offset + digits(value);
+        int position = end;
+        do {
+            target[--position] = (byte) ('0' + value % 10);
+            value /= 10;
+        } while (value != 0);
+        return end;
+    }
+
+    private static int digits(long value) {
+        int digits = 1;
+        while (value >= 10) {
+            value /= 10;
+            digits++;
+        }
+        return digits;
+    }
+
+    private void ensureCapacity(int extra) {
+        if (length + extra > bytes.length) {
+            bytes = Arrays.copyOf(bytes, Math.max(bytes.length * 2, length + extra));
+        }
+    }
+}
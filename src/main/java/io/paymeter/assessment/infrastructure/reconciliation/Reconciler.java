@@ -0,0 +1,252 @@
+package io.paymeter.assessment.infrastructure.reconciliation;
+
+import io.paymeter.assessment.domain.pricing.Pricing;
+import io.paymeter.assessment.domain.pricing.PricingCalculator;
+import io.paymeter.assessment.domain.pricing.PricingRepository;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Re-prices every ticket of a file and compares the result with what was charged. The file is memory
+ * mapped in chunks cut at record boundaries; a fork-join task splits the chunk range in halves until each
+ * worker holds a single chunk, which it parses and prices without per-ticket allocation. Result lines
+ * are appended to the output as each worker's buffer fills, so they are grouped by chunk rather than in
+ * file order; every line carries its ticket id.
+ *
+ * <p>Pricing is looked up once per parking through the {@link PricingRepository} and then shared by all
+ * workers for the rest of the run.
+ */
+public class Reconciler {
+
+    static final String HEADER = "ticket_id,parking_id,charged_cents,expected_cents,status\n";
+
+    private static final int FLUSH_THRESHOLD = 256 * 1024;
+    private static final int PROGRESS_BATCH = 4096;
+
+    private final PricingRepository pricingRepository;
+    private final PricingCalculator calculator;
+    private final int parallelism;
+    private final long chunkSize;
+    private final Duration lookupTimeout;
+    private final Map<String, Optional<Pricing>> pricings = new ConcurrentHashMap<>();
+    private final LongAdder processed = new LongAdder();
+
+    public Reconciler(PricingRepository pricingRepository, PricingCalculator calculator,
+                      int parallelism, long chunkSize, Duration lookupTimeout) {
+        if (parallelism < 1 || chunkSize < TicketFileFormat.RECORD_SIZE) {
+            throw new IllegalArgumentException("Parallelism must be positive and chunks hold at least one record");
+        }
+        this.pricingRepository = pricingRepository;
+        this.calculator = calculator;
+        this.parallelism = parallelism;
+        this.chunkSize = Math.min(chunkSize, Integer.MAX_VALUE - 1024 * 1024);
+        this.lookupTimeout = lookupTimeout;
+    }
+
+    /**
+     * Tickets processed so far by the current run, for progress reporting.
+     */
+    public long processed() {
+        return processed.sum();
+    }
+
+    public ReconciliationReport reconcile(Path input, TicketFileFormat format, Path output, boolean mismatchesOnly)
+            throws IOException {
+        long start = System.nanoTime();
+        try (FileChannel in = FileChannel.open(input, StandardOpenOption.READ);
+             FileChannel out = FileChannel.open(output, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                     StandardOpenOption.TRUNCATE_EXISTING)) {
+            format.validate(in);
+            writeFully(out, HEADER.getBytes(StandardCharsets.US_ASCII), HEADER.length());
+            long[] boundaries = chunkBoundaries(in, format);
+            ForkJoinPool pool = new ForkJoinPool(parallelism);
+            try {
+                ReconciliationReport totals = pool.invoke(
+                        new ChunkTask(in, out, format, mismatchesOnly, boundaries, 0, boundaries.length - 1));
+                return totals.withElapsed(Duration.ofNanos(System.nanoTime() - start));
+            } finally {
+                pool.shutdown();
+            }
+        }
+    }
+
+    long[] chunkBoundaries(FileChannel channel, TicketFileFormat format) throws IOException {
+        long size = channel.size();
+        List<Long> boundaries = new ArrayList<>();
+        boundaries.add(0L);
+        long next = chunkSize;
+        while (next < size) {
+            long chunkStart = format.chunkStart(channel, next);
+            if (chunkStart >= size) {
+                break;
+            }
+            boundaries.add(chunkStart);
+            next = chunkStart + chunkSize;
+        }
+        boundaries.add(size);
+        return boundaries.stream().mapToLong(Long::longValue).toArray();
+    }
+
+    private Pricing pricing(String parkingId) {
+        Optional<Pricing> pricing = pricings.get(parkingId);
+        if (pricing == null) {
+            // Loaded outside the map so a slow lookup does not block workers asking for other parkings.
+            pricing = pricingRepository.findById(parkingId).blockOptional(lookupTimeout);
+            Optional<Pricing> raced = pricings.putIfAbsent(parkingId, pricing);
+            if (raced != null) {
+                pricing = raced;
+            }
+        }
+        return pricing.orElse(null);
+    }
+
+    private static void writeFully(FileChannel channel, byte[] bytes, int length) throws IOException {
+        ByteBuffer buffer = ByteBuffer.wrap(bytes, 0, length);
+        // Whole buffers only, so lines from different workers never interleave.
+        synchronized (channel) {
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+        }
+    }
+
+    private enum Status {
+        MATCH, MISMATCH, UNKNOWN_PARKING, INVALID
+    }
+
+    private final class ChunkTask extends RecursiveTask<ReconciliationReport> {
+
+        private final FileChannel in;
+        private final FileChannel out;
+        private final TicketFileFormat format;
+        private final boolean mismatchesOnly;
+        private final long[] boundaries;
+        private final int from;
+        private final int to;
+
+        private ChunkTask(FileChannel in, FileChannel out, TicketFileFormat format, boolean mismatchesOnly,
+                          long[] boundaries, int from, int to) {
+            this.in = in;
+            this.out = out;
+            this.format = format;
+            this.mismatchesOnly = mismatchesOnly;
+            this.boundaries = boundaries;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected ReconciliationReport compute() {
+            if (to - from <= 1) {
+                try {
+                    return from < to ? reconcileChunk(boundaries[from], boundaries[to]) : ReconciliationReport.EMPTY;
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+            int middle = (from + to) >>> 1;
+            ChunkTask left = new ChunkTask(in, out, format, mismatchesOnly, boundaries, from, middle);
+            left.fork();
+            ReconciliationReport right = new ChunkTask(in, out, format, mismatchesOnly, boundaries, middle, to).compute();
+            return left.join().plus(right);
+        }
+
+        private ReconciliationReport reconcileChunk(long start, long end) throws IOException {
+            ByteBuffer buffer = in.map(FileChannel.MapMode.READ_ONLY, start, end - start);
+            if (start == 0) {
+                format.skipHeader(buffer);
+            }
+            TicketRecord record = new TicketRecord();
+            AsciiBuffer lines = new AsciiBuffer(FLUSH_THRESHOLD + 512);
+            byte[] lastParkingId = new byte[TicketRecord.MAX_ID_LENGTH];
+            int lastParkingIdLength = -1;
+            Pricing lastPricing = null;
+            long tickets = 0, matched = 0, mismatched = 0, unknownParking = 0, invalid = 0;
+            long charged = 0, expected = 0;
+
+            while (format.read(buffer, record)) {
+                tickets++;
+                long expectedCents = -1;
+                Status status;
+                if (!record.valid) {
+                    status = Status.INVALID;
+                    invalid++;
+                } else {
+                    if (record.parkingIdLength != lastParkingIdLength || !Arrays.equals(
+                            record.parkingId, 0, record.parkingIdLength, lastParkingId, 0, lastParkingIdLength)) {
+                        lastPricing = pricing(new String(record.parkingId, 0, record.parkingIdLength, StandardCharsets.US_ASCII));
+                        System.arraycopy(record.parkingId, 0, lastParkingId, 0, record.parkingIdLength);
+                        lastParkingIdLength = record.parkingIdLength;
+                    }
+                    if (lastPricing == null) {
+                        status = Status.UNKNOWN_PARKING;
+                        unknownParking++;
+                    } else {
+                        expectedCents = price(lastPricing, record);
+                        if (expectedCents < 0) {
+                            status = Status.INVALID;
+                            invalid++;
+                        } else {
+                            charged += record.chargedCents;
+                            expected += expectedCents;
+                            if (expectedCents == record.chargedCents) {
+                                status = Status.MATCH;
+                                matched++;
+                            } else {
+                                status = Status.MISMATCH;
+                                mismatched++;
+                            }
+                        }
+                    }
+                }
+                if (!mismatchesOnly || status != Status.MATCH) {
+                    lines.append(record.ticketId, record.ticketIdLength).append(',')
+                            .append(record.parkingId, record.parkingIdLength).append(',');
+                    if (record.valid) {
+                        lines.append(record.chargedCents);
+                    }
+                    lines.append(',');
+                    if (expectedCents >= 0) {
+                        lines.append(expectedCents);
+                    }
+                    lines.append(',').append(status.name()).append('\n');
+                    if (lines.length() >= FLUSH_THRESHOLD) {
+                        writeFully(out, lines.bytes(), lines.length());
+                        lines.reset();
+                    }
+                }
+                if (tickets % PROGRESS_BATCH == 0) {
+                    processed.add(PROGRESS_BATCH);
+                }
+            }
+            writeFully(out, lines.bytes(), lines.length());
+            processed.add(tickets % PROGRESS_BATCH);
+            return new ReconciliationReport(tickets, matched, mismatched, unknownParking, invalid,
+                    charged, expected, Duration.ZERO);
+        }
+
+        private long price(Pricing pricing, TicketRecord record) {
+            try {
+                return calculator.calculateCents(pricing, record.fromEpochSecond, record.toEpochSecond);
+            } catch (IllegalArgumentException e) {
+                return -1;
+            }
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package io.paymeter.assessment.infrastructure.reconciliation;
+
+import io.paymeter.assessment.infrastructure.config.MetricsConfig;
+import io.paymeter.assessment.infrastructure.config.PricingRepositoryConfig;
+import io.paymeter.assessment.infrastructure.config.ReconciliationConfig;
+import io.paymeter.assessment.infrastructure.config.SchedulerConfig;
+import io.paymeter.assessment.infrastructure.persistence.pricing.JpaPricingRepository;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.autoconfigure.AutoConfigurationPackage;
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.ComponentScan;
+import org.springframework.context.annotation.Import;
+
+import java.io.IOException;
+
+/**
+ * Command-line entry point for the offline reconciliation: starts a context without a web server, so the
+ * configured {@code PricingRepository} is used as in the service, reconciles {@code --reconciliation.input}
+ * into {@code --reconciliation.output} and exits with {@code 0} if every ticket matched, {@code 1} otherwise.
+ */
+public final class ReconciliationApplication {
+
+    private ReconciliationApplication() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        boolean clean;
+        try (ConfigurableApplicationContext context = application().run(args)) {
+            if (!context.containsBean("reconciliationCommand")) {
+                throw new IllegalArgumentException("--reconciliation.input is required");
+            }
+            clean = context.getBean(ReconciliationCommand.class).run().isClean();
+        }
+        System.exit(clean ? 0 : 1);
+    }
+
+    static SpringApplication application() {
+        SpringApplication application = new SpringApplication(Context.class);
+        application.setWebApplicationType(WebApplicationType.NONE);
+        return application;
+    }
+
+    /**
+     * Only the pricing store, the repository chain in front of it and the reconciliation command. The
+     * service's live pricing ticker, ticket write-behind, invalidation listener and web layer are left out:
+     * reconciliation prices tickets without going through {@code PricingService}, so nothing is recorded, and
+     * reads each pricing once per run, so there is nothing to invalidate. Not a {@code @Configuration}, so
+     * the service's component scan does not pick it up.
+     */
+    @EnableAutoConfiguration
+    @AutoConfigurationPackage(basePackageClasses = JpaPricingRepository.class)
+    @ComponentScan(basePackageClasses = JpaPricingRepository.class)
+    @Import({SchedulerConfig.class, MetricsConfig.class, PricingRepositoryConfig.class, ReconciliationConfig.class})
+    static class Context {
+    }
+}
@@ -0,0 +1,59 @@
+package io.paymeter.assessment.infrastructure.reconciliation;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Locale;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs one reconciliation, printing progress every {@code progressInterval} and a summary at the end.
+ */
+public class ReconciliationCommand {
+
+    private final Reconciler reconciler;
+    private final Path input;
+    private final TicketFileFormat format;
+    private final Path output;
+    private final boolean mismatchesOnly;
+    private final Duration progressInterval;
+    private final PrintStream console;
+
+    public ReconciliationCommand(Reconciler reconciler, Path input, TicketFileFormat format, Path output,
+                                 boolean mismatchesOnly, Duration progressInterval, PrintStream console) {
+        this.reconciler = reconciler;
+        this.input = input;
+        this.format = format;
+        this.output = output;
+        this.mismatchesOnly = mismatchesOnly;
+        this.progressInterval = progressInterval;
+        this.console = console;
+    }
+
+    public ReconciliationReport run() throws IOException {
+        console.printf("Reconciling %s (%s) into %s%n", input, format, output);
+        ScheduledExecutorService progress = Executors.newSingleThreadScheduledExecutor(Thread.ofPlatform().daemon().factory());
+        long start = System.nanoTime();
+        progress.scheduleAtFixedRate(() -> {
+            long processed = reconciler.processed();
+            double seconds = (System.nanoTime() - start) / 1e9;
+            console.printf(Locale.ROOT, "  %,d tickets, %,.0f tickets/s%n", processed, processed / seconds);
+        }, progressInterval.toMillis(), progressInterval.toMillis(), TimeUnit.MILLISECONDS);
+        ReconciliationReport report;
+        try {
+            report = reconciler.reconcile(input, format, output, mismatchesOnly);
+        } finally {
+            progress.shutdownNow();
+        }
+        console.printf(Locale.ROOT, "%,d tickets in %.3f s (%,.0f tickets/s)%n",
+                report.tickets(), report.elapsed().toNanos() / 1e9, report.ticketsPerSecond());
+        console.printf(Locale.ROOT, "  matched %,d, mismatched %,d, unknown parking %,d, invalid %,d%n",
+                report.matched(), report.mismatched(), report.unknownParking(), report.invalid());
+        console.printf(Locale.ROOT, "  charged %,d cents, expected %,d cents, difference %,d cents%n",
+                report.chargedCents(), report.expectedCents(), report.chargedCents() - report.expectedCents());
+        return report;
+    }
+}
@@ -0,0 +1,46 @@
+package io.paymeter.assessment.infrastructure.reconciliation;
+
+import java.time.Duration;
+
+/**
+ * Outcome of a reconciliation run. {@code chargedCents} and {@code expectedCents} are summed over the
+ * tickets that could be priced, so their difference is the net over- or under-charge.
+ */
+public record ReconciliationReport(long tickets,
+                                   long matched,
+                                   long mismatched,
+                                   long unknownParking,
+                                   long invalid,
+                                   long chargedCents,
+                                   long expectedCents,
+                                   Duration elapsed) {
+
+    static final ReconciliationReport EMPTY = new ReconciliationReport(0, 0, 0, 0, 0, 0, 0, Duration.ZERO);
+
+    ReconciliationReport plus(ReconciliationReport other) {
+        return new ReconciliationReport(
+                tickets + other.tickets,
+                matched + other.matched,
+                mismatched + other.mismatched,
+                unknownParking + other.unknownParking,
+                invalid + other.invalid,
+                chargedCents + other.chargedCents,
+                expectedCents + other.expectedCents,
+                elapsed);
+    }
+
+    ReconciliationReport withElapsed(Duration elapsed) {
+        return new ReconciliationReport(tickets, matched, mismatched, unknownParking, invalid,
+                chargedCents, expectedCents, elapsed);
+    }
+
+    public double ticketsPerSecond() {
+        long nanos = elapsed.toNanos();
+        return nanos == 0 ? 0 : tickets * 1e9 / nanos;
+    }
+
+    /** {@code true} if every ticket was priced and matched what was charged. */
+    public boolean isClean() {
+        return matched == tickets;
+    }
+}
@@ -0,0 +1,208 @@
+package io.paymeter.assessment.infrastructure.reconciliation;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+
+/**
+ * Layouts of the ticket files the reconciliation reads. Both carry, per ticket, its id, the parking id,
+ * entry and exit as epoch seconds (UTC) and the amount charged at the gate in cents.
+ */
+public enum TicketFileFormat {
+
+    /**
+     * {@code ticket_id,parking_id,from_epoch_second,to_epoch_second,charged_cents} lines, optionally
+     * preceded by a header line starting with {@code ticket_id}.
+     */
+    CSV {
+        private static final byte[] HEADER = "ticket_id".getBytes();
+
+        @Override
+        long chunkStart(FileChannel channel, long position) throws IOException {
+            if (position == 0) {
+                return 0;
+            }
+            ByteBuffer probe = ByteBuffer.allocate(4096);
+            long offset = position - 1;
+            while (true) {
+                probe.clear();
+                int read = channel.read(probe, offset);
+                if (read <= 0) {
+                    return channel.size();
+                }
+                for (int i = 0; i < read; i++) {
+                    if (probe.get(i) == '\n') {
+                        return offset + i + 1;
+                    }
+                }
+                offset += read;
+            }
+        }
+
+        @Override
+        void skipHeader(ByteBuffer buffer) {
+            if (buffer.remaining() < HEADER.length) {
+                return;
+            }
+            for (int i = 0; i < HEADER.length; i++) {
+                if (buffer.get(buffer.position() + i) != HEADER[i]) {
+                    return;
+                }
+            }
+            int position = buffer.position();
+            while (position < buffer.limit() && buffer.get(position) != '\n') {
+                position++;
+            }
+            buffer.position(Math.min(position + 1, buffer.limit()));
+        }
+
+        @Override
+        boolean read(ByteBuffer buffer, TicketRecord record) {
+            int start;
+            int lineEnd;
+            do {
+                start = buffer.position();
+                if (start >= buffer.limit()) {
+                    return false;
+                }
+                int end = start;
+                while (end < buffer.limit() && buffer.get(end) != '\n') {
+                    end++;
+                }
+                buffer.position(Math.min(end + 1, buffer.limit()));
+                lineEnd = end > start && buffer.get(end - 1) == '\r' ? end - 1 : end;
+            } while (lineEnd == start);
+
+            record.clear();
+            int comma = nextComma(buffer, start, lineEnd);
+            record.ticketIdLength = copy(buffer, start, comma, record.ticketId);
+            if (comma == lineEnd || comma - start > TicketRecord.MAX_ID_LENGTH) {
+                return true;
+            }
+            start = comma + 1;
+            comma = nextComma(buffer, start, lineEnd);
+            record.parkingIdLength = copy(buffer, start, comma, record.parkingId);
+            if (comma == lineEnd || comma - start > TicketRecord.MAX_ID_LENGTH) {
+                return true;
+            }
+            start = comma + 1;
+            comma = nextComma(buffer, start, lineEnd);
+            record.fromEpochSecond = parseLong(buffer, start, comma);
+            if (comma == lineEnd) {
+                return true;
+            }
+            start = comma + 1;
+            comma = nextComma(buffer, start, lineEnd);
+            record.toEpochSecond = parseLong(buffer, start, comma);
+            if (comma == lineEnd) {
+                return true;
+            }
+            start = comma + 1;
+            comma = nextComma(buffer, start, lineEnd);
+            record.chargedCents = parseLong(buffer, start, comma);
+            record.valid = comma == lineEnd
+                    && record.parkingIdLength > 0
+                    && record.fromEpochSecond != INVALID
+                    && record.toEpochSecond != INVALID
+                    && record.chargedCents != INVALID;
+            return true;
+        }
+
+        private static int nextComma(ByteBuffer buffer, int from, int end) {
+            int position = from;
+            while (position < end && buffer.get(position) != ',') {
+                position++;
+            }
+            return position;
+        }
+
+        private static int copy(ByteBuffer buffer, int from, int to, byte[] target) {
+            int length = Math.min(to - from, target.length);
+            buffer.get(from, target, 0, length);
+            return length;
+        }
+
+        private static long parseLong(ByteBuffer buffer, int from, int to) {
+            boolean negative = from < to && buffer.get(from) == '-';
+            int position = negative ? from + 1 : from;
+            if (position == to || to - position > 18) {
+                return INVALID;
+            }
+            long value = 0;
+            for (; position < to; position++) {
+                int digit = buffer.get(position) - '0';
+                if (digit < 0 || digit > 9) {
+                    return INVALID;
+                }
+                value = value * 10 + digit;
+            }
+            return negative ? -value : value;
+        }
+    },
+
+    /**
+     * Fixed-width big-endian records of {@value #RECORD_SIZE} bytes: ticket id ({@code int64}), parking
+     * id (16 ASCII bytes, padded with NUL or spaces), from and to epoch seconds ({@code int64}) and
+     * charged cents ({@code int64}).
+     */
+    BINARY {
+        private static final int PARKING_ID_LENGTH = 16;
+
+        @Override
+        long chunkStart(FileChannel channel, long position) {
+            return position - position % RECORD_SIZE;
+        }
+
+        @Override
+        void validate(FileChannel channel) throws IOException {
+            if (channel.size() % RECORD_SIZE != 0) {
+                throw new IllegalArgumentException("Binary ticket file size is not a multiple of " + RECORD_SIZE + " bytes");
+            }
+        }
+
+        @Override
+        boolean read(ByteBuffer buffer, TicketRecord record) {
+            if (buffer.remaining() < RECORD_SIZE) {
+                return false;
+            }
+            record.clear();
+            record.setTicketId(buffer.getLong());
+            int start = buffer.position();
+            int length = 0;
+            while (length < PARKING_ID_LENGTH && buffer.get(start + length) != 0 && buffer.get(start + length) != ' ') {
+                length++;
+            }
+            buffer.get(start, record.parkingId, 0, length);
+            record.parkingIdLength = length;
+            buffer.position(start + PARKING_ID_LENGTH);
+            record.fromEpochSecond = buffer.getLong();
+            record.toEpochSecond = buffer.getLong();
+            record.chargedCents = buffer.getLong();
+            record.valid = length > 0;
+            return true;
+        }
+    };
+
+    public static final int RECORD_SIZE = 48;
+
+    static final long INVALID = Long.MIN_VALUE;
+
+    /**
+     * Returns the offset of the first record starting at or after {@code position}, so that chunks split
+     * there never cut a record in two.
+     */
+    abstract long chunkStart(FileChannel channel, long position) throws IOException;
+
+    void validate(FileChannel channel) throws IOException {
+    }
+
+    void skipHeader(ByteBuffer buffer) {
+    }
+
+    /**
+     * Reads the record at the buffer's position into {@code record} and moves past it.
+     *
+     * @return {@code false} when the buffer holds no further record
+     */
+    abstract boolean read(ByteBuffer buffer, TicketRecord record);
+}
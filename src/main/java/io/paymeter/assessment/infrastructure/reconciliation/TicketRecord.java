@@ -0,0 +1,33 @@
+package io.paymeter.assessment.infrastructure.reconciliation;
+
+/**
+ * One ticket read from a file, reused for every record of a chunk so parsing does not allocate.
+ * Identifiers are kept as the raw ASCII bytes of the file.
+ */
+final class TicketRecord {
+
+    static final int MAX_ID_LENGTH = 64;
+
+    final byte[] ticketId = new byte[MAX_ID_LENGTH];
+    int ticketIdLength;
+    final byte[] parkingId = new byte[MAX_ID_LENGTH];
+    int parkingIdLength;
+    long fromEpochSecond;
+    long toEpochSecond;
+    long chargedCents;
+    /** {@code false} when the record could not be parsed; only the ticket id may then be set. */
+    boolean valid;
+
+    void clear() {
+        ticketIdLength = 0;
+        parkingIdLength = 0;
+        fromEpochSecond = 0;
+        toEpochSecond = 0;
+        chargedCents = 0;
+        valid = false;
+    }
+
+    void setTicketId(long number) {
+        ticketIdLength = AsciiBuffer.writeLong(ticketId, 0, number);
+    }
+}
@@ -0,0 +1,109 @@
+package io.paymeter.assessment.infrastructure.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Ticker;
+import org.springframework.security.authentication.ReactiveAuthenticationManager;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.userdetails.ReactiveUserDetailsService;
+import org.springframework.security.core.userdetails.UserDetails;
+import reactor.core.publisher.Mono;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.Objects;
+
+/**
+ * Remembers successful username/password verifications for {@code ttl}, so repeated Basic credentials skip
+ * the (deliberately slow) password hash. Entries are keyed by an HMAC-SHA256 of the credentials under a key
+ * drawn at start-up and never stored, so the keys in a heap dump cannot be brute-forced offline; failed
+ * attempts are not cached. A hit still loads the user, which is cheap, and is only honoured while the stored
+ * password hash is the one that was verified and the account is usable, so a password change or a lock
+ * takes effect on the next request.
+ */
+public class CachingReactiveAuthenticationManager implements ReactiveAuthenticationManager {
+
+    private static final String HMAC = "HmacSHA256";
+
+    private final ReactiveUserDetailsService userDetailsService;
+    private final ReactiveAuthenticationManager delegate;
+    private final SecretKeySpec key;
+    private final Cache<String, Verified> verified;
+
+    public CachingReactiveAuthenticationManager(ReactiveUserDetailsService userDetailsService,
+                                                ReactiveAuthenticationManager delegate,
+                                                long maximumSize,
+                                                Duration ttl) {
+        this(userDetailsService, delegate, maximumSize, ttl, Ticker.systemTicker());
+    }
+
+    CachingReactiveAuthenticationManager(ReactiveUserDetailsService userDetailsService,
+                                         ReactiveAuthenticationManager delegate,
+                                         long maximumSize,
+                                         Duration ttl,
+                                         Ticker ticker) {
+        this.userDetailsService = userDetailsService;
+        this.delegate = delegate;
+        byte[] secret = new byte[32];
+        new SecureRandom().nextBytes(secret);
+        this.key = new SecretKeySpec(secret, HMAC);
+        this.verified = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttl)
+                .ticker(ticker)
+                .build();
+    }
+
+    @Override
+    public Mono<Authentication> authenticate(Authentication authentication) {
+        if (!(authentication instanceof UsernamePasswordAuthenticationToken) || authentication.getCredentials() == null) {
+            return delegate.authenticate(authentication);
+        }
+        String username = authentication.getName();
+        String cacheKey = mac(username, authentication.getCredentials().toString());
+        Mono<Authentication> verify = Mono.defer(() -> delegate.authenticate(authentication)
+                .flatMap(result -> userDetailsService.findByUsername(username)
+                        .doOnNext(user -> verified.put(cacheKey, new Verified(result, user.getPassword())))
+                        .thenReturn(result)));
+        Verified cached = verified.getIfPresent(cacheKey);
+        if (cached == null) {
+            return verify;
+        }
+        return userDetailsService.findByUsername(username)
+                .filter(user -> cached.isStillValidFor(user))
+                .map(user -> cached.authentication())
+                .switchIfEmpty(Mono.defer(() -> {
+                    verified.invalidate(cacheKey);
+                    return verify;
+                }));
+    }
+
+    private String mac(String username, String password) {
+        try {
+            Mac mac = Mac.getInstance(HMAC);
+            mac.init(key);
+            mac.update(username.getBytes(StandardCharsets.UTF_8));
+            mac.update((byte) 0);
+            return HexFormat.of().formatHex(mac.doFinal(password.getBytes(StandardCharsets.UTF_8)));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HMAC-SHA256 is not available", e);
+        }
+    }
+
+    private record Verified(Authentication authentication, String passwordHash) {
+
+        boolean isStillValidFor(UserDetails user) {
+            return Objects.equals(passwordHash, user.getPassword())
+                    && user.isEnabled()
+                    && user.isAccountNonLocked()
+                    && user.isAccountNonExpired()
+                    && user.isCredentialsNonExpired();
+        }
+    }
+}
@@ -1,13 +1,55 @@
 package io.paymeter.assessment.infrastructure.web;
 
+import io.paymeter.assessment.domain.pricing.PricingRepository;
+import io.paymeter.assessment.infrastructure.web.parking.StartupWarmUp;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Mono;
 
+import java.time.Duration;
+
+/**
+ * Liveness only says the process serves requests. Readiness also requires the startup warm-up to have
+ * finished and the pricing store to answer within {@code health.readiness.repository-timeout}, and is
+ * {@code 503} otherwise so load balancers keep traffic away.
+ */
 @RestController
 public class HealthController {
 
-    @GetMapping("/")
-    public String index() {
+    private static final String UP = "UP";
+    private static final String DOWN = "DOWN";
+
+    private final StartupWarmUp startupWarmUp;
+    private final PricingRepository pricingRepository;
+    private final Duration repositoryTimeout;
+
+    public HealthController(StartupWarmUp startupWarmUp,
+                            PricingRepository pricingRepository,
+                            @Value("${health.readiness.repository-timeout:2s}") Duration repositoryTimeout) {
+        this.startupWarmUp = startupWarmUp;
+        this.pricingRepository = pricingRepository;
+        this.repositoryTimeout = repositoryTimeout;
+    }
+
+    @GetMapping({"/", "/health/live"})
+    public String live() {
         return "ok";
     }
+
+    @GetMapping("/health/ready")
+    public Mono<ResponseEntity<ReadinessResponse>> ready() {
+        String warmUp = startupWarmUp.isComplete() ? UP : DOWN;
+        return pricingRepository.checkConnection()
+                .timeout(repositoryTimeout)
+                .thenReturn(UP)
+                .onErrorReturn(DOWN)
+                .map(repository -> {
+                    boolean ready = UP.equals(warmUp) && UP.equals(repository);
+                    return ResponseEntity.status(ready ? HttpStatus.OK : HttpStatus.SERVICE_UNAVAILABLE)
+                            .body(new ReadinessResponse(ready ? UP : DOWN, warmUp, repository));
+                });
+    }
 }
@@ -0,0 +1,13 @@
+package io.paymeter.assessment.infrastructure.web;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class ReadinessResponse {
+
+    private final String status;
+    private final String warmUp;
+    private final String repository;
+}
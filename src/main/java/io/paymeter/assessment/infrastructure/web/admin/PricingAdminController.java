@@ -0,0 +1,105 @@
+package io.paymeter.assessment.infrastructure.web.admin;
+
+import io.paymeter.assessment.application.pricing.PricingAdminService;
+import io.paymeter.assessment.application.shared.BadRequestException;
+import io.paymeter.assessment.application.shared.NotFoundException;
+import io.paymeter.assessment.domain.pricing.Pricing;
+import io.paymeter.assessment.domain.pricing.TariffRule;
+import io.paymeter.assessment.infrastructure.web.admin.dto.PricingRequest;
+import io.paymeter.assessment.infrastructure.web.admin.dto.PricingResponse;
+import io.paymeter.assessment.infrastructure.web.admin.dto.TariffRuleItem;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Mono;
+
+import java.time.DateTimeException;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.Set;
+
+@RestController
+@RequestMapping("/admin/pricings")
+@Tag(name = "admin", description = "maintain parking tariffs")
+public class PricingAdminController {
+
+    private final PricingAdminService pricingAdminService;
+
+    public PricingAdminController(PricingAdminService pricingAdminService) {
+        this.pricingAdminService = pricingAdminService;
+    }
+
+    @GetMapping("/{parkingId}")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Ok", content = @Content(schema = @Schema(implementation = PricingResponse.class))),
+            @ApiResponse(responseCode = "404", description = "Parking not found", content = @Content(schema = @Schema(implementation = NotFoundException.class)))
+    })
+    public Mono<PricingResponse> get(@PathVariable String parkingId) {
+        return pricingAdminService.get(parkingId)
+                .map(pricing -> toResponse(parkingId, pricing));
+    }
+
+    @PutMapping("/{parkingId}")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Created or replaced", content = @Content(schema = @Schema(implementation = PricingResponse.class))),
+            @ApiResponse(responseCode = "400", description = "Invalid tariff", content = @Content(schema = @Schema(implementation = BadRequestException.class)))
+    })
+    public Mono<PricingResponse> put(@PathVariable String parkingId, @RequestBody PricingRequest request) {
+        return Mono.defer(() -> pricingAdminService.save(parkingId, toDomain(request)))
+                .map(pricing -> toResponse(parkingId, pricing));
+    }
+
+    @DeleteMapping("/{parkingId}")
+    @ResponseStatus(HttpStatus.NO_CONTENT)
+    @ApiResponses({
+            @ApiResponse(responseCode = "204", description = "Deleted"),
+            @ApiResponse(responseCode = "404", description = "Parking not found", content = @Content(schema = @Schema(implementation = NotFoundException.class)))
+    })
+    public Mono<Void> delete(@PathVariable String parkingId) {
+        return pricingAdminService.delete(parkingId);
+    }
+
+    private static Pricing toDomain(PricingRequest request) {
+        if (request.getHourlyRateInCents() == null || request.getCapInCents() == null
+                || request.getCapWindowHours() == null || request.getFirstHourFree() == null) {
+            throw new BadRequestException("hourlyRateInCents, capInCents, capWindowHours and firstHourFree are required");
+        }
+        try {
+            List<TariffRule> rules = request.getTariffRules() == null
+                    ? List.of()
+                    : request.getTariffRules().stream().map(PricingAdminController::toRule).toList();
+            ZoneId timeZone = request.getTimeZone() == null ? Pricing.DEFAULT_TIME_ZONE : ZoneId.of(request.getTimeZone());
+            return new Pricing(request.getHourlyRateInCents(), request.getCapInCents(),
+                    request.getCapWindowHours(), request.getFirstHourFree(), rules, timeZone);
+        } catch (IllegalArgumentException | DateTimeException e) {
+            throw new BadRequestException(e.getMessage());
+        }
+    }
+
+    private static TariffRule toRule(TariffRuleItem item) {
+        if (item.getDays() == null || item.getFrom() == null || item.getTo() == null || item.getHourlyRateInCents() == null) {
+            throw new BadRequestException("Tariff rules need days, from, to and hourlyRateInCents");
+        }
+        return new TariffRule(Set.copyOf(item.getDays()), item.getFrom(), item.getTo(), item.getHourlyRateInCents());
+    }
+
+    private static PricingResponse toResponse(String parkingId, Pricing pricing) {
+        List<TariffRuleItem> rules = pricing.getTariffRules().stream()
+                .map(rule -> new TariffRuleItem(rule.days().stream().sorted().toList(), rule.from(), rule.to(),
+                        rule.hourlyRateInCents()))
+                .toList();
+        return new PricingResponse(parkingId, pricing.getHourlyRateInCents(), pricing.getCapInCents(),
+                pricing.getCapWindowHours(), pricing.isFirstHourFree(), rules, pricing.getTimeZone().getId());
+    }
+}
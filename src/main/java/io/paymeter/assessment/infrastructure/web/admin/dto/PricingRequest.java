@@ -0,0 +1,20 @@
+package io.paymeter.assessment.infrastructure.web.admin.dto;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+
+@Getter
+@Setter
+@NoArgsConstructor
+public class PricingRequest {
+
+    private Integer hourlyRateInCents;
+    private Integer capInCents;
+    private Integer capWindowHours;
+    private Boolean firstHourFree;
+    private List<TariffRuleItem> tariffRules;
+    private String timeZone;
+}
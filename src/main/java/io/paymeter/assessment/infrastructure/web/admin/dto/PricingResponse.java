@@ -0,0 +1,19 @@
+package io.paymeter.assessment.infrastructure.web.admin.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+@Getter
+@AllArgsConstructor
+public class PricingResponse {
+
+    private final String parkingId;
+    private final int hourlyRateInCents;
+    private final int capInCents;
+    private final int capWindowHours;
+    private final boolean firstHourFree;
+    private final List<TariffRuleItem> tariffRules;
+    private final String timeZone;
+}
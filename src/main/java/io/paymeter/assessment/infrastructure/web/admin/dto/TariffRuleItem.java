@@ -0,0 +1,22 @@
+package io.paymeter.assessment.infrastructure.web.admin.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.DayOfWeek;
+import java.time.LocalTime;
+import java.util.List;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class TariffRuleItem {
+
+    private List<DayOfWeek> days;
+    private LocalTime from;
+    private LocalTime to;
+    private Integer hourlyRateInCents;
+}
@@ -0,0 +1,114 @@
+package io.paymeter.assessment.infrastructure.web.admission;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Gradient-style adaptive limit on requests in flight. A short and a long exponential average of the
+ * observed latency are kept; while the short one stays within {@code tolerance} of the long one the limit
+ * grows by {@code sqrt(limit)}, and when it rises above it the limit shrinks in proportion. Failed
+ * requests back off multiplicatively.
+ *
+ * <p>Averages rather than the minimum latency are compared because lookups here are bimodal (cache hits
+ * take microseconds, database round trips milliseconds), which would make every miss look like queueing.
+ */
+public class AdaptiveConcurrencyLimiter {
+
+    private static final double SHORT_WINDOW = 10;
+    private static final double LONG_WINDOW = 600;
+    private static final double SMOOTHING = 0.2;
+    private static final double BACKOFF_RATIO = 0.9;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final double tolerance;
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    private volatile int limit;
+    private double estimate;
+    private double shortRtt;
+    private double longRtt;
+
+    public AdaptiveConcurrencyLimiter(int initialLimit, int minLimit, int maxLimit, double tolerance) {
+        if (minLimit < 1 || maxLimit < minLimit || initialLimit < minLimit || initialLimit > maxLimit) {
+            throw new IllegalArgumentException("Limits must satisfy 1 <= min <= initial <= max");
+        }
+        if (tolerance < 1) {
+            throw new IllegalArgumentException("Tolerance must be at least 1");
+        }
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.tolerance = tolerance;
+        this.estimate = initialLimit;
+        this.limit = initialLimit;
+    }
+
+    /**
+     * Claims a slot, or returns {@code false} straight away when {@link #getLimit()} requests are already
+     * in flight. Every successful call must be followed by exactly one {@code release}.
+     */
+    public boolean tryAcquire() {
+        for (; ; ) {
+            int current = inFlight.get();
+            if (current >= limit) {
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Frees a slot and feeds the request's latency, or its failure, into the limit.
+     */
+    public void release(long rttNanos, boolean dropped) {
+        int inFlightAtRelease = inFlight.getAndDecrement();
+        update(rttNanos, inFlightAtRelease, dropped);
+    }
+
+    /**
+     * Frees a slot without a sample, for requests whose latency says nothing about the server (e.g. the
+     * client went away).
+     */
+    public void releaseIgnored() {
+        inFlight.decrementAndGet();
+    }
+
+    public int getLimit() {
+        return limit;
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    private synchronized void update(long rttNanos, int inFlightAtRelease, boolean dropped) {
+        if (dropped) {
+            setEstimate(estimate * BACKOFF_RATIO);
+            return;
+        }
+        if (longRtt == 0) {
+            shortRtt = rttNanos;
+            longRtt = rttNanos;
+            return;
+        }
+        shortRtt += (rttNanos - shortRtt) / SHORT_WINDOW;
+        longRtt += (rttNanos - longRtt) / LONG_WINDOW;
+        if (longRtt / shortRtt > 2) {
+            // Latency has dropped well below the baseline, e.g. after an outage: let the baseline follow.
+            longRtt *= 0.95;
+        }
+        if (inFlightAtRelease < estimate / 2) {
+            // Not limited by us; the latency says nothing about whether more would fit.
+            return;
+        }
+        double gradient = Math.max(0.5, Math.min(1.0, tolerance * longRtt / shortRtt));
+        double next = estimate * gradient + Math.sqrt(estimate);
+        setEstimate(estimate * (1 - SMOOTHING) + next * SMOOTHING);
+    }
+
+    private void setEstimate(double value) {
+        estimate = Math.max(minLimit, Math.min(maxLimit, value));
+        limit = (int) estimate;
+    }
+}
@@ -0,0 +1,155 @@
+package io.paymeter.assessment.infrastructure.web.admission;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.PathContainer;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Sheds load before it queues up: requests over a route's client quota get {@code 429}, and requests over
+ * its adaptive concurrency limit get {@code 503}, both with {@code Retry-After} and without reaching the
+ * handler. Runs just ahead of the security filter chain so rejected requests never pay for credential checks,
+ * which is also why quotas are keyed on the remote address: the client-id header is only believed when the
+ * connection comes from one of the configured trusted proxies.
+ */
+public class AdmissionControlWebFilter implements WebFilter, Ordered, MeterBinder {
+
+    /** The Spring Security {@code WebFilterChainProxy} is registered at {@code -100}. */
+    public static final int ORDER = -101;
+
+    private final List<AdmissionRoute> routes;
+    private final String clientIdHeader;
+    private final Set<String> trustedProxies;
+
+    public AdmissionControlWebFilter(List<AdmissionRoute> routes, String clientIdHeader, Collection<String> trustedProxies) {
+        this.routes = List.copyOf(routes);
+        this.clientIdHeader = clientIdHeader;
+        this.trustedProxies = Set.copyOf(trustedProxies);
+    }
+
+    @Override
+    public int getOrder() {
+        return ORDER;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        AdmissionRoute route = route(exchange.getRequest().getPath().pathWithinApplication());
+        if (route == null) {
+            return chain.filter(exchange);
+        }
+        ClientQuotas quotas = route.getQuotas();
+        if (quotas != null) {
+            long waitNanos = quotas.tryAcquire(clientId(exchange));
+            if (waitNanos > 0) {
+                route.overQuota().increment();
+                return reject(exchange, HttpStatus.TOO_MANY_REQUESTS, "Too many requests", waitNanos);
+            }
+        }
+        AdaptiveConcurrencyLimiter limiter = route.getLimiter();
+        if (!limiter.tryAcquire()) {
+            route.overloaded().increment();
+            return reject(exchange, HttpStatus.SERVICE_UNAVAILABLE, "Server is overloaded",
+                    route.getRetryAfter().toNanos());
+        }
+        long start = System.nanoTime();
+        return chain.filter(exchange)
+                .doFinally(signal -> {
+                    if (signal == SignalType.CANCEL) {
+                        limiter.releaseIgnored();
+                        return;
+                    }
+                    boolean dropped = signal == SignalType.ON_ERROR || isOverloaded(exchange.getResponse().getStatusCode());
+                    limiter.release(System.nanoTime() - start, dropped);
+                });
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        for (AdmissionRoute route : routes) {
+            Gauge.builder("admission.limit", route.getLimiter(), AdaptiveConcurrencyLimiter::getLimit)
+                    .description("Current adaptive concurrency limit")
+                    .tag("route", route.getName())
+                    .register(registry);
+            Gauge.builder("admission.in_flight", route.getLimiter(), AdaptiveConcurrencyLimiter::getInFlight)
+                    .description("Requests currently admitted")
+                    .tag("route", route.getName())
+                    .register(registry);
+            FunctionCounter.builder("admission.rejected", route.overloaded(), LongAdder::sum)
+                    .description("Requests rejected before reaching the handler")
+                    .tag("route", route.getName())
+                    .tag("reason", "overloaded")
+                    .register(registry);
+            FunctionCounter.builder("admission.rejected", route.overQuota(), LongAdder::sum)
+                    .description("Requests rejected before reaching the handler")
+                    .tag("route", route.getName())
+                    .tag("reason", "quota")
+                    .register(registry);
+        }
+    }
+
+    private AdmissionRoute route(PathContainer path) {
+        for (AdmissionRoute route : routes) {
+            if (route.matches(path)) {
+                return route;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Only an upstream that timed out or shed load itself says we are overloaded; other 5xx responses, such as
+     * a body the handler could not decode, say nothing about capacity.
+     */
+    private static boolean isOverloaded(HttpStatusCode status) {
+        return status != null && (status.value() == HttpStatus.SERVICE_UNAVAILABLE.value()
+                || status.value() == HttpStatus.GATEWAY_TIMEOUT.value());
+    }
+
+    private String clientId(ServerWebExchange exchange) {
+        InetSocketAddress remote = exchange.getRequest().getRemoteAddress();
+        if (remote == null || remote.getAddress() == null) {
+            return "unknown";
+        }
+        String address = remote.getAddress().getHostAddress();
+        if (trustedProxies.contains(address)) {
+            String header = exchange.getRequest().getHeaders().getFirst(clientIdHeader);
+            if (header != null && !header.isBlank()) {
+                return header;
+            }
+        }
+        return address;
+    }
+
+    private static Mono<Void> reject(ServerWebExchange exchange, HttpStatus status, String message, long retryAfterNanos) {
+        ServerHttpResponse response = exchange.getResponse();
+        response.setStatusCode(status);
+        HttpHeaders headers = response.getHeaders();
+        headers.set(HttpHeaders.RETRY_AFTER, Long.toString(Math.max(1, TimeUnit.NANOSECONDS.toSeconds(retryAfterNanos + 999_999_999))));
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        String body = "{\"message\":\"" + message + "\",\"code\":\"" + status.name() + "\",\"status\":" + status.value()
+                + ",\"timestamp\":\"" + Instant.now() + "\"}";
+        return response.writeWith(Mono.just(response.bufferFactory().wrap(body.getBytes(StandardCharsets.UTF_8))));
+    }
+}
@@ -0,0 +1,69 @@
+package io.paymeter.assessment.infrastructure.web.admission;
+
+import org.springframework.http.server.PathContainer;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Admission settings for a group of paths: its own concurrency limiter, optional per-client quotas and
+ * the {@code Retry-After} sent when the server is saturated.
+ */
+public class AdmissionRoute {
+
+    private final String name;
+    private final List<PathPattern> patterns;
+    private final AdaptiveConcurrencyLimiter limiter;
+    private final ClientQuotas quotas;
+    private final Duration retryAfter;
+    private final LongAdder overloaded = new LongAdder();
+    private final LongAdder overQuota = new LongAdder();
+
+    public AdmissionRoute(String name, List<String> paths, AdaptiveConcurrencyLimiter limiter,
+                          ClientQuotas quotas, Duration retryAfter) {
+        this.name = name;
+        this.patterns = paths.stream().map(PathPatternParser.defaultInstance::parse).toList();
+        this.limiter = limiter;
+        this.quotas = quotas;
+        this.retryAfter = retryAfter;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public AdaptiveConcurrencyLimiter getLimiter() {
+        return limiter;
+    }
+
+    /**
+     * Per-client quotas, or {@code null} when the route has none.
+     */
+    public ClientQuotas getQuotas() {
+        return quotas;
+    }
+
+    public Duration getRetryAfter() {
+        return retryAfter;
+    }
+
+    boolean matches(PathContainer path) {
+        for (PathPattern pattern : patterns) {
+            if (pattern.matches(path)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    LongAdder overloaded() {
+        return overloaded;
+    }
+
+    LongAdder overQuota() {
+        return overQuota;
+    }
+}
@@ -0,0 +1,69 @@
+package io.paymeter.assessment.infrastructure.web.admission;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Ticker;
+
+import java.time.Duration;
+
+/**
+ * One token bucket per client: up to {@code capacity} requests in a burst, refilled at
+ * {@code refillPerSecond}. A bucket left idle long enough to refill completely is indistinguishable from a
+ * new one, so it is dropped after that time.
+ */
+public class ClientQuotas {
+
+    private final double capacity;
+    private final double tokensPerNano;
+    private final Ticker ticker;
+    private final Cache<String, Bucket> buckets;
+
+    public ClientQuotas(long capacity, double refillPerSecond, long maximumClients) {
+        this(capacity, refillPerSecond, maximumClients, Ticker.systemTicker());
+    }
+
+    ClientQuotas(long capacity, double refillPerSecond, long maximumClients, Ticker ticker) {
+        if (capacity < 1 || refillPerSecond <= 0) {
+            throw new IllegalArgumentException("Quota capacity and refill rate must be positive");
+        }
+        this.capacity = capacity;
+        this.tokensPerNano = refillPerSecond / 1_000_000_000d;
+        this.ticker = ticker;
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(maximumClients)
+                .expireAfterAccess(Duration.ofNanos((long) Math.ceil(capacity / tokensPerNano)))
+                .ticker(ticker)
+                .build();
+    }
+
+    /**
+     * Takes a token from the client's bucket.
+     *
+     * @return {@code 0} if the request is admitted, otherwise the nanoseconds until a token is available
+     */
+    public long tryAcquire(String clientId) {
+        Bucket bucket = buckets.get(clientId, id -> new Bucket(capacity, ticker.read()));
+        return bucket.tryTake(ticker.read());
+    }
+
+    private final class Bucket {
+
+        private double tokens;
+        private long updatedAt;
+
+        private Bucket(double tokens, long updatedAt) {
+            this.tokens = tokens;
+            this.updatedAt = updatedAt;
+        }
+
+        private synchronized long tryTake(long now) {
+            tokens = Math.min(capacity, tokens + (now - updatedAt) * tokensPerNano);
+            updatedAt = now;
+            if (tokens >= 1) {
+                tokens -= 1;
+                return 0;
+            }
+            return (long) Math.ceil((1 - tokens) / tokensPerNano);
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package io.paymeter.assessment.infrastructure.web.parking;
 
+import io.paymeter.assessment.application.pricing.dto.CalculationOutcome.Rejected;
 import io.paymeter.assessment.application.shared.BadRequestException;
 import io.paymeter.assessment.application.shared.NotFoundException;
 import io.paymeter.assessment.infrastructure.web.parking.dto.ErrorResponse;
@@ -8,11 +9,12 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.security.core.AuthenticationException;
+import org.springframework.validation.Errors;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.bind.support.WebExchangeBindException;
 
-import java.time.Instant;
 import java.util.stream.Collectors;
 
 @RestControllerAdvice
@@ -40,10 +42,12 @@ public class ApiExceptionHandler {
 
     @ExceptionHandler(MethodArgumentNotValidException.class)
     public ResponseEntity<ErrorResponse> handleValidation(MethodArgumentNotValidException ex) {
-        String message = ex.getBindingResult().getFieldErrors().stream()
-                .map(error -> error.getField() + " " + error.getDefaultMessage())
-                .collect(Collectors.joining("; "));
-        return buildResponse(message, "BAD_REQUEST", HttpStatus.BAD_REQUEST);
+        return buildResponse(validationMessage(ex.getBindingResult()), "BAD_REQUEST", HttpStatus.BAD_REQUEST);
+    }
+
+    @ExceptionHandler(WebExchangeBindException.class)
+    public ResponseEntity<ErrorResponse> handleValidation(WebExchangeBindException ex) {
+        return buildResponse(validationMessage(ex), "BAD_REQUEST", HttpStatus.BAD_REQUEST);
     }
 
     @ExceptionHandler(TicketBadRequestException.class)
@@ -56,8 +60,39 @@ public class ApiExceptionHandler {
         return buildResponse(ex.getMessage(), "INTERNAL_SERVER_ERROR", HttpStatus.INTERNAL_SERVER_ERROR);
     }
 
+    static ErrorResponse toErrorResponse(Throwable ex) {
+        if (ex instanceof BadRequestException || ex instanceof TicketBadRequestException) {
+            return errorResponse(ex.getMessage(), "BAD_REQUEST", HttpStatus.BAD_REQUEST);
+        }
+        if (ex instanceof NotFoundException) {
+            return errorResponse(ex.getMessage(), "NOT_FOUND", HttpStatus.NOT_FOUND);
+        }
+        return errorResponse(ex.getMessage(), "INTERNAL_SERVER_ERROR", HttpStatus.INTERNAL_SERVER_ERROR);
+    }
+
+    static ErrorResponse toErrorResponse(Rejected rejected) {
+        return rejected.getReason() == Rejected.Reason.NOT_FOUND
+                ? errorResponse(rejected.getMessage(), "NOT_FOUND", HttpStatus.NOT_FOUND)
+                : errorResponse(rejected.getMessage(), "BAD_REQUEST", HttpStatus.BAD_REQUEST);
+    }
+
+    static String validationMessage(Errors errors) {
+        return errors.getFieldErrors().stream()
+                .map(error -> error.getField() + " " + error.getDefaultMessage())
+                .sorted()
+                .collect(Collectors.joining("; "));
+    }
+
+    static ResponseEntity<ErrorResponse> toErrorEntity(Rejected rejected) {
+        ErrorResponse error = toErrorResponse(rejected);
+        return ResponseEntity.status(error.getStatus()).body(error);
+    }
+
     private ResponseEntity<ErrorResponse> buildResponse(String message, String code, HttpStatus status) {
-        ErrorResponse body = new ErrorResponse(message, code, status.value(), Instant.now().toString());
-        return ResponseEntity.status(status).body(body);
+        return ResponseEntity.status(status).body(errorResponse(message, code, status));
+    }
+
+    private static ErrorResponse errorResponse(String message, String code, HttpStatus status) {
+        return new ErrorResponse(message, code, status.value(), ErrorTimestamp.now());
     }
 }
@@ -0,0 +1,97 @@
+package io.paymeter.assessment.infrastructure.web.parking;
+
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Splits a body of varint length-delimited messages, as written by protobuf's {@code writeDelimitedTo},
+ * into the raw message bytes without parsing them. A message that does not parse then fails on its own;
+ * only a broken length prefix or a truncated last message ends the stream, with {@link #CORRUPT}.
+ */
+final class DelimitedFrames {
+
+    /** Emitted once in place of everything from a broken frame on. */
+    static final byte[] CORRUPT = new byte[0];
+
+    private static final int MAX_VARINT_BYTES = 5;
+
+    private DelimitedFrames() {
+    }
+
+    static Flux<byte[]> split(Flux<DataBuffer> body, int maxFrameSize) {
+        return Flux.defer(() -> {
+            Splitter splitter = new Splitter(maxFrameSize);
+            return body.concatMapIterable(buffer -> {
+                        try {
+                            return splitter.next(buffer);
+                        } finally {
+                            DataBufferUtils.release(buffer);
+                        }
+                    })
+                    .concatWith(Mono.fromSupplier(splitter::remainder))
+                    .takeUntil(frame -> frame == CORRUPT);
+        });
+    }
+
+    private static final class Splitter {
+
+        private final int maxFrameSize;
+        private byte[] pending = new byte[0];
+        private boolean broken;
+
+        private Splitter(int maxFrameSize) {
+            this.maxFrameSize = maxFrameSize;
+        }
+
+        private List<byte[]> next(DataBuffer buffer) {
+            if (broken) {
+                return List.of();
+            }
+            byte[] bytes = Arrays.copyOf(pending, pending.length + buffer.readableByteCount());
+            buffer.read(bytes, pending.length, buffer.readableByteCount());
+
+            List<byte[]> frames = new ArrayList<>();
+            int position = 0;
+            while (position < bytes.length) {
+                int cursor = position;
+                long length = 0;
+                boolean lengthRead = false;
+                while (cursor < bytes.length && cursor - position < MAX_VARINT_BYTES) {
+                    byte b = bytes[cursor++];
+                    length |= (long) (b & 0x7f) << (7 * (cursor - position - 1));
+                    if (b >= 0) {
+                        lengthRead = true;
+                        break;
+                    }
+                }
+                if (!lengthRead && cursor - position < MAX_VARINT_BYTES) {
+                    break;
+                }
+                if (!lengthRead || length > maxFrameSize) {
+                    broken = true;
+                    pending = CORRUPT;
+                    frames.add(CORRUPT);
+                    return frames;
+                }
+                if (bytes.length - cursor < length) {
+                    break;
+                }
+                frames.add(Arrays.copyOfRange(bytes, cursor, cursor + (int) length));
+                position = cursor + (int) length;
+            }
+            pending = Arrays.copyOfRange(bytes, position, bytes.length);
+            return frames;
+        }
+
+        /** A body that ends inside a frame, or {@code null} if it ended on a frame boundary. */
+        private byte[] remainder() {
+            return !broken && pending.length > 0 ? CORRUPT : null;
+        }
+    }
+}
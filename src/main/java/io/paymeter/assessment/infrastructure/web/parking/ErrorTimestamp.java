@@ -0,0 +1,28 @@
+package io.paymeter.assessment.infrastructure.web.parking;
+
+import java.time.Instant;
+
+/**
+ * The current millisecond as an ISO-8601 string for error bodies, formatted once per millisecond however
+ * many errors are answered within it.
+ */
+final class ErrorTimestamp {
+
+    private static volatile Formatted last = new Formatted(Long.MIN_VALUE, "");
+
+    private ErrorTimestamp() {
+    }
+
+    static String now() {
+        long millis = System.currentTimeMillis();
+        Formatted formatted = last;
+        if (formatted.millis() != millis) {
+            formatted = new Formatted(millis, Instant.ofEpochMilli(millis).toString());
+            last = formatted;
+        }
+        return formatted.text();
+    }
+
+    private record Formatted(long millis, String text) {
+    }
+}
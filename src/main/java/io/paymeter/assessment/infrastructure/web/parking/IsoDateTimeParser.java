@@ -0,0 +1,141 @@
+package io.paymeter.assessment.infrastructure.web.parking;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+
+/**
+ * Hand-rolled parser for the timestamp shapes gates actually send: {@code yyyy-MM-ddTHH:mm[:ss[.fraction]]}
+ * followed by nothing (UTC), {@code Z} or a {@code ±HH:MM} offset. Returns {@code null} instead of
+ * throwing for anything else, so callers can fall back to java.time for the rare remaining formats
+ * and for error reporting.
+ */
+final class IsoDateTimeParser {
+
+    private static final int MAX_OFFSET_SECONDS = 18 * 3600;
+
+    private IsoDateTimeParser() {
+    }
+
+    static ZonedDateTime parse(String value) {
+        int length = value.length();
+        if (length < 16
+                || value.charAt(4) != '-' || value.charAt(7) != '-'
+                || value.charAt(10) != 'T' || value.charAt(13) != ':') {
+            return null;
+        }
+        int year = digits(value, 0, 4);
+        int month = digits(value, 5, 2);
+        int day = digits(value, 8, 2);
+        int hour = digits(value, 11, 2);
+        int minute = digits(value, 14, 2);
+        if (year < 0 || month < 1 || month > 12 || day < 1 || day > lengthOfMonth(year, month)
+                || hour < 0 || hour > 23 || minute < 0 || minute > 59) {
+            return null;
+        }
+
+        int position = 16;
+        int second = 0;
+        int nano = 0;
+        if (position < length && value.charAt(position) == ':') {
+            if (position + 3 > length) {
+                return null;
+            }
+            second = digits(value, position + 1, 2);
+            if (second < 0 || second > 59) {
+                return null;
+            }
+            position += 3;
+            if (position < length && value.charAt(position) == '.') {
+                int fractionStart = ++position;
+                while (position < length && position - fractionStart < 9 && isDigit(value.charAt(position))) {
+                    nano = nano * 10 + (value.charAt(position) - '0');
+                    position++;
+                }
+                int fractionDigits = position - fractionStart;
+                if (fractionDigits == 0) {
+                    return null;
+                }
+                for (int i = fractionDigits; i < 9; i++) {
+                    nano *= 10;
+                }
+            }
+        }
+
+        ZoneOffset offset = parseOffset(value, position);
+        if (offset == null) {
+            return null;
+        }
+        return ZonedDateTime.of(LocalDateTime.of(year, month, day, hour, minute, second, nano), offset);
+    }
+
+    /**
+     * Whether java.time could parse the value at all: everything it accepts starts with a year of at least
+     * four digits, optionally signed, then {@code -MM-ddTHH:mm}. Lets callers turn away garbage without
+     * java.time building an exception for it.
+     */
+    static boolean hasDateTimeShape(String value) {
+        int length = value.length();
+        int position = length > 0 && (value.charAt(0) == '+' || value.charAt(0) == '-') ? 1 : 0;
+        int yearStart = position;
+        while (position < length && isDigit(value.charAt(position))) {
+            position++;
+        }
+        if (position - yearStart < 4 || position + 12 > length) {
+            return false;
+        }
+        char separator = value.charAt(position + 6);
+        return value.charAt(position) == '-' && digits(value, position + 1, 2) >= 0
+                && value.charAt(position + 3) == '-' && digits(value, position + 4, 2) >= 0
+                && (separator == 'T' || separator == 't') && digits(value, position + 7, 2) >= 0
+                && value.charAt(position + 9) == ':' && digits(value, position + 10, 2) >= 0;
+    }
+
+    private static ZoneOffset parseOffset(String value, int position) {
+        int remaining = value.length() - position;
+        if (remaining == 0) {
+            return ZoneOffset.UTC;
+        }
+        if (remaining == 1) {
+            return value.charAt(position) == 'Z' ? ZoneOffset.UTC : null;
+        }
+        char sign = value.charAt(position);
+        if (remaining != 6 || (sign != '+' && sign != '-') || value.charAt(position + 3) != ':') {
+            return null;
+        }
+        int hours = digits(value, position + 1, 2);
+        int minutes = digits(value, position + 4, 2);
+        if (hours < 0 || minutes < 0 || minutes > 59) {
+            return null;
+        }
+        int totalSeconds = hours * 3600 + minutes * 60;
+        if (totalSeconds > MAX_OFFSET_SECONDS) {
+            return null;
+        }
+        return ZoneOffset.ofTotalSeconds(sign == '-' ? -totalSeconds : totalSeconds);
+    }
+
+    private static int digits(String value, int start, int count) {
+        int result = 0;
+        for (int i = start; i < start + count; i++) {
+            char c = value.charAt(i);
+            if (!isDigit(c)) {
+                return -1;
+            }
+            result = result * 10 + (c - '0');
+        }
+        return result;
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    private static int lengthOfMonth(int year, int month) {
+        return switch (month) {
+            case 2 -> (year % 4 == 0 && (year % 100 != 0 || year % 400 == 0)) ? 29 : 28;
+            case 4, 6, 9, 11 -> 30;
+            default -> 31;
+        };
+    }
+}
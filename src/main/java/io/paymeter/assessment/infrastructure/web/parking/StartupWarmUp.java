@@ -0,0 +1,160 @@
+package io.paymeter.assessment.infrastructure.web.parking;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.paymeter.assessment.application.pricing.PricingService;
+import io.paymeter.assessment.application.pricing.dto.CalculationOutcome.Priced;
+import io.paymeter.assessment.domain.pricing.PricingRepository;
+import io.paymeter.assessment.infrastructure.metrics.PricingMetrics;
+import io.paymeter.assessment.infrastructure.web.parking.dto.TicketRequest;
+import io.paymeter.assessment.infrastructure.web.parking.dto.TicketResponse;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.io.buffer.DataBufferFactory;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.json.Jackson2JsonDecoder;
+import org.springframework.http.codec.json.Jackson2JsonEncoder;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Runs synthetic calculations through the JSON ticket path before the instance reports ready, so the
+ * first real requests are not served by interpreted code. The hot parkings are loaded into the pricing
+ * cache first; then each calculation decodes a {@link TicketRequest} with Jackson, parses and prices it
+ * as {@link TicketController} does and encodes the {@link TicketResponse}. Stay lengths, date formats
+ * and open tickets vary so every branch the traffic takes gets compiled. Calculations go through
+ * {@link PricingService#unrecorded()}, so stats and the ticket audit trail only see real traffic; the
+ * controller handed in should record into {@link PricingMetrics#WARM_UP_PHASE warm-up} meters and the
+ * pricing service be built on the untimed repository and calculator for the same reason.
+ */
+public class StartupWarmUp {
+
+    private static final long[] STAY_MINUTES = {0, 20, 61, 95, 240, 725, 1439, 1500, 4330, 10080, 44640};
+    private static final ResolvableType REQUEST_TYPE = ResolvableType.forClass(TicketRequest.class);
+    private static final ResolvableType RESPONSE_TYPE = ResolvableType.forClass(TicketResponse.class);
+
+    private final TicketController ticketController;
+    private final PricingService pricingService;
+    private final PricingRepository pricingRepository;
+    private final Jackson2JsonDecoder decoder;
+    private final Jackson2JsonEncoder encoder;
+    private final DataBufferFactory bufferFactory = DefaultDataBufferFactory.sharedInstance;
+    private final List<String> parkingIds;
+    private final int calculations;
+    private final Clock clock;
+    private final LongAdder completed = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+
+    private volatile boolean complete;
+    private volatile Duration elapsed = Duration.ZERO;
+
+    public StartupWarmUp(TicketController ticketController,
+                         PricingService pricingService,
+                         PricingRepository pricingRepository,
+                         ObjectMapper objectMapper,
+                         List<String> parkingIds,
+                         int calculations,
+                         Clock clock) {
+        if (calculations > 0 && parkingIds.isEmpty()) {
+            throw new IllegalArgumentException("Warm-up calculations need at least one parking id");
+        }
+        this.ticketController = ticketController;
+        this.pricingService = pricingService.unrecorded();
+        this.pricingRepository = pricingRepository;
+        this.decoder = new Jackson2JsonDecoder(objectMapper);
+        this.encoder = new Jackson2JsonEncoder(objectMapper);
+        this.parkingIds = List.copyOf(parkingIds);
+        this.calculations = calculations;
+        this.clock = clock;
+    }
+
+    /**
+     * Pre-loads the hot parkings and runs the calculations one after another. Failures are counted and
+     * never stop the warm-up; it is complete once this finishes, however it finishes. Parkings that turned
+     * out not to exist are evicted again afterwards.
+     */
+    public Mono<Void> run() {
+        return Mono.defer(() -> {
+            long start = System.nanoTime();
+            return pricingRepository.findAllByIds(parkingIds)
+                    .onErrorReturn(Map.of())
+                    .flatMap(found -> Flux.range(0, calculations)
+                            .concatMap(this::calculate)
+                            .then(Mono.<Void>fromRunnable(() -> forgetUnknown(found.keySet()))))
+                    .doFinally(signal -> {
+                        elapsed = Duration.ofNanos(System.nanoTime() - start);
+                        complete = true;
+                    });
+        });
+    }
+
+    public boolean isComplete() {
+        return complete;
+    }
+
+    public long getCompletedCount() {
+        return completed.sum();
+    }
+
+    public long getFailedCount() {
+        return failed.sum();
+    }
+
+    public Duration getElapsed() {
+        return elapsed;
+    }
+
+    /** Parkings missing at startup must not stay cached as unknown until they are created. */
+    private void forgetUnknown(Set<String> found) {
+        parkingIds.stream()
+                .filter(parkingId -> !found.contains(parkingId))
+                .forEach(pricingRepository::evict);
+    }
+
+    private Mono<Void> calculate(int i) {
+        return Mono.defer(() -> {
+                    TicketRequest request = (TicketRequest) decoder.decode(
+                            bufferFactory.wrap(requestJson(i)), REQUEST_TYPE, MediaType.APPLICATION_JSON, Map.of());
+                    return ticketController.price(pricingService, request);
+                })
+                .doOnNext(outcome -> {
+                    if (outcome instanceof Priced priced) {
+                        DataBufferUtils.release(encoder.encodeValue(ticketController.toResponse(priced.result()),
+                                bufferFactory, RESPONSE_TYPE, MediaType.APPLICATION_JSON, Map.of()));
+                        completed.increment();
+                    } else {
+                        failed.increment();
+                    }
+                })
+                .onErrorResume(e -> {
+                    failed.increment();
+                    return Mono.empty();
+                })
+                .then();
+    }
+
+    private byte[] requestJson(int i) {
+        String parkingId = parkingIds.get(i % parkingIds.size());
+        LocalDateTime to = LocalDateTime.now(clock).truncatedTo(ChronoUnit.SECONDS).minusMinutes(i % 1440);
+        LocalDateTime from = to.minusMinutes(STAY_MINUTES[i % STAY_MINUTES.length]).minusSeconds(i % 60);
+        String json = switch (i % 4) {
+            case 0 -> "{\"parkingId\":\"%s\",\"from\":\"%s\",\"to\":\"%s\"}".formatted(parkingId, from, to);
+            case 1 -> "{\"parkingId\":\"%s\",\"from\":\"%sZ\",\"to\":\"%sZ\"}".formatted(parkingId, from, to);
+            case 2 -> "{\"parkingId\":\"%s\",\"from\":\"%s\",\"to\":\"%s\"}".formatted(parkingId,
+                    from.atOffset(ZoneOffset.ofHours(1)), to.atOffset(ZoneOffset.ofHours(1)));
+            default -> "{\"parkingId\":\"%s\",\"from\":\"%s\"}".formatted(parkingId, from);
+        };
+        return json.getBytes(StandardCharsets.UTF_8);
+    }
+}
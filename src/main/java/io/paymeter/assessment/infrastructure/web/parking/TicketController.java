@@ -1,35 +1,95 @@
 package io.paymeter.assessment.infrastructure.web.parking;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.google.protobuf.InvalidProtocolBufferException;
+import io.paymeter.assessment.application.pricing.LivePricingService;
 import io.paymeter.assessment.application.pricing.PricingService;
+import io.paymeter.assessment.application.pricing.dto.CalculationOutcome;
+import io.paymeter.assessment.application.pricing.dto.CalculationOutcome.Priced;
+import io.paymeter.assessment.application.pricing.dto.CalculationOutcome.Rejected;
+import io.paymeter.assessment.application.pricing.dto.CalculationResult;
 import io.paymeter.assessment.application.shared.NotFoundException;
+import io.paymeter.assessment.infrastructure.metrics.PricingMetrics;
+import io.paymeter.assessment.infrastructure.web.parking.dto.CompactTicketBatchItem;
+import io.paymeter.assessment.infrastructure.web.parking.dto.CompactTicketRequest;
+import io.paymeter.assessment.infrastructure.web.parking.dto.CompactTicketResponse;
+import io.paymeter.assessment.infrastructure.web.parking.dto.ErrorResponse;
+import io.paymeter.assessment.infrastructure.web.parking.dto.TicketBatchItem;
 import io.paymeter.assessment.infrastructure.web.parking.dto.TicketRequest;
 import io.paymeter.assessment.infrastructure.web.parking.dto.TicketResponse;
 import io.paymeter.assessment.infrastructure.web.parking.exception.TicketBadRequestException;
+import io.paymeter.assessment.infrastructure.web.parking.proto.CalculateBatchItem;
+import io.paymeter.assessment.infrastructure.web.parking.proto.CalculateRequest;
+import io.paymeter.assessment.infrastructure.web.parking.proto.CalculateResponse;
+import io.paymeter.assessment.infrastructure.web.parking.proto.CalculationError;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
+import jakarta.validation.Validator;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.CacheControl;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.BeanPropertyBindingResult;
+import org.springframework.validation.Errors;
+import org.springframework.validation.beanvalidation.SpringValidatorAdapter;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.io.IOException;
+import java.time.DateTimeException;
+import java.time.Duration;
+import java.time.Instant;
 import java.time.LocalDateTime;
 import java.time.ZoneOffset;
 import java.time.ZonedDateTime;
 import java.time.format.DateTimeParseException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiFunction;
 
 @RestController
 @RequestMapping("/tickets")
 public class TicketController {
 
+    public static final String APPLICATION_PROTOBUF_VALUE = "application/x-protobuf";
+
+    private static final int BATCH_CONCURRENCY = 64;
+    private static final int MAX_PROTOBUF_MESSAGE_SIZE = 256 * 1024;
+    private static final Mono<CalculationOutcome> MALFORMED_TICKET = Mono.just(CalculationOutcome.invalid("Malformed ticket"));
+    private static final Mono<CalculationOutcome> INVALID_DATE_FORMAT = Mono.just(CalculationOutcome.invalid("Invalid date format"));
+    private static final Mono<CalculationOutcome> INVALID_DATE = Mono.just(CalculationOutcome.invalid("Invalid date"));
+    // What parseDate returns for values java.time rejects; only ever compared by identity.
+    private static final ZonedDateTime NOT_A_DATE_TIME = ZonedDateTime.of(LocalDateTime.MIN, ZoneOffset.UTC);
+
     private final PricingService pricingService;
+    private final LivePricingService livePricingService;
+    private final PricingMetrics pricingMetrics;
+    private final ObjectReader ticketReader;
+    private final SpringValidatorAdapter ticketValidator;
 
-    public TicketController(PricingService pricingService) {
+    public TicketController(PricingService pricingService,
+                            LivePricingService livePricingService,
+                            PricingMetrics pricingMetrics,
+                            ObjectMapper objectMapper,
+                            Validator validator) {
         this.pricingService = pricingService;
+        this.livePricingService = livePricingService;
+        this.pricingMetrics = pricingMetrics;
+        this.ticketReader = objectMapper.readerFor(TicketRequest.class);
+        this.ticketValidator = new SpringValidatorAdapter(validator);
     }
 
     @PostMapping("/calculate")
@@ -40,32 +100,331 @@ public class TicketController {
             @ApiResponse(responseCode = "404", description = "Parking not found", content = @Content(schema = @Schema(implementation = NotFoundException.class))),
             @ApiResponse(responseCode = "500", description = "Server error", content = @Content(schema = @Schema(implementation = RuntimeException.class)))
     })
-    public Mono<TicketResponse> calculate(@Valid @RequestBody TicketRequest request) {
-        try {
-            ZonedDateTime from = parseDate(request.getFrom());
-            ZonedDateTime to = request.getTo() != null ? parseDate(request.getTo()) : null;
-
-            return pricingService.calculate(request.getParkingId(), from, to)
-                    .map(result -> new TicketResponse(
-                            result.getParkingId(),
-                            result.getFrom().toString(),
-                            result.getTo().toString(),
-                            result.getDurationMinutes(),
-                            result.getPrice().format()
-                    ));
-        } catch (DateTimeParseException e) {
+    public Mono<ResponseEntity<?>> calculate(@Valid @RequestBody TicketRequest request) {
+        return price(pricingService, request)
+                .map(this::toEntity);
+    }
+
+    @GetMapping("/calculate")
+    @Tag(name = "calculate", description = "calculate the price per parking space")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Ok; open tickets carry ETag and Cache-Control until the price changes", content = @Content(schema = @Schema(implementation = TicketResponse.class))),
+            @ApiResponse(responseCode = "304", description = "Price unchanged since the ETag in If-None-Match"),
+            @ApiResponse(responseCode = "400", description = "Invalid request", content = @Content(schema = @Schema(implementation = TicketBadRequestException.class))),
+            @ApiResponse(responseCode = "404", description = "Parking not found", content = @Content(schema = @Schema(implementation = NotFoundException.class)))
+    })
+    public Mono<ResponseEntity<?>> calculate(@RequestParam(required = false) String parkingId,
+                                             @RequestParam(required = false) String from,
+                                             @RequestParam(required = false) String to) {
+        TicketRequest request = new TicketRequest();
+        request.setParkingId(parkingId);
+        request.setFrom(from);
+        request.setTo(to);
+        return price(pricingService, request)
+                .map(this::toEntity);
+    }
+
+    @PostMapping(value = "/calculate", consumes = MediaType.APPLICATION_CBOR_VALUE,
+            produces = {MediaType.APPLICATION_CBOR_VALUE, MediaType.APPLICATION_JSON_VALUE})
+    @Tag(name = "calculate", description = "calculate the price per parking space")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Ok; epoch-second instants and integer cents", content = @Content(schema = @Schema(implementation = CompactTicketResponse.class)))
+    })
+    public Mono<ResponseEntity<?>> calculateCbor(@RequestBody CompactTicketRequest request) {
+        return price(pricingService, request.getParkingId(), request.getFromEpochSecond(), request.getToEpochSecond())
+                .map(outcome -> switch (outcome) {
+                    case Priced priced -> ok(priced.result()).body(toCompactResponse(priced.result()));
+                    case Rejected rejected -> ApiExceptionHandler.toErrorEntity(rejected);
+                });
+    }
+
+    @PostMapping(value = "/calculate", consumes = APPLICATION_PROTOBUF_VALUE, produces = APPLICATION_PROTOBUF_VALUE)
+    @Tag(name = "calculate", description = "calculate the price per parking space")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Ok; a CalculateResponse message (errors are CalculationError messages)")
+    })
+    public Mono<ResponseEntity<?>> calculateProtobuf(@RequestBody CalculateRequest request) {
+        // The protobuf writer resolves the message type from the declared body type, so it is left open
+        // for the response and error messages to be written as their own classes.
+        return price(pricingService, request)
+                .<ResponseEntity<?>>map(outcome -> switch (outcome) {
+                    case Priced priced -> ok(priced.result()).body(toProtoResponse(priced.result()));
+                    case Rejected rejected -> {
+                        ErrorResponse error = ApiExceptionHandler.toErrorResponse(rejected);
+                        yield ResponseEntity.status(error.getStatus()).body(toProtoError(error));
+                    }
+                })
+                .onErrorResume(ex -> {
+                    ErrorResponse error = ApiExceptionHandler.toErrorResponse(ex);
+                    return Mono.just(ResponseEntity.status(error.getStatus()).body(toProtoError(error)));
+                });
+    }
+
+    @PostMapping(value = "/calculate/batch", consumes = MediaType.APPLICATION_NDJSON_VALUE,
+            produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @Tag(name = "calculate", description = "calculate the price per parking space")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "One NDJSON line per ticket, in request order", content = @Content(schema = @Schema(implementation = TicketBatchItem.class)))
+    })
+    public Flux<TicketBatchItem> calculateBatch(@RequestBody Flux<String> lines) {
+        // Lines are decoded one by one, so a malformed line fails only its own item.
+        return batch(lines.filter(line -> !line.isBlank()), this::priceLine,
+                (index, result) -> TicketBatchItem.success(index, toResponse(result)),
+                TicketBatchItem::failure);
+    }
+
+    @PostMapping(value = "/calculate/batch", consumes = MediaType.APPLICATION_JSON_VALUE,
+            produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @Tag(name = "calculate", description = "calculate the price per parking space")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "One NDJSON line per ticket of the JSON array, in request order", content = @Content(schema = @Schema(implementation = TicketBatchItem.class)))
+    })
+    public Flux<TicketBatchItem> calculateBatchArray(@RequestBody Flux<JsonNode> tickets) {
+        return batch(tickets, this::priceNode,
+                (index, result) -> TicketBatchItem.success(index, toResponse(result)),
+                TicketBatchItem::failure);
+    }
+
+    @PostMapping(value = "/calculate/batch", consumes = MediaType.APPLICATION_CBOR_VALUE,
+            produces = MediaType.APPLICATION_CBOR_VALUE)
+    @Tag(name = "calculate", description = "calculate the price per parking space")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "CBOR array with one item per ticket, in request order", content = @Content(schema = @Schema(implementation = CompactTicketBatchItem.class)))
+    })
+    public Mono<List<CompactTicketBatchItem>> calculateBatchCbor(@RequestBody List<CompactTicketRequest> requests) {
+        // Jackson's CBOR codecs do not stream, so the batch is read and written as one array.
+        return batch(Flux.fromIterable(requests),
+                (service, request) -> price(service, request.getParkingId(), request.getFromEpochSecond(), request.getToEpochSecond()),
+                (index, result) -> CompactTicketBatchItem.success(index, toCompactResponse(result)),
+                CompactTicketBatchItem::failure)
+                .collectList();
+    }
+
+    @PostMapping(value = "/calculate/batch", consumes = APPLICATION_PROTOBUF_VALUE, produces = APPLICATION_PROTOBUF_VALUE)
+    @Tag(name = "calculate", description = "calculate the price per parking space")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Varint length-delimited CalculateBatchItem messages, one per ticket, in request order")
+    })
+    public Flux<CalculateBatchItem> calculateBatchProtobuf(@RequestBody Flux<DataBuffer> body) {
+        // Messages are parsed one by one, so one that does not parse fails only its own item.
+        return batch(DelimitedFrames.split(body, MAX_PROTOBUF_MESSAGE_SIZE), this::priceFrame,
+                (index, result) -> CalculateBatchItem.newBuilder().setIndex(index).setResult(toProtoResponse(result)).build(),
+                (index, error) -> CalculateBatchItem.newBuilder().setIndex(index).setError(toProtoError(error)).build());
+    }
+
+    @GetMapping(value = "/{parkingId}/live", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Tag(name = "calculate", description = "calculate the price per parking space")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Price so far, pushed whenever it changes", content = @Content(schema = @Schema(implementation = TicketResponse.class))),
+            @ApiResponse(responseCode = "400", description = "Invalid request", content = @Content(schema = @Schema(implementation = TicketBadRequestException.class))),
+            @ApiResponse(responseCode = "404", description = "Parking not found", content = @Content(schema = @Schema(implementation = NotFoundException.class)))
+    })
+    public Flux<TicketResponse> live(@PathVariable String parkingId, @RequestParam(required = false) String from) {
+        ZonedDateTime fromDate = parseDate(from);
+        if (fromDate == NOT_A_DATE_TIME) {
             throw new TicketBadRequestException("Invalid date format");
         }
+        return livePricingService.live(parkingId, fromDate)
+                .map(this::toResponse);
+    }
+
+    private <T, R> Flux<R> batch(Flux<T> requests,
+                                 BiFunction<PricingService, T, Mono<CalculationOutcome>> price,
+                                 BiFunction<Long, CalculationResult, R> success,
+                                 BiFunction<Long, ErrorResponse, R> failure) {
+        PricingService batch = pricingService.batchScoped();
+        return requests.index()
+                .flatMapSequential(indexed -> Mono.defer(() -> price.apply(batch, indexed.getT2()))
+                        .map(outcome -> switch (outcome) {
+                            case Priced priced -> success.apply(indexed.getT1(), priced.result());
+                            case Rejected rejected -> failure.apply(indexed.getT1(), ApiExceptionHandler.toErrorResponse(rejected));
+                        })
+                        .onErrorResume(ex -> Mono.just(failure.apply(indexed.getT1(), ApiExceptionHandler.toErrorResponse(ex)))),
+                        BATCH_CONCURRENCY);
     }
 
-    private ZonedDateTime parseDate(String value) {
+    Mono<CalculationOutcome> price(PricingService service, TicketRequest request) {
+        long start = System.nanoTime();
+        ZonedDateTime from = parseDate(request.getFrom());
+        ZonedDateTime to = parseDate(request.getTo());
+        pricingMetrics.parse().record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        if (from == NOT_A_DATE_TIME || to == NOT_A_DATE_TIME) {
+            return INVALID_DATE_FORMAT;
+        }
+
+        return service.evaluate(request.getParkingId(), from, to);
+    }
+
+    private Mono<CalculationOutcome> priceLine(PricingService service, String line) {
+        TicketRequest request;
+        try {
+            request = ticketReader.readValue(line);
+        } catch (IOException e) {
+            return MALFORMED_TICKET;
+        }
+        return request != null ? priceValid(service, request) : MALFORMED_TICKET;
+    }
+
+    private Mono<CalculationOutcome> priceNode(PricingService service, JsonNode ticket) {
+        TicketRequest request;
+        try {
+            request = ticketReader.readValue(ticket);
+        } catch (IOException e) {
+            return MALFORMED_TICKET;
+        }
+        return request != null ? priceValid(service, request) : MALFORMED_TICKET;
+    }
+
+    // Applies the constraints @Valid enforces on the single-ticket endpoint, with the same message.
+    private Mono<CalculationOutcome> priceValid(PricingService service, TicketRequest request) {
+        Errors errors = new BeanPropertyBindingResult(request, "ticketRequest");
+        ticketValidator.validate(request, errors);
+        if (errors.hasErrors()) {
+            return Mono.just(CalculationOutcome.invalid(ApiExceptionHandler.validationMessage(errors)));
+        }
+        return price(service, request);
+    }
+
+    private Mono<CalculationOutcome> priceFrame(PricingService service, byte[] frame) {
+        if (frame == DelimitedFrames.CORRUPT) {
+            return MALFORMED_TICKET;
+        }
+        CalculateRequest request;
+        try {
+            request = CalculateRequest.parseFrom(frame);
+        } catch (InvalidProtocolBufferException e) {
+            return MALFORMED_TICKET;
+        }
+        return price(service, request);
+    }
+
+    private Mono<CalculationOutcome> price(PricingService service, CalculateRequest request) {
+        return price(service, request.getParkingId(),
+                request.hasFromEpochSecond() ? request.getFromEpochSecond() : null,
+                request.hasToEpochSecond() ? request.getToEpochSecond() : null);
+    }
+
+    private Mono<CalculationOutcome> price(PricingService service, String parkingId, Long fromEpochSecond, Long toEpochSecond) {
+        ZonedDateTime from;
+        ZonedDateTime to;
+        long start = System.nanoTime();
+        try {
+            from = fromEpochSecond(fromEpochSecond);
+            to = fromEpochSecond(toEpochSecond);
+        } catch (DateTimeException e) {
+            return INVALID_DATE;
+        } finally {
+            pricingMetrics.parse().record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+
+        return service.evaluate(parkingId, from, to);
+    }
+
+    private ResponseEntity<?> toEntity(CalculationOutcome outcome) {
+        return switch (outcome) {
+            case Priced priced -> ok(priced.result()).body(toResponse(priced.result()));
+            case Rejected rejected -> ApiExceptionHandler.toErrorEntity(rejected);
+        };
+    }
+
+    private static ResponseEntity.BodyBuilder ok(CalculationResult result) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (result.getValidUntil() != null) {
+            Duration maxAge = Duration.between(result.getTo(), result.getValidUntil());
+            response.eTag(eTag(result))
+                    .cacheControl(CacheControl.maxAge(maxAge.isNegative() ? Duration.ZERO : maxAge).cachePublic());
+        }
+        return response;
+    }
+
+    private static String eTag(CalculationResult result) {
+        long hash = 31L * result.getParkingId().hashCode() + result.getFrom().toEpochSecond();
+        return "W/\"" + Long.toHexString(hash) + "-" + result.getPrice().getAmount() + "\"";
+    }
+
+    TicketResponse toResponse(CalculationResult result) {
+        long start = System.nanoTime();
+        try {
+            return new TicketResponse(
+                    result.getParkingId(),
+                    result.getFrom().toString(),
+                    result.getTo().toString(),
+                    result.getDurationMinutes(),
+                    result.getPrice().format()
+            );
+        } finally {
+            pricingMetrics.mapping().record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private CompactTicketResponse toCompactResponse(CalculationResult result) {
+        long start = System.nanoTime();
+        try {
+            return new CompactTicketResponse(
+                    result.getParkingId(),
+                    result.getFrom().toEpochSecond(),
+                    result.getTo().toEpochSecond(),
+                    result.getDurationMinutes(),
+                    result.getPrice().getAmount(),
+                    result.getPrice().getCurrencyCode()
+            );
+        } finally {
+            pricingMetrics.mapping().record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private CalculateResponse toProtoResponse(CalculationResult result) {
+        long start = System.nanoTime();
+        try {
+            return CalculateResponse.newBuilder()
+                    .setParkingId(result.getParkingId())
+                    .setFromEpochSecond(result.getFrom().toEpochSecond())
+                    .setToEpochSecond(result.getTo().toEpochSecond())
+                    .setDurationMinutes(result.getDurationMinutes())
+                    .setPriceCents(result.getPrice().getAmount())
+                    .setCurrency(result.getPrice().getCurrencyCode())
+                    .build();
+        } finally {
+            pricingMetrics.mapping().record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private static CalculationError toProtoError(ErrorResponse error) {
+        return CalculationError.newBuilder()
+                .setMessage(error.getMessage() != null ? error.getMessage() : "")
+                .setCode(error.getCode())
+                .setStatus(error.getStatus())
+                .build();
+    }
+
+    private static ZonedDateTime fromEpochSecond(Long epochSecond) {
+        return epochSecond != null ? Instant.ofEpochSecond(epochSecond).atZone(ZoneOffset.UTC) : null;
+    }
+
+    /**
+     * Parses an ISO date-time, with UTC for values without an offset. Returns {@code null} for a missing
+     * value and {@link #NOT_A_DATE_TIME} for one java.time rejects, so garbage costs no exception; only
+     * values shaped like a date-time that the fast parser declines go through java.time.
+     */
+    ZonedDateTime parseDate(String value) {
         if (value == null) {
             return null;
         }
+        ZonedDateTime parsed = IsoDateTimeParser.parse(value);
+        if (parsed != null) {
+            return parsed;
+        }
+        if (!IsoDateTimeParser.hasDateTimeShape(value)) {
+            return NOT_A_DATE_TIME;
+        }
         try {
             return ZonedDateTime.parse(value);
         } catch (DateTimeParseException ex) {
-            return ZonedDateTime.of(LocalDateTime.parse(value), ZoneOffset.UTC);
+            try {
+                return ZonedDateTime.of(LocalDateTime.parse(value), ZoneOffset.UTC);
+            } catch (DateTimeParseException notLocal) {
+                return NOT_A_DATE_TIME;
+            }
         }
     }
 }
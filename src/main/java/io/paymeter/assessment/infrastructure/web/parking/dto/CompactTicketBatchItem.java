@@ -0,0 +1,23 @@
+package io.paymeter.assessment.infrastructure.web.parking.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class CompactTicketBatchItem {
+
+    private final long index;
+    private final CompactTicketResponse result;
+    private final ErrorResponse error;
+
+    public static CompactTicketBatchItem success(long index, CompactTicketResponse result) {
+        return new CompactTicketBatchItem(index, result, null);
+    }
+
+    public static CompactTicketBatchItem failure(long index, ErrorResponse error) {
+        return new CompactTicketBatchItem(index, null, error);
+    }
+}
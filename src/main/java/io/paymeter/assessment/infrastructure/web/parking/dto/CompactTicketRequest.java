@@ -0,0 +1,19 @@
+package io.paymeter.assessment.infrastructure.web.parking.dto;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Binary-friendly ticket request: epoch seconds instead of ISO strings. {@code toEpochSecond} is absent for
+ * an open ticket.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+public class CompactTicketRequest {
+
+    private String parkingId;
+    private Long fromEpochSecond;
+    private Long toEpochSecond;
+}
@@ -0,0 +1,16 @@
+package io.paymeter.assessment.infrastructure.web.parking.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class CompactTicketResponse {
+
+    private final String parkingId;
+    private final long fromEpochSecond;
+    private final long toEpochSecond;
+    private final long duration;
+    private final long priceCents;
+    private final String currency;
+}
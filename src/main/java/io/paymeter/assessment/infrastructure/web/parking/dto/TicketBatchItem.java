@@ -0,0 +1,23 @@
+package io.paymeter.assessment.infrastructure.web.parking.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class TicketBatchItem {
+
+    private final long index;
+    private final TicketResponse result;
+    private final ErrorResponse error;
+
+    public static TicketBatchItem success(long index, TicketResponse result) {
+        return new TicketBatchItem(index, result, null);
+    }
+
+    public static TicketBatchItem failure(long index, ErrorResponse error) {
+        return new TicketBatchItem(index, null, error);
+    }
+}
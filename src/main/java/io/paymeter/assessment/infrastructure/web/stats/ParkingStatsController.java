@@ -0,0 +1,78 @@
+package io.paymeter.assessment.infrastructure.web.stats;
+
+import io.paymeter.assessment.application.shared.BadRequestException;
+import io.paymeter.assessment.application.shared.NotFoundException;
+import io.paymeter.assessment.application.stats.ParkingStats;
+import io.paymeter.assessment.application.stats.dto.ParkingStatsSnapshot;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/stats/parkings")
+@Tag(name = "stats", description = "live calculation and revenue counters per parking")
+public class ParkingStatsController {
+
+    private static final int MAX_LIMIT = 1000;
+
+    private final ParkingStats parkingStats;
+
+    public ParkingStatsController(ParkingStats parkingStats) {
+        this.parkingStats = parkingStats;
+    }
+
+    @GetMapping("/{parkingId}")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Ok", content = @Content(schema = @Schema(implementation = ParkingStatsSnapshot.class))),
+            @ApiResponse(responseCode = "404", description = "No calculations recorded for the parking", content = @Content(schema = @Schema(implementation = NotFoundException.class)))
+    })
+    public Mono<ParkingStatsSnapshot> get(@PathVariable String parkingId) {
+        return Mono.fromSupplier(() -> parkingStats.get(parkingId)
+                .orElseThrow(() -> new NotFoundException("No calculations recorded for parking")));
+    }
+
+    @GetMapping("/top")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Parkings ranked highest first", content = @Content(array = @ArraySchema(schema = @Schema(implementation = ParkingStatsSnapshot.class)))),
+            @ApiResponse(responseCode = "400", description = "Invalid ranking, window or limit", content = @Content(schema = @Schema(implementation = BadRequestException.class)))
+    })
+    public Mono<List<ParkingStatsSnapshot>> top(@RequestParam(defaultValue = "10") int limit,
+                                                @RequestParam(defaultValue = "billed-cents") String by,
+                                                @RequestParam(defaultValue = "recent") String window) {
+        return Mono.fromSupplier(() -> parkingStats.top(limit(limit), ranking(by), recent(window)));
+    }
+
+    private static int limit(int limit) {
+        if (limit < 1 || limit > MAX_LIMIT) {
+            throw new BadRequestException("limit must be between 1 and " + MAX_LIMIT);
+        }
+        return limit;
+    }
+
+    private static ParkingStats.Ranking ranking(String by) {
+        return switch (by) {
+            case "calculations" -> ParkingStats.Ranking.CALCULATIONS;
+            case "billed-cents" -> ParkingStats.Ranking.BILLED_CENTS;
+            default -> throw new BadRequestException("by must be calculations or billed-cents");
+        };
+    }
+
+    private static boolean recent(String window) {
+        return switch (window) {
+            case "recent" -> true;
+            case "total" -> false;
+            default -> throw new BadRequestException("window must be recent or total");
+        };
+    }
+}
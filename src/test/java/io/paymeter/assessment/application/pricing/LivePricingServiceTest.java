@@ -0,0 +1,161 @@
+package io.paymeter.assessment.application.pricing;
+
+import io.paymeter.assessment.application.pricing.dto.CalculationResult;
+import io.paymeter.assessment.application.shared.BadRequestException;
+import io.paymeter.assessment.application.shared.NotFoundException;
+import io.paymeter.assessment.domain.pricing.ClosedFormPricingCalculator;
+import io.paymeter.assessment.domain.pricing.Money;
+import io.paymeter.assessment.domain.pricing.Pricing;
+import io.paymeter.assessment.domain.pricing.PricingRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+import reactor.test.scheduler.VirtualTimeScheduler;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LivePricingServiceTest {
+
+    private static final Pricing PRICING = new Pricing(200, 1500, 24, false);
+    private static final Instant START = Instant.parse("2024-02-27T10:00:00Z");
+
+    private VirtualTimeScheduler scheduler;
+    private LivePricingService liveService;
+
+    @BeforeEach
+    void setUp() {
+        scheduler = VirtualTimeScheduler.create();
+        long origin = scheduler.now(TimeUnit.MILLISECONDS);
+        Clock clock = new Clock() {
+            @Override
+            public ZoneId getZone() {
+                return ZoneOffset.UTC;
+            }
+
+            @Override
+            public Clock withZone(ZoneId zone) {
+                throw new UnsupportedOperationException();
+            }
+
+            @Override
+            public Instant instant() {
+                return START.plusMillis(scheduler.now(TimeUnit.MILLISECONDS) - origin);
+            }
+        };
+        PricingRepository repository = parkingId -> "P000123".equals(parkingId) ? Mono.just(PRICING) : Mono.empty();
+        liveService = new LivePricingService(repository, new ClosedFormPricingCalculator(), clock, scheduler, Duration.ofSeconds(1));
+    }
+
+    @AfterEach
+    void tearDown() {
+        liveService.close();
+        scheduler.dispose();
+    }
+
+    @Test
+    void shouldEmitOnlyWhenPriceChanges() {
+        ZonedDateTime from = ZonedDateTime.ofInstant(Instant.parse("2024-02-27T09:30:00Z"), ZoneOffset.UTC);
+        List<CalculationResult> results = new CopyOnWriteArrayList<>();
+
+        Disposable subscription = liveService.live("P000123", from).subscribe(results::add);
+
+        assertEquals(1, results.size());
+        assertEquals(new Money(200), results.get(0).getPrice());
+
+        scheduler.advanceTimeBy(Duration.ofMinutes(30));
+        assertEquals(1, results.size());
+
+        scheduler.advanceTimeBy(Duration.ofMinutes(1));
+        assertEquals(2, results.size());
+        assertEquals(new Money(400), results.get(1).getPrice());
+        assertEquals(61, results.get(1).getDurationMinutes());
+
+        subscription.dispose();
+    }
+
+    @Test
+    void shouldForgetSubscribersThatCancel() {
+        ZonedDateTime from = ZonedDateTime.ofInstant(Instant.parse("2024-02-27T09:30:00Z"), ZoneOffset.UTC);
+
+        Disposable first = liveService.live("P000123", from).subscribe();
+        Disposable second = liveService.live("P000123", from).subscribe();
+        assertEquals(2, liveService.subscribers());
+
+        first.dispose();
+        second.dispose();
+        assertEquals(0, liveService.subscribers());
+    }
+
+    @Test
+    void shouldFailWhenParkingIsUnknown() {
+        ZonedDateTime from = ZonedDateTime.ofInstant(Instant.parse("2024-02-27T09:30:00Z"), ZoneOffset.UTC);
+
+        StepVerifier.create(liveService.live("UNKNOWN", from))
+                .expectError(NotFoundException.class)
+                .verify();
+    }
+
+    @Test
+    void shouldRejectStartInTheFuture() {
+        ZonedDateTime from = ZonedDateTime.ofInstant(Instant.parse("2024-02-27T11:00:00Z"), ZoneOffset.UTC);
+
+        StepVerifier.create(liveService.live("P000123", from))
+                .expectError(BadRequestException.class)
+                .verify();
+    }
+
+    @Test
+    void shouldRepriceOpenStreamsWhenPricingChanges() {
+        ZonedDateTime from = ZonedDateTime.ofInstant(Instant.parse("2024-02-27T09:30:00Z"), ZoneOffset.UTC);
+        List<CalculationResult> results = new CopyOnWriteArrayList<>();
+        AtomicBoolean completed = new AtomicBoolean();
+
+        liveService.live("P000123", from).doOnComplete(() -> completed.set(true)).subscribe(results::add);
+
+        liveService.pricingChanged("P000123", new Pricing(500, 1500, 24, false));
+        scheduler.advanceTimeBy(Duration.ofSeconds(1));
+        assertEquals(2, results.size());
+        assertEquals(new Money(500), results.get(1).getPrice());
+
+        liveService.pricingChanged("P000123", null);
+        scheduler.advanceTimeBy(Duration.ofSeconds(1));
+        assertTrue(completed.get());
+        assertEquals(0, liveService.subscribers());
+    }
+
+    @Test
+    void shouldCountReloadsThatFailAndKeepTheCurrentPricing() {
+        AtomicBoolean failing = new AtomicBoolean();
+        PricingRepository repository = parkingId -> failing.get()
+                ? Mono.error(new IllegalStateException("connection refused"))
+                : Mono.just(PRICING);
+        LivePricingService service = new LivePricingService(repository, new ClosedFormPricingCalculator(),
+                Clock.fixed(START, ZoneOffset.UTC), scheduler, Duration.ofSeconds(1));
+        ZonedDateTime from = ZonedDateTime.ofInstant(Instant.parse("2024-02-27T09:30:00Z"), ZoneOffset.UTC);
+        List<CalculationResult> results = new CopyOnWriteArrayList<>();
+        Disposable subscription = service.live("P000123", from).subscribe(results::add);
+
+        failing.set(true);
+        service.reload("P000123");
+
+        assertEquals(1, service.getReloadFailureCount());
+        assertEquals(1, results.size());
+        subscription.dispose();
+        service.close();
+    }
+}
@@ -0,0 +1,133 @@
+package io.paymeter.assessment.application.pricing;
+
+import io.paymeter.assessment.domain.pricing.ClosedFormPricingCalculator;
+import io.paymeter.assessment.domain.pricing.Pricing;
+import io.paymeter.assessment.domain.pricing.PricingCalculator;
+import io.paymeter.assessment.domain.pricing.PricingRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.test.scheduler.VirtualTimeScheduler;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class PricingInvalidationListenerTest {
+
+    private static final Pricing PRICING = new Pricing(200, 1500, 24, false);
+
+    private final AtomicReference<Pricing> stored = new AtomicReference<>(PRICING);
+    private final List<String> evicted = new CopyOnWriteArrayList<>();
+    private final Sinks.Many<PricingInvalidation> changes = Sinks.many().multicast().directBestEffort();
+    private VirtualTimeScheduler scheduler;
+    private LivePricingService livePricingService;
+    private PricingInvalidationListener listener;
+
+    @BeforeEach
+    void setUp() {
+        PricingRepository repository = new PricingRepository() {
+            @Override
+            public Mono<Pricing> findById(String parkingId) {
+                return Mono.just(stored.get());
+            }
+
+            @Override
+            public void evict(String parkingId) {
+                evicted.add(parkingId);
+            }
+
+            @Override
+            public void evictAll() {
+                evicted.add("*");
+            }
+        };
+        PricingCalculator calculator = new ClosedFormPricingCalculator();
+        Clock clock = Clock.systemUTC();
+        scheduler = VirtualTimeScheduler.create();
+        livePricingService = new LivePricingService(repository, calculator, clock, scheduler, Duration.ofSeconds(1));
+        PricingService pricingService = new PricingService(repository, calculator, clock, new OpenTicketResultCache(100, clock));
+        PricingInvalidationBus bus = new PricingInvalidationBus() {
+            @Override
+            public Mono<Void> publish(String parkingId) {
+                return Mono.empty();
+            }
+
+            @Override
+            public Flux<PricingInvalidation> invalidations() {
+                return changes.asFlux();
+            }
+        };
+        listener = new PricingInvalidationListener(bus, repository, pricingService, livePricingService);
+    }
+
+    @AfterEach
+    void tearDown() {
+        listener.close();
+        livePricingService.close();
+        scheduler.dispose();
+    }
+
+    @Test
+    void shouldEvictConsecutiveChangesAfterInitialResync() {
+        changes.tryEmitNext(PricingInvalidation.announcement(10));
+        changes.tryEmitNext(new PricingInvalidation(11, "P000123"));
+        changes.tryEmitNext(new PricingInvalidation(12, "P000456"));
+
+        assertEquals(List.of("*", "P000123", "P000456"), evicted);
+        assertEquals(12, listener.getVersion());
+        assertEquals(2, listener.getEvictionCount());
+        assertEquals(1, listener.getResyncCount());
+    }
+
+    @Test
+    void shouldResyncWhenVersionsSkip() {
+        changes.tryEmitNext(PricingInvalidation.announcement(10));
+        changes.tryEmitNext(new PricingInvalidation(11, "P000123"));
+        changes.tryEmitNext(new PricingInvalidation(13, "P000456"));
+
+        assertEquals(List.of("*", "P000123", "*"), evicted);
+        assertEquals(13, listener.getVersion());
+        assertEquals(2, listener.getResyncCount());
+    }
+
+    @Test
+    void shouldResyncOnlyWhenAnnouncedVersionIsAhead() {
+        changes.tryEmitNext(PricingInvalidation.announcement(5));
+        changes.tryEmitNext(new PricingInvalidation(5, "P000123"));
+        changes.tryEmitNext(PricingInvalidation.announcement(5));
+        changes.tryEmitNext(new PricingInvalidation(6, "P000123"));
+        changes.tryEmitNext(PricingInvalidation.announcement(6));
+
+        assertEquals(List.of("*", "P000123"), evicted);
+
+        changes.tryEmitNext(PricingInvalidation.announcement(8));
+
+        assertEquals(List.of("*", "P000123", "*"), evicted);
+        assertEquals(8, listener.getVersion());
+    }
+
+    @Test
+    void shouldRepriceOpenLiveStreamsOfChangedParking() {
+        List<Integer> prices = new CopyOnWriteArrayList<>();
+        Disposable subscription = livePricingService.live("P000123", ZonedDateTime.now(Clock.systemUTC()).minusMinutes(30))
+                .subscribe(result -> prices.add(result.getPrice().getAmount()));
+        changes.tryEmitNext(PricingInvalidation.announcement(1));
+
+        stored.set(new Pricing(300, 1500, 24, false));
+        changes.tryEmitNext(new PricingInvalidation(2, "P000123"));
+        scheduler.advanceTimeBy(Duration.ofSeconds(1));
+
+        assertEquals(List.of(200, 300), prices);
+        subscription.dispose();
+    }
+}
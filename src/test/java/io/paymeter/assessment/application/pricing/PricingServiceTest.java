@@ -1,5 +1,8 @@
 package io.paymeter.assessment.application.pricing;
 
+import io.paymeter.assessment.application.pricing.dto.CalculationOutcome;
+import io.paymeter.assessment.application.pricing.dto.CalculationOutcome.Priced;
+import io.paymeter.assessment.application.pricing.dto.CalculationResult;
 import io.paymeter.assessment.application.shared.BadRequestException;
 import io.paymeter.assessment.application.shared.NotFoundException;
 import io.paymeter.assessment.domain.pricing.Money;
@@ -8,16 +11,23 @@ import io.paymeter.assessment.domain.pricing.PricingCalculator;
 import io.paymeter.assessment.domain.pricing.PricingRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import reactor.test.StepVerifier;
 
 import java.time.Clock;
 import java.time.Instant;
+import java.time.ZoneId;
 import java.time.ZoneOffset;
 import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
 class PricingServiceTest {
@@ -64,4 +74,152 @@ class PricingServiceTest {
                 .expectError(BadRequestException.class)
                 .verify();
     }
+
+    @Test
+    void shouldReportRejectionsAsSharedOutcomes() {
+        ZonedDateTime from = ZonedDateTime.ofInstant(Instant.parse("2024-02-27T09:00:00Z"), ZoneOffset.UTC);
+
+        StepVerifier.create(pricingService.evaluate("UNKNOWN", from, from.plusHours(1)))
+                .expectNext(CalculationOutcome.PARKING_NOT_FOUND)
+                .verifyComplete();
+        StepVerifier.create(pricingService.evaluate(" ", from, null))
+                .expectNext(CalculationOutcome.PARKING_ID_REQUIRED)
+                .verifyComplete();
+        StepVerifier.create(pricingService.evaluate("P000123", from, from.minusSeconds(1)))
+                .expectNext(CalculationOutcome.TO_BEFORE_FROM)
+                .verifyComplete();
+        StepVerifier.create(pricingService.evaluate("P000123", from, from.plusHours(1)))
+                .assertNext(outcome -> assertEquals(new Money(200), ((Priced) outcome).result().getPrice()))
+                .verifyComplete();
+    }
+
+    @Test
+    void shouldSignalRejectionsWithoutStackTraces() {
+        ZonedDateTime from = ZonedDateTime.ofInstant(Instant.parse("2024-02-27T09:00:00Z"), ZoneOffset.UTC);
+
+        StepVerifier.create(pricingService.calculate("UNKNOWN", from, from.plusHours(1)))
+                .consumeErrorWith(error -> {
+                    assertSame(CalculationOutcome.PARKING_NOT_FOUND.toException(), error);
+                    assertEquals(0, error.getStackTrace().length);
+                })
+                .verify();
+        StepVerifier.create(pricingService.calculate("P000123", null, null))
+                .expectErrorMatches(error -> error instanceof BadRequestException && error.getStackTrace().length == 0)
+                .verify();
+    }
+
+    @Test
+    void shouldRecordEveryCalculatedResult() {
+        PricingRepository repository = parkingId -> "P000123".equals(parkingId) ? Mono.just(PRICING) : Mono.empty();
+        List<CalculationResult> recorded = new ArrayList<>();
+        PricingService recording = new PricingService(repository, new PricingCalculator(), Clock.systemUTC(), null,
+                result -> Mono.fromRunnable(() -> recorded.add(result)));
+        ZonedDateTime from = ZonedDateTime.ofInstant(Instant.parse("2024-02-27T09:00:00Z"), ZoneOffset.UTC);
+
+        StepVerifier.create(recording.calculate("P000123", from, from.plusHours(2)))
+                .expectNextCount(1)
+                .verifyComplete();
+        StepVerifier.create(recording.calculate("UNKNOWN", from, from.plusHours(2)))
+                .expectError(NotFoundException.class)
+                .verify();
+
+        assertEquals(1, recorded.size());
+        assertEquals(new Money(400), recorded.get(0).getPrice());
+    }
+
+    @Test
+    void shouldRecordOpenTicketsAsQuotes() {
+        List<CalculationResult> recorded = new ArrayList<>();
+        List<CalculationResult> quoted = new ArrayList<>();
+        CalculationRecorder recorder = new CalculationRecorder() {
+            @Override
+            public Mono<Void> record(CalculationResult result) {
+                return Mono.fromRunnable(() -> recorded.add(result));
+            }
+
+            @Override
+            public Mono<Void> recordQuote(CalculationResult result) {
+                return Mono.fromRunnable(() -> quoted.add(result));
+            }
+        };
+        PricingService recording = new PricingService(parkingId -> Mono.just(PRICING), new PricingCalculator(),
+                Clock.systemUTC(), null, recorder.andThen(CalculationRecorder.NONE));
+        ZonedDateTime from = ZonedDateTime.now(ZoneOffset.UTC).minusHours(1);
+
+        StepVerifier.create(recording.calculate("P000123", from, null).repeat(2))
+                .expectNextCount(3)
+                .verifyComplete();
+
+        assertEquals(0, recorded.size());
+        assertEquals(3, quoted.size());
+    }
+
+    @Test
+    void shouldLookUpEachParkingOnceWithinBatch() {
+        AtomicInteger lookups = new AtomicInteger();
+        PricingRepository repository = parkingId -> Mono.fromSupplier(() -> {
+            lookups.incrementAndGet();
+            return "P000123".equals(parkingId) ? PRICING : null;
+        });
+        PricingService batch = new PricingService(repository, new PricingCalculator(), Clock.systemUTC()).batchScoped();
+        ZonedDateTime from = ZonedDateTime.ofInstant(Instant.parse("2024-02-27T09:00:00Z"), ZoneOffset.UTC);
+
+        StepVerifier.create(Flux.range(0, 10).flatMap(i -> batch.calculate("P000123", from, from.plusHours(i))))
+                .expectNextCount(10)
+                .verifyComplete();
+        StepVerifier.create(batch.calculate("UNKNOWN", from, from.plusHours(1)))
+                .expectError(NotFoundException.class)
+                .verify();
+        assertEquals(2, lookups.get());
+    }
+
+    @Test
+    void shouldServeOpenTicketFromResultCacheUntilNextPriceChange() {
+        AtomicInteger lookups = new AtomicInteger();
+        PricingRepository repository = parkingId -> Mono.fromSupplier(() -> {
+            lookups.incrementAndGet();
+            return PRICING;
+        });
+        AtomicReference<Instant> now = new AtomicReference<>(Instant.parse("2024-02-27T10:00:00Z"));
+        Clock clock = new Clock() {
+            @Override
+            public ZoneId getZone() {
+                return ZoneOffset.UTC;
+            }
+
+            @Override
+            public Clock withZone(ZoneId zone) {
+                throw new UnsupportedOperationException();
+            }
+
+            @Override
+            public Instant instant() {
+                return now.get();
+            }
+        };
+        PricingService cached = new PricingService(repository, new PricingCalculator(), clock, new OpenTicketResultCache(100, clock));
+        ZonedDateTime from = ZonedDateTime.ofInstant(Instant.parse("2024-02-27T09:30:00Z"), ZoneOffset.UTC);
+
+        StepVerifier.create(cached.calculate("P000123", from, null))
+                .assertNext(result -> {
+                    assertEquals(new Money(200), result.getPrice());
+                    assertEquals(ZonedDateTime.ofInstant(Instant.parse("2024-02-27T10:31:00Z"), ZoneOffset.UTC), result.getValidUntil());
+                })
+                .verifyComplete();
+
+        now.set(Instant.parse("2024-02-27T10:30:59Z"));
+        StepVerifier.create(cached.calculate("P000123", from, null))
+                .assertNext(result -> {
+                    assertEquals(new Money(200), result.getPrice());
+                    assertEquals(60, result.getDurationMinutes());
+                })
+                .verifyComplete();
+        assertEquals(1, lookups.get());
+
+        now.set(Instant.parse("2024-02-27T10:31:00Z"));
+        StepVerifier.create(cached.calculate("P000123", from, null))
+                .assertNext(result -> assertEquals(new Money(400), result.getPrice()))
+                .verifyComplete();
+        assertEquals(2, lookups.get());
+    }
 }
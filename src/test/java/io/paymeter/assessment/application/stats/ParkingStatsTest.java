@@ -0,0 +1,131 @@
+package io.paymeter.assessment.application.stats;
+
+import io.paymeter.assessment.application.pricing.dto.CalculationResult;
+import io.paymeter.assessment.application.stats.dto.ParkingStatsSnapshot;
+import io.paymeter.assessment.domain.pricing.Money;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ParkingStatsTest {
+
+    private static final ZonedDateTime FROM = ZonedDateTime.ofInstant(Instant.parse("2024-02-27T09:00:00Z"), ZoneOffset.UTC);
+
+    private final AtomicReference<Instant> now = new AtomicReference<>(Instant.parse("2024-02-27T10:00:30Z"));
+    private final Clock clock = new Clock() {
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Instant instant() {
+            return now.get();
+        }
+    };
+    private final ParkingStats stats = new ParkingStats(clock, Duration.ofMinutes(3));
+
+    @Test
+    void shouldAggregateTotalsAndPerMinuteCounts() {
+        record("P000123", 60, 200);
+        record("P000123", 120, 400);
+        now.set(Instant.parse("2024-02-27T10:01:10Z"));
+        record("P000123", 30, 100);
+
+        ParkingStatsSnapshot snapshot = stats.get("P000123").orElseThrow();
+
+        assertEquals(3, snapshot.getTotal().getCalculations());
+        assertEquals(700, snapshot.getTotal().getBilledCents());
+        assertEquals(70, snapshot.getTotal().getAverageStayMinutes());
+        assertEquals(3, snapshot.getRecent().getCalculations());
+        assertEquals(List.of(Instant.parse("2024-02-27T10:00:00Z"), Instant.parse("2024-02-27T10:01:00Z")),
+                snapshot.getPerMinute().stream().map(ParkingStatsSnapshot.MinuteCounts::getMinute).toList());
+        assertEquals(600, snapshot.getPerMinute().get(0).getCounts().getBilledCents());
+        assertTrue(stats.get("P000456").isEmpty());
+    }
+
+    @Test
+    void shouldDropMinutesOutsideTheWindow() {
+        record("P000123", 60, 200);
+        now.set(Instant.parse("2024-02-27T10:03:10Z"));
+        record("P000123", 60, 300);
+
+        ParkingStatsSnapshot snapshot = stats.get("P000123").orElseThrow();
+
+        assertEquals(2, snapshot.getTotal().getCalculations());
+        assertEquals(1, snapshot.getRecent().getCalculations());
+        assertEquals(300, snapshot.getRecent().getBilledCents());
+        assertEquals(1, snapshot.getPerMinute().size());
+
+        now.set(Instant.parse("2024-02-27T10:06:10Z"));
+        assertEquals(0, stats.get("P000123").orElseThrow().getRecent().getCalculations());
+    }
+
+    @Test
+    void shouldCountQuotesApartFromBilledTickets() {
+        record("P000123", 60, 200);
+        quote("P000123", 30, 100);
+        quote("P000123", 31, 100);
+
+        ParkingStatsSnapshot snapshot = stats.get("P000123").orElseThrow();
+
+        assertEquals(1, snapshot.getTotal().getCalculations());
+        assertEquals(200, snapshot.getTotal().getBilledCents());
+        assertEquals(60, snapshot.getTotal().getAverageStayMinutes());
+        assertEquals(2, snapshot.getTotal().getQuotes());
+        assertEquals(2, snapshot.getRecent().getQuotes());
+    }
+
+    @Test
+    void shouldRankParkings() {
+        record("P000001", 60, 900);
+        record("P000002", 60, 100);
+        record("P000002", 60, 100);
+        record("P000003", 60, 500);
+        now.set(Instant.parse("2024-02-27T10:05:00Z"));
+        record("P000003", 60, 50);
+
+        assertEquals(List.of("P000001", "P000003"), ids(stats.top(2, ParkingStats.Ranking.BILLED_CENTS, false)));
+        assertEquals(List.of("P000002", "P000003", "P000001"), ids(stats.top(5, ParkingStats.Ranking.CALCULATIONS, false)));
+        assertEquals("P000003", stats.top(1, ParkingStats.Ranking.BILLED_CENTS, true).get(0).getParkingId());
+    }
+
+    @Test
+    void shouldNotLoseConcurrentUpdates() {
+        IntStream.range(0, 10_000).parallel().forEach(i -> record("P00000" + i % 4, 10, 1));
+
+        long total = IntStream.range(0, 4)
+                .mapToLong(i -> stats.get("P00000" + i).orElseThrow().getTotal().getCalculations())
+                .sum();
+        assertEquals(10_000, total);
+        assertEquals(2_500, stats.get("P000000").orElseThrow().getRecent().getBilledCents());
+    }
+
+    private void record(String parkingId, long minutes, int cents) {
+        stats.record(new CalculationResult(parkingId, FROM, FROM.plusMinutes(minutes), minutes, new Money(cents))).block();
+    }
+
+    private void quote(String parkingId, long minutes, int cents) {
+        stats.recordQuote(new CalculationResult(parkingId, FROM, FROM.plusMinutes(minutes), minutes, new Money(cents))).block();
+    }
+
+    private static List<String> ids(List<ParkingStatsSnapshot> snapshots) {
+        return snapshots.stream().map(ParkingStatsSnapshot::getParkingId).toList();
+    }
+}
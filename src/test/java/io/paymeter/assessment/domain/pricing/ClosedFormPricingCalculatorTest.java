@@ -0,0 +1,119 @@
+package io.paymeter.assessment.domain.pricing;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ClosedFormPricingCalculatorTest {
+
+    private static final List<ZoneId> ZONES = List.of(
+            ZoneOffset.UTC,
+            ZoneId.of("Europe/Madrid"),
+            ZoneId.of("America/New_York"),
+            ZoneId.of("Australia/Lord_Howe")
+    );
+
+    private final PricingCalculator loop = new PricingCalculator();
+    private final PricingCalculator closedForm = new ClosedFormPricingCalculator();
+
+    @Test
+    void shouldMatchLoopAcrossDaylightSavingTransition() {
+        Pricing pricing = new Pricing(300, 2000, 12, true);
+        ZonedDateTime from = ZonedDateTime.of(2024, 3, 30, 20, 15, 0, 0, ZoneId.of("Europe/Madrid"));
+        ZonedDateTime to = from.plusHours(30).plusMinutes(7);
+
+        assertEquals(loop.calculate(pricing, from, to), closedForm.calculate(pricing, from, to));
+    }
+
+    @Test
+    void shouldMatchLoopOnExactWindowBoundaries() {
+        Pricing pricing = new Pricing(200, 1500, 24, true);
+        ZonedDateTime from = ZonedDateTime.of(2024, 2, 27, 0, 0, 0, 0, ZoneOffset.UTC);
+
+        for (int windows = 1; windows <= 5; windows++) {
+            ZonedDateTime to = from.plusHours(24L * windows);
+            assertEquals(loop.calculate(pricing, from, to), closedForm.calculate(pricing, from, to));
+            assertEquals(loop.calculate(pricing, from, to.plusSeconds(30)), closedForm.calculate(pricing, from, to.plusSeconds(30)));
+        }
+    }
+
+    @Test
+    void shouldMatchLoopForRandomStays() {
+        Random random = new Random(42);
+        for (int i = 0; i < 20_000; i++) {
+            Pricing pricing = new Pricing(
+                    random.nextInt(500),
+                    random.nextInt(5000),
+                    random.nextBoolean() ? 12 : 1 + random.nextInt(48),
+                    random.nextBoolean());
+            ZoneId zone = ZONES.get(random.nextInt(ZONES.size()));
+            ZonedDateTime from = ZonedDateTime.of(2024, 1, 1, 0, 0, 0, 0, zone)
+                    .plusSeconds(random.nextInt(366 * 24 * 3600))
+                    .plusNanos(random.nextInt(1_000_000_000));
+            long staySeconds = random.nextBoolean()
+                    ? random.nextInt(3 * 24 * 3600)
+                    : random.nextInt(120 * 24 * 3600);
+            ZonedDateTime to = from.plusSeconds(staySeconds).plusNanos(random.nextInt(1_000_000_000));
+
+            assertEquals(loop.calculate(pricing, from, to), closedForm.calculate(pricing, from, to),
+                    () -> "pricing window " + pricing.getCapWindowHours() + " from " + from + " to " + to);
+        }
+    }
+
+    @Test
+    void shouldPriceEpochSecondsLikeMoneyPath() {
+        Random random = new Random(7);
+        for (int i = 0; i < 20_000; i++) {
+            Pricing pricing = new Pricing(
+                    random.nextInt(500),
+                    random.nextInt(5000),
+                    1 + random.nextInt(48),
+                    random.nextBoolean());
+            long from = 1_704_067_200L + random.nextInt(366 * 24 * 3600);
+            long to = from + random.nextInt(120 * 24 * 3600);
+            ZonedDateTime fromTime = ZonedDateTime.ofInstant(Instant.ofEpochSecond(from), ZoneOffset.UTC);
+            ZonedDateTime toTime = ZonedDateTime.ofInstant(Instant.ofEpochSecond(to), ZoneOffset.UTC);
+
+            long expected = loop.calculate(pricing, fromTime, toTime).getAmount();
+            assertEquals(expected, closedForm.calculateCents(pricing, from, to));
+            assertEquals(expected, loop.calculateCents(pricing, from, to));
+        }
+    }
+
+    @Test
+    void shouldRejectEpochSecondsEndingBeforeStart() {
+        Pricing pricing = new Pricing(200, 1500, 24, false);
+
+        assertThrows(IllegalArgumentException.class, () -> closedForm.calculateCents(pricing, 120, 60));
+        assertEquals(0, closedForm.calculateCents(pricing, 0, 59));
+    }
+
+    @Test
+    void shouldFindFirstSecondWhenPriceChanges() {
+        Random random = new Random(11);
+        for (int i = 0; i < 200; i++) {
+            Pricing pricing = new Pricing(random.nextInt(500), random.nextInt(5000), 1 + random.nextInt(12), random.nextBoolean());
+            long from = 1_704_067_200L;
+            long now = from + random.nextInt(3 * 24 * 3600);
+            long current = closedForm.calculateCents(pricing, from, now);
+
+            long expected = PricingCalculator.NEVER;
+            for (long second = now + 1; second <= now + (pricing.getCapWindowHours() + 1) * 3600L; second++) {
+                if (closedForm.calculateCents(pricing, from, second) != current) {
+                    expected = second;
+                    break;
+                }
+            }
+            assertEquals(expected, closedForm.nextPriceChange(pricing, from, now),
+                    () -> "window " + pricing.getCapWindowHours() + " at " + (now - from) + "s");
+        }
+    }
+}
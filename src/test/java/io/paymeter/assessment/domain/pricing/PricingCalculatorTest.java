@@ -60,4 +60,22 @@ class PricingCalculatorTest {
 
         assertEquals(new Money(2300), result);
     }
+
+    @Test
+    void shouldFindNextPriceChangeAtHourBoundariesAndAcrossCap() {
+        Pricing pricing = new Pricing(200, 1500, 24, false);
+        long from = ZonedDateTime.of(2024, 2, 27, 0, 0, 0, 0, ZoneOffset.UTC).toEpochSecond();
+
+        assertEquals(from + 60, calculator.nextPriceChange(pricing, from, from));
+        assertEquals(from + 3660, calculator.nextPriceChange(pricing, from, from + 1800));
+        assertEquals(from + 24 * 3600 + 60, calculator.nextPriceChange(pricing, from, from + 8 * 3600));
+    }
+
+    @Test
+    void shouldReportNoPriceChangeWhenRateIsZero() {
+        Pricing pricing = new Pricing(0, 1500, 24, false);
+        long from = ZonedDateTime.of(2024, 2, 27, 0, 0, 0, 0, ZoneOffset.UTC).toEpochSecond();
+
+        assertEquals(PricingCalculator.NEVER, calculator.nextPriceChange(pricing, from, from + 3600));
+    }
 }
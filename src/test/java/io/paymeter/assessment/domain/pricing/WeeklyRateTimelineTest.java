@@ -0,0 +1,190 @@
+package io.paymeter.assessment.domain.pricing;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.DayOfWeek;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class WeeklyRateTimelineTest {
+
+    private static final ZoneId MADRID = ZoneId.of("Europe/Madrid");
+    private static final List<ZoneId> ZONES = List.of(ZoneOffset.UTC, MADRID, ZoneId.of("America/New_York"),
+            ZoneId.of("Australia/Lord_Howe"));
+
+    private final PricingCalculator loop = new PricingCalculator();
+    private final PricingCalculator closedForm = new ClosedFormPricingCalculator();
+
+    @Test
+    void shouldChargeEachHourAtTheRatesInEffectDuringIt() {
+        Pricing pricing = new Pricing(100, 5000, 24, false,
+                TariffRule.parseAll("MON-FRI 08:00-20:00 350"), MADRID);
+        // Monday 07:30 to 09:30: half an hour at 100 and half at 350, then a full hour at 350.
+        ZonedDateTime from = ZonedDateTime.of(2024, 2, 26, 7, 30, 0, 0, MADRID);
+
+        assertEquals(new Money(575), closedForm.calculate(pricing, from, from.plusHours(2)));
+        assertEquals(new Money(575), loop.calculate(pricing, from, from.plusHours(2)));
+        assertEquals(new Money(925), closedForm.calculate(pricing, from, from.plusHours(2).plusMinutes(1)));
+    }
+
+    @Test
+    void shouldHonorFirstHourFreeAndCapPerWindow() {
+        Pricing pricing = new Pricing(100, 1000, 12, true,
+                TariffRule.parseAll("SAT,SUN 00:00-00:00 400"), ZoneOffset.UTC);
+        ZonedDateTime saturday = ZonedDateTime.of(2024, 3, 2, 10, 0, 0, 0, ZoneOffset.UTC);
+
+        assertEquals(new Money(400), closedForm.calculate(pricing, saturday, saturday.plusHours(2)));
+        // Two full windows: the first loses its free hour but still reaches the cap, the second is capped.
+        assertEquals(new Money(2000), closedForm.calculate(pricing, saturday, saturday.plusHours(24)));
+        assertEquals(new Money(2000), loop.calculate(pricing, saturday, saturday.plusHours(24)));
+    }
+
+    @Test
+    void shouldWrapRulesPastMidnightAndTheEndOfTheWeek() {
+        WeeklyRateTimeline timeline = new Pricing(200, 5000, 24, false,
+                TariffRule.parseAll("SUN 22:00-06:00 50"), ZoneOffset.UTC).getTimeline();
+        long sunday23 = ZonedDateTime.of(2024, 3, 3, 23, 0, 0, 0, ZoneOffset.UTC).toEpochSecond();
+
+        assertEquals(50, timeline.rateAt(sunday23));
+        assertEquals(50, timeline.rateAt(sunday23 + 6 * 3600));
+        assertEquals(200, timeline.rateAt(sunday23 + 7 * 3600));
+        assertEquals(3, timeline.segments());
+        assertEquals(7 * 50 + 200, timeline.cents(sunday23, sunday23 + 8 * 3600));
+    }
+
+    @Test
+    void shouldLetLaterRulesWin() {
+        WeeklyRateTimeline timeline = new Pricing(100, 5000, 24, false,
+                TariffRule.parseAll("MON-SUN 00:00-00:00 300;WED 12:00-14:00 0"), ZoneOffset.UTC).getTimeline();
+        long wednesdayNoon = ZonedDateTime.of(2024, 2, 28, 12, 0, 0, 0, ZoneOffset.UTC).toEpochSecond();
+
+        assertEquals(0, timeline.rateAt(wednesdayNoon));
+        assertEquals(300, timeline.rateAt(wednesdayNoon - 1));
+        assertEquals(300, timeline.rateAt(wednesdayNoon + 2 * 3600));
+        assertEquals(3, timeline.segments());
+    }
+
+    @Test
+    void shouldFollowLocalTimeAcrossDaylightSavingTransition() {
+        Pricing pricing = new Pricing(100, 50_000, 48, false,
+                TariffRule.parseAll("MON-SUN 08:00-20:00 300"), MADRID);
+        // Saturday 2024-03-30 20:00 to Sunday 20:00 local: 23 hours on the instant time-line, of which
+        // the 12 from 08:00 to 20:00 on Sunday are peak.
+        ZonedDateTime from = ZonedDateTime.of(2024, 3, 30, 20, 0, 0, 0, MADRID);
+        ZonedDateTime to = ZonedDateTime.of(2024, 3, 31, 20, 0, 0, 0, MADRID);
+
+        assertEquals(new Money(11 * 100 + 12 * 300), closedForm.calculate(pricing, from, to));
+        assertEquals(new Money(11 * 100 + 12 * 300), loop.calculate(pricing, from, to));
+    }
+
+    @Test
+    void shouldPriceLikeFlatRateWhenRulesRepeatIt() {
+        Random random = new Random(11);
+        for (int i = 0; i < 5_000; i++) {
+            int rate = random.nextInt(500);
+            Pricing flat = new Pricing(rate, random.nextInt(5000), 1 + random.nextInt(48), random.nextBoolean());
+            Pricing scheduled = new Pricing(flat.getHourlyRateInCents(), flat.getCapInCents(), flat.getCapWindowHours(),
+                    flat.isFirstHourFree(), TariffRule.parseAll("MON-SUN 00:00-00:00 " + rate), MADRID);
+            long from = 1_704_067_200L + random.nextInt(366 * 24 * 3600);
+            long to = from + random.nextInt(40 * 24 * 3600);
+
+            assertEquals(closedForm.calculateCents(flat, from, to), closedForm.calculateCents(scheduled, from, to));
+        }
+    }
+
+    @Test
+    void shouldMatchLoopForRandomRules() {
+        Random random = new Random(42);
+        for (int i = 0; i < 5_000; i++) {
+            Pricing pricing = new Pricing(random.nextInt(500), random.nextInt(20_000), 1 + random.nextInt(48),
+                    random.nextBoolean(), randomRules(random), ZONES.get(random.nextInt(ZONES.size())));
+            ZonedDateTime from = ZonedDateTime.of(2024, 1, 1, 0, 0, 0, 0, ZoneOffset.UTC)
+                    .plusSeconds(random.nextInt(366 * 24 * 3600));
+            ZonedDateTime to = from.plusSeconds(random.nextInt(random.nextBoolean() ? 3 * 24 * 3600 : 60 * 24 * 3600));
+
+            assertEquals(loop.calculate(pricing, from, to), closedForm.calculate(pricing, from, to),
+                    () -> TariffRule.formatAll(pricing.getTariffRules()) + " from " + from + " to " + to);
+        }
+    }
+
+    @Test
+    void shouldFindPriceChangeAfterFreeWeekend() {
+        Pricing pricing = new Pricing(100, 300, 12, false,
+                TariffRule.parseAll("SAT,SUN 00:00-00:00 0"), ZoneOffset.UTC);
+        long fridayNight = ZonedDateTime.of(2024, 3, 1, 21, 0, 0, 0, ZoneOffset.UTC).toEpochSecond();
+        long saturdayMorning = fridayNight + 13 * 3600;
+        long mondayMidnight = ZonedDateTime.of(2024, 3, 4, 0, 0, 0, 0, ZoneOffset.UTC).toEpochSecond();
+
+        assertEquals(300, closedForm.calculateCents(pricing, fridayNight, saturdayMorning));
+        assertEquals(mondayMidnight + 60, closedForm.nextPriceChange(pricing, fridayNight, saturdayMorning));
+    }
+
+    @Test
+    void shouldFindPriceChangeLikeRepricingEveryCandidate() {
+        Random random = new Random(23);
+        for (int i = 0; i < 500; i++) {
+            Pricing pricing = new Pricing(random.nextInt(500), random.nextInt(20_000), 1 + random.nextInt(48),
+                    random.nextBoolean(), randomRules(random), ZONES.get(random.nextInt(ZONES.size())));
+            long from = ZonedDateTime.of(2024, 1, 1, 0, 0, 0, 0, ZoneOffset.UTC).toEpochSecond()
+                    + random.nextInt(366 * 24 * 3600);
+            long now = from + random.nextInt(3 * 24 * 3600);
+            long current = closedForm.calculateCents(pricing, from, now);
+
+            long expected = PricingCalculator.NEVER;
+            long elapsed = now - from;
+            long candidate = from + (elapsed < 60 ? 0 : (elapsed - 60) / 3600 + 1) * 3600 + 60;
+            for (int hour = 0; hour <= pricing.getCapWindowHours() + 7 * 24; hour++, candidate += 3600) {
+                if (closedForm.calculateCents(pricing, from, candidate) != current) {
+                    expected = candidate;
+                    break;
+                }
+            }
+            assertEquals(expected, closedForm.nextPriceChange(pricing, from, now),
+                    () -> TariffRule.formatAll(pricing.getTariffRules()) + " from " + from + " at " + (now - from) + "s");
+        }
+    }
+
+    @Test
+    void shouldParseAndFormatRules() {
+        List<TariffRule> rules = TariffRule.parseAll(" mon-wed,FRI 08:00-20:00 350 ; SUN 22:00-06:00 50 ;");
+
+        assertEquals(List.of(
+                new TariffRule(EnumSet.of(DayOfWeek.MONDAY, DayOfWeek.TUESDAY, DayOfWeek.WEDNESDAY, DayOfWeek.FRIDAY),
+                        LocalTime.of(8, 0), LocalTime.of(20, 0), 350),
+                new TariffRule(Set.of(DayOfWeek.SUNDAY), LocalTime.of(22, 0), LocalTime.of(6, 0), 50)), rules);
+        assertEquals("MON,TUE,WED,FRI 08:00-20:00 350;SUN 22:00-06:00 50", TariffRule.formatAll(rules));
+        assertEquals(rules, TariffRule.parseAll(TariffRule.formatAll(rules)));
+        assertEquals(List.of(), TariffRule.parseAll(""));
+        assertThrows(IllegalArgumentException.class, () -> TariffRule.parse("MON 08:00 350"));
+        assertThrows(IllegalArgumentException.class, () -> TariffRule.parse("XYZ 08:00-09:00 350"));
+        assertThrows(IllegalArgumentException.class, () -> TariffRule.parse("MON 08:00-09:00 -1"));
+    }
+
+    private static List<TariffRule> randomRules(Random random) {
+        List<TariffRule> rules = new ArrayList<>();
+        for (int i = 1 + random.nextInt(4); i > 0; i--) {
+            EnumSet<DayOfWeek> days = EnumSet.noneOf(DayOfWeek.class);
+            for (DayOfWeek day : DayOfWeek.values()) {
+                if (random.nextInt(3) == 0) {
+                    days.add(day);
+                }
+            }
+            if (days.isEmpty()) {
+                days.add(DayOfWeek.of(1 + random.nextInt(7)));
+            }
+            rules.add(new TariffRule(days, LocalTime.of(random.nextInt(24), 15 * random.nextInt(4)),
+                    LocalTime.of(random.nextInt(24), 15 * random.nextInt(4)), random.nextInt(800)));
+        }
+        return rules;
+    }
+}
@@ -0,0 +1,37 @@
+package io.paymeter.assessment.infrastructure.config;
+
+import io.paymeter.assessment.infrastructure.persistence.pricing.PricingEntity;
+import io.paymeter.assessment.infrastructure.web.parking.proto.CalculateRequest;
+import org.junit.jupiter.api.Test;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.predicate.RuntimeHintsPredicates;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class NativeHintsConfigTest {
+
+    private final RuntimeHints hints = new RuntimeHints();
+
+    NativeHintsConfigTest() {
+        new NativeHintsConfig.ApplicationRuntimeHints().registerHints(hints, getClass().getClassLoader());
+    }
+
+    @Test
+    void shouldLetProtobufCodecsCreateBuilders() throws NoSuchMethodException {
+        assertTrue(RuntimeHintsPredicates.reflection()
+                .onMethod(CalculateRequest.class.getMethod("newBuilder")).test(hints));
+        assertTrue(RuntimeHintsPredicates.reflection()
+                .onMethod(CalculateRequest.Builder.class.getMethod("build")).test(hints));
+    }
+
+    @Test
+    void shouldLetHibernatePopulateEntityFields() {
+        assertTrue(RuntimeHintsPredicates.reflection().onField(PricingEntity.class, "parkingId").test(hints));
+    }
+
+    @Test
+    void shouldShipSwaggerUiAssets() {
+        assertTrue(RuntimeHintsPredicates.resource()
+                .forResource("META-INF/resources/webjars/swagger-ui/5.10.3/index.html").test(hints));
+    }
+}
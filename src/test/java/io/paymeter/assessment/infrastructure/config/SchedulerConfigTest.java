@@ -0,0 +1,55 @@
+package io.paymeter.assessment.infrastructure.config;
+
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.test.StepVerifier;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SchedulerConfigTest {
+
+    private final SchedulerConfig config = new SchedulerConfig();
+
+    @Test
+    void shouldRunBlockingWorkOnVirtualThreads() {
+        Scheduler scheduler = config.blockingScheduler("virtual-threads");
+        try {
+            StepVerifier.create(Mono.fromCallable(() -> Thread.currentThread().isVirtual()).subscribeOn(scheduler))
+                    .expectNext(true)
+                    .verifyComplete();
+        } finally {
+            scheduler.dispose();
+        }
+    }
+
+    @Test
+    void shouldRunBlockingWorkOnBoundedElasticByDefault() {
+        Scheduler scheduler = config.blockingScheduler("bounded-elastic");
+
+        StepVerifier.create(Mono.fromCallable(() -> Thread.currentThread().isVirtual()).subscribeOn(scheduler))
+                .expectNext(false)
+                .verifyComplete();
+    }
+
+    @Test
+    void shouldRunNonBlockingWorkOnItsOwnDaemonThreads() {
+        Scheduler scheduler = config.parallelScheduler();
+        try {
+            StepVerifier.create(Mono.fromCallable(() -> Thread.currentThread()).subscribeOn(scheduler))
+                    .assertNext(thread -> {
+                        assertTrue(thread.isDaemon());
+                        assertTrue(thread.getName().startsWith("pricing-parallel"));
+                    })
+                    .verifyComplete();
+        } finally {
+            scheduler.dispose();
+        }
+    }
+
+    @Test
+    void shouldRejectUnknownScheduler() {
+        assertThrows(IllegalStateException.class, () -> config.blockingScheduler("fork-join"));
+    }
+}
@@ -0,0 +1,40 @@
+package io.paymeter.assessment.infrastructure.invalidation;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PostgresPricingInvalidationBusTest {
+
+    @Test
+    void shouldParseVersionAndParkingId() {
+        assertEquals(42, PostgresPricingInvalidationBus.parse("42:P000123").version());
+        assertEquals("P000123", PostgresPricingInvalidationBus.parse("42:P000123").parkingId());
+        assertNull(PostgresPricingInvalidationBus.parse("P000123"));
+        assertNull(PostgresPricingInvalidationBus.parse("x:P000123"));
+    }
+
+    @Test
+    void shouldCountFailedConnectsAndReportDisconnected() throws InterruptedException {
+        PostgresPricingInvalidationBus bus = new PostgresPricingInvalidationBus("jdbc:postgresql://127.0.0.1:1/parking",
+                "postgres", "postgres", Duration.ofSeconds(30), Duration.ofMillis(10));
+        try {
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (bus.getConnectFailureCount() < 2 && System.nanoTime() < deadline) {
+                Thread.sleep(5);
+            }
+            assertTrue(bus.getConnectFailureCount() >= 2);
+            assertFalse(bus.isConnected());
+            assertNotNull(bus.getLastFailure());
+        } finally {
+            bus.close();
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package io.paymeter.assessment.infrastructure.invalidation;
+
+import io.paymeter.assessment.application.pricing.LivePricingService;
+import io.paymeter.assessment.application.pricing.PricingAdminService;
+import io.paymeter.assessment.application.pricing.PricingInvalidation;
+import io.paymeter.assessment.application.pricing.PricingInvalidationListener;
+import io.paymeter.assessment.application.pricing.PricingService;
+import io.paymeter.assessment.domain.pricing.ClosedFormPricingCalculator;
+import io.paymeter.assessment.domain.pricing.Pricing;
+import io.paymeter.assessment.domain.pricing.WritablePricingRepository;
+import io.paymeter.assessment.infrastructure.persistence.pricing.CachingPricingRepository;
+import io.paymeter.assessment.infrastructure.persistence.pricing.InMemoryPricingRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.scheduler.Schedulers;
+import reactor.test.scheduler.VirtualTimeScheduler;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class PricingInvalidationBusTest {
+
+    private static final Pricing RAISED = new Pricing(5, 30, 24, false);
+
+    private final InProcessPricingInvalidationBus bus = new InProcessPricingInvalidationBus();
+    private final InMemoryPricingRepository store = new InMemoryPricingRepository();
+    private final VirtualTimeScheduler scheduler = VirtualTimeScheduler.create();
+    private final List<AutoCloseable> closeables = new ArrayList<>();
+
+    @AfterEach
+    void tearDown() throws Exception {
+        for (AutoCloseable closeable : closeables) {
+            closeable.close();
+        }
+        scheduler.dispose();
+    }
+
+    @Test
+    void shouldRefreshOtherInstancesAfterAdminWrite() {
+        Instance first = new Instance();
+        Instance second = new Instance();
+        assertEquals(2, second.repository.findById("P000123").block().getHourlyRateInCents());
+
+        first.admin.save("P000123", RAISED).block();
+
+        assertEquals(5, second.repository.findById("P000123").block().getHourlyRateInCents());
+        assertEquals(1, second.listener.getVersion());
+        assertEquals(1, second.listener.getEvictionCount());
+
+        first.admin.delete("P000456").block();
+
+        assertNull(second.repository.findById("P000456").block());
+        assertEquals(2, second.listener.getVersion());
+        assertEquals(2, first.listener.getVersion());
+    }
+
+    @Test
+    void shouldAnnounceCurrentVersionToNewSubscribers() {
+        bus.publish("P000123").block();
+        bus.publish("P000456").block();
+
+        List<PricingInvalidation> received = new ArrayList<>();
+        bus.invalidations().subscribe(received::add);
+        bus.publish("P000123").block();
+
+        assertEquals(List.of(PricingInvalidation.announcement(2), new PricingInvalidation(3, "P000123")), received);
+    }
+
+    @Test
+    void shouldParsePostgresPayloads() {
+        assertEquals(new PricingInvalidation(42, "P000123"), PostgresPricingInvalidationBus.parse("42:P000123"));
+        assertEquals(new PricingInvalidation(7, "a:b"), PostgresPricingInvalidationBus.parse("7:a:b"));
+        assertNull(PostgresPricingInvalidationBus.parse("P000123"));
+        assertNull(PostgresPricingInvalidationBus.parse("x:P000123"));
+        assertNull(PostgresPricingInvalidationBus.parse("42:"));
+        assertFalse(PostgresPricingInvalidationBus.parse("1:P1").isAnnouncement());
+    }
+
+    private final class Instance {
+
+        private final WritablePricingRepository repository = new CachingPricingRepository(store, 100,
+                Duration.ofMinutes(10), Duration.ofMinutes(8), Duration.ofSeconds(30), Schedulers.parallel());
+        private final PricingService pricingService = new PricingService(repository, new ClosedFormPricingCalculator(),
+                Clock.systemUTC());
+        private final LivePricingService live = new LivePricingService(repository, new ClosedFormPricingCalculator(),
+                Clock.systemUTC(), scheduler, Duration.ofSeconds(1));
+        private final PricingAdminService admin = new PricingAdminService(repository, pricingService, live, bus);
+        private final PricingInvalidationListener listener = new PricingInvalidationListener(bus, repository,
+                pricingService, live);
+
+        private Instance() {
+            closeables.add(listener);
+            closeables.add(live);
+        }
+    }
+}
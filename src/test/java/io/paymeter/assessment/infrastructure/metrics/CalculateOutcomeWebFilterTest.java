@@ -0,0 +1,56 @@
+package io.paymeter.assessment.infrastructure.metrics;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class CalculateOutcomeWebFilterTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final CalculateOutcomeWebFilter filter = new CalculateOutcomeWebFilter(new PricingMetrics(registry, "test"));
+
+    @Test
+    void shouldTagResponsesByOutcomeName() {
+        filter(HttpStatus.OK);
+        filter(HttpStatus.BAD_REQUEST);
+        filter(HttpStatus.NOT_FOUND);
+        filter(HttpStatus.TOO_MANY_REQUESTS);
+        filter(HttpStatus.SERVICE_UNAVAILABLE);
+
+        assertEquals(1, count("ok"));
+        assertEquals(1, count("bad_request"));
+        assertEquals(1, count("not_found"));
+        assertEquals(1, count("client_error"));
+        assertEquals(1, count("server_error"));
+    }
+
+    @Test
+    void shouldRecordCancelledExchangesUnderTheirOwnOutcome() {
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.post("/tickets/calculate"));
+
+        StepVerifier.create(filter.filter(exchange, ignored -> Mono.never()))
+                .thenAwait(Duration.ofMillis(10))
+                .thenCancel()
+                .verify();
+
+        assertEquals(1, count("cancelled"));
+        assertEquals(0, count("ok"));
+    }
+
+    private void filter(HttpStatus status) {
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.post("/tickets/calculate"));
+        filter.filter(exchange, ignored -> Mono.fromRunnable(() -> exchange.getResponse().setStatusCode(status))).block();
+    }
+
+    private double count(String outcome) {
+        return registry.get(PricingMetrics.REQUESTS_COUNTER).tag("outcome", outcome).counter().count();
+    }
+}
@@ -0,0 +1,119 @@
+package io.paymeter.assessment.infrastructure.persistence.pricing;
+
+import io.paymeter.assessment.domain.pricing.Pricing;
+import io.paymeter.assessment.domain.pricing.WritablePricingRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+import reactor.test.scheduler.VirtualTimeScheduler;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class BatchingPricingRepositoryTest {
+
+    private static final Pricing DAILY_CAP = new Pricing(200, 1500, 24, false);
+    private static final Pricing FREE_HOUR = new Pricing(300, 2000, 12, true);
+
+    private final List<Set<String>> queries = new ArrayList<>();
+    private RuntimeException failure;
+
+    private VirtualTimeScheduler timer;
+    private WritablePricingRepository delegate;
+
+    @BeforeEach
+    void setUp() {
+        timer = VirtualTimeScheduler.create();
+        delegate = new WritablePricingRepository() {
+            @Override
+            public Mono<Pricing> findById(String parkingId) {
+                throw new AssertionError("single-key lookups must be batched");
+            }
+
+            @Override
+            public Mono<Map<String, Pricing>> findAllByIds(Collection<String> parkingIds) {
+                queries.add(Set.copyOf(parkingIds));
+                if (failure != null) {
+                    return Mono.error(failure);
+                }
+                Map<String, Pricing> found = new HashMap<>(Map.of("P000123", DAILY_CAP, "P000456", FREE_HOUR));
+                found.keySet().retainAll(parkingIds);
+                return Mono.just(found);
+            }
+
+            @Override
+            public Mono<Pricing> save(String parkingId, Pricing pricing) {
+                throw new AssertionError("writes are not expected");
+            }
+
+            @Override
+            public Mono<Boolean> deleteById(String parkingId) {
+                throw new AssertionError("writes are not expected");
+            }
+        };
+    }
+
+    @AfterEach
+    void tearDown() {
+        timer.dispose();
+    }
+
+    @Test
+    void shouldResolveLookupsWithinWindowWithOneQuery() {
+        BatchingPricingRepository repository = new BatchingPricingRepository(delegate, Duration.ofMillis(1), 100, timer);
+
+        StepVerifier first = StepVerifier.create(repository.findById("P000123")).expectNext(DAILY_CAP).expectComplete().verifyLater();
+        StepVerifier second = StepVerifier.create(repository.findById("P000456")).expectNext(FREE_HOUR).expectComplete().verifyLater();
+        StepVerifier duplicate = StepVerifier.create(repository.findById("P000123")).expectNext(DAILY_CAP).expectComplete().verifyLater();
+        StepVerifier unknown = StepVerifier.create(repository.findById("UNKNOWN")).expectComplete().verifyLater();
+        assertEquals(0, queries.size());
+
+        timer.advanceTimeBy(Duration.ofMillis(1));
+
+        first.verify();
+        second.verify();
+        duplicate.verify();
+        unknown.verify();
+        assertEquals(List.of(Set.of("P000123", "P000456", "UNKNOWN")), queries);
+        assertEquals(1, repository.getBatchCount());
+        assertEquals(3, repository.getKeyCount());
+    }
+
+    @Test
+    void shouldDispatchAsSoonAsBatchIsFull() {
+        BatchingPricingRepository repository = new BatchingPricingRepository(delegate, Duration.ofSeconds(1), 2, timer);
+
+        StepVerifier first = StepVerifier.create(repository.findById("P000123")).expectNext(DAILY_CAP).expectComplete().verifyLater();
+        StepVerifier second = StepVerifier.create(repository.findById("P000456")).expectNext(FREE_HOUR).expectComplete().verifyLater();
+
+        first.verify();
+        second.verify();
+        assertEquals(List.of(Set.of("P000123", "P000456")), queries);
+
+        timer.advanceTimeBy(Duration.ofSeconds(1));
+        assertEquals(1, queries.size());
+    }
+
+    @Test
+    void shouldPropagateErrorToEveryCallerInBatch() {
+        failure = new IllegalStateException("database down");
+        BatchingPricingRepository repository = new BatchingPricingRepository(delegate, Duration.ofMillis(1), 100, timer);
+
+        StepVerifier first = StepVerifier.create(repository.findById("P000123")).expectError(IllegalStateException.class).verifyLater();
+        StepVerifier second = StepVerifier.create(repository.findById("P000456")).expectError(IllegalStateException.class).verifyLater();
+
+        timer.advanceTimeBy(Duration.ofMillis(1));
+
+        first.verify();
+        second.verify();
+    }
+}
@@ -0,0 +1,145 @@
+package io.paymeter.assessment.infrastructure.persistence.pricing;
+
+import io.paymeter.assessment.domain.pricing.Pricing;
+import io.paymeter.assessment.domain.pricing.WritablePricingRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class CachingPricingRepositoryTest {
+
+    private static final Pricing PRICING = new Pricing(200, 1500, 24, false);
+    private static final Pricing UPDATED_PRICING = new Pricing(250, 1800, 24, false);
+
+    private final Map<String, Pricing> store = new ConcurrentHashMap<>();
+    private final AtomicInteger lookups = new AtomicInteger();
+    private final AtomicLong nanos = new AtomicLong();
+
+    private CachingPricingRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        store.put("P000123", PRICING);
+        WritablePricingRepository delegate = new WritablePricingRepository() {
+            @Override
+            public Mono<Pricing> findById(String parkingId) {
+                return Mono.fromSupplier(() -> {
+                    lookups.incrementAndGet();
+                    return store.get(parkingId);
+                });
+            }
+
+            @Override
+            public Mono<Pricing> save(String parkingId, Pricing pricing) {
+                throw new AssertionError("writes are not expected");
+            }
+
+            @Override
+            public Mono<Boolean> deleteById(String parkingId) {
+                throw new AssertionError("writes are not expected");
+            }
+        };
+        repository = new CachingPricingRepository(delegate, 100,
+                Duration.ofMinutes(10), Duration.ofMinutes(8), Duration.ofSeconds(30),
+                nanos::get, Runnable::run);
+    }
+
+    @Test
+    void shouldServeRepeatedLookupsFromCache() {
+        StepVerifier.create(repository.findById("P000123")).expectNext(PRICING).verifyComplete();
+        StepVerifier.create(repository.findById("P000123")).expectNext(PRICING).verifyComplete();
+
+        assertEquals(1, lookups.get());
+        assertEquals(1, repository.stats().hitCount());
+        assertEquals(1, repository.stats().missCount());
+    }
+
+    @Test
+    void shouldCacheUnknownParkingForNegativeTtl() {
+        StepVerifier.create(repository.findById("UNKNOWN")).verifyComplete();
+        StepVerifier.create(repository.findById("UNKNOWN")).verifyComplete();
+        assertEquals(1, lookups.get());
+
+        advance(Duration.ofSeconds(31));
+
+        StepVerifier.create(repository.findById("UNKNOWN")).verifyComplete();
+        assertEquals(2, lookups.get());
+    }
+
+    @Test
+    void shouldRefreshAheadOfExpiry() {
+        StepVerifier.create(repository.findById("P000123")).expectNext(PRICING).verifyComplete();
+        store.put("P000123", UPDATED_PRICING);
+
+        advance(Duration.ofMinutes(9));
+        repository.findById("P000123").block();
+
+        StepVerifier.create(repository.findById("P000123")).expectNext(UPDATED_PRICING).verifyComplete();
+        assertEquals(2, lookups.get());
+        assertEquals(1, repository.stats().missCount());
+        assertEquals(0, repository.stats().evictionCount());
+    }
+
+    @Test
+    void shouldReloadAfterTtl() {
+        StepVerifier.create(repository.findById("P000123")).expectNext(PRICING).verifyComplete();
+        store.put("P000123", UPDATED_PRICING);
+
+        advance(Duration.ofMinutes(11));
+
+        StepVerifier.create(repository.findById("P000123")).expectNext(UPDATED_PRICING).verifyComplete();
+        assertEquals(2, lookups.get());
+        assertEquals(1, repository.stats().evictionCount());
+    }
+
+    private void advance(Duration duration) {
+        nanos.addAndGet(duration.toNanos());
+    }
+
+    @Test
+    void shouldWriteThroughSavesAndDeletes() {
+        WritablePricingRepository writable = new WritablePricingRepository() {
+            @Override
+            public Mono<Pricing> findById(String parkingId) {
+                return Mono.fromSupplier(() -> {
+                    lookups.incrementAndGet();
+                    return store.get(parkingId);
+                });
+            }
+
+            @Override
+            public Mono<Pricing> save(String parkingId, Pricing pricing) {
+                return Mono.fromSupplier(() -> {
+                    store.put(parkingId, pricing);
+                    return pricing;
+                });
+            }
+
+            @Override
+            public Mono<Boolean> deleteById(String parkingId) {
+                return Mono.fromSupplier(() -> store.remove(parkingId) != null);
+            }
+        };
+        CachingPricingRepository caching = new CachingPricingRepository(writable, 100,
+                Duration.ofMinutes(10), Duration.ofMinutes(8), Duration.ofSeconds(30),
+                nanos::get, Runnable::run);
+
+        StepVerifier.create(caching.findById("P000123")).expectNext(PRICING).verifyComplete();
+        StepVerifier.create(caching.save("P000123", UPDATED_PRICING)).expectNext(UPDATED_PRICING).verifyComplete();
+        StepVerifier.create(caching.findById("P000123")).expectNext(UPDATED_PRICING).verifyComplete();
+        assertEquals(1, lookups.get());
+
+        StepVerifier.create(caching.deleteById("P000123")).expectNext(true).verifyComplete();
+        StepVerifier.create(caching.findById("P000123")).verifyComplete();
+        assertEquals(2, lookups.get());
+    }
+}
@@ -0,0 +1,104 @@
+package io.paymeter.assessment.infrastructure.persistence.pricing;
+
+import io.paymeter.assessment.domain.pricing.Pricing;
+import io.paymeter.assessment.domain.pricing.WritablePricingRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.test.StepVerifier;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class CoalescingPricingRepositoryTest {
+
+    private static final Pricing PRICING = new Pricing(200, 1500, 24, false);
+
+    private final List<Sinks.One<Pricing>> lookups = new ArrayList<>();
+    private final AtomicInteger cancellations = new AtomicInteger();
+
+    private CoalescingPricingRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        WritablePricingRepository delegate = new WritablePricingRepository() {
+            @Override
+            public Mono<Pricing> findById(String parkingId) {
+                return Mono.defer(() -> {
+                    Sinks.One<Pricing> sink = Sinks.one();
+                    lookups.add(sink);
+                    return sink.asMono().doOnCancel(cancellations::incrementAndGet);
+                });
+            }
+
+            @Override
+            public Mono<Pricing> save(String parkingId, Pricing pricing) {
+                throw new AssertionError("writes are not expected");
+            }
+
+            @Override
+            public Mono<Boolean> deleteById(String parkingId) {
+                throw new AssertionError("writes are not expected");
+            }
+        };
+        repository = new CoalescingPricingRepository(delegate);
+    }
+
+    @Test
+    void shouldShareOneLookupAmongConcurrentCallers() {
+        StepVerifier first = StepVerifier.create(repository.findById("P000123")).expectNext(PRICING).expectComplete().verifyLater();
+        StepVerifier second = StepVerifier.create(repository.findById("P000123")).expectNext(PRICING).expectComplete().verifyLater();
+
+        lookups.get(0).tryEmitValue(PRICING);
+
+        first.verify();
+        second.verify();
+        assertEquals(1, lookups.size());
+        assertEquals(1, repository.getLookupCount());
+        assertEquals(1, repository.getCollapsedCount());
+    }
+
+    @Test
+    void shouldPropagateErrorToEveryCallerAndForgetIt() {
+        StepVerifier first = StepVerifier.create(repository.findById("P000123")).expectError(IllegalStateException.class).verifyLater();
+        StepVerifier second = StepVerifier.create(repository.findById("P000123")).expectError(IllegalStateException.class).verifyLater();
+
+        lookups.get(0).tryEmitError(new IllegalStateException("database down"));
+
+        first.verify();
+        second.verify();
+
+        repository.findById("P000123").subscribe();
+        assertEquals(2, lookups.size());
+    }
+
+    @Test
+    void shouldKeepLookupAliveWhileAnyCallerIsSubscribed() {
+        Disposable cancelled = repository.findById("P000123").subscribe();
+        StepVerifier remaining = StepVerifier.create(repository.findById("P000123")).expectNext(PRICING).expectComplete().verifyLater();
+
+        cancelled.dispose();
+        assertEquals(0, cancellations.get());
+
+        lookups.get(0).tryEmitValue(PRICING);
+        remaining.verify();
+    }
+
+    @Test
+    void shouldCancelLookupWhenAllCallersCancel() {
+        Disposable first = repository.findById("P000123").subscribe();
+        Disposable second = repository.findById("P000123").subscribe();
+
+        first.dispose();
+        second.dispose();
+        assertEquals(1, cancellations.get());
+
+        repository.findById("P000123").subscribe();
+        assertEquals(2, lookups.size());
+    }
+}
@@ -0,0 +1,26 @@
+package io.paymeter.assessment.infrastructure.persistence.pricing;
+
+import org.springframework.r2dbc.core.DatabaseClient;
+
+/**
+ * {@link R2dbcPricingRepository} for the H2 database the tests run on, which has no
+ * {@code ON CONFLICT ... DO UPDATE} even in PostgreSQL mode; its {@code MERGE} is just as atomic.
+ */
+class H2PricingRepository extends R2dbcPricingRepository {
+
+    private static final String UPSERT = """
+            MERGE INTO pricing (parking_id, hourly_rate_in_cents, cap_in_cents, first_hour_free, cap_window_hours,
+                                tariff_rules, time_zone)
+            KEY (parking_id)
+            VALUES (:parkingId, :hourlyRateInCents, :capInCents, :firstHourFree, :capWindowHours, :tariffRules, :timeZone)
+            """;
+
+    H2PricingRepository(DatabaseClient databaseClient) {
+        super(databaseClient);
+    }
+
+    @Override
+    String upsertStatement() {
+        return UPSERT;
+    }
+}
@@ -1,6 +1,8 @@
 package io.paymeter.assessment.infrastructure.persistence.pricing;
 
 import io.paymeter.assessment.domain.pricing.Pricing;
+import io.paymeter.assessment.domain.pricing.TariffRule;
+import io.paymeter.assessment.infrastructure.config.SchedulerConfig;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
@@ -9,11 +11,16 @@ import org.springframework.test.context.jdbc.Sql;
 import reactor.test.StepVerifier;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.transaction.annotation.Propagation;
+
+import java.time.ZoneId;
+import java.util.List;
+import java.util.Set;
+
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 
 @DataJpaTest
-@Import(JpaPricingRepository.class)
+@Import({JpaPricingRepository.class, SchedulerConfig.class})
 @Transactional(propagation = Propagation.NOT_SUPPORTED)
 class JpaPricingRepositoryTest {
 
@@ -41,4 +48,49 @@ class JpaPricingRepositoryTest {
         StepVerifier.create(pricingRepository.findById("UNKNOWN"))
                 .verifyComplete();
     }
+
+    @Test
+    @Sql(statements = {
+            "INSERT INTO pricing (parking_id, hourly_rate_in_cents, cap_in_cents, first_hour_free, cap_window_hours) VALUES ('P000789', 200, 1500, FALSE, 24);",
+            "INSERT INTO pricing (parking_id, hourly_rate_in_cents, cap_in_cents, first_hour_free, cap_window_hours) VALUES ('P000790', 300, 2000, TRUE, 12);"
+    })
+    void shouldFindSeveralPricingsWithOneQuery() {
+        StepVerifier.create(pricingRepository.findAllByIds(List.of("P000789", "P000790", "UNKNOWN")))
+                .assertNext(found -> {
+                    assertEquals(Set.of("P000789", "P000790"), found.keySet());
+                    assertEquals(12, found.get("P000790").getCapWindowHours());
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    void shouldCreateReplaceAndDeletePricing() {
+        Pricing pricing = new Pricing(100, 900, 12, true);
+        Pricing replaced = new Pricing(150, 1200, 24, false);
+
+        StepVerifier.create(pricingRepository.save("P000900", pricing)).expectNextCount(1).verifyComplete();
+        StepVerifier.create(pricingRepository.save("P000900", replaced)).expectNextCount(1).verifyComplete();
+        StepVerifier.create(pricingRepository.findById("P000900"))
+                .assertNext(found -> assertEquals(150, found.getHourlyRateInCents()))
+                .verifyComplete();
+
+        StepVerifier.create(pricingRepository.deleteById("P000900")).expectNext(true).verifyComplete();
+        StepVerifier.create(pricingRepository.deleteById("P000900")).expectNext(false).verifyComplete();
+        StepVerifier.create(pricingRepository.findById("P000900")).verifyComplete();
+    }
+
+    @Test
+    void shouldStoreTariffRulesAlongsidePricing() {
+        List<TariffRule> rules = TariffRule.parseAll("MON-FRI 08:00-20:00 350;SAT,SUN 00:00-00:00 150");
+        Pricing pricing = new Pricing(100, 2500, 24, true, rules, ZoneId.of("Europe/Madrid"));
+
+        StepVerifier.create(pricingRepository.save("P000901", pricing)).expectNextCount(1).verifyComplete();
+        StepVerifier.create(pricingRepository.findById("P000901"))
+                .assertNext(found -> {
+                    assertEquals(rules, found.getTariffRules());
+                    assertEquals(ZoneId.of("Europe/Madrid"), found.getTimeZone());
+                    assertEquals(350, found.getTimeline().rateAt(1709024400L)); // Tuesday 10:00 in Madrid
+                })
+                .verifyComplete();
+    }
 }
@@ -0,0 +1,93 @@
+package io.paymeter.assessment.infrastructure.persistence.pricing;
+
+import io.paymeter.assessment.domain.pricing.Pricing;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.data.r2dbc.DataR2dbcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.test.context.ActiveProfiles;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DataR2dbcTest
+@ActiveProfiles("r2dbc")
+@Import(H2PricingRepository.class)
+class R2dbcPricingRepositoryTest {
+
+    @Autowired
+    private DatabaseClient databaseClient;
+
+    @Autowired
+    private R2dbcPricingRepository pricingRepository;
+
+    @BeforeEach
+    void setUp() {
+        Flux.just(
+                        "DROP TABLE IF EXISTS pricing",
+                        "CREATE TABLE pricing (parking_id VARCHAR(32) PRIMARY KEY, hourly_rate_in_cents INTEGER NOT NULL, cap_in_cents INTEGER NOT NULL, first_hour_free BOOLEAN NOT NULL DEFAULT FALSE, cap_window_hours INTEGER NOT NULL, tariff_rules VARCHAR(1024) NOT NULL DEFAULT '', time_zone VARCHAR(64) NOT NULL DEFAULT 'UTC')",
+                        "INSERT INTO pricing (parking_id, hourly_rate_in_cents, cap_in_cents, first_hour_free, cap_window_hours) VALUES ('P000123', 200, 1500, FALSE, 24)",
+                        "INSERT INTO pricing (parking_id, hourly_rate_in_cents, cap_in_cents, first_hour_free, cap_window_hours) VALUES ('P000456', 300, 2000, TRUE, 12)")
+                .concatMap(statement -> databaseClient.sql(statement).then())
+                .blockLast();
+    }
+
+    @Test
+    void shouldFindPricingByParkingId() {
+        StepVerifier.create(pricingRepository.findById("P000456"))
+                .assertNext(pricing -> {
+                    assertEquals(300, pricing.getHourlyRateInCents());
+                    assertEquals(2000, pricing.getCapInCents());
+                    assertEquals(12, pricing.getCapWindowHours());
+                    assertTrue(pricing.isFirstHourFree());
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    void shouldReturnEmptyWhenParkingIdDoesNotExist() {
+        StepVerifier.create(pricingRepository.findById("UNKNOWN"))
+                .verifyComplete();
+    }
+
+    @Test
+    void shouldFindSeveralPricingsWithOneQuery() {
+        StepVerifier.create(pricingRepository.findAllByIds(List.of("P000123", "P000456", "UNKNOWN")))
+                .assertNext(found -> {
+                    assertEquals(Set.of("P000123", "P000456"), found.keySet());
+                    assertEquals(1500, found.get("P000123").getCapInCents());
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    void shouldCreateReplaceAndDeletePricing() {
+        StepVerifier.create(pricingRepository.save("P000900", new Pricing(100, 900, 12, true))).expectNextCount(1).verifyComplete();
+        StepVerifier.create(pricingRepository.save("P000900", new Pricing(150, 1200, 24, false))).expectNextCount(1).verifyComplete();
+        StepVerifier.create(pricingRepository.findById("P000900"))
+                .assertNext(found -> assertEquals(150, found.getHourlyRateInCents()))
+                .verifyComplete();
+
+        StepVerifier.create(pricingRepository.deleteById("P000900")).expectNext(true).verifyComplete();
+        StepVerifier.create(pricingRepository.deleteById("P000900")).expectNext(false).verifyComplete();
+        StepVerifier.create(pricingRepository.findById("P000900")).verifyComplete();
+    }
+
+    @Test
+    void shouldCreateNewParkingFromConcurrentSaves() {
+        StepVerifier.create(Flux.range(0, 8)
+                        .flatMap(i -> pricingRepository.save("P000901", new Pricing(100 + i, 900, 12, false))))
+                .expectNextCount(8)
+                .verifyComplete();
+
+        StepVerifier.create(pricingRepository.findById("P000901")).expectNextCount(1).verifyComplete();
+        StepVerifier.create(pricingRepository.deleteById("P000901")).expectNext(true).verifyComplete();
+    }
+}
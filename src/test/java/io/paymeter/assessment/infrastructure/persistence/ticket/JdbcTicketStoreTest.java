@@ -0,0 +1,44 @@
+package io.paymeter.assessment.infrastructure.persistence.ticket;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.JdbcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.jdbc.Sql;
+
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@JdbcTest
+@Import(JdbcTicketStore.class)
+@Sql(statements = "CREATE TABLE tickets (id BIGINT AUTO_INCREMENT PRIMARY KEY, parking_id VARCHAR(32) NOT NULL, from_time TIMESTAMP WITH TIME ZONE NOT NULL, to_time TIMESTAMP WITH TIME ZONE NOT NULL, duration_minutes BIGINT NOT NULL, price_cents INTEGER NOT NULL, currency CHAR(3) NOT NULL, calculated_at TIMESTAMP WITH TIME ZONE NOT NULL)")
+class JdbcTicketStoreTest {
+
+    private static final OffsetDateTime FROM = OffsetDateTime.of(2024, 2, 27, 9, 0, 0, 0, ZoneOffset.UTC);
+
+    @Autowired
+    private JdbcTicketStore ticketStore;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void shouldInsertBatchesLargerThanOneStatement() {
+        List<CalculatedTicket> tickets = IntStream.range(0, JdbcTicketStore.ROWS_PER_STATEMENT + 5)
+                .mapToObj(i -> new CalculatedTicket("P000123", FROM, FROM.plusMinutes(i), i, i * 2, "EUR", FROM.plusHours(1)))
+                .toList();
+
+        ticketStore.insertAll(tickets).block();
+
+        assertEquals(tickets.size(), jdbcTemplate.queryForObject("SELECT COUNT(*) FROM tickets", Integer.class));
+        assertEquals(2 * (JdbcTicketStore.ROWS_PER_STATEMENT + 4), jdbcTemplate.queryForObject(
+                "SELECT MAX(price_cents) FROM tickets WHERE parking_id = 'P000123'", Integer.class));
+        assertEquals(FROM.plusMinutes(3).toInstant(), jdbcTemplate.queryForObject(
+                "SELECT to_time FROM tickets WHERE duration_minutes = 3", OffsetDateTime.class).toInstant());
+    }
+}
@@ -0,0 +1,205 @@
+package io.paymeter.assessment.infrastructure.persistence.ticket;
+
+import io.paymeter.assessment.application.pricing.dto.CalculationResult;
+import io.paymeter.assessment.domain.pricing.Money;
+import io.paymeter.assessment.infrastructure.persistence.ticket.WriteBehindCalculationRecorder.OverflowPolicy;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+import reactor.test.StepVerifier;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class WriteBehindCalculationRecorderTest {
+
+    private static final ZonedDateTime FROM = ZonedDateTime.ofInstant(Instant.parse("2024-02-27T09:00:00Z"), ZoneOffset.UTC);
+    private static final Clock CLOCK = Clock.fixed(Instant.parse("2024-02-27T10:00:00Z"), ZoneOffset.UTC);
+
+    private final BlockingQueue<List<CalculatedTicket>> batches = new LinkedBlockingQueue<>();
+    private final CountDownLatch storeEntered = new CountDownLatch(1);
+    private final CountDownLatch storeReleased = new CountDownLatch(1);
+    private WriteBehindCalculationRecorder recorder;
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        storeReleased.countDown();
+        recorder.close();
+    }
+
+    @Test
+    void shouldFlushFullBatches() throws InterruptedException {
+        recorder = recorder(this::collect, 10, 2, Duration.ofMinutes(1), OverflowPolicy.DROP);
+
+        for (int i = 0; i < 4; i++) {
+            recorder.record(result("P00000" + i)).block();
+        }
+
+        assertEquals(2, batches.poll(5, TimeUnit.SECONDS).size());
+        assertEquals(2, batches.poll(5, TimeUnit.SECONDS).size());
+        assertEquals(2, recorder.getBatchCount());
+    }
+
+    @Test
+    void shouldFlushPartialBatchAfterInterval() throws InterruptedException {
+        recorder = recorder(this::collect, 10, 100, Duration.ofMillis(50), OverflowPolicy.DROP);
+
+        recorder.record(result("P000123")).block();
+        recorder.record(result("P000456")).block();
+
+        List<CalculatedTicket> batch = batches.poll(5, TimeUnit.SECONDS);
+        assertEquals(List.of("P000123", "P000456"), batch.stream().map(CalculatedTicket::parkingId).toList());
+        CalculatedTicket ticket = batch.get(0);
+        assertEquals(FROM.toOffsetDateTime(), ticket.from());
+        assertEquals(60, ticket.durationMinutes());
+        assertEquals(200, ticket.priceCents());
+        assertEquals("EUR", ticket.currency());
+        assertEquals(CLOCK.instant(), ticket.calculatedAt().toInstant());
+    }
+
+    @Test
+    void shouldDropWhenFullAndPolicyIsDrop() throws InterruptedException {
+        recorder = recorder(this::blockThenCollect, 1, 1, Duration.ofMillis(10), OverflowPolicy.DROP);
+        recorder.record(result("P000001")).block();
+        assertTrue(storeEntered.await(5, TimeUnit.SECONDS));
+
+        recorder.record(result("P000002")).block();
+        recorder.record(result("P000003")).block();
+
+        assertEquals(1, recorder.getDroppedCount());
+    }
+
+    @Test
+    void shouldWaitForRoomWhenPolicyIsBlock() throws InterruptedException {
+        recorder = recorder(this::blockThenCollect, 1, 1, Duration.ofMillis(10), OverflowPolicy.BLOCK);
+        recorder.record(result("P000001")).block();
+        assertTrue(storeEntered.await(5, TimeUnit.SECONDS));
+        recorder.record(result("P000002")).block();
+
+        Mono<Void> blocked = recorder.record(result("P000003"));
+        StepVerifier.create(blocked)
+                .expectSubscription()
+                .expectNoEvent(Duration.ofMillis(100))
+                .then(storeReleased::countDown)
+                .verifyComplete();
+
+        assertEquals(0, recorder.getDroppedCount());
+    }
+
+    @Test
+    void shouldDropWhenBlockTimesOut() throws InterruptedException {
+        recorder = recorder(this::blockThenCollect, 1, 1, Duration.ofMillis(10), OverflowPolicy.BLOCK);
+        recorder.record(result("P000001")).block();
+        assertTrue(storeEntered.await(5, TimeUnit.SECONDS));
+        recorder.record(result("P000002")).block();
+
+        recorder.record(result("P000003")).block(Duration.ofSeconds(5));
+
+        assertEquals(1, recorder.getDroppedCount());
+    }
+
+    @Test
+    void shouldWriteEverythingQueuedOnClose() throws InterruptedException {
+        recorder = recorder(this::collect, 10, 100, Duration.ofMinutes(1), OverflowPolicy.DROP);
+        recorder.record(result("P000001")).block();
+        recorder.record(result("P000002")).block();
+        recorder.record(result("P000003")).block();
+
+        recorder.close();
+
+        assertEquals(3, batches.poll().size());
+        assertEquals(3, recorder.getInsertedCount());
+        recorder.record(result("P000004")).block();
+        assertEquals(1, recorder.getDroppedCount());
+    }
+
+    @Test
+    void shouldRetryFailedBatches() throws InterruptedException {
+        AtomicInteger failures = new AtomicInteger(2);
+        recorder = recorder(tickets -> failures.getAndDecrement() > 0
+                ? Mono.error(new IllegalStateException("connection refused"))
+                : collect(tickets), 10, 1, Duration.ofMillis(10), OverflowPolicy.DROP, 3);
+
+        recorder.record(result("P000001")).block();
+
+        assertEquals("P000001", batches.poll(5, TimeUnit.SECONDS).get(0).parkingId());
+        assertEquals(2, recorder.getRetriedCount());
+        assertEquals(0, recorder.getFailedCount());
+        assertNull(recorder.getLastFailure());
+    }
+
+    @Test
+    void shouldRequeueBatchesThatKeepFailingOnceAndKeepWriting() throws InterruptedException {
+        recorder = recorder(tickets -> tickets.get(0).parkingId().equals("P000001")
+                ? Mono.error(new IllegalStateException("connection refused"))
+                : collect(tickets), 10, 1, Duration.ofMillis(10), OverflowPolicy.DROP, 2);
+
+        recorder.record(result("P000001")).block();
+        recorder.record(result("P000002")).block();
+
+        assertEquals("P000002", batches.poll(5, TimeUnit.SECONDS).get(0).parkingId());
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (recorder.getFailedCount() == 0 && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        assertEquals(1, recorder.getRequeuedCount());
+        assertEquals(1, recorder.getFailedCount());
+        assertEquals("connection refused", recorder.getLastFailure().cause().getMessage());
+        assertNull(batches.poll());
+
+        recorder.record(result("P000003")).block();
+        assertEquals("P000003", batches.poll(5, TimeUnit.SECONDS).get(0).parkingId());
+        // The store hands the batch over before the writer sees the insert complete.
+        deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (recorder.getLastFailure() != null && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        assertNull(recorder.getLastFailure());
+    }
+
+    private WriteBehindCalculationRecorder recorder(TicketStore store, int capacity, int batchSize,
+                                                    Duration flushInterval, OverflowPolicy policy) {
+        return recorder(store, capacity, batchSize, flushInterval, policy, 1);
+    }
+
+    private WriteBehindCalculationRecorder recorder(TicketStore store, int capacity, int batchSize,
+                                                    Duration flushInterval, OverflowPolicy policy, int maxAttempts) {
+        return new WriteBehindCalculationRecorder(store, capacity, batchSize, flushInterval, policy,
+                Duration.ofMillis(200), Duration.ofSeconds(5), maxAttempts, Duration.ofMillis(1),
+                Schedulers.boundedElastic(), CLOCK);
+    }
+
+    private Mono<Void> collect(List<CalculatedTicket> tickets) {
+        return Mono.fromRunnable(() -> batches.add(tickets));
+    }
+
+    private Mono<Void> blockThenCollect(List<CalculatedTicket> tickets) {
+        return Mono.fromRunnable(() -> {
+            storeEntered.countDown();
+            try {
+                storeReleased.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            batches.add(tickets);
+        });
+    }
+
+    private static CalculationResult result(String parkingId) {
+        return new CalculationResult(parkingId, FROM, FROM.plusHours(1), 60, new Money(200));
+    }
+}
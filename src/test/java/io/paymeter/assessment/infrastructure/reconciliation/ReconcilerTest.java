@@ -0,0 +1,121 @@
+package io.paymeter.assessment.infrastructure.reconciliation;
+
+import io.paymeter.assessment.domain.pricing.ClosedFormPricingCalculator;
+import io.paymeter.assessment.infrastructure.persistence.pricing.InMemoryPricingRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ReconcilerTest {
+
+    private static final long NINE = 1709024400L; // 2024-02-27T09:00:00Z
+    private static final long HOUR = 3600;
+
+    @TempDir
+    Path dir;
+
+    private Reconciler reconciler(long chunkSize) {
+        return new Reconciler(new InMemoryPricingRepository(), new ClosedFormPricingCalculator(),
+                4, chunkSize, Duration.ofSeconds(1));
+    }
+
+    @Test
+    void shouldReconcileCsvAcrossChunks() throws IOException {
+        Path input = dir.resolve("tickets.csv");
+        Files.writeString(input, """
+                ticket_id,parking_id,from_epoch_second,to_epoch_second,charged_cents
+                T1,P000123,%d,%d,2
+                T2,P000456,%d,%d,6\r
+                T3,P999999,%d,%d,2
+
+                T4,P000123,%d,%d,0
+                T5,P000123,not-a-date,%d,2
+                T6,P000123,%d,%d,2
+                """.formatted(NINE, NINE + HOUR, NINE, NINE + 2 * HOUR, NINE, NINE + HOUR,
+                NINE, NINE + 30, NINE + HOUR, NINE + HOUR, NINE));
+        Path output = dir.resolve("out.csv");
+        Reconciler reconciler = reconciler(64);
+
+        ReconciliationReport report = reconciler.reconcile(input, TicketFileFormat.CSV, output, false);
+
+        assertEquals(6, report.tickets());
+        assertEquals(2, report.matched());
+        assertEquals(1, report.mismatched());
+        assertEquals(1, report.unknownParking());
+        assertEquals(2, report.invalid());
+        assertEquals(8, report.chargedCents());
+        assertEquals(5, report.expectedCents());
+        assertEquals(6, reconciler.processed());
+        assertFalse(report.isClean());
+        List<String> lines = Files.readAllLines(output);
+        assertEquals("ticket_id,parking_id,charged_cents,expected_cents,status", lines.get(0));
+        assertEquals(List.of(
+                "T1,P000123,2,2,MATCH",
+                "T2,P000456,6,3,MISMATCH",
+                "T3,P999999,2,,UNKNOWN_PARKING",
+                "T4,P000123,0,0,MATCH",
+                "T5,P000123,,,INVALID",
+                "T6,P000123,2,,INVALID"
+        ), lines.subList(1, lines.size()).stream().sorted().toList());
+    }
+
+    @Test
+    void shouldWriteOnlyMismatchesFromBinaryFile() throws IOException {
+        Path input = dir.resolve("tickets.bin");
+        ByteBuffer records = ByteBuffer.allocate(3 * TicketFileFormat.RECORD_SIZE);
+        record(records, 1, "P000123", NINE, NINE + HOUR, 2);
+        record(records, 2, "P000456", NINE, NINE + 2 * HOUR, 3);
+        record(records, 3, "P000123", NINE, NINE + 3 * HOUR, 5);
+        Files.write(input, records.array());
+        Path output = dir.resolve("mismatches.csv");
+
+        ReconciliationReport report = reconciler(TicketFileFormat.RECORD_SIZE).reconcile(input, TicketFileFormat.BINARY, output, true);
+
+        assertEquals(3, report.tickets());
+        assertEquals(2, report.matched());
+        assertEquals(1, report.mismatched());
+        assertEquals(List.of("ticket_id,parking_id,charged_cents,expected_cents,status", "3,P000123,5,6,MISMATCH"),
+                Files.readAllLines(output));
+    }
+
+    @Test
+    void shouldCutCsvChunksAtLineStarts() throws IOException {
+        Path input = dir.resolve("lines.csv");
+        Files.writeString(input, "a,b\nccccc,d\ne\n");
+
+        try (FileChannel channel = FileChannel.open(input)) {
+            assertEquals(4, TicketFileFormat.CSV.chunkStart(channel, 4));
+            assertEquals(12, TicketFileFormat.CSV.chunkStart(channel, 5));
+            assertEquals(14, TicketFileFormat.CSV.chunkStart(channel, 13));
+        }
+    }
+
+    @Test
+    void shouldRejectTruncatedBinaryFile() throws IOException {
+        Path input = dir.resolve("truncated.bin");
+        Files.write(input, new byte[TicketFileFormat.RECORD_SIZE + 1]);
+
+        assertThrows(IllegalArgumentException.class,
+                () -> reconciler(1024).reconcile(input, TicketFileFormat.BINARY, dir.resolve("out.csv"), false));
+    }
+
+    private static void record(ByteBuffer buffer, long ticketId, String parkingId, long from, long to, long charged) {
+        buffer.putLong(ticketId);
+        byte[] id = new byte[16];
+        byte[] ascii = parkingId.getBytes(StandardCharsets.US_ASCII);
+        System.arraycopy(ascii, 0, id, 0, ascii.length);
+        buffer.put(id).putLong(from).putLong(to).putLong(charged);
+    }
+}
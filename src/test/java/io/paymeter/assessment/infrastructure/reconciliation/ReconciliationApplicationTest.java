@@ -0,0 +1,38 @@
+package io.paymeter.assessment.infrastructure.reconciliation;
+
+import io.paymeter.assessment.application.pricing.CalculationRecorder;
+import io.paymeter.assessment.application.pricing.LivePricingService;
+import io.paymeter.assessment.application.pricing.PricingInvalidationListener;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ReconciliationApplicationTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void shouldStartOnlyWhatReconciliationNeeds() throws IOException {
+        Path input = Files.writeString(dir.resolve("tickets.csv"), "1,P000123,1709024400,1709031600,4\n");
+        Path output = dir.resolve("reconciliation.csv");
+
+        try (ConfigurableApplicationContext context = ReconciliationApplication.application().run(
+                "--spring.profiles.active=in-memory",
+                "--reconciliation.input=" + input,
+                "--reconciliation.output=" + output)) {
+            assertEquals(0, context.getBeanNamesForType(LivePricingService.class).length);
+            assertEquals(0, context.getBeanNamesForType(CalculationRecorder.class).length);
+            assertEquals(0, context.getBeanNamesForType(PricingInvalidationListener.class).length);
+
+            assertTrue(context.getBean(ReconciliationCommand.class).run().isClean());
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package io.paymeter.assessment.infrastructure.security;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.LockedException;
+import org.springframework.security.authentication.UserDetailsRepositoryReactiveAuthenticationManager;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.userdetails.ReactiveUserDetailsService;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class CachingReactiveAuthenticationManagerTest {
+
+    private final BCryptPasswordEncoder encoder = new BCryptPasswordEncoder(4);
+    private final AtomicInteger verifications = new AtomicInteger();
+    private final AtomicLong nanos = new AtomicLong();
+    private final AtomicReference<UserDetails> user = new AtomicReference<>();
+
+    private CachingReactiveAuthenticationManager authenticationManager;
+
+    @BeforeEach
+    void setUp() {
+        user.set(User.withUsername("user").password(encoder.encode("password")).roles("USER").build());
+        ReactiveUserDetailsService users = username -> Mono.justOrEmpty(user.get())
+                .filter(found -> found.getUsername().equals(username));
+        PasswordEncoder counting = new PasswordEncoder() {
+            @Override
+            public String encode(CharSequence rawPassword) {
+                return encoder.encode(rawPassword);
+            }
+
+            @Override
+            public boolean matches(CharSequence rawPassword, String encodedPassword) {
+                verifications.incrementAndGet();
+                return encoder.matches(rawPassword, encodedPassword);
+            }
+        };
+        UserDetailsRepositoryReactiveAuthenticationManager delegate = new UserDetailsRepositoryReactiveAuthenticationManager(users);
+        delegate.setPasswordEncoder(counting);
+        authenticationManager = new CachingReactiveAuthenticationManager(users, delegate, 100, Duration.ofMinutes(1), nanos::get);
+    }
+
+    @Test
+    void shouldVerifyRepeatedCredentialsOnce() {
+        StepVerifier.create(authenticate("user", "password")).expectNextCount(1).verifyComplete();
+        StepVerifier.create(authenticate("user", "password")).expectNextCount(1).verifyComplete();
+
+        assertEquals(1, verifications.get());
+    }
+
+    @Test
+    void shouldNotCacheFailedAttempts() {
+        StepVerifier.create(authenticate("user", "wrong")).expectError(BadCredentialsException.class).verify();
+        StepVerifier.create(authenticate("user", "wrong")).expectError(BadCredentialsException.class).verify();
+        StepVerifier.create(authenticate("user", "password")).expectNextCount(1).verifyComplete();
+
+        assertEquals(3, verifications.get());
+    }
+
+    @Test
+    void shouldVerifyAgainAfterTtl() {
+        StepVerifier.create(authenticate("user", "password")).expectNextCount(1).verifyComplete();
+        nanos.addAndGet(Duration.ofMinutes(1).toNanos() + 1);
+        StepVerifier.create(authenticate("user", "password")).expectNextCount(1).verifyComplete();
+
+        assertEquals(2, verifications.get());
+    }
+
+    @Test
+    void shouldForgetVerificationOnceThePasswordChanges() {
+        StepVerifier.create(authenticate("user", "password")).expectNextCount(1).verifyComplete();
+        user.set(User.withUsername("user").password(encoder.encode("changed")).roles("USER").build());
+
+        StepVerifier.create(authenticate("user", "password")).expectError(BadCredentialsException.class).verify();
+        StepVerifier.create(authenticate("user", "changed")).expectNextCount(1).verifyComplete();
+    }
+
+    @Test
+    void shouldForgetVerificationOnceTheAccountIsLocked() {
+        StepVerifier.create(authenticate("user", "password")).expectNextCount(1).verifyComplete();
+        user.set(User.withUserDetails(user.get()).accountLocked(true).build());
+
+        StepVerifier.create(authenticate("user", "password")).expectError(LockedException.class).verify();
+    }
+
+    private Mono<?> authenticate(String username, String password) {
+        return authenticationManager.authenticate(UsernamePasswordAuthenticationToken.unauthenticated(username, password));
+    }
+}
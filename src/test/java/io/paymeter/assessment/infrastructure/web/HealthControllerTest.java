@@ -0,0 +1,80 @@
+package io.paymeter.assessment.infrastructure.web;
+
+import io.paymeter.assessment.domain.pricing.PricingRepository;
+import io.paymeter.assessment.infrastructure.config.SecurityConfig;
+import io.paymeter.assessment.infrastructure.web.parking.StartupWarmUp;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.WebFluxTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Mono;
+
+import static org.mockito.Mockito.when;
+
+@WebFluxTest(controllers = HealthController.class, properties = "health.readiness.repository-timeout=200ms")
+@Import(SecurityConfig.class)
+class HealthControllerTest {
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @MockBean
+    private StartupWarmUp startupWarmUp;
+
+    @MockBean
+    private PricingRepository pricingRepository;
+
+    @Test
+    void shouldBeLiveWithoutAuthentication() {
+        webTestClient.get()
+                .uri("/health/live")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(String.class).isEqualTo("ok");
+    }
+
+    @Test
+    void shouldBeReadyOnceWarmedUpAndConnected() {
+        when(startupWarmUp.isComplete()).thenReturn(true);
+        when(pricingRepository.checkConnection()).thenReturn(Mono.empty());
+
+        webTestClient.get()
+                .uri("/health/ready")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.status").isEqualTo("UP")
+                .jsonPath("$.warmUp").isEqualTo("UP")
+                .jsonPath("$.repository").isEqualTo("UP");
+    }
+
+    @Test
+    void shouldNotBeReadyDuringWarmUp() {
+        when(startupWarmUp.isComplete()).thenReturn(false);
+        when(pricingRepository.checkConnection()).thenReturn(Mono.empty());
+
+        webTestClient.get()
+                .uri("/health/ready")
+                .exchange()
+                .expectStatus().isEqualTo(503)
+                .expectBody()
+                .jsonPath("$.status").isEqualTo("DOWN")
+                .jsonPath("$.warmUp").isEqualTo("DOWN")
+                .jsonPath("$.repository").isEqualTo("UP");
+    }
+
+    @Test
+    void shouldNotBeReadyWhenRepositoryIsUnreachable() {
+        when(startupWarmUp.isComplete()).thenReturn(true);
+        when(pricingRepository.checkConnection()).thenReturn(Mono.never());
+
+        webTestClient.get()
+                .uri("/health/ready")
+                .exchange()
+                .expectStatus().isEqualTo(503)
+                .expectBody()
+                .jsonPath("$.repository").isEqualTo("DOWN");
+    }
+}
@@ -0,0 +1,125 @@
+package io.paymeter.assessment.infrastructure.web.admin;
+
+import io.paymeter.assessment.application.pricing.PricingAdminService;
+import io.paymeter.assessment.application.shared.NotFoundException;
+import io.paymeter.assessment.domain.pricing.Pricing;
+import io.paymeter.assessment.infrastructure.config.SecurityConfig;
+import io.paymeter.assessment.infrastructure.web.parking.ApiExceptionHandler;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.WebFluxTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Mono;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@WebFluxTest(controllers = PricingAdminController.class)
+@Import({ApiExceptionHandler.class, SecurityConfig.class})
+class PricingAdminControllerTest {
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @MockBean
+    private PricingAdminService pricingAdminService;
+
+    @Test
+    void shouldRequireAuthentication() {
+        webTestClient.get()
+                .uri("/admin/pricings/P000123")
+                .exchange()
+                .expectStatus().isUnauthorized();
+    }
+
+    @Test
+    @WithMockUser(username = "user", roles = "USER")
+    void shouldSavePricing() {
+        Pricing pricing = new Pricing(250, 1800, 24, false);
+        when(pricingAdminService.save(eq("P000123"), any(Pricing.class))).thenReturn(Mono.just(pricing));
+
+        webTestClient.put()
+                .uri("/admin/pricings/P000123")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("""
+                        {"hourlyRateInCents": 250, "capInCents": 1800, "capWindowHours": 24, "firstHourFree": false}
+                        """)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.parkingId").isEqualTo("P000123")
+                .jsonPath("$.hourlyRateInCents").isEqualTo(250)
+                .jsonPath("$.capWindowHours").isEqualTo(24);
+    }
+
+    @Test
+    @WithMockUser(username = "user", roles = "USER")
+    void shouldRejectIncompletePricing() {
+        webTestClient.put()
+                .uri("/admin/pricings/P000123")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("""
+                        {"hourlyRateInCents": 250}
+                        """)
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("$.code").isEqualTo("BAD_REQUEST");
+        verifyNoInteractions(pricingAdminService);
+    }
+
+    @Test
+    @WithMockUser(username = "user", roles = "USER")
+    void shouldSaveTariffRules() {
+        when(pricingAdminService.save(eq("P000123"), any(Pricing.class)))
+                .thenAnswer(invocation -> Mono.just(invocation.getArgument(1)));
+
+        webTestClient.put()
+                .uri("/admin/pricings/P000123")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("""
+                        {"hourlyRateInCents": 100, "capInCents": 1800, "capWindowHours": 24, "firstHourFree": false,
+                         "timeZone": "Europe/Madrid",
+                         "tariffRules": [{"days": ["FRIDAY", "MONDAY"], "from": "08:00", "to": "20:00", "hourlyRateInCents": 350}]}
+                        """)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.timeZone").isEqualTo("Europe/Madrid")
+                .jsonPath("$.tariffRules[0].days[0]").isEqualTo("MONDAY")
+                .jsonPath("$.tariffRules[0].from").isEqualTo("08:00:00")
+                .jsonPath("$.tariffRules[0].hourlyRateInCents").isEqualTo(350);
+    }
+
+    @Test
+    @WithMockUser(username = "user", roles = "USER")
+    void shouldRejectUnknownTimeZone() {
+        webTestClient.put()
+                .uri("/admin/pricings/P000123")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("""
+                        {"hourlyRateInCents": 100, "capInCents": 1800, "capWindowHours": 24, "firstHourFree": false,
+                         "timeZone": "Mars/Olympus"}
+                        """)
+                .exchange()
+                .expectStatus().isBadRequest();
+        verifyNoInteractions(pricingAdminService);
+    }
+
+    @Test
+    @WithMockUser(username = "user", roles = "USER")
+    void shouldReturnNotFoundWhenDeletingUnknownParking() {
+        when(pricingAdminService.delete("UNKNOWN")).thenReturn(Mono.error(new NotFoundException("Parking not found")));
+
+        webTestClient.delete()
+                .uri("/admin/pricings/UNKNOWN")
+                .exchange()
+                .expectStatus().isNotFound();
+    }
+}
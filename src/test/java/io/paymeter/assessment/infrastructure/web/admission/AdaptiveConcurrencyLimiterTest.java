@@ -0,0 +1,86 @@
+package io.paymeter.assessment.infrastructure.web.admission;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AdaptiveConcurrencyLimiterTest {
+
+    private static final long FAST = TimeUnit.MILLISECONDS.toNanos(1);
+    private static final long SLOW = TimeUnit.MILLISECONDS.toNanos(20);
+
+    @Test
+    void shouldRejectOnceLimitIsInFlight() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(2, 1, 10, 1.5);
+
+        assertTrue(limiter.tryAcquire());
+        assertTrue(limiter.tryAcquire());
+        assertFalse(limiter.tryAcquire());
+
+        limiter.releaseIgnored();
+        assertTrue(limiter.tryAcquire());
+        assertEquals(2, limiter.getInFlight());
+    }
+
+    @Test
+    void shouldGrowWhileLatencyIsSteady() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(10, 1, 200, 1.5);
+
+        for (int i = 0; i < 50; i++) {
+            saturate(limiter, FAST, false);
+        }
+
+        assertEquals(200, limiter.getLimit());
+    }
+
+    @Test
+    void shouldShrinkWhenLatencyRises() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(100, 5, 100, 1.5);
+        for (int i = 0; i < 10; i++) {
+            saturate(limiter, FAST, false);
+        }
+        assertEquals(100, limiter.getLimit());
+
+        for (int i = 0; i < 10; i++) {
+            saturate(limiter, SLOW, false);
+        }
+
+        assertTrue(limiter.getLimit() < 20, () -> "limit " + limiter.getLimit());
+    }
+
+    @Test
+    void shouldNotGrowWhenMostSlotsAreIdle() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(10, 1, 200, 1.5);
+
+        for (int i = 0; i < 100; i++) {
+            assertTrue(limiter.tryAcquire());
+            limiter.release(FAST, false);
+        }
+
+        assertEquals(10, limiter.getLimit());
+    }
+
+    @Test
+    void shouldBackOffOnFailures() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(100, 5, 100, 1.5);
+
+        assertTrue(limiter.tryAcquire());
+        limiter.release(FAST, true);
+
+        assertEquals(90, limiter.getLimit());
+    }
+
+    private static void saturate(AdaptiveConcurrencyLimiter limiter, long rttNanos, boolean dropped) {
+        int admitted = 0;
+        while (limiter.tryAcquire()) {
+            admitted++;
+        }
+        for (int i = 0; i < admitted; i++) {
+            limiter.release(rttNanos, dropped);
+        }
+    }
+}
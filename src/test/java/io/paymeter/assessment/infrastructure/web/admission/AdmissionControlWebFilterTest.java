@@ -0,0 +1,140 @@
+package io.paymeter.assessment.infrastructure.web.admission;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.net.InetSocketAddress;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AdmissionControlWebFilterTest {
+
+    private static final String PROXY = "10.0.0.254";
+    private static final WebFilterChain OK = respond(HttpStatus.OK);
+
+    private final AtomicLong nanos = new AtomicLong();
+
+    @Test
+    void shouldShedRequestsOverTheConcurrencyLimit() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(1, 1, 1, 1.5);
+        AdmissionControlWebFilter filter = filter(new AdmissionRoute(
+                "calculate", List.of("/tickets/calculate"), limiter, null, Duration.ofSeconds(3)));
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        filter.bindTo(registry);
+        Sinks.Empty<Void> slow = Sinks.empty();
+        filter.filter(exchange("/tickets/calculate", "10.0.0.1", null), exchange -> slow.asMono()).subscribe();
+
+        MockServerWebExchange rejected = exchange("/tickets/calculate", "10.0.0.1", null);
+        filter.filter(rejected, OK).block();
+
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, rejected.getResponse().getStatusCode());
+        assertEquals("3", rejected.getResponse().getHeaders().getFirst(HttpHeaders.RETRY_AFTER));
+        assertTrue(rejected.getResponse().getBodyAsString().block().contains("\"code\":\"SERVICE_UNAVAILABLE\""));
+        assertEquals(1, registry.get("admission.rejected").tag("reason", "overloaded").functionCounter().count());
+
+        slow.tryEmitEmpty();
+        assertEquals(0, limiter.getInFlight());
+        MockServerWebExchange admitted = exchange("/tickets/calculate", "10.0.0.1", null);
+        filter.filter(admitted, OK).block();
+        assertEquals(HttpStatus.OK, admitted.getResponse().getStatusCode());
+    }
+
+    @Test
+    void shouldRejectClientsOverTheirQuota() {
+        ClientQuotas quotas = new ClientQuotas(2, 0.5, 100, nanos::get);
+        AdmissionControlWebFilter filter = filter(new AdmissionRoute(
+                "calculate", List.of("/tickets/calculate"), new AdaptiveConcurrencyLimiter(10, 1, 10, 1.5),
+                quotas, Duration.ofSeconds(1)));
+
+        assertEquals(HttpStatus.OK, status(filter, "10.0.0.1", null));
+        assertEquals(HttpStatus.OK, status(filter, "10.0.0.1", null));
+        MockServerWebExchange rejected = exchange("/tickets/calculate", "10.0.0.1", null);
+        filter.filter(rejected, OK).block();
+        assertEquals(HttpStatus.TOO_MANY_REQUESTS, rejected.getResponse().getStatusCode());
+        assertEquals("2", rejected.getResponse().getHeaders().getFirst(HttpHeaders.RETRY_AFTER));
+        assertEquals(HttpStatus.OK, status(filter, "10.0.0.2", null));
+
+        nanos.addAndGet(TimeUnit.SECONDS.toNanos(2));
+        assertEquals(HttpStatus.OK, status(filter, "10.0.0.1", null));
+    }
+
+    @Test
+    void shouldOnlyTrustTheClientIdHeaderFromAProxy() {
+        ClientQuotas quotas = new ClientQuotas(1, 0.5, 100, nanos::get);
+        AdmissionControlWebFilter filter = filter(new AdmissionRoute(
+                "calculate", List.of("/tickets/calculate"), new AdaptiveConcurrencyLimiter(10, 1, 10, 1.5),
+                quotas, Duration.ofSeconds(1)));
+
+        assertEquals(HttpStatus.OK, status(filter, "10.0.0.1", "client-a"));
+        assertEquals(HttpStatus.TOO_MANY_REQUESTS, status(filter, "10.0.0.1", "client-b"));
+
+        assertEquals(HttpStatus.OK, status(filter, PROXY, "client-a"));
+        assertEquals(HttpStatus.OK, status(filter, PROXY, "client-b"));
+        assertEquals(HttpStatus.TOO_MANY_REQUESTS, status(filter, PROXY, "client-a"));
+    }
+
+    @Test
+    void shouldOnlyBackOffWhenTheResponseSignalsOverload() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(10, 1, 10, 1.5);
+        AdmissionControlWebFilter filter = filter(new AdmissionRoute(
+                "calculate", List.of("/tickets/calculate"), limiter, null, Duration.ofSeconds(1)));
+
+        filter.filter(exchange("/tickets/calculate", "10.0.0.1", null), respond(HttpStatus.INTERNAL_SERVER_ERROR)).block();
+        assertEquals(10, limiter.getLimit());
+
+        filter.filter(exchange("/tickets/calculate", "10.0.0.1", null), respond(HttpStatus.GATEWAY_TIMEOUT)).block();
+        assertTrue(limiter.getLimit() < 10);
+    }
+
+    @Test
+    void shouldLeaveOtherPathsAlone() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(1, 1, 1, 1.5);
+        AdmissionControlWebFilter filter = filter(new AdmissionRoute(
+                "calculate", List.of("/tickets/calculate"), limiter, null, Duration.ofSeconds(1)));
+        assertTrue(limiter.tryAcquire());
+
+        MockServerWebExchange live = exchange("/tickets/P000123/live", "10.0.0.1", null);
+        filter.filter(live, exchange -> Mono.empty()).block();
+
+        assertNull(live.getResponse().getStatusCode());
+    }
+
+    private HttpStatus status(AdmissionControlWebFilter filter, String remoteAddress, String clientId) {
+        MockServerWebExchange exchange = exchange("/tickets/calculate", remoteAddress, clientId);
+        filter.filter(exchange, OK).block();
+        return HttpStatus.valueOf(exchange.getResponse().getStatusCode().value());
+    }
+
+    private static WebFilterChain respond(HttpStatus status) {
+        return exchange -> {
+            exchange.getResponse().setStatusCode(status);
+            return Mono.empty();
+        };
+    }
+
+    private static AdmissionControlWebFilter filter(AdmissionRoute route) {
+        return new AdmissionControlWebFilter(List.of(route), "X-Client-Id", List.of(PROXY));
+    }
+
+    private static MockServerWebExchange exchange(String path, String remoteAddress, String clientId) {
+        MockServerHttpRequest.BaseBuilder<?> request = MockServerHttpRequest.get(path)
+                .remoteAddress(new InetSocketAddress(remoteAddress, 40000));
+        if (clientId != null) {
+            request.header("X-Client-Id", clientId);
+        }
+        return MockServerWebExchange.from(request);
+    }
+}
@@ -0,0 +1,123 @@
+package io.paymeter.assessment.infrastructure.web.parking;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.DateTimeException;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.Random;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class IsoDateTimeParserTest {
+
+    /** Raise with {@code -PfuzzIterations=200000} for a longer run. */
+    private static final int FUZZ_ITERATIONS = Integer.getInteger("fuzz.iterations", 20_000);
+    private static final String ALPHABET = "0123456789-:T.Z+[]tz ";
+    private static final Pattern FAST_PATH_SHAPE =
+            Pattern.compile("\\d{4}-\\d{2}-\\d{2}T\\d{2}:\\d{2}(:\\d{2}(\\.\\d{1,9})?)?(Z|[+-]\\d{2}:\\d{2})?");
+
+    @Test
+    void shouldParseCommonFormats() {
+        assertEquals(ZonedDateTime.of(2024, 2, 27, 9, 0, 0, 0, ZoneOffset.UTC), IsoDateTimeParser.parse("2024-02-27T09:00:00"));
+        assertEquals(ZonedDateTime.of(2024, 2, 27, 9, 0, 0, 0, ZoneOffset.UTC), IsoDateTimeParser.parse("2024-02-27T09:00Z"));
+        assertEquals(ZonedDateTime.of(2024, 2, 27, 9, 0, 5, 120_000_000, ZoneOffset.ofHours(1)), IsoDateTimeParser.parse("2024-02-27T09:00:05.12+01:00"));
+        assertEquals(ZonedDateTime.of(2024, 2, 29, 23, 59, 59, 999_999_999, ZoneOffset.ofHoursMinutes(-5, -30)), IsoDateTimeParser.parse("2024-02-29T23:59:59.999999999-05:30"));
+    }
+
+    @Test
+    void shouldDeclineInsteadOfThrowing() {
+        assertNull(IsoDateTimeParser.parse("invalid"));
+        assertNull(IsoDateTimeParser.parse("2023-02-29T09:00:00"));
+        assertNull(IsoDateTimeParser.parse("2024-02-27T24:00:00"));
+        assertNull(IsoDateTimeParser.parse("2024-02-27T09:00:00+19:00"));
+        assertNull(IsoDateTimeParser.parse("2024-02-27T09:00:00+01:00[Europe/Madrid]"));
+    }
+
+    @Test
+    void shouldAgreeWithJavaTimeOnFuzzedInput() {
+        Random random = new Random(7);
+        for (int i = 0; i < FUZZ_ITERATIONS; i++) {
+            String candidate = randomTimestamp(random);
+            if (random.nextInt(3) == 0) {
+                candidate = mutate(candidate, random);
+            }
+
+            ZonedDateTime fast = IsoDateTimeParser.parse(candidate);
+            ZonedDateTime reference = javaTime(candidate);
+            if (fast != null) {
+                assertEquals(reference, fast, candidate);
+            } else if (FAST_PATH_SHAPE.matcher(candidate).matches()) {
+                assertNull(reference, candidate);
+            }
+        }
+    }
+
+    @Test
+    void shouldOnlyRuleOutWhatJavaTimeRejects() {
+        Random random = new Random(11);
+        for (int i = 0; i < FUZZ_ITERATIONS; i++) {
+            String candidate = mutate(randomTimestamp(random), random);
+            if (!IsoDateTimeParser.hasDateTimeShape(candidate)) {
+                assertNull(javaTime(candidate), candidate);
+            }
+        }
+        assertFalse(IsoDateTimeParser.hasDateTimeShape("' OR 1=1 --"));
+        assertFalse(IsoDateTimeParser.hasDateTimeShape("2024-02-27"));
+        assertTrue(IsoDateTimeParser.hasDateTimeShape("+12024-02-27t09:00"));
+    }
+
+    private static ZonedDateTime javaTime(String value) {
+        try {
+            return ZonedDateTime.parse(value);
+        } catch (DateTimeException ex) {
+            try {
+                return ZonedDateTime.of(LocalDateTime.parse(value), ZoneOffset.UTC);
+            } catch (DateTimeException ignored) {
+                return null;
+            }
+        }
+    }
+
+    private static String randomTimestamp(Random random) {
+        StringBuilder builder = new StringBuilder();
+        builder.append(String.format("%04d-%02d-%02dT%02d:%02d",
+                random.nextInt(10_000), 1 + random.nextInt(13), random.nextInt(33), random.nextInt(26), random.nextInt(62)));
+        if (random.nextInt(5) != 0) {
+            builder.append(String.format(":%02d", random.nextInt(62)));
+            if (random.nextBoolean()) {
+                builder.append('.');
+                int digits = random.nextInt(11);
+                for (int d = 0; d < digits; d++) {
+                    builder.append(random.nextInt(10));
+                }
+            }
+        }
+        switch (random.nextInt(5)) {
+            case 0 -> builder.append('Z');
+            case 1 -> builder.append(random.nextBoolean() ? '+' : '-')
+                    .append(String.format("%02d:%02d", random.nextInt(20), random.nextInt(62)));
+            case 2 -> builder.append("+01:00[Europe/Madrid]");
+            default -> {
+            }
+        }
+        return builder.toString();
+    }
+
+    private static String mutate(String value, Random random) {
+        StringBuilder builder = new StringBuilder(value);
+        int position = random.nextInt(builder.length());
+        char replacement = ALPHABET.charAt(random.nextInt(ALPHABET.length()));
+        switch (random.nextInt(3)) {
+            case 0 -> builder.setCharAt(position, replacement);
+            case 1 -> builder.deleteCharAt(position);
+            default -> builder.insert(position, replacement);
+        }
+        return builder.toString();
+    }
+}
@@ -0,0 +1,82 @@
+package io.paymeter.assessment.infrastructure.web.parking;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.paymeter.assessment.application.pricing.LivePricingService;
+import io.paymeter.assessment.application.pricing.PricingService;
+import io.paymeter.assessment.domain.pricing.ClosedFormPricingCalculator;
+import io.paymeter.assessment.domain.pricing.PricingRepository;
+import io.paymeter.assessment.infrastructure.metrics.PricingMetrics;
+import io.paymeter.assessment.infrastructure.persistence.pricing.InMemoryPricingRepository;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+
+class StartupWarmUpTest {
+
+    private static final Clock CLOCK = Clock.fixed(Instant.parse("2024-02-27T10:00:00Z"), ZoneOffset.UTC);
+
+    private final AtomicInteger recorded = new AtomicInteger();
+    private final Set<String> loaded = ConcurrentHashMap.newKeySet();
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    private StartupWarmUp warmUp(List<String> parkingIds, int calculations) {
+        InMemoryPricingRepository store = new InMemoryPricingRepository();
+        PricingRepository repository = parkingId -> {
+            loaded.add(parkingId);
+            return store.findById(parkingId);
+        };
+        PricingService pricingService = new PricingService(repository, new ClosedFormPricingCalculator(), CLOCK, null,
+                result -> Mono.fromRunnable(recorded::incrementAndGet));
+        TicketController controller = new TicketController(pricingService, mock(LivePricingService.class),
+                new PricingMetrics(registry, "test", PricingMetrics.WARM_UP_PHASE), new ObjectMapper(),
+                Validation.buildDefaultValidatorFactory().getValidator());
+        return new StartupWarmUp(controller, pricingService, repository, new ObjectMapper(), parkingIds, calculations, CLOCK);
+    }
+
+    @Test
+    void shouldPriceThroughTheJsonPathWithoutRecording() {
+        new PricingMetrics(registry, "test");
+        StartupWarmUp warmUp = warmUp(List.of("P000123", "P000456"), 200);
+        assertFalse(warmUp.isComplete());
+
+        warmUp.run().block();
+
+        assertTrue(warmUp.isComplete());
+        assertEquals(200, warmUp.getCompletedCount());
+        assertEquals(0, warmUp.getFailedCount());
+        assertEquals(0, recorded.get());
+        assertEquals(0, stageCount("parse", PricingMetrics.TRAFFIC_PHASE));
+        assertEquals(0, stageCount("mapping", PricingMetrics.TRAFFIC_PHASE));
+        assertEquals(200, stageCount("parse", PricingMetrics.WARM_UP_PHASE));
+        assertEquals(Set.of("P000123", "P000456"), loaded);
+    }
+
+    @Test
+    void shouldCompleteWhenCalculationsFail() {
+        StartupWarmUp warmUp = warmUp(List.of("P999999"), 10);
+
+        warmUp.run().block();
+
+        assertTrue(warmUp.isComplete());
+        assertEquals(0, warmUp.getCompletedCount());
+        assertEquals(10, warmUp.getFailedCount());
+    }
+
+    private long stageCount(String stage, String phase) {
+        return registry.get(PricingMetrics.STAGE_TIMER).tag("stage", stage).tag("phase", phase).timer().count();
+    }
+}
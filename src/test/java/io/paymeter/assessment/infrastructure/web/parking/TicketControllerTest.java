@@ -1,9 +1,20 @@
 package io.paymeter.assessment.infrastructure.web.parking;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.paymeter.assessment.application.pricing.LivePricingService;
 import io.paymeter.assessment.application.pricing.PricingService;
+import io.paymeter.assessment.application.pricing.dto.CalculationOutcome;
 import io.paymeter.assessment.application.pricing.dto.CalculationResult;
 import io.paymeter.assessment.domain.pricing.Money;
+import io.paymeter.assessment.infrastructure.config.CodecConfig;
 import io.paymeter.assessment.infrastructure.config.SecurityConfig;
+import io.paymeter.assessment.infrastructure.metrics.PricingMetrics;
+import io.paymeter.assessment.infrastructure.web.parking.proto.CalculateBatchItem;
+import io.paymeter.assessment.infrastructure.web.parking.proto.CalculateRequest;
+import io.paymeter.assessment.infrastructure.web.parking.proto.CalculateResponse;
+import io.paymeter.assessment.infrastructure.web.parking.proto.CalculationError;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.reactive.WebFluxTest;
@@ -14,20 +25,28 @@ import org.springframework.context.annotation.Import;
 import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
 import java.time.Clock;
 import java.time.Instant;
 import java.time.LocalDateTime;
 import java.time.ZoneOffset;
 import java.time.ZonedDateTime;
+import java.util.Map;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.when;
 
 @WebFluxTest(controllers = TicketController.class)
-@Import({ApiExceptionHandler.class, SecurityConfig.class, TicketControllerTest.FixedClockConfig.class})
+@Import({ApiExceptionHandler.class, SecurityConfig.class, CodecConfig.class, TicketControllerTest.FixedClockConfig.class})
 class TicketControllerTest {
 
     @Autowired
@@ -36,12 +55,20 @@ class TicketControllerTest {
     @MockBean
     private PricingService pricingService;
 
+    @MockBean
+    private LivePricingService livePricingService;
+
     @TestConfiguration
     static class FixedClockConfig {
         @Bean
         Clock clock() {
             return Clock.fixed(Instant.parse("2024-02-27T10:00:00Z"), ZoneOffset.UTC);
         }
+
+        @Bean
+        PricingMetrics pricingMetrics() {
+            return new PricingMetrics(new SimpleMeterRegistry(), "test");
+        }
     }
 
     @Test
@@ -58,7 +85,7 @@ class TicketControllerTest {
                 60,
                 new Money(200)
         );
-        when(pricingService.calculate(eq("P000123"), eq(fromDate), isNull())).thenReturn(Mono.just(result));
+        when(pricingService.evaluate(eq("P000123"), eq(fromDate), isNull())).thenReturn(Mono.just(CalculationOutcome.priced(result)));
 
         String body = """
                 {
@@ -114,7 +141,7 @@ class TicketControllerTest {
                 60,
                 new Money(200)
         );
-        when(pricingService.calculate(eq("P000123"), eq(fromDate), isNull())).thenReturn(Mono.just(result));
+        when(pricingService.evaluate(eq("P000123"), eq(fromDate), isNull())).thenReturn(Mono.just(CalculationOutcome.priced(result)));
 
         String body = """
                 {
@@ -132,4 +159,298 @@ class TicketControllerTest {
                 .expectBody()
                 .jsonPath("$.parkingId").isEqualTo("P000123");
     }
+
+    @Test
+    void shouldStreamBatchResultsWithPerItemErrors() {
+        ZonedDateTime fromDate = ZonedDateTime.of(LocalDateTime.parse("2024-02-27T09:00:00"), ZoneOffset.UTC);
+        ZonedDateTime toDate = ZonedDateTime.ofInstant(Instant.parse("2024-02-27T10:00:00Z"), ZoneOffset.UTC);
+
+        CalculationResult result = new CalculationResult("P000123", fromDate, toDate, 60, new Money(200));
+        when(pricingService.batchScoped()).thenReturn(pricingService);
+        when(pricingService.evaluate(eq("P000123"), eq(fromDate), isNull())).thenReturn(Mono.just(CalculationOutcome.priced(result)));
+
+        String body = """
+                {"parkingId": "P000123", "from": "2024-02-27T09:00:00"}
+                {"parkingId": "P000123", "from": "invalid"}
+                """;
+
+        webTestClient.post()
+                .uri("/tickets/calculate/batch")
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .accept(MediaType.APPLICATION_NDJSON)
+                .bodyValue(body)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON)
+                .expectBodyList(String.class)
+                .value(lines -> {
+                    assertTrue(lines.get(0).contains("\"price\":\"200EUR\""));
+                    assertTrue(lines.get(1).contains("\"code\":\"BAD_REQUEST\""));
+                });
+    }
+
+    @Test
+    @WithMockUser(username = "user", roles = "USER")
+    void shouldReturnBadRequestForBlankParkingId() {
+        String body = """
+                {
+                  "parkingId": "",
+                  "from": "2024-02-27T09:00:00"
+                }
+                """;
+
+        webTestClient.post()
+                .uri("/tickets/calculate")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(body)
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("$.message").isEqualTo("parkingId must not be blank")
+                .jsonPath("$.code").isEqualTo("BAD_REQUEST");
+    }
+
+    @Test
+    void shouldValidateEachLineOfABatchLikeASingleTicket() {
+        when(pricingService.batchScoped()).thenReturn(pricingService);
+
+        String body = """
+                {"parkingId": "", "from": "2024-02-27T09:00:00"}
+                {"parkingId": "P000123"}
+                """;
+
+        webTestClient.post()
+                .uri("/tickets/calculate/batch")
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .accept(MediaType.APPLICATION_NDJSON)
+                .bodyValue(body)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBodyList(String.class)
+                .value(lines -> {
+                    assertEquals(2, lines.size());
+                    assertTrue(lines.get(0).contains("\"message\":\"parkingId must not be blank\""));
+                    assertTrue(lines.get(1).contains("\"message\":\"from must not be blank\""));
+                    assertTrue(lines.get(1).contains("\"code\":\"BAD_REQUEST\""));
+                });
+    }
+
+    @Test
+    void shouldFailOnlyTheMalformedLineOfABatch() {
+        ZonedDateTime fromDate = ZonedDateTime.of(LocalDateTime.parse("2024-02-27T09:00:00"), ZoneOffset.UTC);
+        ZonedDateTime toDate = ZonedDateTime.ofInstant(Instant.parse("2024-02-27T10:00:00Z"), ZoneOffset.UTC);
+
+        CalculationResult result = new CalculationResult("P000123", fromDate, toDate, 60, new Money(200));
+        when(pricingService.batchScoped()).thenReturn(pricingService);
+        when(pricingService.evaluate(eq("P000123"), eq(fromDate), isNull())).thenReturn(Mono.just(CalculationOutcome.priced(result)));
+
+        String body = """
+                {"parkingId": "P000123", "from": "2024-02-27T09:00:00"}
+                {"parkingId": "P0001
+                {"parkingId": "P000123", "from": "2024-02-27T09:00:00"}
+                """;
+
+        webTestClient.post()
+                .uri("/tickets/calculate/batch")
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .accept(MediaType.APPLICATION_NDJSON)
+                .bodyValue(body)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBodyList(String.class)
+                .value(lines -> {
+                    assertEquals(3, lines.size());
+                    assertTrue(lines.get(0).contains("\"price\":\"200EUR\""));
+                    assertTrue(lines.get(1).contains("\"index\":1"));
+                    assertTrue(lines.get(1).contains("\"code\":\"BAD_REQUEST\""));
+                    assertTrue(lines.get(2).contains("\"price\":\"200EUR\""));
+                });
+    }
+
+    @Test
+    void shouldStreamLivePriceAsServerSentEvents() {
+        ZonedDateTime fromDate = ZonedDateTime.of(LocalDateTime.parse("2024-02-27T09:00:00"), ZoneOffset.UTC);
+        ZonedDateTime toDate = ZonedDateTime.ofInstant(Instant.parse("2024-02-27T10:00:00Z"), ZoneOffset.UTC);
+
+        when(livePricingService.live(eq("P000123"), eq(fromDate))).thenReturn(Flux.just(
+                new CalculationResult("P000123", fromDate, toDate, 60, new Money(200)),
+                new CalculationResult("P000123", fromDate, toDate.plusMinutes(1), 61, new Money(400))));
+
+        webTestClient.get()
+                .uri("/tickets/P000123/live?from=2024-02-27T09:00:00")
+                .accept(MediaType.TEXT_EVENT_STREAM)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentTypeCompatibleWith(MediaType.TEXT_EVENT_STREAM)
+                .expectBody(String.class)
+                .value(body -> {
+                    assertTrue(body.contains("\"price\":\"200EUR\""));
+                    assertTrue(body.contains("\"price\":\"400EUR\""));
+                });
+    }
+
+    @Test
+    void shouldSendCacheHeadersAndNotModifiedForOpenTicket() {
+        ZonedDateTime fromDate = ZonedDateTime.of(LocalDateTime.parse("2024-02-27T09:30:00"), ZoneOffset.UTC);
+        ZonedDateTime toDate = ZonedDateTime.ofInstant(Instant.parse("2024-02-27T10:00:00Z"), ZoneOffset.UTC);
+
+        CalculationResult result = new CalculationResult("P000123", fromDate, toDate, 30, new Money(200), toDate.plusMinutes(31));
+        when(pricingService.evaluate(eq("P000123"), eq(fromDate), isNull())).thenReturn(Mono.just(CalculationOutcome.priced(result)));
+
+        String eTag = webTestClient.get()
+                .uri("/tickets/calculate?parkingId=P000123&from=2024-02-27T09:30:00")
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().cacheControl(org.springframework.http.CacheControl.maxAge(java.time.Duration.ofMinutes(31)).cachePublic())
+                .expectBody()
+                .jsonPath("$.price").isEqualTo("200EUR")
+                .returnResult()
+                .getResponseHeaders().getETag();
+
+        webTestClient.get()
+                .uri("/tickets/calculate?parkingId=P000123&from=2024-02-27T09:30:00")
+                .header("If-None-Match", eTag)
+                .exchange()
+                .expectStatus().isNotModified();
+
+        webTestClient.post()
+                .uri("/tickets/calculate")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("{\"parkingId\": \"P000123\", \"from\": \"2024-02-27T09:30:00\"}")
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().valueEquals("ETag", eTag);
+    }
+
+    @Test
+    void shouldCalculateWithCbor() throws IOException {
+        ZonedDateTime fromDate = ZonedDateTime.ofInstant(Instant.parse("2024-02-27T09:00:00Z"), ZoneOffset.UTC);
+        ZonedDateTime toDate = ZonedDateTime.ofInstant(Instant.parse("2024-02-27T10:00:00Z"), ZoneOffset.UTC);
+        when(pricingService.evaluate(eq("P000123"), eq(fromDate), isNull()))
+                .thenReturn(Mono.just(CalculationOutcome.priced(new CalculationResult("P000123", fromDate, toDate, 60, new Money(200)))));
+        CBORMapper cbor = new CBORMapper();
+
+        byte[] body = webTestClient.post()
+                .uri("/tickets/calculate")
+                .contentType(MediaType.APPLICATION_CBOR)
+                .accept(MediaType.APPLICATION_CBOR)
+                .bodyValue(cbor.writeValueAsBytes(Map.of("parkingId", "P000123", "fromEpochSecond", fromDate.toEpochSecond())))
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentType(MediaType.APPLICATION_CBOR)
+                .expectBody(byte[].class)
+                .returnResult().getResponseBody();
+
+        JsonNode response = cbor.readTree(body);
+        assertEquals(fromDate.toEpochSecond(), response.get("fromEpochSecond").asLong());
+        assertEquals(toDate.toEpochSecond(), response.get("toEpochSecond").asLong());
+        assertEquals(200, response.get("priceCents").asLong());
+        assertEquals("EUR", response.get("currency").asText());
+    }
+
+    @Test
+    void shouldCalculateWithProtobuf() throws IOException {
+        ZonedDateTime fromDate = ZonedDateTime.ofInstant(Instant.parse("2024-02-27T09:00:00Z"), ZoneOffset.UTC);
+        ZonedDateTime toDate = ZonedDateTime.ofInstant(Instant.parse("2024-02-27T10:00:00Z"), ZoneOffset.UTC);
+        when(pricingService.evaluate(eq("P000123"), eq(fromDate), eq(toDate)))
+                .thenReturn(Mono.just(CalculationOutcome.priced(new CalculationResult("P000123", fromDate, toDate, 60, new Money(200)))));
+        when(pricingService.evaluate(eq("P999999"), eq(fromDate), isNull()))
+                .thenReturn(Mono.just(CalculationOutcome.PARKING_NOT_FOUND));
+
+        byte[] body = webTestClient.post()
+                .uri("/tickets/calculate")
+                .contentType(MediaType.parseMediaType(TicketController.APPLICATION_PROTOBUF_VALUE))
+                .accept(MediaType.parseMediaType(TicketController.APPLICATION_PROTOBUF_VALUE))
+                .bodyValue(CalculateRequest.newBuilder()
+                        .setParkingId("P000123")
+                        .setFromEpochSecond(fromDate.toEpochSecond())
+                        .setToEpochSecond(toDate.toEpochSecond())
+                        .build().toByteArray())
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(byte[].class)
+                .returnResult().getResponseBody();
+
+        CalculateResponse response = CalculateResponse.parseFrom(body);
+        assertEquals(60, response.getDurationMinutes());
+        assertEquals(200, response.getPriceCents());
+        assertEquals("EUR", response.getCurrency());
+
+        byte[] error = webTestClient.post()
+                .uri("/tickets/calculate")
+                .contentType(MediaType.parseMediaType(TicketController.APPLICATION_PROTOBUF_VALUE))
+                .accept(MediaType.parseMediaType(TicketController.APPLICATION_PROTOBUF_VALUE))
+                .bodyValue(CalculateRequest.newBuilder().setParkingId("P999999").setFromEpochSecond(fromDate.toEpochSecond()).build().toByteArray())
+                .exchange()
+                .expectStatus().isNotFound()
+                .expectBody(byte[].class)
+                .returnResult().getResponseBody();
+
+        assertEquals("NOT_FOUND", CalculationError.parseFrom(error).getCode());
+    }
+
+    @Test
+    void shouldStreamProtobufBatchAsDelimitedMessages() throws IOException {
+        ZonedDateTime fromDate = ZonedDateTime.ofInstant(Instant.parse("2024-02-27T09:00:00Z"), ZoneOffset.UTC);
+        ZonedDateTime toDate = ZonedDateTime.ofInstant(Instant.parse("2024-02-27T10:00:00Z"), ZoneOffset.UTC);
+        when(pricingService.batchScoped()).thenReturn(pricingService);
+        when(pricingService.evaluate(eq("P000123"), eq(fromDate), isNull()))
+                .thenReturn(Mono.just(CalculationOutcome.priced(new CalculationResult("P000123", fromDate, toDate, 60, new Money(200)))));
+        when(pricingService.evaluate(eq("P999999"), eq(fromDate), isNull()))
+                .thenReturn(Mono.just(CalculationOutcome.PARKING_NOT_FOUND));
+        ByteArrayOutputStream requests = new ByteArrayOutputStream();
+        CalculateRequest.newBuilder().setParkingId("P000123").setFromEpochSecond(fromDate.toEpochSecond()).build().writeDelimitedTo(requests);
+        CalculateRequest.newBuilder().setParkingId("P999999").setFromEpochSecond(fromDate.toEpochSecond()).build().writeDelimitedTo(requests);
+
+        byte[] body = webTestClient.post()
+                .uri("/tickets/calculate/batch")
+                .contentType(MediaType.parseMediaType(TicketController.APPLICATION_PROTOBUF_VALUE))
+                .accept(MediaType.parseMediaType(TicketController.APPLICATION_PROTOBUF_VALUE))
+                .bodyValue(requests.toByteArray())
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(byte[].class)
+                .returnResult().getResponseBody();
+
+        ByteArrayInputStream items = new ByteArrayInputStream(body);
+        CalculateBatchItem first = CalculateBatchItem.parseDelimitedFrom(items);
+        CalculateBatchItem second = CalculateBatchItem.parseDelimitedFrom(items);
+        assertEquals(200, first.getResult().getPriceCents());
+        assertEquals(1, second.getIndex());
+        assertEquals(404, second.getError().getStatus());
+        assertNull(CalculateBatchItem.parseDelimitedFrom(items));
+    }
+
+    @Test
+    void shouldFailOnlyTheCorruptMessageOfAProtobufBatch() throws IOException {
+        ZonedDateTime fromDate = ZonedDateTime.ofInstant(Instant.parse("2024-02-27T09:00:00Z"), ZoneOffset.UTC);
+        ZonedDateTime toDate = ZonedDateTime.ofInstant(Instant.parse("2024-02-27T10:00:00Z"), ZoneOffset.UTC);
+        when(pricingService.batchScoped()).thenReturn(pricingService);
+        when(pricingService.evaluate(eq("P000123"), eq(fromDate), isNull()))
+                .thenReturn(Mono.just(CalculationOutcome.priced(new CalculationResult("P000123", fromDate, toDate, 60, new Money(200)))));
+        ByteArrayOutputStream requests = new ByteArrayOutputStream();
+        CalculateRequest.newBuilder().setParkingId("P000123").setFromEpochSecond(fromDate.toEpochSecond()).build().writeDelimitedTo(requests);
+        requests.write(new byte[]{3, (byte) 0xff, (byte) 0xff, (byte) 0xff});
+        CalculateRequest.newBuilder().setParkingId("P000123").setFromEpochSecond(fromDate.toEpochSecond()).build().writeDelimitedTo(requests);
+        requests.write(new byte[]{10, 1});
+
+        byte[] body = webTestClient.post()
+                .uri("/tickets/calculate/batch")
+                .contentType(MediaType.parseMediaType(TicketController.APPLICATION_PROTOBUF_VALUE))
+                .accept(MediaType.parseMediaType(TicketController.APPLICATION_PROTOBUF_VALUE))
+                .bodyValue(requests.toByteArray())
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(byte[].class)
+                .returnResult().getResponseBody();
+
+        ByteArrayInputStream items = new ByteArrayInputStream(body);
+        assertEquals(200, CalculateBatchItem.parseDelimitedFrom(items).getResult().getPriceCents());
+        assertEquals(400, CalculateBatchItem.parseDelimitedFrom(items).getError().getStatus());
+        assertEquals(200, CalculateBatchItem.parseDelimitedFrom(items).getResult().getPriceCents());
+        CalculateBatchItem truncated = CalculateBatchItem.parseDelimitedFrom(items);
+        assertEquals(3, truncated.getIndex());
+        assertEquals(400, truncated.getError().getStatus());
+        assertNull(CalculateBatchItem.parseDelimitedFrom(items));
+    }
 }
@@ -0,0 +1,96 @@
+package io.paymeter.assessment.infrastructure.web.stats;
+
+import io.paymeter.assessment.application.pricing.dto.CalculationResult;
+import io.paymeter.assessment.application.stats.ParkingStats;
+import io.paymeter.assessment.domain.pricing.Money;
+import io.paymeter.assessment.infrastructure.config.SecurityConfig;
+import io.paymeter.assessment.infrastructure.web.parking.ApiExceptionHandler;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.WebFluxTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+
+@WebFluxTest(controllers = ParkingStatsController.class)
+@Import({ApiExceptionHandler.class, SecurityConfig.class, ParkingStatsControllerTest.StatsConfig.class})
+class ParkingStatsControllerTest {
+
+    private static final ZonedDateTime FROM = ZonedDateTime.ofInstant(Instant.parse("2024-02-27T09:00:00Z"), ZoneOffset.UTC);
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @Test
+    void shouldRequireAuthentication() {
+        webTestClient.get()
+                .uri("/stats/parkings/P000123")
+                .exchange()
+                .expectStatus().isUnauthorized();
+    }
+
+    @Test
+    @WithMockUser(username = "user", roles = "USER")
+    void shouldReturnParkingStats() {
+        webTestClient.get()
+                .uri("/stats/parkings/P000456")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.parkingId").isEqualTo("P000456")
+                .jsonPath("$.total.billedCents").isEqualTo(300)
+                .jsonPath("$.recent.averageStayMinutes").isEqualTo(60.0)
+                .jsonPath("$.windowMinutes").isEqualTo(60)
+                .jsonPath("$.perMinute[0].minute").isEqualTo("2024-02-27T10:00:00Z");
+    }
+
+    @Test
+    @WithMockUser(username = "user", roles = "USER")
+    void shouldReturnNotFoundWithoutCalculations() {
+        webTestClient.get()
+                .uri("/stats/parkings/P999999")
+                .exchange()
+                .expectStatus().isNotFound();
+    }
+
+    @Test
+    @WithMockUser(username = "user", roles = "USER")
+    void shouldRankParkings() {
+        webTestClient.get()
+                .uri("/stats/parkings/top?limit=1&by=billed-cents&window=total")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.length()").isEqualTo(1)
+                .jsonPath("$[0].parkingId").isEqualTo("P000123");
+    }
+
+    @Test
+    @WithMockUser(username = "user", roles = "USER")
+    void shouldRejectUnknownRanking() {
+        webTestClient.get()
+                .uri("/stats/parkings/top?by=duration")
+                .exchange()
+                .expectStatus().isBadRequest();
+    }
+
+    @TestConfiguration
+    static class StatsConfig {
+
+        @Bean
+        ParkingStats parkingStats() {
+            ParkingStats stats = new ParkingStats(Clock.fixed(Instant.parse("2024-02-27T10:00:30Z"), ZoneOffset.UTC), Duration.ofMinutes(60));
+            stats.record(new CalculationResult("P000123", FROM, FROM.plusHours(2), 120, new Money(400))).block();
+            stats.record(new CalculationResult("P000456", FROM, FROM.plusHours(1), 60, new Money(300))).block();
+            return stats;
+        }
+    }
+}